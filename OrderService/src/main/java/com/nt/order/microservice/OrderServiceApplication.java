@@ -3,15 +3,18 @@ package com.nt.order.microservice;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Main entry point for the Order Service microservice application.
  * <p>
  * This class bootstraps the Spring Boot application and enables the Feign Clients,
  * which allows for making HTTP requests to other services using declarative REST clients.
+ * Scheduling is enabled for the wallet outbox relay, the abandoned-cart sweeper and the write-behind cart store.
  * </p>
  */
 @EnableFeignClients
+@EnableScheduling
 @SpringBootApplication
 public class OrderServiceApplication {
 
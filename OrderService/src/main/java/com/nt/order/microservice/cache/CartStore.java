@@ -0,0 +1,93 @@
+package com.nt.order.microservice.cache;
+
+import com.nt.order.microservice.dtos.CartLineInDTO;
+import com.nt.order.microservice.entities.Cart;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Storage of the cart lines of the users.
+ * <p>
+ * {@link DatabaseCartStore} reads and writes the cart table directly and is used unless
+ * {@code cart.store.mode=write-behind} selects {@link WriteBehindCartStore}. The lines returned are copies;
+ * a changed line is stored with {@link #save(Cart)}.
+ * </p>
+ */
+public interface CartStore {
+
+  /**
+   * Retrieves a cart line by its ID.
+   *
+   * @param cartId the ID of the cart line
+   * @return the cart line, or empty if there is none
+   */
+  Optional<Cart> findById(Integer cartId);
+
+  /**
+   * Retrieves the cart lines of a user.
+   *
+   * @param userId the ID of the user
+   * @return the cart lines of the user
+   */
+  List<Cart> findByUserId(Integer userId);
+
+  /**
+   * Retrieves the cart lines of a user for one restaurant.
+   *
+   * @param userId       the ID of the user
+   * @param restaurantId the ID of the restaurant
+   * @return the cart lines of the user for the restaurant
+   */
+  List<Cart> findByUserIdAndRestaurantId(Integer userId, Integer restaurantId);
+
+  /**
+   * Adds a quantity of a food item to a user's cart, creating the cart line or increasing the quantity of the
+   * existing one. The price of an existing line is kept.
+   *
+   * @param userId       the ID of the user
+   * @param restaurantId the ID of the restaurant of the food item
+   * @param foodItemId   the ID of the food item
+   * @param quantity     the quantity to add
+   * @param price        the unit price of the food item, stored when the line is created
+   * @return true if a new cart line was created, false if an existing one was increased
+   */
+  boolean upsertItem(Integer userId, Integer restaurantId, Integer foodItemId, Integer quantity, Double price);
+
+  /**
+   * Applies the validated lines of a cart batch. Each food item may appear in at most one line.
+   *
+   * @param userId       the ID of the user whose cart is changed
+   * @param restaurantId the ID of the restaurant of the food items
+   * @param lines        the changes to apply
+   */
+  void applyLines(Integer userId, Integer restaurantId, List<CartLineInDTO> lines);
+
+  /**
+   * Stores the quantity and price of an existing cart line.
+   *
+   * @param cart the changed cart line
+   */
+  void save(Cart cart);
+
+  /**
+   * Removes a cart line.
+   *
+   * @param cartId the ID of the cart line
+   */
+  void deleteById(Integer cartId);
+
+  /**
+   * Removes cart lines.
+   *
+   * @param carts the cart lines to remove
+   */
+  void deleteAll(List<Cart> carts);
+
+  /**
+   * Removes every cart line of a user.
+   *
+   * @param userId the ID of the user
+   */
+  void deleteByUserId(Integer userId);
+}
@@ -0,0 +1,128 @@
+package com.nt.order.microservice.cache;
+
+import com.nt.order.microservice.dtos.CartLineInDTO;
+import com.nt.order.microservice.entities.Cart;
+import com.nt.order.microservice.repository.CartRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Cart store that reads and writes the cart table through {@link CartRepository} on every call, within the
+ * transaction of the caller. Used unless {@code cart.store.mode} selects another store.
+ */
+@Component
+@ConditionalOnProperty(name = "cart.store.mode", havingValue = "database", matchIfMissing = true)
+public class DatabaseCartStore implements CartStore {
+
+  /**
+   * Repository for managing Cart entities.
+   */
+  @Autowired
+  private CartRepository cartRepository;
+
+  /**
+   * Retrieves a cart line by its ID.
+   *
+   * @param cartId the ID of the cart line
+   * @return the cart line, or empty if there is none
+   */
+  @Override
+  public Optional<Cart> findById(final Integer cartId) {
+    return cartRepository.findById(cartId);
+  }
+
+  /**
+   * Retrieves the cart lines of a user.
+   *
+   * @param userId the ID of the user
+   * @return the cart lines of the user
+   */
+  @Override
+  public List<Cart> findByUserId(final Integer userId) {
+    return cartRepository.findByUserId(userId);
+  }
+
+  /**
+   * Retrieves the cart lines of a user for one restaurant.
+   *
+   * @param userId       the ID of the user
+   * @param restaurantId the ID of the restaurant
+   * @return the cart lines of the user for the restaurant
+   */
+  @Override
+  public List<Cart> findByUserIdAndRestaurantId(final Integer userId, final Integer restaurantId) {
+    return cartRepository.findByUserIdAndRestaurantId(userId, restaurantId);
+  }
+
+  /**
+   * Adds a quantity of a food item to a user's cart with one upsert statement.
+   *
+   * @param userId       the ID of the user
+   * @param restaurantId the ID of the restaurant of the food item
+   * @param foodItemId   the ID of the food item
+   * @param quantity     the quantity to add
+   * @param price        the unit price of the food item, stored when the line is created
+   * @return true if a new cart line was created, false if an existing one was increased
+   */
+  @Override
+  public boolean upsertItem(final Integer userId, final Integer restaurantId, final Integer foodItemId,
+                            final Integer quantity, final Double price) {
+    return cartRepository.upsertItem(userId, restaurantId, foodItemId, quantity, price);
+  }
+
+  /**
+   * Applies the validated lines of a cart batch with JDBC batches.
+   *
+   * @param userId       the ID of the user whose cart is changed
+   * @param restaurantId the ID of the restaurant of the food items
+   * @param lines        the changes to apply
+   */
+  @Override
+  public void applyLines(final Integer userId, final Integer restaurantId, final List<CartLineInDTO> lines) {
+    cartRepository.applyLines(userId, restaurantId, lines);
+  }
+
+  /**
+   * Stores a changed cart line.
+   *
+   * @param cart the changed cart line
+   */
+  @Override
+  public void save(final Cart cart) {
+    cartRepository.save(cart);
+  }
+
+  /**
+   * Removes a cart line.
+   *
+   * @param cartId the ID of the cart line
+   */
+  @Override
+  public void deleteById(final Integer cartId) {
+    cartRepository.deleteById(cartId);
+  }
+
+  /**
+   * Removes cart lines.
+   *
+   * @param carts the cart lines to remove
+   */
+  @Override
+  public void deleteAll(final List<Cart> carts) {
+    cartRepository.deleteAll(carts);
+  }
+
+  /**
+   * Removes every cart line of a user.
+   *
+   * @param userId the ID of the user
+   */
+  @Override
+  public void deleteByUserId(final Integer userId) {
+    cartRepository.deleteByUserId(userId);
+  }
+}
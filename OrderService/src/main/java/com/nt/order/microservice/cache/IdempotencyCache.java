@@ -0,0 +1,209 @@
+package com.nt.order.microservice.cache;
+
+import com.nt.order.microservice.dtos.CommonResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * In-process cache of checkout results, keyed by user ID and the client's idempotency key.
+ * <p>
+ * The first request with a key runs the checkout; a repeat that arrives while it is still running waits for
+ * the same result instead of starting a second checkout, and a later repeat is answered from the cache. Only
+ * successful results are kept, so a checkout that failed may be retried with the same key. The cache keeps at
+ * most {@code order.idempotency.max-keys} results for {@code order.idempotency.ttl-seconds}, evicting the least
+ * recently used one; repeats that miss it are caught by the unique idempotency key of the order. Lookups are
+ * counted in the {@code order.idempotency.*} meters.
+ * </p>
+ */
+@Component
+public class IdempotencyCache {
+
+  /**
+   * Logger for IdempotencyCache class, used for logging repeated requests.
+   */
+  private static final Logger LOGGER = LoggerFactory.getLogger(IdempotencyCache.class);
+
+  /**
+   * Registry the cache counters are published to.
+   */
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  /**
+   * Maximum number of checkout results kept in the cache.
+   */
+  @Value("${order.idempotency.max-keys:10000}")
+  private int maxKeys;
+
+  /**
+   * Number of seconds a checkout result is kept.
+   */
+  @Value("${order.idempotency.ttl-seconds:3600}")
+  private long ttlSeconds;
+
+  /**
+   * Running and completed checkouts in least recently used order; guarded by {@code this}.
+   */
+  private final Map<String, CachedResult> results = new LinkedHashMap<String, CachedResult>(16, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(final Map.Entry<String, CachedResult> eldest) {
+      boolean evict = size() > maxKeys;
+      if (evict) {
+        evictions.increment();
+      }
+      return evict;
+    }
+  };
+
+  /**
+   * Counter of repeats answered with a completed result.
+   */
+  private Counter hits;
+
+  /**
+   * Counter of repeats that joined a checkout still running.
+   */
+  private Counter coalesced;
+
+  /**
+   * Counter of requests that ran the checkout.
+   */
+  private Counter misses;
+
+  /**
+   * Counter of results dropped because the cache was full or the result had expired.
+   */
+  private Counter evictions;
+
+  /**
+   * Registers the cache meters.
+   */
+  @PostConstruct
+  public void registerMeters() {
+    hits = Counter.builder("order.idempotency.requests").tag("result", "hit").register(meterRegistry);
+    coalesced = Counter.builder("order.idempotency.requests").tag("result", "coalesced").register(meterRegistry);
+    misses = Counter.builder("order.idempotency.requests").tag("result", "miss").register(meterRegistry);
+    evictions = Counter.builder("order.idempotency.evictions").register(meterRegistry);
+    meterRegistry.gauge("order.idempotency.size", this, IdempotencyCache::size);
+  }
+
+  /**
+   * Returns the result of the checkout with the given key, running it only if no checkout with the key is
+   * running or cached.
+   *
+   * @param userId         the ID of the user placing the order
+   * @param idempotencyKey the client's idempotency key
+   * @param checkout       the checkout to run on a miss
+   * @return the result of the checkout
+   */
+  public CommonResponse execute(final Integer userId, final String idempotencyKey,
+                                final Supplier<CommonResponse> checkout) {
+    String key = userId + ":" + idempotencyKey;
+    CachedResult cached;
+    CachedResult started = null;
+    synchronized (this) {
+      cached = results.get(key);
+      if (cached != null && cached.isExpired()) {
+        results.remove(key);
+        evictions.increment();
+        cached = null;
+      }
+      if (cached == null) {
+        started = new CachedResult(System.nanoTime() + TimeUnit.SECONDS.toNanos(ttlSeconds));
+        results.put(key, started);
+      }
+    }
+
+    if (cached != null) {
+      (cached.getResponse().isDone() ? hits : coalesced).increment();
+      LOGGER.info("Repeated checkout for userId: {} answered from the idempotency cache", userId);
+      return await(cached.getResponse());
+    }
+    misses.increment();
+    return run(key, started, checkout);
+  }
+
+  /**
+   * Returns the number of checkout results currently cached or running.
+   *
+   * @return the number of cached results
+   */
+  public synchronized int size() {
+    return results.size();
+  }
+
+  private CommonResponse run(final String key, final CachedResult started, final Supplier<CommonResponse> checkout) {
+    CompletableFuture<CommonResponse> response = started.getResponse();
+    try {
+      CommonResponse result = checkout.get();
+      response.complete(result);
+      return result;
+    } catch (RuntimeException | Error ex) {
+      synchronized (this) {
+        results.remove(key, started);
+      }
+      response.completeExceptionally(ex);
+      throw ex;
+    }
+  }
+
+  private CommonResponse await(final CompletableFuture<CommonResponse> response) {
+    try {
+      return response.join();
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) ex.getCause();
+      }
+      if (ex.getCause() instanceof Error) {
+        throw (Error) ex.getCause();
+      }
+      throw ex;
+    }
+  }
+
+  /**
+   * A running or completed checkout together with the time it expires at.
+   */
+  private static final class CachedResult {
+
+    /**
+     * The result of the checkout, completed once it has finished.
+     */
+    private final CompletableFuture<CommonResponse> response = new CompletableFuture<>();
+
+    /**
+     * The {@link System#nanoTime()} value after which the result is dropped.
+     */
+    private final long expiresAt;
+
+    /**
+     * Creates the entry of a checkout that has just started.
+     *
+     * @param expiresAt the {@link System#nanoTime()} value after which the result is dropped
+     */
+    CachedResult(final long expiresAt) {
+      this.expiresAt = expiresAt;
+    }
+
+    CompletableFuture<CommonResponse> getResponse() {
+      return response;
+    }
+
+    boolean isExpired() {
+      return System.nanoTime() - expiresAt >= 0;
+    }
+  }
+}
@@ -0,0 +1,257 @@
+package com.nt.order.microservice.cache;
+
+import com.nt.order.microservice.dtos.FoodItemOutDTO;
+import com.nt.order.microservice.serviceimpl.FoodItemFClient;
+import feign.FeignException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process cache of restaurant menus, keyed by restaurant ID and holding each menu indexed by food item ID.
+ * <p>
+ * The cache keeps at most {@code menu.cache.max-restaurants} menus, evicting the least recently used one,
+ * and reloads a menu once it is older than {@code menu.cache.ttl-seconds}. The restaurant service calls
+ * {@link #invalidate(Integer)} whenever a menu changes, and a per-restaurant version guards against a load
+ * that started before an invalidation caching the outdated menu. While a menu cannot be reloaded, the expired
+ * menu keeps being served until it is {@code menu.cache.max-stale-seconds} old, so prices can still be checked
+ * while the restaurant service is down. Hits, misses, stale answers, evictions and invalidations are counted in
+ * the {@code menu.cache.*} meters.
+ * </p>
+ */
+@Component
+public class MenuCache {
+
+  /**
+   * Logger for MenuCache class, used for logging cache loads and failures.
+   */
+  private static final Logger LOGGER = LoggerFactory.getLogger(MenuCache.class);
+
+  /**
+   * Feign client used to load the menu of a restaurant on a cache miss.
+   */
+  @Autowired
+  private FoodItemFClient foodItemFClient;
+
+  /**
+   * Registry the cache counters are published to.
+   */
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  /**
+   * Maximum number of restaurant menus kept in the cache.
+   */
+  @Value("${menu.cache.max-restaurants:500}")
+  private int maxRestaurants;
+
+  /**
+   * Number of seconds after which a cached menu is reloaded.
+   */
+  @Value("${menu.cache.ttl-seconds:300}")
+  private long ttlSeconds;
+
+  /**
+   * Number of seconds after its load for which an expired menu is served while it cannot be reloaded.
+   */
+  @Value("${menu.cache.max-stale-seconds:1800}")
+  private long maxStaleSeconds;
+
+  /**
+   * Cached menus in least recently used order; guarded by {@code this}.
+   */
+  private final Map<Integer, MenuSnapshot> menus = new LinkedHashMap<Integer, MenuSnapshot>(16, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(final Map.Entry<Integer, MenuSnapshot> eldest) {
+      boolean evict = size() > maxRestaurants;
+      if (evict) {
+        evictions.increment();
+      }
+      return evict;
+    }
+  };
+
+  /**
+   * Number of invalidations seen per restaurant; guarded by {@code this}.
+   */
+  private final Map<Integer, Long> versions = new HashMap<>();
+
+  /**
+   * Counter of lookups answered from the cache.
+   */
+  private Counter hits;
+
+  /**
+   * Counter of lookups that had to load the menu.
+   */
+  private Counter misses;
+
+  /**
+   * Counter of lookups answered with an expired menu because it could not be reloaded.
+   */
+  private Counter stale;
+
+  /**
+   * Counter of menus dropped because the cache was full or the menu had expired.
+   */
+  private Counter evictions;
+
+  /**
+   * Counter of menus dropped because the restaurant service reported a change.
+   */
+  private Counter invalidations;
+
+  /**
+   * Registers the cache meters.
+   */
+  @PostConstruct
+  public void registerMeters() {
+    hits = Counter.builder("menu.cache.requests").tag("result", "hit").register(meterRegistry);
+    misses = Counter.builder("menu.cache.requests").tag("result", "miss").register(meterRegistry);
+    stale = Counter.builder("menu.cache.requests").tag("result", "stale").register(meterRegistry);
+    evictions = Counter.builder("menu.cache.evictions").register(meterRegistry);
+    invalidations = Counter.builder("menu.cache.invalidations").register(meterRegistry);
+    meterRegistry.gauge("menu.cache.size", this, MenuCache::size);
+  }
+
+  /**
+   * Returns the menu of a restaurant, loading it from the restaurant service on a miss.
+   * <p>
+   * A menu that cannot be reloaded is answered from the expired copy while that is recent enough; otherwise
+   * it is returned empty and not cached, so callers fall back to looking the items up directly.
+   * </p>
+   *
+   * @param restaurantId the ID of the restaurant
+   * @return an unmodifiable map of the restaurant's food items keyed by food item ID
+   */
+  public Map<Integer, FoodItemOutDTO> getMenu(final Integer restaurantId) {
+    long version;
+    synchronized (this) {
+      MenuSnapshot snapshot = menus.get(restaurantId);
+      if (snapshot != null && !snapshot.isExpired()) {
+        hits.increment();
+        return snapshot.getItems();
+      }
+      if (snapshot != null && snapshot.isTooStale()) {
+        menus.remove(restaurantId);
+        evictions.increment();
+      }
+      version = versions.getOrDefault(restaurantId, 0L);
+    }
+    misses.increment();
+
+    Map<Integer, FoodItemOutDTO> items = loadMenu(restaurantId);
+    synchronized (this) {
+      if (items == null) {
+        MenuSnapshot snapshot = menus.get(restaurantId);
+        if (snapshot == null || snapshot.isTooStale()) {
+          return Collections.emptyMap();
+        }
+        stale.increment();
+        LOGGER.warn("Serving expired menu for restaurantId: {}", restaurantId);
+        return snapshot.getItems();
+      }
+      if (versions.getOrDefault(restaurantId, 0L) == version) {
+        long now = System.nanoTime();
+        menus.put(restaurantId, new MenuSnapshot(items, now + TimeUnit.SECONDS.toNanos(ttlSeconds),
+          now + TimeUnit.SECONDS.toNanos(maxStaleSeconds)));
+      }
+    }
+    return items;
+  }
+
+  /**
+   * Drops the cached menu of a restaurant so the next lookup reloads it.
+   *
+   * @param restaurantId the ID of the restaurant whose menu changed
+   */
+  public synchronized void invalidate(final Integer restaurantId) {
+    versions.merge(restaurantId, 1L, Long::sum);
+    menus.remove(restaurantId);
+    invalidations.increment();
+    LOGGER.info("Invalidated cached menu for restaurantId: {}", restaurantId);
+  }
+
+  /**
+   * Returns the number of menus currently cached.
+   *
+   * @return the number of cached menus
+   */
+  public synchronized int size() {
+    return menus.size();
+  }
+
+  private Map<Integer, FoodItemOutDTO> loadMenu(final Integer restaurantId) {
+    try {
+      Map<Integer, FoodItemOutDTO> items = new HashMap<>();
+      for (FoodItemOutDTO foodItem : foodItemFClient.getFoodItemsByRestaurant(restaurantId)) {
+        items.put(foodItem.getFoodItemId(), foodItem);
+      }
+      LOGGER.info("Loaded menu of {} food items for restaurantId: {}", items.size(), restaurantId);
+      return Collections.unmodifiableMap(items);
+    } catch (FeignException.NotFound ex) {
+      LOGGER.info("Restaurant has no food items, restaurantId: {}", restaurantId);
+      return Collections.emptyMap();
+    } catch (Exception ex) {
+      LOGGER.warn("Failed to load menu for restaurantId: {}", restaurantId, ex);
+      return null;
+    }
+  }
+
+  /**
+   * A cached menu together with the times it expires at and stops being served at.
+   */
+  private static final class MenuSnapshot {
+
+    /**
+     * The food items of the menu keyed by food item ID.
+     */
+    private final Map<Integer, FoodItemOutDTO> items;
+
+    /**
+     * The {@link System#nanoTime()} value after which the menu is reloaded.
+     */
+    private final long expiresAt;
+
+    /**
+     * The {@link System#nanoTime()} value after which the menu is no longer served when it cannot be reloaded.
+     */
+    private final long staleUntil;
+
+    /**
+     * Creates a snapshot of a menu.
+     *
+     * @param items      the food items of the menu keyed by food item ID
+     * @param expiresAt  the {@link System#nanoTime()} value after which the menu is reloaded
+     * @param staleUntil the {@link System#nanoTime()} value after which the menu is no longer served
+     */
+    MenuSnapshot(final Map<Integer, FoodItemOutDTO> items, final long expiresAt, final long staleUntil) {
+      this.items = items;
+      this.expiresAt = expiresAt;
+      this.staleUntil = staleUntil;
+    }
+
+    Map<Integer, FoodItemOutDTO> getItems() {
+      return items;
+    }
+
+    boolean isExpired() {
+      return System.nanoTime() - expiresAt >= 0;
+    }
+
+    boolean isTooStale() {
+      return System.nanoTime() - staleUntil >= 0;
+    }
+  }
+}
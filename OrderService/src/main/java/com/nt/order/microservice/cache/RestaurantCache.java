@@ -0,0 +1,173 @@
+package com.nt.order.microservice.cache;
+
+import com.nt.order.microservice.config.ResilientFeignClient;
+import com.nt.order.microservice.dtos.RestaurantOutDTO;
+import com.nt.order.microservice.serviceimpl.RestaurantFClient;
+import feign.FeignException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Last-known-good copy of the restaurants looked up through {@link RestaurantFClient#getRestaurantById(Integer)}.
+ * <p>
+ * Every lookup still asks the restaurant service, so a restaurant that was removed is noticed at once. Only when
+ * the restaurant service is unavailable, because its circuit breaker is open, its bulkhead is full, the call timed
+ * out or it answered with a server error, is the restaurant answered from the copy, provided the copy is at most
+ * {@code restaurant.cache.max-stale-seconds} old. At most {@code restaurant.cache.max-restaurants} restaurants are
+ * kept. Fallbacks are counted in the {@code restaurant.cache.fallbacks} meter.
+ * </p>
+ */
+@Component
+public class RestaurantCache {
+
+  /**
+   * Logger for RestaurantCache class, used for logging fallbacks.
+   */
+  private static final Logger LOGGER = LoggerFactory.getLogger(RestaurantCache.class);
+
+  /**
+   * Feign client used to look up a restaurant.
+   */
+  @Autowired
+  private RestaurantFClient restaurantFClient;
+
+  /**
+   * Registry the cache counters are published to.
+   */
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  /**
+   * Maximum number of restaurants kept.
+   */
+  @Value("${restaurant.cache.max-restaurants:1000}")
+  private int maxRestaurants;
+
+  /**
+   * Number of seconds for which a restaurant may be answered from the copy while the restaurant service is down.
+   */
+  @Value("${restaurant.cache.max-stale-seconds:600}")
+  private long maxStaleSeconds;
+
+  /**
+   * Last known restaurants in least recently used order; guarded by {@code this}.
+   */
+  private final Map<Integer, KnownRestaurant> restaurants =
+    new LinkedHashMap<Integer, KnownRestaurant>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(final Map.Entry<Integer, KnownRestaurant> eldest) {
+        return size() > maxRestaurants;
+      }
+    };
+
+  /**
+   * Counter of lookups answered from the copy because the restaurant service was unavailable.
+   */
+  private Counter fallbacks;
+
+  /**
+   * Registers the cache meters.
+   */
+  @PostConstruct
+  public void registerMeters() {
+    fallbacks = Counter.builder("restaurant.cache.fallbacks").register(meterRegistry);
+    meterRegistry.gauge("restaurant.cache.size", this, RestaurantCache::size);
+  }
+
+  /**
+   * Looks up a restaurant, falling back to its last known copy while the restaurant service is unavailable.
+   *
+   * @param restaurantId the ID of the restaurant
+   * @return the restaurant, or {@code null} if the restaurant service answered without one
+   * @throws FeignException.NotFound if the restaurant does not exist
+   * @throws RuntimeException        the error of the call if the restaurant service is unavailable and no recent
+   *                                 copy is known, or if the call failed for another reason
+   */
+  public RestaurantOutDTO getRestaurant(final Integer restaurantId) {
+    try {
+      RestaurantOutDTO restaurant = restaurantFClient.getRestaurantById(restaurantId);
+      synchronized (this) {
+        if (restaurant != null) {
+          restaurants.put(restaurantId, new KnownRestaurant(restaurant, System.nanoTime()));
+        } else {
+          restaurants.remove(restaurantId);
+        }
+      }
+      return restaurant;
+    } catch (FeignException.NotFound ex) {
+      synchronized (this) {
+        restaurants.remove(restaurantId);
+      }
+      throw ex;
+    } catch (RuntimeException ex) {
+      if (!ResilientFeignClient.isUnavailable(ex)) {
+        throw ex;
+      }
+      KnownRestaurant known;
+      synchronized (this) {
+        known = restaurants.get(restaurantId);
+      }
+      if (known == null || known.isOlderThan(maxStaleSeconds)) {
+        throw ex;
+      }
+      fallbacks.increment();
+      LOGGER.warn("Restaurant service unavailable, using last known restaurantId: {}: {}", restaurantId,
+        ex.toString());
+      return known.getRestaurant();
+    }
+  }
+
+  /**
+   * Returns the number of restaurants currently kept.
+   *
+   * @return the number of kept restaurants
+   */
+  public synchronized int size() {
+    return restaurants.size();
+  }
+
+  /**
+   * A restaurant together with the time it was looked up.
+   */
+  private static final class KnownRestaurant {
+
+    /**
+     * The restaurant as last returned by the restaurant service.
+     */
+    private final RestaurantOutDTO restaurant;
+
+    /**
+     * The {@link System#nanoTime()} value at which the restaurant was looked up.
+     */
+    private final long loadedAt;
+
+    /**
+     * Creates a copy of a restaurant.
+     *
+     * @param restaurant the restaurant
+     * @param loadedAt   the {@link System#nanoTime()} value at which the restaurant was looked up
+     */
+    KnownRestaurant(final RestaurantOutDTO restaurant, final long loadedAt) {
+      this.restaurant = restaurant;
+      this.loadedAt = loadedAt;
+    }
+
+    RestaurantOutDTO getRestaurant() {
+      return restaurant;
+    }
+
+    boolean isOlderThan(final long seconds) {
+      return System.nanoTime() - loadedAt > TimeUnit.SECONDS.toNanos(seconds);
+    }
+  }
+}
@@ -0,0 +1,242 @@
+package com.nt.order.microservice.cache;
+
+import com.nt.order.microservice.dtos.UserOutDTO;
+import com.nt.order.microservice.serviceimpl.UserFClient;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalescing front of {@link UserFClient#getUserProfile(Integer)} with a short-lived cache of user identities.
+ * <p>
+ * Concurrent lookups of the same user share one call to the user service. {@link #getUser(Integer)} also answers
+ * from a cache of at most {@code user.profile.cache.max-users} users kept for {@code user.profile.cache.ttl-seconds},
+ * which holds only the identity and role of a user; the wallet balance changes with every order and is never
+ * cached, so callers that need it use {@link #getProfile(Integer)}. Errors, including an unknown user, are passed
+ * to every waiting caller and not cached. Lookups are counted in the {@code user.profile.cache.*} meters.
+ * </p>
+ */
+@Component
+public class UserProfileCache {
+
+  /**
+   * Feign client used to load a user profile.
+   */
+  @Autowired
+  private UserFClient userFClient;
+
+  /**
+   * Registry the cache counters are published to.
+   */
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  /**
+   * Maximum number of users kept in the cache.
+   */
+  @Value("${user.profile.cache.max-users:10000}")
+  private int maxUsers;
+
+  /**
+   * Number of seconds after which a cached user is loaded again.
+   */
+  @Value("${user.profile.cache.ttl-seconds:30}")
+  private long ttlSeconds;
+
+  /**
+   * Cached users without their wallet balance, in least recently used order; guarded by {@code this}.
+   */
+  private final Map<Integer, CachedUser> users = new LinkedHashMap<Integer, CachedUser>(16, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(final Map.Entry<Integer, CachedUser> eldest) {
+      boolean evict = size() > maxUsers;
+      if (evict) {
+        evictions.increment();
+      }
+      return evict;
+    }
+  };
+
+  /**
+   * Calls to the user service currently running, by user ID.
+   */
+  private final ConcurrentMap<Integer, CompletableFuture<UserOutDTO>> calls = new ConcurrentHashMap<>();
+
+  /**
+   * Counter of lookups answered from the cache.
+   */
+  private Counter hits;
+
+  /**
+   * Counter of lookups that joined a call already running.
+   */
+  private Counter coalesced;
+
+  /**
+   * Counter of lookups that called the user service.
+   */
+  private Counter misses;
+
+  /**
+   * Counter of users dropped because the cache was full or the entry had expired.
+   */
+  private Counter evictions;
+
+  /**
+   * Registers the cache meters.
+   */
+  @PostConstruct
+  public void registerMeters() {
+    hits = Counter.builder("user.profile.cache.requests").tag("result", "hit").register(meterRegistry);
+    coalesced = Counter.builder("user.profile.cache.requests").tag("result", "coalesced").register(meterRegistry);
+    misses = Counter.builder("user.profile.cache.requests").tag("result", "miss").register(meterRegistry);
+    evictions = Counter.builder("user.profile.cache.evictions").register(meterRegistry);
+    meterRegistry.gauge("user.profile.cache.size", this, UserProfileCache::size);
+  }
+
+  /**
+   * Returns the identity and role of a user, possibly up to the TTL old. The wallet balance is not set.
+   *
+   * @param userId the ID of the user
+   * @return the user without the wallet balance
+   * @throws feign.FeignException.NotFound if the user does not exist
+   */
+  public UserOutDTO getUser(final Integer userId) {
+    synchronized (this) {
+      CachedUser cached = users.get(userId);
+      if (cached != null && !cached.isExpired()) {
+        hits.increment();
+        return copyOf(cached.getUser(), false);
+      }
+      if (cached != null) {
+        users.remove(userId);
+        evictions.increment();
+      }
+    }
+    return copyOf(load(userId), false);
+  }
+
+  /**
+   * Returns the current profile of a user, including the wallet balance, sharing a call already running
+   * for the same user.
+   *
+   * @param userId the ID of the user
+   * @return the profile of the user
+   * @throws feign.FeignException.NotFound if the user does not exist
+   */
+  public UserOutDTO getProfile(final Integer userId) {
+    return copyOf(load(userId), true);
+  }
+
+  /**
+   * Returns the number of users currently cached.
+   *
+   * @return the number of cached users
+   */
+  public synchronized int size() {
+    return users.size();
+  }
+
+  private UserOutDTO load(final Integer userId) {
+    CompletableFuture<UserOutDTO> call = new CompletableFuture<>();
+    CompletableFuture<UserOutDTO> running = calls.putIfAbsent(userId, call);
+    if (running != null) {
+      coalesced.increment();
+      return await(running);
+    }
+    misses.increment();
+    try {
+      UserOutDTO user = userFClient.getUserProfile(userId);
+      if (user != null) {
+        synchronized (this) {
+          users.put(userId, new CachedUser(copyOf(user, false),
+            System.nanoTime() + TimeUnit.SECONDS.toNanos(ttlSeconds)));
+        }
+      }
+      call.complete(user);
+      return user;
+    } catch (RuntimeException | Error ex) {
+      call.completeExceptionally(ex);
+      throw ex;
+    } finally {
+      calls.remove(userId, call);
+    }
+  }
+
+  private UserOutDTO await(final CompletableFuture<UserOutDTO> call) {
+    try {
+      return call.join();
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) ex.getCause();
+      }
+      if (ex.getCause() instanceof Error) {
+        throw (Error) ex.getCause();
+      }
+      throw ex;
+    }
+  }
+
+  private static UserOutDTO copyOf(final UserOutDTO user, final boolean withBalance) {
+    if (user == null) {
+      return null;
+    }
+    UserOutDTO copy = new UserOutDTO();
+    copy.setId(user.getId());
+    copy.setFirstName(user.getFirstName());
+    copy.setLastName(user.getLastName());
+    copy.setEmail(user.getEmail());
+    copy.setPhoneNo(user.getPhoneNo());
+    copy.setRole(user.getRole());
+    if (withBalance) {
+      copy.setWalletBalance(user.getWalletBalance());
+    }
+    return copy;
+  }
+
+  /**
+   * A cached user together with the time it expires at.
+   */
+  private static final class CachedUser {
+
+    /**
+     * The user without the wallet balance.
+     */
+    private final UserOutDTO user;
+
+    /**
+     * The {@link System#nanoTime()} value after which the user is loaded again.
+     */
+    private final long expiresAt;
+
+    /**
+     * Creates a cache entry.
+     *
+     * @param user      the user without the wallet balance
+     * @param expiresAt the {@link System#nanoTime()} value after which the user is loaded again
+     */
+    CachedUser(final UserOutDTO user, final long expiresAt) {
+      this.user = user;
+      this.expiresAt = expiresAt;
+    }
+
+    UserOutDTO getUser() {
+      return user;
+    }
+
+    boolean isExpired() {
+      return System.nanoTime() - expiresAt >= 0;
+    }
+  }
+}
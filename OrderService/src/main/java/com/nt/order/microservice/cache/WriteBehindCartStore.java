@@ -0,0 +1,799 @@
+package com.nt.order.microservice.cache;
+
+import com.nt.order.microservice.dtos.CartLineInDTO;
+import com.nt.order.microservice.entities.Cart;
+import com.nt.order.microservice.repository.CartRepository;
+import com.nt.order.microservice.util.CartAction;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Cart store that keeps the active carts in memory and writes their changes to the cart table in the background.
+ * <p>
+ * Enabled with {@code cart.store.mode=write-behind}. The cart of a user is loaded from the database on its first
+ * use, after which it is read and changed in memory under a lock of that cart alone. Every
+ * {@code cart.store.flush-interval-ms} the lines changed or removed since the last flush are written in one JDBC
+ * batch, so repeated changes to a line cost one write; a flush that fails is retried on the next run, at most
+ * {@code cart.store.max-flush-retries} times in a row for a cart, after which its unwritten changes are dropped and
+ * the cart is loaded again from the database. A cart whose new lines collide with lines of the same food items
+ * written elsewhere, by another instance or the database cart store, is written by food item instead and loaded
+ * again, so the database IDs replace the ones reserved in memory. A cart with
+ * no unwritten changes is dropped after {@code cart.store.idle-seconds} without use, or earlier, least recently
+ * used first, while more than {@code cart.store.max-users} carts are held. New lines take their IDs from blocks of
+ * {@code cart.store.id-block-size} reserved from the cart sequence. Clearing a cart at checkout takes effect when
+ * the order transaction commits.
+ * </p>
+ * <p>
+ * Changes not yet written when the instance stops abruptly are lost, and the requests of a user must reach the
+ * instance holding the cart, so this store suits a single instance or sticky routing. It is published in the
+ * {@code cart.store.*} meters.
+ * </p>
+ */
+@Component
+@ConditionalOnProperty(name = "cart.store.mode", havingValue = "write-behind")
+public class WriteBehindCartStore implements CartStore {
+
+  /**
+   * Logger for WriteBehindCartStore class, used for logging flush failures.
+   */
+  private static final Logger LOGGER = LoggerFactory.getLogger(WriteBehindCartStore.class);
+
+  /**
+   * Reserves a block of cart line IDs from the sequence of the cart table.
+   */
+  static final String RESERVE_IDS = "SELECT nextval(pg_get_serial_sequence('cart', 'cart_id')) FROM generate_series(1, ?)";
+
+  /**
+   * Writes the current state of a cart line.
+   */
+  static final String UPSERT_LINE = "INSERT INTO cart (cart_id, user_id, restaurant_id, food_item_id, quantity, price) "
+    + "VALUES (?, ?, ?, ?, ?, ?) "
+    + "ON CONFLICT (cart_id) DO UPDATE SET quantity = EXCLUDED.quantity, price = EXCLUDED.price, "
+    + "updated_at = now()";
+
+  /**
+   * Removes a cart line.
+   */
+  static final String DELETE_LINE = "DELETE FROM cart WHERE cart_id = ?";
+
+  /**
+   * Writes the current state of a cart line onto the line of the same food item, whatever its ID.
+   */
+  static final String MERGE_LINE = "INSERT INTO cart (cart_id, user_id, restaurant_id, food_item_id, quantity, price) "
+    + "VALUES (?, ?, ?, ?, ?, ?) "
+    + "ON CONFLICT (user_id, restaurant_id, food_item_id) DO UPDATE SET quantity = EXCLUDED.quantity, "
+    + "price = EXCLUDED.price, updated_at = now()";
+
+  /**
+   * Removes the cart line of a food item, whatever its ID.
+   */
+  static final String DELETE_ITEM = "DELETE FROM cart WHERE user_id = ? AND restaurant_id = ? AND food_item_id = ?";
+
+  /**
+   * Repository the carts are loaded from.
+   */
+  @Autowired
+  private CartRepository cartRepository;
+
+  /**
+   * Template running the flush batches and ID reservations.
+   */
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  /**
+   * Transaction manager used for the flush transactions.
+   */
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  /**
+   * Registry the store meters are published to.
+   */
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  /**
+   * Number of carts above which carts without unwritten changes are dropped early.
+   */
+  @Value("${cart.store.max-users:10000}")
+  private int maxUsers;
+
+  /**
+   * Number of seconds without use after which a cart without unwritten changes is dropped.
+   */
+  @Value("${cart.store.idle-seconds:1800}")
+  private long idleSeconds;
+
+  /**
+   * Number of cart line IDs reserved from the sequence at a time.
+   */
+  @Value("${cart.store.id-block-size:100}")
+  private int idBlockSize;
+
+  /**
+   * Number of failed flushes in a row after which the unwritten changes of a cart are dropped.
+   */
+  @Value("${cart.store.max-flush-retries:50}")
+  private int maxFlushRetries;
+
+  /**
+   * Carts held in memory by user ID.
+   */
+  private final ConcurrentMap<Integer, UserCart> carts = new ConcurrentHashMap<>();
+
+  /**
+   * User IDs of the cart lines held in memory by cart line ID.
+   */
+  private final ConcurrentMap<Integer, Integer> lineOwners = new ConcurrentHashMap<>();
+
+  /**
+   * IDs of the users whose carts have unwritten changes.
+   */
+  private final Set<Integer> dirtyUsers = ConcurrentHashMap.newKeySet();
+
+  /**
+   * Reserved cart line IDs not yet used; guarded by itself.
+   */
+  private final Deque<Integer> reservedIds = new ArrayDeque<>();
+
+  /**
+   * Counter of carts loaded from the database.
+   */
+  private Counter loads;
+
+  /**
+   * Counter of cart lines written or removed by flushes.
+   */
+  private Counter writtenLines;
+
+  /**
+   * Counter of flush transactions that failed.
+   */
+  private Counter failedFlushes;
+
+  /**
+   * Registers the store meters.
+   */
+  @PostConstruct
+  public void registerMeters() {
+    loads = Counter.builder("cart.store.loads").register(meterRegistry);
+    writtenLines = Counter.builder("cart.store.written.lines").register(meterRegistry);
+    failedFlushes = Counter.builder("cart.store.flush.failures").register(meterRegistry);
+    meterRegistry.gauge("cart.store.size", carts, Map::size);
+    meterRegistry.gauge("cart.store.dirty", dirtyUsers, Set::size);
+  }
+
+  /**
+   * Retrieves a cart line by its ID, loading the cart of its user if needed.
+   *
+   * @param cartId the ID of the cart line
+   * @return the cart line, or empty if there is none
+   */
+  @Override
+  public Optional<Cart> findById(final Integer cartId) {
+    Integer userId = ownerOf(cartId);
+    if (userId == null) {
+      return Optional.empty();
+    }
+    return withCart(userId, cart -> Optional.ofNullable(cart.lines.get(cartId)).map(WriteBehindCartStore::copy));
+  }
+
+  /**
+   * Retrieves the cart lines of a user.
+   *
+   * @param userId the ID of the user
+   * @return copies of the cart lines of the user
+   */
+  @Override
+  public List<Cart> findByUserId(final Integer userId) {
+    return withCart(userId, cart -> cart.lines.values().stream()
+      .map(WriteBehindCartStore::copy)
+      .collect(Collectors.toList()));
+  }
+
+  /**
+   * Retrieves the cart lines of a user for one restaurant.
+   *
+   * @param userId       the ID of the user
+   * @param restaurantId the ID of the restaurant
+   * @return copies of the cart lines of the user for the restaurant
+   */
+  @Override
+  public List<Cart> findByUserIdAndRestaurantId(final Integer userId, final Integer restaurantId) {
+    return withCart(userId, cart -> cart.lines.values().stream()
+      .filter(line -> restaurantId.equals(line.getRestaurantId()))
+      .map(WriteBehindCartStore::copy)
+      .collect(Collectors.toList()));
+  }
+
+  /**
+   * Adds a quantity of a food item to a user's cart in memory.
+   *
+   * @param userId       the ID of the user
+   * @param restaurantId the ID of the restaurant of the food item
+   * @param foodItemId   the ID of the food item
+   * @param quantity     the quantity to add
+   * @param price        the unit price of the food item, stored when the line is created
+   * @return true if a new cart line was created, false if an existing one was increased
+   */
+  @Override
+  public boolean upsertItem(final Integer userId, final Integer restaurantId, final Integer foodItemId,
+                            final Integer quantity, final Double price) {
+    return withCart(userId, cart -> addQuantity(cart, restaurantId, foodItemId, quantity, price));
+  }
+
+  /**
+   * Applies the validated lines of a cart batch in memory, all at once.
+   *
+   * @param userId       the ID of the user whose cart is changed
+   * @param restaurantId the ID of the restaurant of the food items
+   * @param lines        the changes to apply
+   */
+  @Override
+  public void applyLines(final Integer userId, final Integer restaurantId, final List<CartLineInDTO> lines) {
+    withCart(userId, cart -> {
+      for (CartLineInDTO line : lines) {
+        if (line.getAction() == CartAction.ADD) {
+          addQuantity(cart, restaurantId, line.getFoodItemId(), line.getQuantity(), line.getPrice());
+          continue;
+        }
+        Cart existing = cart.find(restaurantId, line.getFoodItemId());
+        if (line.getAction() == CartAction.REMOVE) {
+          if (existing != null) {
+            remove(cart, existing.getCartId());
+          }
+        } else if (existing != null) {
+          existing.setQuantity(line.getQuantity());
+          changed(cart, existing.getCartId());
+        } else {
+          create(cart, restaurantId, line.getFoodItemId(), line.getQuantity(), line.getPrice());
+        }
+      }
+      return null;
+    });
+  }
+
+  /**
+   * Stores the quantity and price of an existing cart line in memory.
+   *
+   * @param cart the changed cart line
+   */
+  @Override
+  public void save(final Cart cart) {
+    withCart(cart.getUserId(), userCart -> {
+      Cart line = userCart.lines.get(cart.getCartId());
+      if (line != null) {
+        line.setQuantity(cart.getQuantity());
+        line.setPrice(cart.getPrice());
+        changed(userCart, line.getCartId());
+      }
+      return null;
+    });
+  }
+
+  /**
+   * Removes a cart line in memory.
+   *
+   * @param cartId the ID of the cart line
+   */
+  @Override
+  public void deleteById(final Integer cartId) {
+    Integer userId = ownerOf(cartId);
+    if (userId != null) {
+      withCart(userId, cart -> {
+        remove(cart, cartId);
+        return null;
+      });
+    }
+  }
+
+  /**
+   * Removes cart lines in memory.
+   *
+   * @param lines the cart lines to remove
+   */
+  @Override
+  public void deleteAll(final List<Cart> lines) {
+    for (Cart line : lines) {
+      deleteById(line.getCartId());
+    }
+  }
+
+  /**
+   * Removes every cart line of a user, once the current transaction commits if there is one.
+   *
+   * @param userId the ID of the user
+   */
+  @Override
+  public void deleteByUserId(final Integer userId) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      clear(userId);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        clear(userId);
+      }
+    });
+  }
+
+  /**
+   * Writes the changes made since the last flush, then drops carts that are idle or over the limit.
+   *
+   * @return the number of cart lines written or removed
+   */
+  @Scheduled(fixedDelayString = "${cart.store.flush-interval-ms:200}")
+  public synchronized int flush() {
+    List<PendingChanges> pending = new ArrayList<>();
+    for (Integer userId : dirtyUsers) {
+      dirtyUsers.remove(userId);
+      UserCart cart = carts.get(userId);
+      if (cart != null) {
+        synchronized (cart) {
+          pending.add(cart.takeChanges());
+        }
+      }
+    }
+
+    int written = 0;
+    if (!pending.isEmpty()) {
+      if (write(pending)) {
+        written = pending.stream().mapToInt(PendingChanges::size).sum();
+        pending.forEach(changes -> changes.cart.failedFlushes = 0);
+      } else {
+        for (PendingChanges changes : pending) {
+          if (writeCart(changes)) {
+            written += changes.size();
+            changes.cart.failedFlushes = 0;
+          } else {
+            restore(changes);
+          }
+        }
+      }
+      for (PendingChanges changes : pending) {
+        synchronized (changes.cart) {
+          changes.cart.flushing = false;
+        }
+      }
+      writtenLines.increment(written);
+    }
+    evict();
+    return written;
+  }
+
+  /**
+   * Writes the remaining changes before the application stops.
+   */
+  @PreDestroy
+  public void flushOnShutdown() {
+    flush();
+    if (!dirtyUsers.isEmpty()) {
+      LOGGER.error("Stopping with unwritten cart changes of {} users", dirtyUsers.size());
+    }
+  }
+
+  /**
+   * Returns the number of carts currently held in memory.
+   *
+   * @return the number of held carts
+   */
+  public int size() {
+    return carts.size();
+  }
+
+  /**
+   * Runs an action on the cart of a user under its lock, loading the cart from the database if it is not held.
+   *
+   * @param userId the ID of the user
+   * @param action the action to run
+   * @param <T>    the type of the result of the action
+   * @return the result of the action
+   */
+  private <T> T withCart(final Integer userId, final Function<UserCart, T> action) {
+    while (true) {
+      UserCart cart = carts.get(userId);
+      if (cart == null) {
+        cart = load(userId);
+      }
+      synchronized (cart) {
+        if (!cart.evicted) {
+          cart.lastUsed = System.nanoTime();
+          return action.apply(cart);
+        }
+      }
+    }
+  }
+
+  private UserCart load(final Integer userId) {
+    UserCart loaded = new UserCart(userId);
+    for (Cart line : cartRepository.findByUserId(userId)) {
+      loaded.lines.put(line.getCartId(), copy(line));
+    }
+    UserCart existing = carts.putIfAbsent(userId, loaded);
+    if (existing != null) {
+      return existing;
+    }
+    loaded.lines.keySet().forEach(cartId -> lineOwners.put(cartId, userId));
+    loads.increment();
+    return loaded;
+  }
+
+  /**
+   * Finds the user owning a cart line, asking the database if the line is not held in memory.
+   *
+   * @param cartId the ID of the cart line
+   * @return the ID of the user, or {@code null} if the line does not exist
+   */
+  private Integer ownerOf(final Integer cartId) {
+    Integer userId = lineOwners.get(cartId);
+    if (userId != null) {
+      return userId;
+    }
+    return cartRepository.findById(cartId).map(Cart::getUserId).orElse(null);
+  }
+
+  private boolean addQuantity(final UserCart cart, final Integer restaurantId, final Integer foodItemId,
+                              final Integer quantity, final Double price) {
+    Cart existing = cart.find(restaurantId, foodItemId);
+    if (existing != null) {
+      existing.setQuantity(existing.getQuantity() + quantity);
+      changed(cart, existing.getCartId());
+      return false;
+    }
+    create(cart, restaurantId, foodItemId, quantity, price);
+    return true;
+  }
+
+  private void create(final UserCart cart, final Integer restaurantId, final Integer foodItemId,
+                      final Integer quantity, final Double price) {
+    Integer cartId = nextId();
+    cart.lines.put(cartId, new Cart(cartId, cart.userId, restaurantId, foodItemId, quantity, price));
+    lineOwners.put(cartId, cart.userId);
+    changed(cart, cartId);
+  }
+
+  private void changed(final UserCart cart, final Integer cartId) {
+    cart.changedIds.add(cartId);
+    dirtyUsers.add(cart.userId);
+  }
+
+  private void remove(final UserCart cart, final Integer cartId) {
+    Cart line = cart.lines.remove(cartId);
+    if (line != null) {
+      lineOwners.remove(cartId);
+      cart.changedIds.remove(cartId);
+      cart.removedLines.put(cartId, line);
+      dirtyUsers.add(cart.userId);
+    }
+  }
+
+  private void clear(final Integer userId) {
+    withCart(userId, cart -> {
+      for (Integer cartId : new ArrayList<>(cart.lines.keySet())) {
+        remove(cart, cartId);
+      }
+      return null;
+    });
+  }
+
+  private Integer nextId() {
+    synchronized (reservedIds) {
+      if (reservedIds.isEmpty()) {
+        reservedIds.addAll(jdbcTemplate.queryForList(RESERVE_IDS, Integer.class, idBlockSize));
+      }
+      return reservedIds.poll();
+    }
+  }
+
+  /**
+   * Writes changes of several carts in one transaction.
+   *
+   * @param pending the changes to write
+   * @return true if the transaction committed
+   */
+  private boolean write(final List<PendingChanges> pending) {
+    try {
+      writeChanges(pending, false);
+      return true;
+    } catch (RuntimeException ex) {
+      failedFlushes.increment();
+      LOGGER.error("Failed to write cart changes of {} users: {}", pending.size(), ex.toString());
+      return false;
+    }
+  }
+
+  /**
+   * Writes the changes of one cart. If its lines collide with lines of the same food items written elsewhere,
+   * they are written by food item instead and the cart is marked to be loaded again.
+   *
+   * @param changes the changes to write
+   * @return true if the changes were written
+   */
+  private boolean writeCart(final PendingChanges changes) {
+    try {
+      try {
+        writeChanges(Collections.singletonList(changes), false);
+      } catch (DataIntegrityViolationException ex) {
+        LOGGER.warn("Cart of user {} collides with lines written elsewhere, writing it by food item: {}",
+          changes.cart.userId, ex.toString());
+        writeChanges(Collections.singletonList(changes), true);
+        changes.cart.stale = true;
+      }
+      return true;
+    } catch (RuntimeException ex) {
+      failedFlushes.increment();
+      LOGGER.error("Failed to write cart changes of user {}: {}", changes.cart.userId, ex.toString());
+      return false;
+    }
+  }
+
+  /**
+   * Writes changes of carts in one transaction, removals first so a food item removed and added again
+   * does not collide with its old line.
+   *
+   * @param pending    the changes to write
+   * @param byFoodItem whether lines are matched by food item rather than by ID
+   */
+  private void writeChanges(final List<PendingChanges> pending, final boolean byFoodItem) {
+    List<Object[]> deletes = new ArrayList<>();
+    List<Object[]> upserts = new ArrayList<>();
+    for (PendingChanges changes : pending) {
+      for (Cart line : changes.removedLines) {
+        deletes.add(byFoodItem ? new Object[] {line.getUserId(), line.getRestaurantId(), line.getFoodItemId()}
+          : new Object[] {line.getCartId()});
+      }
+      for (Cart line : changes.lines) {
+        upserts.add(new Object[] {line.getCartId(), line.getUserId(), line.getRestaurantId(), line.getFoodItemId(),
+          line.getQuantity(), line.getPrice()});
+      }
+    }
+    new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+      if (!deletes.isEmpty()) {
+        jdbcTemplate.batchUpdate(byFoodItem ? DELETE_ITEM : DELETE_LINE, deletes);
+      }
+      if (!upserts.isEmpty()) {
+        jdbcTemplate.batchUpdate(byFoodItem ? MERGE_LINE : UPSERT_LINE, upserts);
+      }
+    });
+  }
+
+  /**
+   * Marks changes that could not be written as unwritten again, so the next flush retries them. After
+   * {@code cart.store.max-flush-retries} failures in a row the changes are dropped instead and the cart is
+   * marked to be loaded again from the database.
+   *
+   * @param changes the changes that were not written
+   */
+  private void restore(final PendingChanges changes) {
+    UserCart cart = changes.cart;
+    synchronized (cart) {
+      cart.failedFlushes++;
+      if (cart.failedFlushes >= maxFlushRetries) {
+        LOGGER.error("Dropping {} unwritten cart changes of user {} after {} failed flushes, reloading the cart",
+          changes.size(), cart.userId, cart.failedFlushes);
+        cart.failedFlushes = 0;
+        cart.stale = true;
+        return;
+      }
+      for (Cart line : changes.lines) {
+        if (cart.lines.containsKey(line.getCartId())) {
+          cart.changedIds.add(line.getCartId());
+        }
+      }
+      changes.removedLines.forEach(line -> cart.removedLines.putIfAbsent(line.getCartId(), line));
+      dirtyUsers.add(cart.userId);
+    }
+  }
+
+  /**
+   * Drops carts without unwritten changes that are idle or must be loaded again, then the least recently used
+   * ones while too many carts are held.
+   */
+  private void evict() {
+    long now = System.nanoTime();
+    long idleNanos = TimeUnit.SECONDS.toNanos(idleSeconds);
+    List<Map.Entry<Long, UserCart>> byLastUse = new ArrayList<>(carts.size());
+    for (UserCart cart : carts.values()) {
+      long lastUsed = cart.lastUsed;
+      if ((now - lastUsed <= idleNanos && !cart.stale) || !tryEvict(cart)) {
+        byLastUse.add(new AbstractMap.SimpleEntry<>(lastUsed, cart));
+      }
+    }
+    int excess = byLastUse.size() - maxUsers;
+    if (excess <= 0) {
+      return;
+    }
+    byLastUse.sort(Map.Entry.comparingByKey());
+    for (Map.Entry<Long, UserCart> entry : byLastUse) {
+      if (excess <= 0) {
+        return;
+      }
+      if (tryEvict(entry.getValue())) {
+        excess--;
+      }
+    }
+  }
+
+  private boolean tryEvict(final UserCart cart) {
+    synchronized (cart) {
+      if (!cart.isClean()) {
+        return false;
+      }
+      cart.evicted = true;
+      carts.remove(cart.userId, cart);
+      cart.lines.keySet().forEach(cartId -> lineOwners.remove(cartId, cart.userId));
+      return true;
+    }
+  }
+
+  private static Cart copy(final Cart line) {
+    return new Cart(line.getCartId(), line.getUserId(), line.getRestaurantId(), line.getFoodItemId(),
+      line.getQuantity(), line.getPrice());
+  }
+
+  /**
+   * The cart of one user held in memory; every field except {@code userId} and {@code lastUsed} is guarded
+   * by the cart itself.
+   */
+  private static final class UserCart {
+
+    /**
+     * The ID of the user owning the cart.
+     */
+    private final Integer userId;
+
+    /**
+     * The cart lines by cart line ID.
+     */
+    private final Map<Integer, Cart> lines = new LinkedHashMap<>();
+
+    /**
+     * IDs of the lines created or changed since the last flush.
+     */
+    private final Set<Integer> changedIds = new HashSet<>();
+
+    /**
+     * The lines removed since the last flush, by cart line ID.
+     */
+    private final Map<Integer, Cart> removedLines = new LinkedHashMap<>();
+
+    /**
+     * Whether changes taken from the cart are being written.
+     */
+    private boolean flushing;
+
+    /**
+     * Whether the cart was dropped from memory, so it must be loaded again.
+     */
+    private boolean evicted;
+
+    /**
+     * Whether the cart no longer matches the database, so it is dropped once it has no unwritten changes.
+     */
+    private volatile boolean stale;
+
+    /**
+     * The number of flushes in a row that failed to write the changes of the cart; only used by the flush.
+     */
+    private int failedFlushes;
+
+    /**
+     * The {@link System#nanoTime()} value at which the cart was last used.
+     */
+    private volatile long lastUsed = System.nanoTime();
+
+    /**
+     * Creates an empty cart.
+     *
+     * @param userId the ID of the user owning the cart
+     */
+    UserCart(final Integer userId) {
+      this.userId = userId;
+    }
+
+    Cart find(final Integer restaurantId, final Integer foodItemId) {
+      for (Cart line : lines.values()) {
+        if (restaurantId.equals(line.getRestaurantId()) && foodItemId.equals(line.getFoodItemId())) {
+          return line;
+        }
+      }
+      return null;
+    }
+
+    boolean isClean() {
+      return !flushing && changedIds.isEmpty() && removedLines.isEmpty();
+    }
+
+    /**
+     * Takes the changes made since the last flush, leaving the cart marked as being flushed.
+     *
+     * @return the changed lines as they are now and the removed lines
+     */
+    PendingChanges takeChanges() {
+      List<Cart> changed = new ArrayList<>(changedIds.size());
+      for (Integer cartId : changedIds) {
+        Cart line = lines.get(cartId);
+        if (line != null) {
+          changed.add(copy(line));
+        }
+      }
+      PendingChanges changes = new PendingChanges(this, changed, new ArrayList<>(removedLines.values()));
+      changedIds.clear();
+      removedLines.clear();
+      flushing = true;
+      return changes;
+    }
+  }
+
+  /**
+   * Changes of one cart taken for a flush.
+   */
+  private static final class PendingChanges {
+
+    /**
+     * The cart the changes were taken from.
+     */
+    private final UserCart cart;
+
+    /**
+     * Copies of the created or changed lines.
+     */
+    private final List<Cart> lines;
+
+    /**
+     * The removed lines.
+     */
+    private final List<Cart> removedLines;
+
+    /**
+     * Creates the changes of a cart.
+     *
+     * @param cart         the cart the changes were taken from
+     * @param lines        copies of the created or changed lines
+     * @param removedLines the removed lines
+     */
+    PendingChanges(final UserCart cart, final List<Cart> lines, final List<Cart> removedLines) {
+      this.cart = cart;
+      this.lines = lines;
+      this.removedLines = removedLines;
+    }
+
+    int size() {
+      return lines.size() + removedLines.size();
+    }
+  }
+}
@@ -0,0 +1,89 @@
+package com.nt.order.microservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Configuration of the thread pools used by the order microservice.
+ */
+@Configuration
+public class ExecutorConfig {
+
+  /**
+   * Creates the bounded executor on which the remote validations of an order are issued concurrently.
+   * <p>
+   * When both the pool and its queue are full the calling request thread runs the validation itself,
+   * so a saturated pool degrades to the sequential behaviour instead of rejecting checkouts. Validations run with
+   * the HTTP request of the checkout, so they share its memo of downstream GET responses.
+   * </p>
+   *
+   * @param poolSize      the maximum number of concurrent validation calls
+   * @param queueCapacity the number of validation calls allowed to wait for a free thread
+   * @return the validation executor
+   */
+  @Bean(name = "validationExecutor")
+  public ThreadPoolTaskExecutor validationExecutor(@Value("${order.validation.pool-size:16}") final int poolSize,
+                                                   @Value("${order.validation.queue-capacity:256}") final int queueCapacity) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(poolSize);
+    executor.setMaxPoolSize(poolSize);
+    executor.setQueueCapacity(queueCapacity);
+    executor.setThreadNamePrefix("order-validation-");
+    executor.setTaskDecorator(new RequestContextTaskDecorator());
+    executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+    executor.setWaitForTasksToCompleteOnShutdown(true);
+    executor.initialize();
+    return executor;
+  }
+
+  /**
+   * Creates the bounded executor on which the outbox relay delivers the events of a batch concurrently.
+   * <p>
+   * The relay waits for the whole batch, so at most one batch is queued; when the pool is busy the relay
+   * thread delivers the event itself.
+   * </p>
+   *
+   * @param poolSize the maximum number of concurrent deliveries
+   * @param batchSize the maximum number of events in a batch
+   * @return the outbox executor
+   */
+  @Bean(name = "outboxExecutor")
+  public ThreadPoolTaskExecutor outboxExecutor(@Value("${order.outbox.pool-size:8}") final int poolSize,
+                                               @Value("${order.outbox.batch-size:50}") final int batchSize) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(poolSize);
+    executor.setMaxPoolSize(poolSize);
+    executor.setQueueCapacity(batchSize);
+    executor.setThreadNamePrefix("order-outbox-");
+    executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+    executor.setWaitForTasksToCompleteOnShutdown(true);
+    executor.initialize();
+    return executor;
+  }
+
+  /**
+   * Creates the executor on which hedged Feign requests run both their first and their hedge attempt.
+   * <p>
+   * The executor has no queue: when all its threads are busy a first attempt runs on the calling thread
+   * without a hedge, and a hedge is simply not sent, so hedging never delays a request.
+   * </p>
+   *
+   * @param poolSize the maximum number of attempts in flight
+   * @return the hedge executor
+   */
+  @Bean(name = "hedgeExecutor")
+  public ThreadPoolTaskExecutor hedgeExecutor(@Value("${feign.hedging.pool-size:32}") final int poolSize) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(poolSize);
+    executor.setMaxPoolSize(poolSize);
+    executor.setQueueCapacity(0);
+    executor.setThreadNamePrefix("feign-hedge-");
+    executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+    executor.initialize();
+    return executor;
+  }
+}
@@ -0,0 +1,199 @@
+package com.nt.order.microservice.config;
+
+import feign.Client;
+import feign.httpclient.ApacheHttpClient;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.openfeign.support.FeignHttpClientProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuration of the pooled HTTP transport shared by the Feign clients.
+ * <p>
+ * Connections to the other services are kept alive in one pool sized by {@code feign.httpclient.max-connections}
+ * and {@code feign.httpclient.max-connections-per-route}. A request waits at most {@code feign.pool.lease-timeout-ms}
+ * for a free connection, and the connect and read timeouts of each client are set under
+ * {@code feign.client.config.<client name>}. The pool is published in the {@code httpcomponents.httpclient.pool.*}
+ * meters, tagged {@code httpclient=feign}, and the time spent waiting for a connection in {@code feign.pool.lease.wait}.
+ * Every call passes the circuit breaker and bulkhead of its client, see {@link ResilientFeignClient}, and the GET
+ * requests of the clients in {@code feign.hedging.clients} are hedged, see {@link HedgingFeignClient}. Unless
+ * {@code feign.memo.enabled} is false, identical GET requests sent while handling one HTTP request are sent only
+ * once, see {@link MemoizingFeignClient}.
+ * </p>
+ */
+@Configuration
+public class FeignClientConfig {
+
+  /**
+   * Longest time a request waits for a free pooled connection, in milliseconds.
+   */
+  @Value("${feign.pool.lease-timeout-ms:1000}")
+  private int leaseTimeoutMs;
+
+  /**
+   * Time after which an idle pooled connection is closed, in seconds.
+   */
+  @Value("${feign.pool.idle-timeout-seconds:30}")
+  private long idleTimeoutSeconds;
+
+  /**
+   * Time after which a pooled connection is checked before it is reused, in milliseconds.
+   */
+  @Value("${feign.pool.validate-after-inactivity-ms:2000}")
+  private int validateAfterInactivityMs;
+
+  /**
+   * Names of the Feign clients whose GET requests are hedged; none if empty.
+   */
+  @Value("${feign.hedging.clients:}")
+  private List<String> hedgedClients;
+
+  /**
+   * The latency percentile after which a GET request is hedged.
+   */
+  @Value("${feign.hedging.percentile:0.95}")
+  private double hedgePercentile;
+
+  /**
+   * The shortest delay before a GET request is hedged, in milliseconds.
+   */
+  @Value("${feign.hedging.min-delay-ms:50}")
+  private long hedgeMinDelayMs;
+
+  /**
+   * The number of latency samples a client needs before its requests are hedged.
+   */
+  @Value("${feign.hedging.min-samples:100}")
+  private long hedgeMinSamples;
+
+  /**
+   * The share of its requests a client may hedge.
+   */
+  @Value("${feign.hedging.budget-ratio:0.05}")
+  private double hedgeBudgetRatio;
+
+  /**
+   * Whether identical GET requests within one HTTP request are sent only once.
+   */
+  @Value("${feign.memo.enabled:true}")
+  private boolean memoEnabled;
+
+  /**
+   * Creates the connection pool of the Feign clients and registers its meters.
+   *
+   * @param properties    the Feign HTTP client settings
+   * @param meterRegistry the registry the pool meters are published to
+   * @return the connection pool
+   */
+  @Bean(destroyMethod = "shutdown")
+  public PoolingHttpClientConnectionManager feignConnectionManager(final FeignHttpClientProperties properties,
+                                                                   final MeterRegistry meterRegistry) {
+    final Timer leaseWait = Timer.builder("feign.pool.lease.wait")
+      .description("Time spent waiting for a pooled connection")
+      .register(meterRegistry);
+    PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(
+      properties.getTimeToLive(), properties.getTimeToLiveUnit()) {
+      @Override
+      public ConnectionRequest requestConnection(final HttpRoute route, final Object state) {
+        final ConnectionRequest request = super.requestConnection(route, state);
+        return new ConnectionRequest() {
+          @Override
+          public HttpClientConnection get(final long timeout, final TimeUnit timeUnit)
+            throws InterruptedException, ExecutionException, ConnectionPoolTimeoutException {
+            long start = System.nanoTime();
+            try {
+              return request.get(timeout, timeUnit);
+            } finally {
+              leaseWait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+          }
+
+          @Override
+          public boolean cancel() {
+            return request.cancel();
+          }
+        };
+      }
+    };
+    connectionManager.setMaxTotal(properties.getMaxConnections());
+    connectionManager.setDefaultMaxPerRoute(properties.getMaxConnectionsPerRoute());
+    connectionManager.setValidateAfterInactivity(validateAfterInactivityMs);
+    new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "feign").bindTo(meterRegistry);
+    return connectionManager;
+  }
+
+  /**
+   * Creates the HTTP client the Feign clients send their requests through.
+   * <p>
+   * Responses compressed by the other services are decompressed transparently, and idle or expired connections
+   * are closed in the background so a reused connection is rarely one the server has already dropped.
+   * </p>
+   *
+   * @param connectionManager the connection pool
+   * @param properties        the Feign HTTP client settings
+   * @return the HTTP client
+   */
+  @Bean(destroyMethod = "close")
+  public CloseableHttpClient feignHttpClient(final PoolingHttpClientConnectionManager connectionManager,
+                                             final FeignHttpClientProperties properties) {
+    RequestConfig requestConfig = RequestConfig.custom()
+      .setConnectTimeout(properties.getConnectionTimeout())
+      .setConnectionRequestTimeout(leaseTimeoutMs)
+      .setRedirectsEnabled(properties.isFollowRedirects())
+      .build();
+    return HttpClientBuilder.create()
+      .setConnectionManager(connectionManager)
+      .setDefaultRequestConfig(requestConfig)
+      .disableCookieManagement()
+      .evictExpiredConnections()
+      .evictIdleConnections(idleTimeoutSeconds, TimeUnit.SECONDS)
+      .build();
+  }
+
+  /**
+   * Creates the Feign transport backed by the pooled HTTP client, guarded per client by a circuit breaker
+   * and a bulkhead. Each attempt of a hedged request passes them on its own, while a GET answered from the
+   * request memo passes neither.
+   *
+   * @param feignHttpClient        the pooled HTTP client
+   * @param circuitBreakerRegistry the registry of the circuit breakers
+   * @param bulkheadRegistry       the registry of the bulkheads
+   * @param hedgeExecutor          the executor on which the attempts of hedged requests run
+   * @param meterRegistry          the registry the hedging and memo meters are published to
+   * @return the Feign client transport
+   */
+  @Bean
+  public Client feignClient(final CloseableHttpClient feignHttpClient, final CircuitBreakerRegistry circuitBreakerRegistry,
+                            final BulkheadRegistry bulkheadRegistry,
+                            @Qualifier("hedgeExecutor") final Executor hedgeExecutor,
+                            final MeterRegistry meterRegistry) {
+    Client resilient = new ResilientFeignClient(new ApacheHttpClient(feignHttpClient), circuitBreakerRegistry,
+      bulkheadRegistry);
+    Client transport = resilient;
+    if (!hedgedClients.isEmpty()) {
+      transport = new HedgingFeignClient(resilient, hedgeExecutor, meterRegistry, new HashSet<>(hedgedClients),
+        hedgePercentile, hedgeMinDelayMs, hedgeMinSamples, hedgeBudgetRatio);
+    }
+    return memoEnabled ? new MemoizingFeignClient(transport, meterRegistry) : transport;
+  }
+}
@@ -0,0 +1,407 @@
+package com.nt.order.microservice.config;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Feign transport that hedges slow GET requests of selected clients.
+ * <p>
+ * A GET of a client listed in {@code feign.hedging.clients} is sent on the hedge executor. If no response has
+ * arrived after the recent {@code feign.hedging.percentile} latency of that client, but at least
+ * {@code feign.hedging.min-delay-ms}, the same request is sent a second time and the first response is used;
+ * the other response is closed when it arrives. Each request earns a client {@code feign.hedging.budget-ratio}
+ * of a hedge, so hedges never exceed that share of its traffic. No hedge is sent before the client has
+ * {@code feign.hedging.min-samples} latency samples. Only idempotent reads may be hedged. Latencies and hedges
+ * are published in the {@code feign.hedging.*} meters.
+ * </p>
+ */
+public class HedgingFeignClient implements Client {
+
+  /**
+   * Logger for HedgingFeignClient class, used for logging closing failures.
+   */
+  private static final Logger LOGGER = LoggerFactory.getLogger(HedgingFeignClient.class);
+
+  /**
+   * The largest number of unused hedges a client can save up.
+   */
+  private static final double MAX_SAVED_HEDGES = 10.0;
+
+  /**
+   * The transport that sends the requests.
+   */
+  private final Client delegate;
+
+  /**
+   * Executor on which the attempts of hedged requests run.
+   */
+  private final Executor executor;
+
+  /**
+   * Registry the hedging meters are published to.
+   */
+  private final MeterRegistry meterRegistry;
+
+  /**
+   * Names of the Feign clients whose GET requests are hedged.
+   */
+  private final Set<String> clients;
+
+  /**
+   * The latency percentile after which a hedge is sent.
+   */
+  private final double percentile;
+
+  /**
+   * The shortest delay before a hedge is sent, in nanoseconds.
+   */
+  private final long minDelayNanos;
+
+  /**
+   * The number of latency samples a client needs before its requests are hedged.
+   */
+  private final long minSamples;
+
+  /**
+   * The share of its requests a client may hedge.
+   */
+  private final double budgetRatio;
+
+  /**
+   * Hedging state by client name.
+   */
+  private final ConcurrentMap<String, HedgedClient> hedgedClients = new ConcurrentHashMap<>();
+
+  /**
+   * Creates the transport.
+   *
+   * @param delegate      the transport that sends the requests
+   * @param executor      the executor on which the attempts of hedged requests run
+   * @param meterRegistry the registry the hedging meters are published to
+   * @param clients       the names of the Feign clients whose GET requests are hedged
+   * @param percentile    the latency percentile after which a hedge is sent, between 0 and 1
+   * @param minDelayMs    the shortest delay before a hedge is sent, in milliseconds
+   * @param minSamples    the number of latency samples a client needs before its requests are hedged
+   * @param budgetRatio   the share of its requests a client may hedge, between 0 and 1
+   */
+  public HedgingFeignClient(final Client delegate, final Executor executor, final MeterRegistry meterRegistry,
+                            final Set<String> clients, final double percentile, final long minDelayMs,
+                            final long minSamples, final double budgetRatio) {
+    this.delegate = delegate;
+    this.executor = executor;
+    this.meterRegistry = meterRegistry;
+    this.clients = clients;
+    this.percentile = percentile;
+    this.minDelayNanos = TimeUnit.MILLISECONDS.toNanos(minDelayMs);
+    this.minSamples = minSamples;
+    this.budgetRatio = budgetRatio;
+  }
+
+  /**
+   * Sends a request, hedging it if it is a GET of a hedged client.
+   *
+   * @param request the request to send
+   * @param options the timeouts of the request
+   * @return the first response received
+   * @throws IOException if no attempt could send the request or read the response
+   */
+  @Override
+  public Response execute(final Request request, final Request.Options options) throws IOException {
+    String name = ResilientFeignClient.clientName(request);
+    if (request.httpMethod() != Request.HttpMethod.GET || !clients.contains(name)) {
+      return delegate.execute(request, options);
+    }
+    HedgedClient client = hedgedClients.computeIfAbsent(name, HedgedClient::new);
+    client.earnHedge();
+
+    HedgedRequest hedgedRequest = new HedgedRequest(client, request, options);
+    if (!hedgedRequest.start(false)) {
+      return client.timed(request, options);
+    }
+    long delayNanos = client.hedgeDelayNanos();
+    if (delayNanos >= 0 && !hedgedRequest.awaitResponse(delayNanos) && client.spendHedge()) {
+      if (hedgedRequest.start(true)) {
+        client.sent.increment();
+      } else {
+        client.refundHedge();
+      }
+    }
+    return hedgedRequest.result();
+  }
+
+  /**
+   * Latency statistics, hedge budget and meters of one Feign client.
+   */
+  private final class HedgedClient {
+
+    /**
+     * Latencies of the attempts sent by the client.
+     */
+    private final Timer latency;
+
+    /**
+     * Counter of hedges sent.
+     */
+    private final Counter sent;
+
+    /**
+     * Counter of hedges whose response was used.
+     */
+    private final Counter won;
+
+    /**
+     * Hedges earned but not yet spent; guarded by {@code this}.
+     */
+    private double savedHedges;
+
+    /**
+     * Creates the state of a client.
+     *
+     * @param name the name of the client
+     */
+    HedgedClient(final String name) {
+      latency = Timer.builder("feign.hedging.latency")
+        .tag("client", name)
+        .publishPercentiles(percentile)
+        .distributionStatisticExpiry(Duration.ofMinutes(1))
+        .register(meterRegistry);
+      sent = Counter.builder("feign.hedging.hedges").tag("client", name).tag("result", "sent").register(meterRegistry);
+      won = Counter.builder("feign.hedging.hedges").tag("client", name).tag("result", "won").register(meterRegistry);
+    }
+
+    Response timed(final Request request, final Request.Options options) throws IOException {
+      long start = System.nanoTime();
+      try {
+        return delegate.execute(request, options);
+      } finally {
+        latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      }
+    }
+
+    /**
+     * Returns how long to wait for a response before hedging.
+     *
+     * @return the delay in nanoseconds, or -1 while there are too few samples to hedge
+     */
+    long hedgeDelayNanos() {
+      if (latency.count() < minSamples) {
+        return -1;
+      }
+      double recent = 0;
+      for (ValueAtPercentile value : latency.takeSnapshot().percentileValues()) {
+        recent = value.value(TimeUnit.NANOSECONDS);
+      }
+      return Math.max(minDelayNanos, (long) recent);
+    }
+
+    synchronized void earnHedge() {
+      savedHedges = Math.min(MAX_SAVED_HEDGES, savedHedges + budgetRatio);
+    }
+
+    synchronized boolean spendHedge() {
+      if (savedHedges < 1.0) {
+        return false;
+      }
+      savedHedges -= 1.0;
+      return true;
+    }
+
+    synchronized void refundHedge() {
+      savedHedges += 1.0;
+    }
+  }
+
+  /**
+   * The attempts of one hedged request and the first response among them.
+   */
+  private final class HedgedRequest {
+
+    /**
+     * The client sending the request.
+     */
+    private final HedgedClient client;
+
+    /**
+     * The request to send.
+     */
+    private final Request request;
+
+    /**
+     * The timeouts of the request.
+     */
+    private final Request.Options options;
+
+    /**
+     * The number of attempts started; guarded by {@code this}.
+     */
+    private int started;
+
+    /**
+     * The number of attempts that failed; guarded by {@code this}.
+     */
+    private int failed;
+
+    /**
+     * The first response received, or {@code null}; guarded by {@code this}.
+     */
+    private Response response;
+
+    /**
+     * The error of the first attempt, or of the hedge if the first attempt has not failed; guarded by {@code this}.
+     */
+    private Throwable error;
+
+    /**
+     * Whether the caller stopped waiting, so that late responses are closed; guarded by {@code this}.
+     */
+    private boolean abandoned;
+
+    /**
+     * Creates a hedged request.
+     *
+     * @param client  the client sending the request
+     * @param request the request to send
+     * @param options the timeouts of the request
+     */
+    HedgedRequest(final HedgedClient client, final Request request, final Request.Options options) {
+      this.client = client;
+      this.request = request;
+      this.options = options;
+    }
+
+    /**
+     * Starts an attempt on the hedge executor.
+     *
+     * @param hedge whether the attempt is the hedge
+     * @return false if the executor had no free thread
+     */
+    boolean start(final boolean hedge) {
+      synchronized (this) {
+        started++;
+      }
+      try {
+        executor.execute(() -> attempt(hedge));
+        return true;
+      } catch (RejectedExecutionException ex) {
+        synchronized (this) {
+          started--;
+        }
+        return false;
+      }
+    }
+
+    private void attempt(final boolean hedge) {
+      try {
+        Response received = client.timed(request, options);
+        synchronized (this) {
+          if (response == null && !abandoned) {
+            response = received;
+            if (hedge) {
+              client.won.increment();
+            }
+            notifyAll();
+            return;
+          }
+        }
+        close(received);
+      } catch (Throwable ex) {
+        synchronized (this) {
+          failed++;
+          if (error == null || !hedge) {
+            error = ex;
+          }
+          notifyAll();
+        }
+      }
+    }
+
+    /**
+     * Waits for a response for at most the given time.
+     *
+     * @param timeoutNanos the longest time to wait, in nanoseconds
+     * @return true if a response arrived or every attempt failed
+     * @throws InterruptedIOException if the calling thread was interrupted
+     */
+    synchronized boolean awaitResponse(final long timeoutNanos) throws InterruptedIOException {
+      long deadline = System.nanoTime() + timeoutNanos;
+      try {
+        while (response == null && failed < started) {
+          long remaining = deadline - System.nanoTime();
+          if (remaining <= 0) {
+            return false;
+          }
+          TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+        return true;
+      } catch (InterruptedException ex) {
+        throw abandon();
+      }
+    }
+
+    /**
+     * Waits for the first response, or for every attempt to fail.
+     *
+     * @return the first response
+     * @throws IOException if every attempt failed with an I/O error
+     */
+    synchronized Response result() throws IOException {
+      try {
+        while (response == null && failed < started) {
+          wait();
+        }
+      } catch (InterruptedException ex) {
+        throw abandon();
+      }
+      if (response != null) {
+        return response;
+      }
+      if (error instanceof IOException) {
+        throw (IOException) error;
+      }
+      if (error instanceof Error) {
+        throw (Error) error;
+      }
+      throw (RuntimeException) error;
+    }
+
+    /**
+     * Gives up the request after the caller was interrupted, closing any response already received.
+     *
+     * @return the error to throw to the caller
+     */
+    private InterruptedIOException abandon() {
+      abandoned = true;
+      if (response != null) {
+        close(response);
+        response = null;
+      }
+      Thread.currentThread().interrupt();
+      return new InterruptedIOException("Interrupted while waiting for " + request.url());
+    }
+
+    private void close(final Response unused) {
+      try {
+        unused.close();
+      } catch (RuntimeException ex) {
+        LOGGER.debug("Failed to close unused hedged response for {}", request.url(), ex);
+      }
+    }
+  }
+}
@@ -0,0 +1,231 @@
+package com.nt.order.microservice.config;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import feign.Util;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Feign transport that sends each GET request at most once per incoming HTTP request.
+ * <p>
+ * While an HTTP request is handled, the responses to the GET requests sent on its behalf are kept in a memo bound
+ * to that request, and an identical GET, to the same URL, is answered from the memo instead of being sent again.
+ * A GET issued while the same one is in flight waits for its response. Server errors and failed calls are not
+ * kept, so a later call tries again, and any other request, which may change what a GET returns, empties the memo.
+ * The memo is dropped with the request, so it needs no invalidation. Calls made outside an HTTP request, such as
+ * those of the outbox relay, are always sent. Saved calls are counted in the {@code feign.memo.saved} meter, tagged
+ * with the client name.
+ * </p>
+ */
+public class MemoizingFeignClient implements Client {
+
+  /**
+   * Logger for MemoizingFeignClient class, used for reporting the calls saved per request.
+   */
+  private static final Logger LOGGER = LoggerFactory.getLogger(MemoizingFeignClient.class);
+
+  /**
+   * Name of the request attribute holding the memo.
+   */
+  static final String MEMO_ATTRIBUTE = MemoizingFeignClient.class.getName() + ".MEMO";
+
+  /**
+   * The lowest HTTP status of a server error, which is not kept.
+   */
+  private static final int SERVER_ERROR = 500;
+
+  /**
+   * The transport that sends the requests.
+   */
+  private final Client delegate;
+
+  /**
+   * Registry the memo meters are published to.
+   */
+  private final MeterRegistry meterRegistry;
+
+  /**
+   * Creates the transport.
+   *
+   * @param delegate      the transport that sends the requests
+   * @param meterRegistry the registry the memo meters are published to
+   */
+  public MemoizingFeignClient(final Client delegate, final MeterRegistry meterRegistry) {
+    this.delegate = delegate;
+    this.meterRegistry = meterRegistry;
+  }
+
+  /**
+   * Sends a request, or answers a GET from the memo of the current HTTP request.
+   *
+   * @param request the request to send
+   * @param options the timeouts of the request
+   * @return the response
+   * @throws IOException if the request could not be sent or the response could not be read
+   */
+  @Override
+  public Response execute(final Request request, final Request.Options options) throws IOException {
+    Memo memo = currentMemo();
+    if (memo == null) {
+      return delegate.execute(request, options);
+    }
+    if (request.httpMethod() != Request.HttpMethod.GET) {
+      memo.responses.clear();
+      return delegate.execute(request, options);
+    }
+
+    memo.calls.incrementAndGet();
+    CompletableFuture<MemoizedResponse> pending = new CompletableFuture<>();
+    CompletableFuture<MemoizedResponse> earlier = memo.responses.putIfAbsent(request.url(), pending);
+    if (earlier != null) {
+      MemoizedResponse memoized = earlier.join();
+      if (memoized != null) {
+        memo.saved.incrementAndGet();
+        Counter.builder("feign.memo.saved")
+          .tag("client", ResilientFeignClient.clientName(request))
+          .register(meterRegistry)
+          .increment();
+        return memoized.toResponse(request);
+      }
+      return delegate.execute(request, options);
+    }
+
+    MemoizedResponse memoized = null;
+    try {
+      Response response = delegate.execute(request, options);
+      if (response.status() >= SERVER_ERROR) {
+        return response;
+      }
+      memoized = MemoizedResponse.read(response);
+      return memoized.toResponse(request);
+    } finally {
+      if (memoized == null) {
+        memo.responses.remove(request.url(), pending);
+      }
+      pending.complete(memoized);
+    }
+  }
+
+  /**
+   * Returns the memo of the HTTP request handled by the current thread, creating it on first use.
+   *
+   * @return the memo, or {@code null} outside an HTTP request
+   */
+  private static Memo currentMemo() {
+    RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+    if (attributes == null) {
+      return null;
+    }
+    try {
+      synchronized (attributes) {
+        Memo memo = (Memo) attributes.getAttribute(MEMO_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (memo == null) {
+          memo = new Memo();
+          attributes.setAttribute(MEMO_ATTRIBUTE, memo, RequestAttributes.SCOPE_REQUEST);
+          attributes.registerDestructionCallback(MEMO_ATTRIBUTE, memo::report, RequestAttributes.SCOPE_REQUEST);
+        }
+        return memo;
+      }
+    } catch (IllegalStateException ex) {
+      return null;
+    }
+  }
+
+  /**
+   * The GET responses received while handling one HTTP request.
+   */
+  private static final class Memo {
+
+    /**
+     * The responses by URL, completed with {@code null} if the call was not kept.
+     */
+    private final ConcurrentMap<String, CompletableFuture<MemoizedResponse>> responses = new ConcurrentHashMap<>();
+
+    /**
+     * The number of GET calls made.
+     */
+    private final AtomicInteger calls = new AtomicInteger();
+
+    /**
+     * The number of GET calls answered from the memo.
+     */
+    private final AtomicInteger saved = new AtomicInteger();
+
+    void report() {
+      if (saved.get() > 0) {
+        LOGGER.debug("Answered {} of {} downstream GET calls of the request from its memo", saved.get(), calls.get());
+      }
+    }
+  }
+
+  /**
+   * A response read into memory so it can be returned more than once.
+   */
+  private static final class MemoizedResponse {
+
+    /**
+     * The HTTP status.
+     */
+    private final int status;
+
+    /**
+     * The HTTP reason phrase.
+     */
+    private final String reason;
+
+    /**
+     * The response headers.
+     */
+    private final Map<String, Collection<String>> headers;
+
+    /**
+     * The response body, or {@code null} if it had none.
+     */
+    private final byte[] body;
+
+    private MemoizedResponse(final Response response, final byte[] body) {
+      this.status = response.status();
+      this.reason = response.reason();
+      this.headers = response.headers();
+      this.body = body;
+    }
+
+    /**
+     * Reads a response into memory and closes it.
+     *
+     * @param response the response
+     * @return the response read
+     * @throws IOException if the body could not be read
+     */
+    static MemoizedResponse read(final Response response) throws IOException {
+      try (Response received = response) {
+        byte[] body = received.body() == null ? null : Util.toByteArray(received.body().asInputStream());
+        return new MemoizedResponse(received, body);
+      }
+    }
+
+    Response toResponse(final Request request) {
+      return Response.builder()
+        .status(status)
+        .reason(reason)
+        .headers(headers)
+        .body(body)
+        .request(request)
+        .build();
+    }
+  }
+}
@@ -0,0 +1,43 @@
+package com.nt.order.microservice.config;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Runs a task with the HTTP request of the thread that submitted it, so work split off a request, such as the
+ * concurrent validations of an order, shares the request memo of {@link MemoizingFeignClient}.
+ * <p>
+ * The thread running the task gets its previous request back afterwards, which matters when a saturated pool
+ * runs the task on the submitting thread.
+ * </p>
+ */
+public class RequestContextTaskDecorator implements TaskDecorator {
+
+  /**
+   * Binds the HTTP request of the submitting thread to the task.
+   *
+   * @param runnable the task
+   * @return the task running with the request of the submitting thread
+   */
+  @Override
+  public Runnable decorate(final Runnable runnable) {
+    RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+    if (attributes == null) {
+      return runnable;
+    }
+    return () -> {
+      RequestAttributes previous = RequestContextHolder.getRequestAttributes();
+      RequestContextHolder.setRequestAttributes(attributes);
+      try {
+        runnable.run();
+      } finally {
+        if (previous == null) {
+          RequestContextHolder.resetRequestAttributes();
+        } else {
+          RequestContextHolder.setRequestAttributes(previous);
+        }
+      }
+    };
+  }
+}
@@ -0,0 +1,117 @@
+package com.nt.order.microservice.config;
+
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the circuit breakers and bulkheads guarding the calls to the other services.
+ * <p>
+ * Each Feign client gets its own circuit breaker and bulkhead, created on its first call from the settings under
+ * {@code resilience.circuit-breaker.*} and {@code resilience.bulkhead.*}. Their state is published in the
+ * {@code resilience4j.circuitbreaker.*} and {@code resilience4j.bulkhead.*} meters, and every state change of a
+ * circuit breaker is logged and counted in {@code feign.circuitbreaker.transitions}.
+ * </p>
+ */
+@Configuration
+public class ResilienceConfig {
+
+  /**
+   * Logger for ResilienceConfig class, used for logging circuit breaker state changes.
+   */
+  private static final Logger LOGGER = LoggerFactory.getLogger(ResilienceConfig.class);
+
+  /**
+   * Creates the registry of the circuit breakers, one per Feign client, and registers their meters.
+   *
+   * @param failureRateThreshold the percentage of failed calls at which a circuit breaker opens
+   * @param slowCallDurationMs   the duration in milliseconds above which a call counts as slow
+   * @param slowCallRateThreshold the percentage of slow calls at which a circuit breaker opens
+   * @param slidingWindowSize    the number of recent calls the rates are computed over
+   * @param minimumNumberOfCalls the number of calls needed before the rates are computed
+   * @param openStateSeconds     the number of seconds an open circuit breaker rejects calls before probing again
+   * @param halfOpenCalls        the number of probe calls let through by a half-open circuit breaker
+   * @param meterRegistry        the registry the circuit breaker meters are published to
+   * @return the circuit breaker registry
+   */
+  @Bean
+  public CircuitBreakerRegistry circuitBreakerRegistry(
+    @Value("${resilience.circuit-breaker.failure-rate-threshold:50}") final float failureRateThreshold,
+    @Value("${resilience.circuit-breaker.slow-call-duration-ms:2000}") final long slowCallDurationMs,
+    @Value("${resilience.circuit-breaker.slow-call-rate-threshold:80}") final float slowCallRateThreshold,
+    @Value("${resilience.circuit-breaker.sliding-window-size:20}") final int slidingWindowSize,
+    @Value("${resilience.circuit-breaker.minimum-number-of-calls:10}") final int minimumNumberOfCalls,
+    @Value("${resilience.circuit-breaker.open-state-seconds:10}") final long openStateSeconds,
+    @Value("${resilience.circuit-breaker.half-open-calls:3}") final int halfOpenCalls,
+    final MeterRegistry meterRegistry) {
+    CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+      .failureRateThreshold(failureRateThreshold)
+      .slowCallDurationThreshold(Duration.ofMillis(slowCallDurationMs))
+      .slowCallRateThreshold(slowCallRateThreshold)
+      .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+      .slidingWindowSize(slidingWindowSize)
+      .minimumNumberOfCalls(minimumNumberOfCalls)
+      .waitDurationInOpenState(Duration.ofSeconds(openStateSeconds))
+      .permittedNumberOfCallsInHalfOpenState(halfOpenCalls)
+      .build();
+    CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(config);
+    registry.getEventPublisher().onEntryAdded(event -> countTransitions(event.getAddedEntry(), meterRegistry));
+    TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+    return registry;
+  }
+
+  /**
+   * Creates the registry of the bulkheads, one per Feign client, and registers their meters. A call that finds
+   * its bulkhead full is rejected at once rather than waiting, so request threads are never parked behind a
+   * slow service.
+   *
+   * @param maxConcurrentCalls the maximum number of calls in flight to one service
+   * @param meterRegistry      the registry the bulkhead meters are published to
+   * @return the bulkhead registry
+   */
+  @Bean
+  public BulkheadRegistry bulkheadRegistry(
+    @Value("${resilience.bulkhead.max-concurrent-calls:25}") final int maxConcurrentCalls,
+    final MeterRegistry meterRegistry) {
+    BulkheadConfig config = BulkheadConfig.custom()
+      .maxConcurrentCalls(maxConcurrentCalls)
+      .maxWaitDuration(Duration.ZERO)
+      .build();
+    BulkheadRegistry registry = BulkheadRegistry.of(config);
+    TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+    return registry;
+  }
+
+  /**
+   * Logs and counts the state changes of a circuit breaker.
+   *
+   * @param circuitBreaker the circuit breaker
+   * @param meterRegistry  the registry the transition counter is published to
+   */
+  static void countTransitions(final CircuitBreaker circuitBreaker, final MeterRegistry meterRegistry) {
+    circuitBreaker.getEventPublisher().onStateTransition(event -> {
+      CircuitBreaker.StateTransition transition = event.getStateTransition();
+      LOGGER.warn("Circuit breaker {} changed from {} to {}", event.getCircuitBreakerName(),
+        transition.getFromState(), transition.getToState());
+      Counter.builder("feign.circuitbreaker.transitions")
+        .tag("name", event.getCircuitBreakerName())
+        .tag("from", transition.getFromState().name())
+        .tag("to", transition.getToState().name())
+        .register(meterRegistry)
+        .increment();
+    });
+  }
+}
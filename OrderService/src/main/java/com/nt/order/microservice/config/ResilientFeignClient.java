@@ -0,0 +1,129 @@
+package com.nt.order.microservice.config;
+
+import feign.Client;
+import feign.FeignException;
+import feign.Request;
+import feign.Response;
+import feign.RetryableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Feign transport that guards every downstream client with its own circuit breaker and bulkhead.
+ * <p>
+ * Both are looked up by the name of the Feign client sending the request. The bulkhead rejects a call at once
+ * when the client already has its maximum number of calls in flight, so a slow downstream service cannot tie up
+ * every request thread, and the circuit breaker rejects calls while the downstream service keeps failing or
+ * answering slowly. Connection errors, timeouts and server errors count as failures; client errors such as a
+ * 404 are valid answers. A rejected call throws {@link BulkheadFullException} or {@link CallNotPermittedException}.
+ * </p>
+ */
+public class ResilientFeignClient implements Client {
+
+  /**
+   * The lowest HTTP status of a server error.
+   */
+  private static final int SERVER_ERROR = 500;
+
+  /**
+   * The transport that sends the requests.
+   */
+  private final Client delegate;
+
+  /**
+   * Registry of the circuit breakers, one per Feign client.
+   */
+  private final CircuitBreakerRegistry circuitBreakerRegistry;
+
+  /**
+   * Registry of the bulkheads, one per Feign client.
+   */
+  private final BulkheadRegistry bulkheadRegistry;
+
+  /**
+   * Creates the transport.
+   *
+   * @param delegate               the transport that sends the requests
+   * @param circuitBreakerRegistry the registry of the circuit breakers
+   * @param bulkheadRegistry       the registry of the bulkheads
+   */
+  public ResilientFeignClient(final Client delegate, final CircuitBreakerRegistry circuitBreakerRegistry,
+                              final BulkheadRegistry bulkheadRegistry) {
+    this.delegate = delegate;
+    this.circuitBreakerRegistry = circuitBreakerRegistry;
+    this.bulkheadRegistry = bulkheadRegistry;
+  }
+
+  /**
+   * Sends a request if the bulkhead and the circuit breaker of its client permit it.
+   *
+   * @param request the request to send
+   * @param options the timeouts of the request
+   * @return the response
+   * @throws IOException if the request could not be sent or the response not read
+   */
+  @Override
+  public Response execute(final Request request, final Request.Options options) throws IOException {
+    String name = clientName(request);
+    Bulkhead bulkhead = bulkheadRegistry.bulkhead(name);
+    CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(name);
+    bulkhead.acquirePermission();
+    try {
+      circuitBreaker.acquirePermission();
+      long start = System.nanoTime();
+      try {
+        Response response = delegate.execute(request, options);
+        long duration = System.nanoTime() - start;
+        if (response.status() >= SERVER_ERROR) {
+          circuitBreaker.onError(duration, TimeUnit.NANOSECONDS,
+            new IOException("Server error " + response.status() + " from " + name));
+        } else {
+          circuitBreaker.onSuccess(duration, TimeUnit.NANOSECONDS);
+        }
+        return response;
+      } catch (IOException | RuntimeException ex) {
+        circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, ex);
+        throw ex;
+      }
+    } finally {
+      bulkhead.onComplete();
+    }
+  }
+
+  /**
+   * Tells whether a call failed because the downstream service is unavailable rather than because it
+   * answered with a client error, so that a fallback may be used.
+   *
+   * @param ex the error of the call
+   * @return true if the call was rejected, timed out, could not connect or got a server error
+   */
+  public static boolean isUnavailable(final Throwable ex) {
+    if (ex instanceof CallNotPermittedException || ex instanceof BulkheadFullException
+      || ex instanceof RetryableException) {
+      return true;
+    }
+    return ex instanceof FeignException && ((FeignException) ex).status() >= SERVER_ERROR;
+  }
+
+  /**
+   * Returns the name of the Feign client sending a request, or the host and port it is sent to if unknown.
+   *
+   * @param request the request
+   * @return the client name
+   */
+  static String clientName(final Request request) {
+    if (request.requestTemplate() != null && request.requestTemplate().feignTarget() != null) {
+      return request.requestTemplate().feignTarget().name();
+    }
+    URI uri = URI.create(request.url());
+    return uri.getHost() + ":" + uri.getPort();
+  }
+}
@@ -1,5 +1,6 @@
 package com.nt.order.microservice.controller;
 
+import com.nt.order.microservice.dtos.CartBatchInDTO;
 import com.nt.order.microservice.dtos.CartInDTO;
 import com.nt.order.microservice.dtos.CartOutDTO;
 import com.nt.order.microservice.dtos.CommonResponse;
@@ -66,6 +67,20 @@ public class CartController {
     return new ResponseEntity<>(response, HttpStatus.OK);
   }
 
+  /**
+   * Adds, updates and removes several items of one restaurant in the cart in one request.
+   *
+   * @param cartBatchInDTO the CartBatchInDTO object containing the lines to apply
+   * @return ResponseEntity containing the response message
+   */
+  @PostMapping("/batch")
+  public ResponseEntity<CommonResponse> applyCartBatch(@Valid @RequestBody final CartBatchInDTO cartBatchInDTO) {
+    LOGGER.info("Received request to apply cart batch: {}", cartBatchInDTO);
+    CommonResponse response = cartService.applyCartBatch(cartBatchInDTO);
+    LOGGER.info("Cart batch applied with response: {}", response);
+    return new ResponseEntity<>(response, HttpStatus.OK);
+  }
+
   /**
    * Updates the quantity of a cart item.
    *
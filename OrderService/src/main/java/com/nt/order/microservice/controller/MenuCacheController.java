@@ -0,0 +1,46 @@
+package com.nt.order.microservice.controller;
+
+import com.nt.order.microservice.cache.MenuCache;
+import com.nt.order.microservice.dtos.CommonResponse;
+import com.nt.order.microservice.util.Constants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controller through which the restaurant service signals that a restaurant's menu has changed.
+ */
+@RestController
+@RequestMapping("/menuCache")
+public class MenuCacheController {
+
+  /**
+   * Logger for the MenuCacheController class, used to log incoming invalidation signals.
+   */
+  private static final Logger LOGGER = LoggerFactory.getLogger(MenuCacheController.class);
+
+  /**
+   * Cache of restaurant menus used to validate cart items and orders.
+   */
+  @Autowired
+  private MenuCache menuCache;
+
+  /**
+   * Invalidates the cached menu of a restaurant.
+   *
+   * @param restaurantId the ID of the restaurant whose menu changed
+   * @return ResponseEntity containing the response message
+   */
+  @DeleteMapping("/{restaurantId}")
+  public ResponseEntity<CommonResponse> invalidateMenu(@PathVariable final Integer restaurantId) {
+    LOGGER.info("Received menu change for restaurantId: {}", restaurantId);
+    menuCache.invalidate(restaurantId);
+    return new ResponseEntity<>(new CommonResponse(Constants.MENU_CACHE_INVALIDATED), HttpStatus.OK);
+  }
+}
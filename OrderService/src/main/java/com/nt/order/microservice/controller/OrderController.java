@@ -1,12 +1,18 @@
 package com.nt.order.microservice.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nt.order.microservice.dtos.CommonResponse;
 import com.nt.order.microservice.dtos.OrderInDTO;
 import com.nt.order.microservice.dtos.OrderOutDTO;
+import com.nt.order.microservice.dtos.OrderPageOutDTO;
+import com.nt.order.microservice.dtos.QuoteOutDTO;
 import com.nt.order.microservice.service.OrderService;
+import com.nt.order.microservice.util.Constants;
+import com.nt.order.microservice.util.OrderStreamWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -15,10 +21,16 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -49,15 +61,40 @@ public class OrderController {
   private OrderService orderService;
 
   /**
-   * Places an order.
+   * Mapper used to serialize streamed orders the same way as regular responses.
+   */
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  /**
+   * Validates and prices an order without placing it.
    *
    * @param orderInDTO The order input data.
+   * @return The total price and a short-lived token that lets the checkout of the same order skip its validations.
+   */
+  @PostMapping("/quote")
+  public ResponseEntity<QuoteOutDTO> quoteOrder(@Valid @RequestBody final OrderInDTO orderInDTO) {
+    LOGGER.info("Received request to quote order: {}", orderInDTO);
+    final QuoteOutDTO quote = orderService.quoteOrder(orderInDTO);
+    LOGGER.info("Order quoted: {}", quote);
+    return new ResponseEntity<>(quote, HttpStatus.OK);
+  }
+
+  /**
+   * Places an order.
+   *
+   * @param orderInDTO     The order input data.
+   * @param idempotencyKey The client's key for the checkout; retries sent with the same key place the order once.
+   * @param quoteToken     The token of a quote for the same order, if the client asked for one.
    * @return A response indicating the status of the order placement.
    */
   @PostMapping("/place")
-  public ResponseEntity<CommonResponse> placeOrder(@Valid @RequestBody final OrderInDTO orderInDTO) {
+  public ResponseEntity<CommonResponse> placeOrder(
+    @Valid @RequestBody final OrderInDTO orderInDTO,
+    @RequestHeader(value = Constants.IDEMPOTENCY_KEY_HEADER, required = false) final String idempotencyKey,
+    @RequestHeader(value = Constants.QUOTE_TOKEN_HEADER, required = false) final String quoteToken) {
     LOGGER.info("Received request to place order: {}", orderInDTO);
-    final CommonResponse response = orderService.placeOrder(orderInDTO);
+    final CommonResponse response = orderService.placeOrder(orderInDTO, idempotencyKey, quoteToken);
     LOGGER.info("Order placed successfully: {}", response);
     return new ResponseEntity<>(response, HttpStatus.OK);
   }
@@ -119,5 +156,84 @@ public class OrderController {
     LOGGER.info("Fetched orders for restaurantId: {}: {}", restaurantId, orders);
     return new ResponseEntity<>(orders, HttpStatus.OK);
   }
-}
 
+  /**
+   * Streams all orders placed by a specific user, newest first, without loading the whole history into memory.
+   * The orders are written as newline-delimited JSON when {@code application/x-ndjson} is accepted, and as a JSON
+   * array otherwise.
+   *
+   * @param userId   The ID of the user.
+   * @param request  The current request, used to select the output format.
+   * @param response The response the orders are written to.
+   * @throws IOException If the orders cannot be written.
+   */
+  @GetMapping("/user/{userId}/stream")
+  public void streamOrdersByUserId(@PathVariable final Integer userId, final HttpServletRequest request,
+                                   final HttpServletResponse response) throws IOException {
+    LOGGER.info("Streaming orders for userId: {}", userId);
+    OrderStreamWriter writer = new OrderStreamWriter(objectMapper, request, response);
+    orderService.streamOrdersByUserId(userId, writer::write);
+    writer.finish();
+  }
+
+  /**
+   * Streams all orders placed at a specific restaurant, newest first, without loading the whole history into
+   * memory. The output format is chosen as for {@link #streamOrdersByUserId}.
+   *
+   * @param restaurantId The ID of the restaurant.
+   * @param request      The current request, used to select the output format.
+   * @param response     The response the orders are written to.
+   * @throws IOException If the orders cannot be written.
+   */
+  @GetMapping("/restaurant/{restaurantId}/stream")
+  public void streamOrdersByRestaurantId(@PathVariable final Integer restaurantId, final HttpServletRequest request,
+                                         final HttpServletResponse response) throws IOException {
+    LOGGER.info("Streaming orders for restaurantId: {}", restaurantId);
+    OrderStreamWriter writer = new OrderStreamWriter(objectMapper, request, response);
+    orderService.streamOrdersByRestaurantId(restaurantId, writer::write);
+    writer.finish();
+  }
+
+  /**
+   * Retrieves one page of the orders placed by a specific user, newest first.
+   *
+   * @param userId        The ID of the user.
+   * @param beforeTiming  The placement time of the last order of the previous page; omitted for the first page.
+   * @param beforeOrderId The ID of the last order of the previous page; omitted for the first page.
+   * @param size          The maximum number of orders on the page.
+   * @return The page of orders and the cursor for the next page.
+   */
+  @GetMapping("/user/{userId}/page")
+  public ResponseEntity<OrderPageOutDTO> getOrderPageByUserId(
+    @PathVariable final Integer userId,
+    @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final LocalDateTime beforeTiming,
+    @RequestParam(required = false) final Integer beforeOrderId,
+    @RequestParam(defaultValue = "" + Constants.DEFAULT_ORDER_PAGE_SIZE) final int size) {
+    LOGGER.info("Fetching order page for userId: {}", userId);
+    final OrderPageOutDTO page = orderService.getOrderPageByUserId(userId, beforeTiming, beforeOrderId, size);
+    LOGGER.info("Fetched {} orders for userId: {}", page.getOrders().size(), userId);
+    return new ResponseEntity<>(page, HttpStatus.OK);
+  }
+
+  /**
+   * Retrieves one page of the orders placed at a specific restaurant, newest first.
+   *
+   * @param restaurantId  The ID of the restaurant.
+   * @param beforeTiming  The placement time of the last order of the previous page; omitted for the first page.
+   * @param beforeOrderId The ID of the last order of the previous page; omitted for the first page.
+   * @param size          The maximum number of orders on the page.
+   * @return The page of orders and the cursor for the next page.
+   */
+  @GetMapping("/restaurant/{restaurantId}/page")
+  public ResponseEntity<OrderPageOutDTO> getOrderPageByRestaurantId(
+    @PathVariable final Integer restaurantId,
+    @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final LocalDateTime beforeTiming,
+    @RequestParam(required = false) final Integer beforeOrderId,
+    @RequestParam(defaultValue = "" + Constants.DEFAULT_ORDER_PAGE_SIZE) final int size) {
+    LOGGER.info("Fetching order page for restaurantId: {}", restaurantId);
+    final OrderPageOutDTO page = orderService.getOrderPageByRestaurantId(restaurantId, beforeTiming, beforeOrderId,
+      size);
+    LOGGER.info("Fetched {} orders for restaurantId: {}", page.getOrders().size(), restaurantId);
+    return new ResponseEntity<>(page, HttpStatus.OK);
+  }
+}
@@ -19,6 +19,15 @@ public class AmountInDTO {
   @NotNull(message = "Balance cannot be null")
   private Double balance;
 
+  /**
+   * The ID of the order the amount is paid for or refunded, or {@code null} for a change not tied to an order.
+   * <p>
+   * The user service records one payment and one refund per order, so a retried request for the same order
+   * is not applied twice.
+   * </p>
+   */
+  private Integer orderId;
+
   /**
    * Retrieves the balance.
    *
@@ -36,4 +45,22 @@ public class AmountInDTO {
   public void setBalance(final Double balance) {
     this.balance = balance;
   }
+
+  /**
+   * Retrieves the ID of the order the amount belongs to.
+   *
+   * @return the order ID, or {@code null}
+   */
+  public Integer getOrderId() {
+    return orderId;
+  }
+
+  /**
+   * Sets the ID of the order the amount belongs to.
+   *
+   * @param orderId the order ID to set
+   */
+  public void setOrderId(final Integer orderId) {
+    this.orderId = orderId;
+  }
 }
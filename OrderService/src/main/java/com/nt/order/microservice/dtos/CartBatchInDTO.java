@@ -0,0 +1,159 @@
+package com.nt.order.microservice.dtos;
+
+import com.nt.order.microservice.util.Constants;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Data Transfer Object for a cart batch.
+ * This class encapsulates the lines that add, update or remove items of one restaurant in a user's cart,
+ * applied together in one request.
+ */
+public class CartBatchInDTO {
+
+  /**
+   * The ID of the user whose cart is changed.
+   * This field is required and cannot be null.
+   */
+  @NotNull(message = "User ID cannot be null")
+  private Integer userId;
+
+  /**
+   * The ID of the restaurant of the food items.
+   * This field is required and cannot be null.
+   */
+  @NotNull(message = "Restaurant ID cannot be null")
+  private Integer restaurantId;
+
+  /**
+   * The changes to apply to the cart.
+   * This field is required, cannot be empty and holds at most {@link Constants#MAX_CART_BATCH_LINES} lines.
+   */
+  @Valid
+  @NotEmpty(message = "Cart batch lines cannot be empty")
+  @Size(max = Constants.MAX_CART_BATCH_LINES,
+    message = "Cart batch cannot have more than " + Constants.MAX_CART_BATCH_LINES + " lines")
+  private List<CartLineInDTO> lines;
+
+  /**
+   * Default constructor.
+   */
+  public CartBatchInDTO() {
+  }
+
+  /**
+   * Parameterized constructor to create a CartBatchInDTO with specified details.
+   *
+   * @param userId       the ID of the user whose cart is changed
+   * @param restaurantId the ID of the restaurant of the food items
+   * @param lines        the changes to apply to the cart
+   */
+  public CartBatchInDTO(final Integer userId, final Integer restaurantId, final List<CartLineInDTO> lines) {
+    this.userId = userId;
+    this.restaurantId = restaurantId;
+    this.lines = lines;
+  }
+
+  /**
+   * Retrieves the user ID.
+   *
+   * @return the user ID
+   */
+  public Integer getUserId() {
+    return userId;
+  }
+
+  /**
+   * Sets the user ID.
+   *
+   * @param userId the user ID to set
+   */
+  public void setUserId(final Integer userId) {
+    this.userId = userId;
+  }
+
+  /**
+   * Retrieves the restaurant ID.
+   *
+   * @return the restaurant ID
+   */
+  public Integer getRestaurantId() {
+    return restaurantId;
+  }
+
+  /**
+   * Sets the restaurant ID.
+   *
+   * @param restaurantId the restaurant ID to set
+   */
+  public void setRestaurantId(final Integer restaurantId) {
+    this.restaurantId = restaurantId;
+  }
+
+  /**
+   * Retrieves the lines of the batch.
+   *
+   * @return the changes to apply to the cart
+   */
+  public List<CartLineInDTO> getLines() {
+    return lines;
+  }
+
+  /**
+   * Sets the lines of the batch.
+   *
+   * @param lines the changes to apply to the cart
+   */
+  public void setLines(final List<CartLineInDTO> lines) {
+    this.lines = lines;
+  }
+
+  /**
+   * Compares this CartBatchInDTO to another object for equality.
+   *
+   * @param o the object to compare this CartBatchInDTO to
+   * @return {@code true} if the objects are equal, otherwise {@code false}
+   */
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof CartBatchInDTO)) {
+      return false;
+    }
+    CartBatchInDTO that = (CartBatchInDTO) o;
+    return Objects.equals(userId, that.userId)
+      && Objects.equals(restaurantId, that.restaurantId)
+      && Objects.equals(lines, that.lines);
+  }
+
+  /**
+   * Returns a hash code value for the CartBatchInDTO.
+   *
+   * @return a hash code value for this object
+   */
+  @Override
+  public int hashCode() {
+    return Objects.hash(userId, restaurantId, lines);
+  }
+
+  /**
+   * Returns a string representation of the CartBatchInDTO.
+   *
+   * @return a string representation of the CartBatchInDTO
+   */
+  @Override
+  public String toString() {
+    return "CartBatchInDTO{"
+      + "userId=" + userId
+      + ", restaurantId=" + restaurantId
+      + ", lines=" + lines
+      + '}';
+  }
+}
@@ -0,0 +1,185 @@
+package com.nt.order.microservice.dtos;
+
+import com.nt.order.microservice.util.CartAction;
+
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.Digits;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import java.util.Objects;
+
+/**
+ * Data Transfer Object for one line of a cart batch.
+ * The quantity and price are required to add or update an item, and ignored when it is removed.
+ */
+public class CartLineInDTO {
+
+  /**
+   * The change the line makes to the cart.
+   * It cannot be {@code null}.
+   */
+  @NotNull(message = "Action cannot be null")
+  private CartAction action;
+
+  /**
+   * The ID of the food item.
+   * It cannot be {@code null}.
+   */
+  @NotNull(message = "Food Item ID cannot be null")
+  private Integer foodItemId;
+
+  /**
+   * The quantity to add, or the new quantity of the cart line.
+   * It must be at least 1 when given.
+   */
+  @Min(value = 1, message = "Quantity must be at least 1")
+  private Integer quantity;
+
+  /**
+   * The unit price of the food item, checked against the menu.
+   * It must be greater than 0 when given, with up to 10 integer and 2 fractional digits.
+   */
+  @DecimalMin(value = "0.0", inclusive = false, message = "Price must be greater than 0")
+  @Digits(integer = 10, fraction = 2, message = "Price format is invalid")
+  private Double price;
+
+  /**
+   * Default constructor.
+   */
+  public CartLineInDTO() {
+  }
+
+  /**
+   * Parameterized constructor to create a CartLineInDTO with specified values.
+   *
+   * @param action     the change the line makes to the cart
+   * @param foodItemId the ID of the food item
+   * @param quantity   the quantity to add, or the new quantity of the cart line
+   * @param price      the unit price of the food item
+   */
+  public CartLineInDTO(final CartAction action, final Integer foodItemId, final Integer quantity,
+                       final Double price) {
+    this.action = action;
+    this.foodItemId = foodItemId;
+    this.quantity = quantity;
+    this.price = price;
+  }
+
+  /**
+   * Retrieves the action of the line.
+   *
+   * @return the change the line makes to the cart
+   */
+  public CartAction getAction() {
+    return action;
+  }
+
+  /**
+   * Sets the action of the line.
+   *
+   * @param action the change the line makes to the cart
+   */
+  public void setAction(final CartAction action) {
+    this.action = action;
+  }
+
+  /**
+   * Retrieves the food item ID.
+   *
+   * @return the ID of the food item
+   */
+  public Integer getFoodItemId() {
+    return foodItemId;
+  }
+
+  /**
+   * Sets the food item ID.
+   *
+   * @param foodItemId the food item ID to set
+   */
+  public void setFoodItemId(final Integer foodItemId) {
+    this.foodItemId = foodItemId;
+  }
+
+  /**
+   * Retrieves the quantity of the line.
+   *
+   * @return the quantity to add, or the new quantity of the cart line
+   */
+  public Integer getQuantity() {
+    return quantity;
+  }
+
+  /**
+   * Sets the quantity of the line.
+   *
+   * @param quantity the quantity to set
+   */
+  public void setQuantity(final Integer quantity) {
+    this.quantity = quantity;
+  }
+
+  /**
+   * Retrieves the unit price of the food item.
+   *
+   * @return the unit price of the food item
+   */
+  public Double getPrice() {
+    return price;
+  }
+
+  /**
+   * Sets the unit price of the food item.
+   *
+   * @param price the price to set
+   */
+  public void setPrice(final Double price) {
+    this.price = price;
+  }
+
+  /**
+   * Compares this CartLineInDTO to another object for equality.
+   *
+   * @param o the object to compare this CartLineInDTO to
+   * @return {@code true} if the objects are equal, otherwise {@code false}
+   */
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof CartLineInDTO)) {
+      return false;
+    }
+    CartLineInDTO that = (CartLineInDTO) o;
+    return action == that.action
+      && Objects.equals(foodItemId, that.foodItemId)
+      && Objects.equals(quantity, that.quantity)
+      && Objects.equals(price, that.price);
+  }
+
+  /**
+   * Returns a hash code value for the CartLineInDTO.
+   *
+   * @return a hash code value for this object
+   */
+  @Override
+  public int hashCode() {
+    return Objects.hash(action, foodItemId, quantity, price);
+  }
+
+  /**
+   * Returns a string representation of the CartLineInDTO.
+   *
+   * @return a string representation of the CartLineInDTO
+   */
+  @Override
+  public String toString() {
+    return "CartLineInDTO{"
+      + "action=" + action
+      + ", foodItemId=" + foodItemId
+      + ", quantity=" + quantity
+      + ", price=" + price
+      + '}';
+  }
+}
@@ -0,0 +1,145 @@
+package com.nt.order.microservice.dtos;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Data Transfer Object for one page of an order history.
+ * The orders are sorted newest first; the next page is requested with the placement time and ID of the last order
+ * as the keyset cursor, both of which are {@code null} when there are no older orders.
+ */
+public class OrderPageOutDTO {
+
+  /**
+   * The orders on this page, newest first.
+   */
+  private List<OrderOutDTO> orders;
+
+  /**
+   * The placement time to pass as {@code beforeTiming} to fetch the next page.
+   */
+  private LocalDateTime nextBeforeTiming;
+
+  /**
+   * The order ID to pass as {@code beforeOrderId} to fetch the next page.
+   */
+  private Integer nextBeforeOrderId;
+
+  /**
+   * Default constructor.
+   */
+  public OrderPageOutDTO() {
+  }
+
+  /**
+   * Parameterized constructor.
+   *
+   * @param orders            the orders on this page
+   * @param nextBeforeTiming  the placement time of the cursor for the next page, or {@code null} on the last page
+   * @param nextBeforeOrderId the order ID of the cursor for the next page, or {@code null} on the last page
+   */
+  public OrderPageOutDTO(final List<OrderOutDTO> orders, final LocalDateTime nextBeforeTiming,
+                         final Integer nextBeforeOrderId) {
+    this.orders = orders;
+    this.nextBeforeTiming = nextBeforeTiming;
+    this.nextBeforeOrderId = nextBeforeOrderId;
+  }
+
+  /**
+   * Gets the orders on this page.
+   *
+   * @return the orders
+   */
+  public List<OrderOutDTO> getOrders() {
+    return orders;
+  }
+
+  /**
+   * Sets the orders on this page.
+   *
+   * @param orders the orders to set
+   */
+  public void setOrders(final List<OrderOutDTO> orders) {
+    this.orders = orders;
+  }
+
+  /**
+   * Gets the placement time of the cursor for the next page.
+   *
+   * @return the placement time, or {@code null} on the last page
+   */
+  public LocalDateTime getNextBeforeTiming() {
+    return nextBeforeTiming;
+  }
+
+  /**
+   * Sets the placement time of the cursor for the next page.
+   *
+   * @param nextBeforeTiming the placement time to set
+   */
+  public void setNextBeforeTiming(final LocalDateTime nextBeforeTiming) {
+    this.nextBeforeTiming = nextBeforeTiming;
+  }
+
+  /**
+   * Gets the order ID of the cursor for the next page.
+   *
+   * @return the order ID, or {@code null} on the last page
+   */
+  public Integer getNextBeforeOrderId() {
+    return nextBeforeOrderId;
+  }
+
+  /**
+   * Sets the order ID of the cursor for the next page.
+   *
+   * @param nextBeforeOrderId the order ID to set
+   */
+  public void setNextBeforeOrderId(final Integer nextBeforeOrderId) {
+    this.nextBeforeOrderId = nextBeforeOrderId;
+  }
+
+  /**
+   * Compares this OrderPageOutDTO to another object for equality.
+   *
+   * @param o the object to compare
+   * @return true if the objects are equal, false otherwise
+   */
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    OrderPageOutDTO that = (OrderPageOutDTO) o;
+    return Objects.equals(orders, that.orders) && Objects.equals(nextBeforeTiming, that.nextBeforeTiming)
+      && Objects.equals(nextBeforeOrderId, that.nextBeforeOrderId);
+  }
+
+  /**
+   * Returns a hash code value for the object.
+   *
+   * @return the hash code value
+   */
+  @Override
+  public int hashCode() {
+    return Objects.hash(orders, nextBeforeTiming, nextBeforeOrderId);
+  }
+
+  /**
+   * Returns a string representation of the OrderPageOutDTO.
+   *
+   * @return a string representation of the OrderPageOutDTO
+   */
+  @Override
+  public String toString() {
+    return "OrderPageOutDTO{"
+      + "orders=" + orders
+      + ", nextBeforeTiming=" + nextBeforeTiming
+      + ", nextBeforeOrderId=" + nextBeforeOrderId
+      + '}';
+  }
+}
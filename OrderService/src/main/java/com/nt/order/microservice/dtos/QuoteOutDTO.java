@@ -0,0 +1,142 @@
+package com.nt.order.microservice.dtos;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Data Transfer Object for a checkout quote.
+ * The quote token is sent back with the same order in the {@code Quote-Token} header of a checkout before it
+ * expires, so the checkout can skip the validations the quote already made.
+ */
+public class QuoteOutDTO {
+
+  /**
+   * The total price of the order.
+   */
+  private Double totalPrice;
+
+  /**
+   * The signed token of the quote.
+   */
+  private String quoteToken;
+
+  /**
+   * The time after which the quote token is no longer accepted.
+   */
+  private LocalDateTime expiresAt;
+
+  /**
+   * Default constructor.
+   */
+  public QuoteOutDTO() {
+  }
+
+  /**
+   * Parameterized constructor.
+   *
+   * @param totalPrice the total price of the order
+   * @param quoteToken the signed token of the quote
+   * @param expiresAt  the time after which the quote token is no longer accepted
+   */
+  public QuoteOutDTO(final Double totalPrice, final String quoteToken, final LocalDateTime expiresAt) {
+    this.totalPrice = totalPrice;
+    this.quoteToken = quoteToken;
+    this.expiresAt = expiresAt;
+  }
+
+  /**
+   * Gets the total price of the order.
+   *
+   * @return the total price
+   */
+  public Double getTotalPrice() {
+    return totalPrice;
+  }
+
+  /**
+   * Sets the total price of the order.
+   *
+   * @param totalPrice the total price to set
+   */
+  public void setTotalPrice(final Double totalPrice) {
+    this.totalPrice = totalPrice;
+  }
+
+  /**
+   * Gets the signed token of the quote.
+   *
+   * @return the quote token
+   */
+  public String getQuoteToken() {
+    return quoteToken;
+  }
+
+  /**
+   * Sets the signed token of the quote.
+   *
+   * @param quoteToken the quote token to set
+   */
+  public void setQuoteToken(final String quoteToken) {
+    this.quoteToken = quoteToken;
+  }
+
+  /**
+   * Gets the time after which the quote token is no longer accepted.
+   *
+   * @return the expiry time
+   */
+  public LocalDateTime getExpiresAt() {
+    return expiresAt;
+  }
+
+  /**
+   * Sets the time after which the quote token is no longer accepted.
+   *
+   * @param expiresAt the expiry time to set
+   */
+  public void setExpiresAt(final LocalDateTime expiresAt) {
+    this.expiresAt = expiresAt;
+  }
+
+  /**
+   * Compares this QuoteOutDTO to another object for equality.
+   *
+   * @param o the object to compare
+   * @return true if the objects are equal, false otherwise
+   */
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    QuoteOutDTO that = (QuoteOutDTO) o;
+    return Objects.equals(totalPrice, that.totalPrice) && Objects.equals(quoteToken, that.quoteToken)
+      && Objects.equals(expiresAt, that.expiresAt);
+  }
+
+  /**
+   * Returns a hash code value for the object.
+   *
+   * @return the hash code value
+   */
+  @Override
+  public int hashCode() {
+    return Objects.hash(totalPrice, quoteToken, expiresAt);
+  }
+
+  /**
+   * Returns a string representation of the QuoteOutDTO.
+   *
+   * @return a string representation of the QuoteOutDTO
+   */
+  @Override
+  public String toString() {
+    return "QuoteOutDTO{"
+      + "totalPrice=" + totalPrice
+      + ", expiresAt=" + expiresAt
+      + '}';
+  }
+}
@@ -41,7 +41,7 @@ public class RestaurantOutDTO {
   private boolean isOpen;
 
   /**
-   * The image of the restaurant.
+   * The URL the image of the restaurant is served from.
    */
   private String restaurantImage;
 
@@ -61,7 +61,7 @@ public class RestaurantOutDTO {
    * @param registrationDate  the registration date of the restaurant.
    * @param description       a description of the restaurant.
    * @param isOpen            a flag indicating whether the restaurant is open.
-   * @param restaurantImage   the image of the restaurant.
+   * @param restaurantImage   the URL the image of the restaurant is served from.
    */
   public RestaurantOutDTO(final Integer restaurantId, final String restaurantName,
                           final String restaurantAddress, final String contactNumber, final LocalDate registrationDate,
@@ -1,9 +1,11 @@
 package com.nt.order.microservice.entities;
 
+import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import java.time.LocalDateTime;
 import java.util.Objects;
 /**
  * Represents a shopping cart in the system.
@@ -43,6 +45,14 @@ public class Cart {
    */
   private Double price;
 
+  /**
+   * The time the cart line was last created or changed, used to find abandoned carts.
+   * It is bookkeeping and not part of the equality or string form of the line, and only the database sets it,
+   * by its column default and update trigger, so all writers stamp it from the same clock.
+   */
+  @Column(insertable = false, updatable = false)
+  private LocalDateTime updatedAt;
+
   /**
    * Default constructor for Cart.
    */
@@ -177,6 +187,24 @@ public class Cart {
     this.price = price;
   }
 
+  /**
+   * Retrieves the time the cart line was last created or changed.
+   *
+   * @return the last change time, or {@code null} if the line was not stored yet
+   */
+  public LocalDateTime getUpdatedAt() {
+    return updatedAt;
+  }
+
+  /**
+   * Sets the time the cart line was last created or changed.
+   *
+   * @param updatedAt the last change time
+   */
+  public void setUpdatedAt(final LocalDateTime updatedAt) {
+    this.updatedAt = updatedAt;
+  }
+
   /**
    * Checks if this cart is equal to another object.
    *
@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nt.order.microservice.dtos.CartItemDTO;
 import com.nt.order.microservice.util.OrderStatus;
 
+import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
@@ -23,6 +24,9 @@ import java.util.Objects;
 @Table(name = "orders")
 public class Order {
 
+  /** Maximum length of an idempotency key. */
+  public static final int MAX_IDEMPOTENCY_KEY_LENGTH = 64;
+
   /** Unique identifier for the order. */
   @Id
   @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -50,6 +54,10 @@ public class Order {
   /** Time when the order was placed. */
   private LocalDateTime placedTiming;
 
+  /** Client-supplied key of the checkout request that created the order, unique per user. */
+  @Column(length = MAX_IDEMPOTENCY_KEY_LENGTH)
+  private String idempotencyKey;
+
   /** ObjectMapper instance for JSON processing. */
   private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
 
@@ -257,6 +265,24 @@ public class Order {
     this.placedTiming = placedTiming;
   }
 
+  /**
+   * Gets the client-supplied key of the checkout request that created the order.
+   *
+   * @return the idempotencyKey, or {@code null} if the order was placed without one.
+   */
+  public String getIdempotencyKey() {
+    return idempotencyKey;
+  }
+
+  /**
+   * Sets the client-supplied key of the checkout request that created the order.
+   *
+   * @param idempotencyKey the idempotencyKey to set.
+   */
+  public void setIdempotencyKey(final String idempotencyKey) {
+    this.idempotencyKey = idempotencyKey;
+  }
+
   /**
    * Checks equality of two Order objects.
    *
@@ -275,7 +301,8 @@ public class Order {
     return Objects.equals(orderId, order.orderId) && Objects.equals(userId, order.userId)
       && Objects.equals(restaurantId, order.restaurantId) && Objects.equals(addressId, order.addressId)
       && orderStatus == order.orderStatus && Objects.equals(totalPrice, order.totalPrice)
-      && Objects.equals(cartItems, order.cartItems) && Objects.equals(placedTiming, order.placedTiming);
+      && Objects.equals(cartItems, order.cartItems) && Objects.equals(placedTiming, order.placedTiming)
+      && Objects.equals(idempotencyKey, order.idempotencyKey);
   }
 
   /**
@@ -285,7 +312,8 @@ public class Order {
    */
   @Override
   public int hashCode() {
-    return Objects.hash(orderId, userId, restaurantId, addressId, orderStatus, totalPrice, cartItems, placedTiming);
+    return Objects.hash(orderId, userId, restaurantId, addressId, orderStatus, totalPrice, cartItems, placedTiming,
+      idempotencyKey);
   }
 
   /**
@@ -304,6 +332,7 @@ public class Order {
       + ", totalPrice=" + totalPrice
       + ", cartItems='" + cartItems
       + '\'' + ", placedTiming=" + placedTiming
+      + ", idempotencyKey='" + idempotencyKey + '\''
       + '}';
   }
 }
@@ -0,0 +1,322 @@
+package com.nt.order.microservice.entities;
+
+import com.nt.order.microservice.util.OutboxStatus;
+import com.nt.order.microservice.util.WalletOperation;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Represents a wallet change waiting to be delivered to the user service.
+ * <p>
+ * The event is written in the same transaction as the order change that causes it and delivered afterwards by
+ * the outbox relay, so an order and its wallet change are never out of step and no database connection is held
+ * across the call to the user service.
+ * </p>
+ */
+@Entity
+@Table(name = "wallet_outbox")
+public class WalletOutboxEvent {
+
+  /** Maximum length of the stored delivery error. */
+  public static final int MAX_ERROR_LENGTH = 500;
+
+  /** Unique identifier for the event. */
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  /** Identifier for the order the wallet change belongs to; also the idempotency key sent to the user service. */
+  private Integer orderId;
+
+  /** Identifier for the user whose wallet changes. */
+  private Integer userId;
+
+  /** Amount of the change, always positive. */
+  private Double amount;
+
+  /** The wallet change to make. */
+  @Enumerated(EnumType.STRING)
+  private WalletOperation operation;
+
+  /** Delivery status of the event. */
+  @Enumerated(EnumType.STRING)
+  private OutboxStatus status;
+
+  /** Number of failed delivery attempts so far. */
+  private int attempts;
+
+  /** Time before which the event is not picked up by the relay. */
+  private LocalDateTime nextAttemptAt;
+
+  /** Time when the event was written. */
+  private LocalDateTime createdAt;
+
+  /** Error of the last failed delivery attempt. */
+  @Column(length = MAX_ERROR_LENGTH)
+  private String lastError;
+
+  /**
+   * Default constructor.
+   */
+  public WalletOutboxEvent() {
+  }
+
+  /**
+   * Creates a pending event that is due immediately.
+   *
+   * @param order     the order the wallet change belongs to
+   * @param operation the wallet change to make
+   * @param now       the current time
+   */
+  public WalletOutboxEvent(final Order order, final WalletOperation operation, final LocalDateTime now) {
+    this.orderId = order.getOrderId();
+    this.userId = order.getUserId();
+    this.amount = order.getTotalPrice();
+    this.operation = operation;
+    this.status = OutboxStatus.PENDING;
+    this.nextAttemptAt = now;
+    this.createdAt = now;
+  }
+
+  /**
+   * Gets the unique identifier for the event.
+   *
+   * @return the event ID
+   */
+  public Long getId() {
+    return id;
+  }
+
+  /**
+   * Sets the unique identifier for the event.
+   *
+   * @param id the event ID to set
+   */
+  public void setId(final Long id) {
+    this.id = id;
+  }
+
+  /**
+   * Gets the identifier for the order the wallet change belongs to.
+   *
+   * @return the order ID
+   */
+  public Integer getOrderId() {
+    return orderId;
+  }
+
+  /**
+   * Sets the identifier for the order the wallet change belongs to.
+   *
+   * @param orderId the order ID to set
+   */
+  public void setOrderId(final Integer orderId) {
+    this.orderId = orderId;
+  }
+
+  /**
+   * Gets the identifier for the user whose wallet changes.
+   *
+   * @return the user ID
+   */
+  public Integer getUserId() {
+    return userId;
+  }
+
+  /**
+   * Sets the identifier for the user whose wallet changes.
+   *
+   * @param userId the user ID to set
+   */
+  public void setUserId(final Integer userId) {
+    this.userId = userId;
+  }
+
+  /**
+   * Gets the amount of the change.
+   *
+   * @return the amount
+   */
+  public Double getAmount() {
+    return amount;
+  }
+
+  /**
+   * Sets the amount of the change.
+   *
+   * @param amount the amount to set
+   */
+  public void setAmount(final Double amount) {
+    this.amount = amount;
+  }
+
+  /**
+   * Gets the wallet change to make.
+   *
+   * @return the wallet operation
+   */
+  public WalletOperation getOperation() {
+    return operation;
+  }
+
+  /**
+   * Sets the wallet change to make.
+   *
+   * @param operation the wallet operation to set
+   */
+  public void setOperation(final WalletOperation operation) {
+    this.operation = operation;
+  }
+
+  /**
+   * Gets the delivery status of the event.
+   *
+   * @return the status
+   */
+  public OutboxStatus getStatus() {
+    return status;
+  }
+
+  /**
+   * Sets the delivery status of the event.
+   *
+   * @param status the status to set
+   */
+  public void setStatus(final OutboxStatus status) {
+    this.status = status;
+  }
+
+  /**
+   * Gets the number of failed delivery attempts so far.
+   *
+   * @return the number of attempts
+   */
+  public int getAttempts() {
+    return attempts;
+  }
+
+  /**
+   * Sets the number of failed delivery attempts so far.
+   *
+   * @param attempts the number of attempts to set
+   */
+  public void setAttempts(final int attempts) {
+    this.attempts = attempts;
+  }
+
+  /**
+   * Gets the time before which the event is not picked up by the relay.
+   *
+   * @return the next attempt time
+   */
+  public LocalDateTime getNextAttemptAt() {
+    return nextAttemptAt;
+  }
+
+  /**
+   * Sets the time before which the event is not picked up by the relay.
+   *
+   * @param nextAttemptAt the next attempt time to set
+   */
+  public void setNextAttemptAt(final LocalDateTime nextAttemptAt) {
+    this.nextAttemptAt = nextAttemptAt;
+  }
+
+  /**
+   * Gets the time when the event was written.
+   *
+   * @return the creation time
+   */
+  public LocalDateTime getCreatedAt() {
+    return createdAt;
+  }
+
+  /**
+   * Sets the time when the event was written.
+   *
+   * @param createdAt the creation time to set
+   */
+  public void setCreatedAt(final LocalDateTime createdAt) {
+    this.createdAt = createdAt;
+  }
+
+  /**
+   * Gets the error of the last failed delivery attempt.
+   *
+   * @return the last error, or {@code null}
+   */
+  public String getLastError() {
+    return lastError;
+  }
+
+  /**
+   * Sets the error of the last failed delivery attempt, truncated to the column length.
+   *
+   * @param lastError the last error to set
+   */
+  public void setLastError(final String lastError) {
+    this.lastError = lastError != null && lastError.length() > MAX_ERROR_LENGTH
+      ? lastError.substring(0, MAX_ERROR_LENGTH) : lastError;
+  }
+
+  /**
+   * Checks if this event is equal to another object.
+   *
+   * @param o the object to compare with
+   * @return true if the objects are equal, false otherwise
+   */
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    WalletOutboxEvent that = (WalletOutboxEvent) o;
+    return attempts == that.attempts && Objects.equals(id, that.id) && Objects.equals(orderId, that.orderId)
+      && Objects.equals(userId, that.userId) && Objects.equals(amount, that.amount) && operation == that.operation
+      && status == that.status && Objects.equals(nextAttemptAt, that.nextAttemptAt)
+      && Objects.equals(createdAt, that.createdAt) && Objects.equals(lastError, that.lastError);
+  }
+
+  /**
+   * Generates a hash code for this event.
+   *
+   * @return the hash code
+   */
+  @Override
+  public int hashCode() {
+    return Objects.hash(id, orderId, userId, amount, operation, status, attempts, nextAttemptAt, createdAt, lastError);
+  }
+
+  /**
+   * Returns a string representation of this event.
+   *
+   * @return a string representation of the event
+   */
+  @Override
+  public String toString() {
+    return "WalletOutboxEvent{"
+      + "id=" + id
+      + ", orderId=" + orderId
+      + ", userId=" + userId
+      + ", amount=" + amount
+      + ", operation=" + operation
+      + ", status=" + status
+      + ", attempts=" + attempts
+      + ", nextAttemptAt=" + nextAttemptAt
+      + ", createdAt=" + createdAt
+      + ", lastError='" + lastError + '\''
+      + '}';
+  }
+}
@@ -0,0 +1,23 @@
+package com.nt.order.microservice.exception;
+
+/**
+ * Base class of the exceptions signalling an expected business outcome, such as a missing resource, a rejected
+ * request or an insufficient balance.
+ * <p>
+ * These exceptions are thrown on routine request paths and are always turned into an error response by the
+ * {@link GlobalExceptionHandler}, so their stack trace is never read. They skip the stack trace capture and
+ * suppression to keep a rejected request about as cheap as a successful one. Unexpected failures should keep using
+ * ordinary exceptions.
+ * </p>
+ */
+public abstract class BusinessException extends RuntimeException {
+
+  /**
+   * Constructs a new BusinessException with the specified detail message and without a stack trace.
+   *
+   * @param message the detail message, saved for later retrieval by the {@link Throwable#getMessage()} method.
+   */
+  protected BusinessException(final String message) {
+    super(message, null, false, false);
+  }
+}
@@ -1,6 +1,8 @@
 package com.nt.order.microservice.exception;
 
 import com.nt.order.microservice.util.Constants;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -114,6 +116,19 @@ public class GlobalExceptionHandler {
     return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
   }
 
+  /**
+   * Handles calls to another service rejected by its circuit breaker or bulkhead.
+   *
+   * @param ex the rejection
+   * @return ResponseEntity with error details
+   */
+  @ExceptionHandler({CallNotPermittedException.class, BulkheadFullException.class})
+  public ResponseEntity<ErrorResponse> handleDownstreamUnavailable(final RuntimeException ex) {
+    ErrorResponse errorResponse = new ErrorResponse(HttpStatus.SERVICE_UNAVAILABLE.value(),
+      Constants.DOWNSTREAM_UNAVAILABLE);
+    return new ResponseEntity<>(errorResponse, HttpStatus.SERVICE_UNAVAILABLE);
+  }
+
   /**
    * Handles exceptions related to unreadable HTTP messages.
    *
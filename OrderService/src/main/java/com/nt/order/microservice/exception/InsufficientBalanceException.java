@@ -4,7 +4,7 @@ package com.nt.order.microservice.exception;
  * Custom exception thrown when a user attempts to complete an operation that requires
  * more balance than they currently have in their account.
  */
-public class InsufficientBalanceException extends RuntimeException {
+public class InsufficientBalanceException extends BusinessException {
 
   /**
    * Constructs a new InsufficientBalanceException with the specified detail message.
@@ -4,7 +4,7 @@ package com.nt.order.microservice.exception;
  * Custom exception thrown when an invalid request is made to the application, typically due to
  * malformed data or missing required fields.
  */
-public class InvalidRequestException extends RuntimeException {
+public class InvalidRequestException extends BusinessException {
 
   /**
    * Constructs a new InvalidRequestException with the specified detail message.
@@ -4,7 +4,7 @@ package com.nt.order.microservice.exception;
  * Custom exception thrown when attempting to create a resource that already exists.
  * This is commonly used for scenarios like duplicate entries in the database.
  */
-public class ResourceAlreadyExistException extends RuntimeException {
+public class ResourceAlreadyExistException extends BusinessException {
 
   /**
    * Constructs a new ResourceAlreadyExistException with the specified detail message.
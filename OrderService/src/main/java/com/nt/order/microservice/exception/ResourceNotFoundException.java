@@ -4,7 +4,7 @@ package com.nt.order.microservice.exception;
  * Custom exception thrown when a requested resource is not found.
  * This exception is typically used when a specific entity or data cannot be found in the system.
  */
-public class ResourceNotFoundException extends RuntimeException {
+public class ResourceNotFoundException extends BusinessException {
 
   /**
    * Constructs a new ResourceNotFoundException with the specified detail message.
@@ -4,7 +4,7 @@ package com.nt.order.microservice.exception;
  * Custom exception thrown when a user is unauthorized to perform a specific action.
  * This exception is typically used for access control and authentication failures.
  */
-public class UnauthorizedException extends RuntimeException {
+public class UnauthorizedException extends BusinessException {
 
   /**
    * Constructs a new UnauthorizedException with the specified detail message.
@@ -2,16 +2,27 @@ package com.nt.order.microservice.repository;
 
 import com.nt.order.microservice.entities.Cart;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 /**
  * Repository interface for managing {@link Cart} entities.
- * Provides methods to perform CRUD operations and custom queries.
+ * Provides methods to perform CRUD operations and custom queries, and the batch changes of {@link CartRepositoryCustom}.
  */
 @Repository
-public interface CartRepository extends JpaRepository<Cart, Integer> {
+public interface CartRepository extends JpaRepository<Cart, Integer>, CartRepositoryCustom {
+
+  /**
+   * Adds a quantity of a food item to a user's cart in one statement, relying on the unique index
+   * {@code ux_cart_user_restaurant_food_item}. The price of an existing line is kept.
+   */
+  String UPSERT_ITEM = "INSERT INTO cart (user_id, restaurant_id, food_item_id, quantity, price) "
+    + "VALUES (?1, ?2, ?3, ?4, ?5) "
+    + "ON CONFLICT (user_id, restaurant_id, food_item_id) "
+    + "DO UPDATE SET quantity = cart.quantity + EXCLUDED.quantity, updated_at = now() "
+    + "RETURNING (xmax = 0)";
 
   /**
    * Retrieves a list of cart items associated with a specific user.
@@ -30,6 +41,20 @@ public interface CartRepository extends JpaRepository<Cart, Integer> {
    */
   List<Cart> findByUserIdAndRestaurantId(Integer userId, Integer restaurantId);
 
+  /**
+   * Adds a quantity of a food item to a user's cart, creating the cart line or increasing the quantity of the
+   * existing one atomically, so concurrent adds of the same item merge into one line.
+   *
+   * @param userId       the ID of the user
+   * @param restaurantId the ID of the restaurant of the food item
+   * @param foodItemId   the ID of the food item
+   * @param quantity     the quantity to add
+   * @param price        the unit price of the food item, stored when the line is created
+   * @return true if a new cart line was created, false if an existing one was increased
+   */
+  @Query(value = UPSERT_ITEM, nativeQuery = true)
+  boolean upsertItem(Integer userId, Integer restaurantId, Integer foodItemId, Integer quantity, Double price);
+
   /**
    * Deletes all cart items associated with a specific user.
    *
@@ -0,0 +1,21 @@
+package com.nt.order.microservice.repository;
+
+import com.nt.order.microservice.dtos.CartLineInDTO;
+
+import java.util.List;
+
+/**
+ * Cart operations that Spring Data cannot derive, implemented in {@link CartRepositoryImpl}.
+ */
+public interface CartRepositoryCustom {
+
+  /**
+   * Applies the lines of a cart batch with one JDBC batch per kind of change, in the current transaction.
+   * Each food item may appear in at most one line.
+   *
+   * @param userId       the ID of the user whose cart is changed
+   * @param restaurantId the ID of the restaurant of the food items
+   * @param lines        the validated changes to apply
+   */
+  void applyLines(Integer userId, Integer restaurantId, List<CartLineInDTO> lines);
+}
@@ -0,0 +1,82 @@
+package com.nt.order.microservice.repository;
+
+import com.nt.order.microservice.dtos.CartLineInDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JDBC implementation of {@link CartRepositoryCustom}.
+ * <p>
+ * Adds and updates are upserts on the unique index {@code ux_cart_user_restaurant_food_item}, so a missing cart
+ * line is created with the given unit price and an existing one keeps its price, as with
+ * {@link CartRepository#upsertItem}.
+ * </p>
+ */
+public class CartRepositoryImpl implements CartRepositoryCustom {
+
+  /**
+   * Adds a quantity to a cart line, creating it if missing.
+   */
+  static final String ADD_ITEM = "INSERT INTO cart (user_id, restaurant_id, food_item_id, quantity, price) "
+    + "VALUES (?, ?, ?, ?, ?) "
+    + "ON CONFLICT (user_id, restaurant_id, food_item_id) "
+    + "DO UPDATE SET quantity = cart.quantity + EXCLUDED.quantity, updated_at = now()";
+
+  /**
+   * Sets the quantity of a cart line, creating it if missing.
+   */
+  static final String SET_ITEM_QUANTITY = "INSERT INTO cart (user_id, restaurant_id, food_item_id, quantity, price) "
+    + "VALUES (?, ?, ?, ?, ?) "
+    + "ON CONFLICT (user_id, restaurant_id, food_item_id) "
+    + "DO UPDATE SET quantity = EXCLUDED.quantity, updated_at = now()";
+
+  /**
+   * Removes a cart line.
+   */
+  static final String REMOVE_ITEM = "DELETE FROM cart WHERE user_id = ? AND restaurant_id = ? AND food_item_id = ?";
+
+  /**
+   * Template running the batches on the connection of the current transaction.
+   */
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  /**
+   * Applies the lines of a cart batch with one JDBC batch per kind of change, in the current transaction.
+   *
+   * @param userId       the ID of the user whose cart is changed
+   * @param restaurantId the ID of the restaurant of the food items
+   * @param lines        the validated changes to apply
+   */
+  @Override
+  public void applyLines(final Integer userId, final Integer restaurantId, final List<CartLineInDTO> lines) {
+    List<Object[]> adds = new ArrayList<>();
+    List<Object[]> updates = new ArrayList<>();
+    List<Object[]> removes = new ArrayList<>();
+    for (CartLineInDTO line : lines) {
+      switch (line.getAction()) {
+        case ADD:
+          adds.add(new Object[] {userId, restaurantId, line.getFoodItemId(), line.getQuantity(), line.getPrice()});
+          break;
+        case UPDATE:
+          updates.add(new Object[] {userId, restaurantId, line.getFoodItemId(), line.getQuantity(), line.getPrice()});
+          break;
+        default:
+          removes.add(new Object[] {userId, restaurantId, line.getFoodItemId()});
+          break;
+      }
+    }
+    batchUpdate(ADD_ITEM, adds);
+    batchUpdate(SET_ITEM_QUANTITY, updates);
+    batchUpdate(REMOVE_ITEM, removes);
+  }
+
+  private void batchUpdate(final String sql, final List<Object[]> arguments) {
+    if (!arguments.isEmpty()) {
+      jdbcTemplate.batchUpdate(sql, arguments);
+    }
+  }
+}
@@ -1,10 +1,21 @@
 package com.nt.order.microservice.repository;
 
 import com.nt.order.microservice.entities.Order;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 
 /**
@@ -14,6 +25,11 @@ import java.util.List;
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Integer> {
 
+  /**
+   * Number of rows fetched per round trip when streaming orders.
+   */
+  int STREAM_FETCH_SIZE = 500;
+
   /**
    * Retrieves a list of orders associated with a specific user.
    *
@@ -29,4 +45,93 @@ public interface OrderRepository extends JpaRepository<Order, Integer> {
    * @return a list of orders for the given restaurant
    */
   List<Order> findByRestaurantId(Integer restaurantId);
+
+  /**
+   * Retrieves the order a user placed with an idempotency key.
+   *
+   * @param userId         the ID of the user who placed the order
+   * @param idempotencyKey the idempotency key of the checkout request
+   * @return the order, or empty if no order was placed with the key
+   */
+  Optional<Order> findByUserIdAndIdempotencyKey(Integer userId, String idempotencyKey);
+
+  /**
+   * Streams the orders of a user, newest first, through a database cursor.
+   * <p>
+   * Rows are fetched {@value #STREAM_FETCH_SIZE} at a time and loaded read-only, so the caller must consume
+   * the stream inside a transaction, close it afterwards and detach the orders it has processed.
+   * </p>
+   *
+   * @param userId the ID of the user whose orders are to be streamed
+   * @return a stream of the user's orders
+   */
+  @QueryHints({
+    @QueryHint(name = HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+    @QueryHint(name = HINT_READONLY, value = "true")
+  })
+  @Query("SELECT o FROM Order o WHERE o.userId = :userId ORDER BY o.placedTiming DESC, o.orderId DESC")
+  Stream<Order> streamByUserId(@Param("userId") Integer userId);
+
+  /**
+   * Streams the orders of a restaurant, newest first, through a database cursor.
+   * The same rules as for {@link #streamByUserId(Integer)} apply.
+   *
+   * @param restaurantId the ID of the restaurant whose orders are to be streamed
+   * @return a stream of the restaurant's orders
+   */
+  @QueryHints({
+    @QueryHint(name = HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+    @QueryHint(name = HINT_READONLY, value = "true")
+  })
+  @Query("SELECT o FROM Order o WHERE o.restaurantId = :restaurantId ORDER BY o.placedTiming DESC, o.orderId DESC")
+  Stream<Order> streamByRestaurantId(@Param("restaurantId") Integer restaurantId);
+
+  /**
+   * Retrieves the newest orders of a user.
+   *
+   * @param userId   the ID of the user whose orders are to be retrieved
+   * @param pageable the number of orders to return; its sort is ignored
+   * @return the user's orders, newest first
+   */
+  @Query("SELECT o FROM Order o WHERE o.userId = :userId ORDER BY o.placedTiming DESC, o.orderId DESC")
+  List<Order> findFirstPageByUserId(@Param("userId") Integer userId, Pageable pageable);
+
+  /**
+   * Retrieves the orders of a user placed before a keyset position, newest first.
+   *
+   * @param userId       the ID of the user whose orders are to be retrieved
+   * @param placedTiming the placement time of the last order already returned
+   * @param orderId      the ID of the last order already returned
+   * @param pageable     the number of orders to return; its sort is ignored
+   * @return the user's older orders, newest first
+   */
+  @Query("SELECT o FROM Order o WHERE o.userId = :userId AND (o.placedTiming < :placedTiming "
+    + "OR (o.placedTiming = :placedTiming AND o.orderId < :orderId)) ORDER BY o.placedTiming DESC, o.orderId DESC")
+  List<Order> findPageByUserIdBefore(@Param("userId") Integer userId, @Param("placedTiming") LocalDateTime placedTiming,
+                                     @Param("orderId") Integer orderId, Pageable pageable);
+
+  /**
+   * Retrieves the newest orders of a restaurant.
+   *
+   * @param restaurantId the ID of the restaurant whose orders are to be retrieved
+   * @param pageable     the number of orders to return; its sort is ignored
+   * @return the restaurant's orders, newest first
+   */
+  @Query("SELECT o FROM Order o WHERE o.restaurantId = :restaurantId ORDER BY o.placedTiming DESC, o.orderId DESC")
+  List<Order> findFirstPageByRestaurantId(@Param("restaurantId") Integer restaurantId, Pageable pageable);
+
+  /**
+   * Retrieves the orders of a restaurant placed before a keyset position, newest first.
+   *
+   * @param restaurantId the ID of the restaurant whose orders are to be retrieved
+   * @param placedTiming the placement time of the last order already returned
+   * @param orderId      the ID of the last order already returned
+   * @param pageable     the number of orders to return; its sort is ignored
+   * @return the restaurant's older orders, newest first
+   */
+  @Query("SELECT o FROM Order o WHERE o.restaurantId = :restaurantId AND (o.placedTiming < :placedTiming "
+    + "OR (o.placedTiming = :placedTiming AND o.orderId < :orderId)) ORDER BY o.placedTiming DESC, o.orderId DESC")
+  List<Order> findPageByRestaurantIdBefore(@Param("restaurantId") Integer restaurantId,
+                                           @Param("placedTiming") LocalDateTime placedTiming,
+                                           @Param("orderId") Integer orderId, Pageable pageable);
 }
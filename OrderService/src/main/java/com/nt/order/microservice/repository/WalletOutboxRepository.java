@@ -0,0 +1,47 @@
+package com.nt.order.microservice.repository;
+
+import com.nt.order.microservice.entities.WalletOutboxEvent;
+import com.nt.order.microservice.util.WalletOperation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for managing {@link WalletOutboxEvent} entities.
+ * Provides the queries the outbox relay uses to claim due events.
+ */
+@Repository
+public interface WalletOutboxRepository extends JpaRepository<WalletOutboxEvent, Long> {
+
+  /**
+   * Locks up to {@code limit} pending events that are due, oldest first, skipping events another relay has locked.
+   * <p>
+   * A refund is only due once the debit of its order has been delivered, so a refund can never reach the user
+   * service before the payment it reverses. Must be called inside a transaction.
+   * </p>
+   *
+   * @param now   the current time
+   * @param limit the maximum number of events to lock
+   * @return the locked events
+   */
+  @Query(value = "SELECT o.* FROM wallet_outbox o WHERE o.status = 'PENDING' AND o.next_attempt_at <= :now "
+    + "AND (o.operation = 'DEBIT' OR NOT EXISTS (SELECT 1 FROM wallet_outbox d WHERE d.order_id = o.order_id "
+    + "AND d.operation = 'DEBIT' AND d.status <> 'DELIVERED')) "
+    + "ORDER BY o.next_attempt_at, o.id LIMIT :limit FOR UPDATE OF o SKIP LOCKED", nativeQuery = true)
+  List<WalletOutboxEvent> lockDueEvents(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+  /**
+   * Retrieves the event of an order for a wallet operation.
+   *
+   * @param orderId   the ID of the order
+   * @param operation the wallet operation
+   * @return the event, if the order has one for that operation
+   */
+  Optional<WalletOutboxEvent> findByOrderIdAndOperation(Integer orderId, WalletOperation operation);
+
+}
@@ -1,5 +1,6 @@
 package com.nt.order.microservice.service;
 
+import com.nt.order.microservice.dtos.CartBatchInDTO;
 import com.nt.order.microservice.dtos.CartInDTO;
 import com.nt.order.microservice.dtos.CartOutDTO;
 import com.nt.order.microservice.dtos.CommonResponse;
@@ -24,6 +25,14 @@ public interface CartService {
    */
   CommonResponse addItemToCart(CartInDTO cartInDTO);
 
+  /**
+   * Applies a batch of add, update and remove lines to the user's cart for one restaurant, all or nothing.
+   *
+   * @param cartBatchInDTO the data transfer object containing the lines to apply
+   * @return {@link CommonResponse} indicating the result of the operation
+   */
+  CommonResponse applyCartBatch(CartBatchInDTO cartBatchInDTO);
+
   /**
    * Retrieves the cart details by the cart ID.
    *
@@ -50,11 +59,11 @@ public interface CartService {
   List<Cart> getCartItemsByUserIdAndRestaurantId(Integer userId, Integer restaurantId);
 
   /**
-   * Updates the quantity of an item in the cart.
+   * Updates the quantity of an item in the cart, removing the item when its quantity drops to zero.
    *
    * @param cartId         the ID of the cart item to be updated
    * @param quantityChange the amount by which the item quantity is to be changed
-   * @return {@link CommonResponse} indicating the result of the quantity update
+   * @return {@link CommonResponse} indicating whether the item was updated or removed
    */
   CommonResponse updateQuantity(Integer cartId, Integer quantityChange);
 
@@ -3,8 +3,12 @@ package com.nt.order.microservice.service;
 import com.nt.order.microservice.dtos.CommonResponse;
 import com.nt.order.microservice.dtos.OrderInDTO;
 import com.nt.order.microservice.dtos.OrderOutDTO;
+import com.nt.order.microservice.dtos.OrderPageOutDTO;
+import com.nt.order.microservice.dtos.QuoteOutDTO;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Service interface for handling order-related operations.
@@ -16,12 +20,23 @@ import java.util.List;
 public interface OrderService {
 
   /**
-   * Places a new order.
+   * Validates and prices an order without placing it.
    *
    * @param orderInDTO the order data transfer object containing the order details
+   * @return {@link QuoteOutDTO} with the total price and a short-lived token for placing the same order
+   */
+  QuoteOutDTO quoteOrder(OrderInDTO orderInDTO);
+
+  /**
+   * Places a new order. Repeats of a checkout with the same idempotency key return the original result
+   * without placing another order, and a valid quote token for the same order skips its validations.
+   *
+   * @param orderInDTO     the order data transfer object containing the order details
+   * @param idempotencyKey the client's idempotency key for the checkout, or {@code null} if it sent none
+   * @param quoteToken     the token of a quote for the order, or {@code null} if it sent none
    * @return {@link CommonResponse} indicating the result of the order placement
    */
-  CommonResponse placeOrder(OrderInDTO orderInDTO);
+  CommonResponse placeOrder(OrderInDTO orderInDTO, String idempotencyKey, String quoteToken);
 
   /**
    * Cancels an existing order by its ID.
@@ -55,4 +70,45 @@ public interface OrderService {
    * @return a list of {@link OrderOutDTO} representing the orders for the restaurant
    */
   List<OrderOutDTO> getOrdersByRestaurantId(Integer restaurantId);
+
+  /**
+   * Passes every order placed by a specific user, newest first, to a consumer while reading them from the
+   * database, so the order history is never held in memory as a whole.
+   *
+   * @param userId   the ID of the user whose orders are being retrieved
+   * @param consumer receives each order as it is read
+   */
+  void streamOrdersByUserId(Integer userId, Consumer<OrderOutDTO> consumer);
+
+  /**
+   * Passes every order placed at a specific restaurant, newest first, to a consumer while reading them from the
+   * database, so the order history is never held in memory as a whole.
+   *
+   * @param restaurantId the ID of the restaurant whose orders are being retrieved
+   * @param consumer     receives each order as it is read
+   */
+  void streamOrdersByRestaurantId(Integer restaurantId, Consumer<OrderOutDTO> consumer);
+
+  /**
+   * Retrieves one page of the orders placed by a specific user, newest first.
+   *
+   * @param userId        the ID of the user whose orders are being retrieved
+   * @param beforeTiming  the placement time of the last order of the previous page, or {@code null} for the first page
+   * @param beforeOrderId the ID of the last order of the previous page, or {@code null} for the first page
+   * @param size          the maximum number of orders on the page
+   * @return an {@link OrderPageOutDTO} holding the orders and the cursor for the next page
+   */
+  OrderPageOutDTO getOrderPageByUserId(Integer userId, LocalDateTime beforeTiming, Integer beforeOrderId, int size);
+
+  /**
+   * Retrieves one page of the orders placed at a specific restaurant, newest first.
+   *
+   * @param restaurantId  the ID of the restaurant whose orders are being retrieved
+   * @param beforeTiming  the placement time of the last order of the previous page, or {@code null} for the first page
+   * @param beforeOrderId the ID of the last order of the previous page, or {@code null} for the first page
+   * @param size          the maximum number of orders on the page
+   * @return an {@link OrderPageOutDTO} holding the orders and the cursor for the next page
+   */
+  OrderPageOutDTO getOrderPageByRestaurantId(Integer restaurantId, LocalDateTime beforeTiming, Integer beforeOrderId,
+                                             int size);
 }
@@ -0,0 +1,171 @@
+package com.nt.order.microservice.serviceimpl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Removes abandoned carts.
+ * <p>
+ * A cart is abandoned when none of its lines was created or changed for {@code cart.sweeper.ttl-seconds}. Every
+ * {@code cart.sweeper.interval-ms} the sweeper walks the carts in user ID order and removes the abandoned ones in
+ * batches of at most {@code cart.sweeper.batch-size} users, each batch in its own short transaction and followed by
+ * a pause of {@code cart.sweeper.batch-pause-ms}, so no statement holds many row locks for long. A run stops after
+ * {@code cart.sweeper.max-batches-per-run} batches and the next one continues where it stopped. A line changed while
+ * its cart is being removed is kept. The rows removed and the run time are published in the
+ * {@code cart.sweeper.deleted} and {@code cart.sweeper.run} meters. The TTL is measured against the database clock,
+ * which also stamps every change of a line.
+ * </p>
+ * <p>
+ * Reading a cart held by the write-behind cart store does not make it recent, so the TTL should be far longer than
+ * {@code cart.store.idle-seconds}.
+ * </p>
+ */
+@Component
+public class AbandonedCartSweeper {
+
+  /**
+   * Logger for recording the removed carts.
+   */
+  private static final Logger LOGGER = LoggerFactory.getLogger(AbandonedCartSweeper.class);
+
+  /**
+   * Removes the lines of the next abandoned carts after a user ID, given the TTL in seconds, and returns the last
+   * user ID and the number of users selected, along with the number of lines removed. The change time is checked
+   * again on each row, so a line changed concurrently survives.
+   */
+  static final String DELETE_ABANDONED = "WITH abandoned AS ("
+    + "SELECT user_id FROM cart WHERE user_id > ? GROUP BY user_id "
+    + "HAVING max(updated_at) < now() - make_interval(secs => ?) ORDER BY user_id LIMIT ?), "
+    + "removed AS (DELETE FROM cart WHERE user_id IN (SELECT user_id FROM abandoned) "
+    + "AND updated_at < now() - make_interval(secs => ?) RETURNING user_id) "
+    + "SELECT (SELECT max(user_id) FROM abandoned) AS last_user_id, (SELECT count(*) FROM abandoned) AS users, "
+    + "(SELECT count(*) FROM removed) AS lines";
+
+  /**
+   * Template running the delete batches.
+   */
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  /**
+   * Transaction manager used for the batch transactions.
+   */
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  /**
+   * Registry the sweeper meters are published to.
+   */
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  /**
+   * Number of seconds after the last change to any of its lines at which a cart is abandoned.
+   */
+  @Value("${cart.sweeper.ttl-seconds:604800}")
+  private long ttlSeconds;
+
+  /**
+   * The maximum number of carts removed per batch.
+   */
+  @Value("${cart.sweeper.batch-size:500}")
+  private int batchSize;
+
+  /**
+   * The pause after each batch, in milliseconds.
+   */
+  @Value("${cart.sweeper.batch-pause-ms:100}")
+  private long batchPauseMs;
+
+  /**
+   * The maximum number of batches per run.
+   */
+  @Value("${cart.sweeper.max-batches-per-run:100}")
+  private int maxBatchesPerRun;
+
+  /**
+   * The user ID after which the next batch looks for abandoned carts; only used by the scheduler thread.
+   */
+  private int cursor = Integer.MIN_VALUE;
+
+  /**
+   * Counter of removed cart lines.
+   */
+  private Counter deletedLines;
+
+  /**
+   * Timer of the sweeper runs.
+   */
+  private Timer runTime;
+
+  /**
+   * Registers the sweeper meters.
+   */
+  @PostConstruct
+  public void registerMeters() {
+    deletedLines = Counter.builder("cart.sweeper.deleted").register(meterRegistry);
+    runTime = Timer.builder("cart.sweeper.run").register(meterRegistry);
+  }
+
+  /**
+   * Removes abandoned carts in batches until all were removed or the batch limit of the run is reached.
+   *
+   * @return the number of cart lines removed
+   */
+  @Scheduled(fixedDelayString = "${cart.sweeper.interval-ms:600000}")
+  public int sweep() {
+    long start = System.nanoTime();
+    TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+    int deleted = 0;
+    for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+      Map<String, Object> result = transactionTemplate.execute(status -> jdbcTemplate.queryForMap(DELETE_ABANDONED,
+        cursor, ttlSeconds, batchSize, ttlSeconds));
+      deleted += ((Number) result.get("lines")).intValue();
+      if (((Number) result.get("users")).intValue() < batchSize) {
+        cursor = Integer.MIN_VALUE;
+        break;
+      }
+      cursor = ((Number) result.get("last_user_id")).intValue();
+      if (!pause()) {
+        break;
+      }
+    }
+
+    long elapsedNanos = System.nanoTime() - start;
+    runTime.record(elapsedNanos, TimeUnit.NANOSECONDS);
+    deletedLines.increment(deleted);
+    if (deleted > 0) {
+      LOGGER.info("Removed {} abandoned cart lines in {} ms", deleted, TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+    }
+    return deleted;
+  }
+
+  /**
+   * Waits between two batches.
+   *
+   * @return false if the thread was interrupted, so the run should stop
+   */
+  private boolean pause() {
+    try {
+      Thread.sleep(batchPauseMs);
+      return true;
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+}
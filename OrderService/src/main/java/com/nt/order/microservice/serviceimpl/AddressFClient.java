@@ -10,7 +10,7 @@ import java.util.List;
 /**
  * Feign client interface for interacting with the Address microservice.
  */
-@FeignClient(name = "address-service", url = "http://localhost:100")
+@FeignClient(name = "address-service", url = "${clients.user-service.url}")
 public interface AddressFClient {
 
   /**
@@ -1,7 +1,13 @@
 package com.nt.order.microservice.serviceimpl;
 
+import com.nt.order.microservice.cache.CartStore;
+import com.nt.order.microservice.cache.MenuCache;
+import com.nt.order.microservice.cache.RestaurantCache;
+import com.nt.order.microservice.cache.UserProfileCache;
 import com.nt.order.microservice.dtoconverter.CartDtoConverter;
+import com.nt.order.microservice.dtos.CartBatchInDTO;
 import com.nt.order.microservice.dtos.CartInDTO;
+import com.nt.order.microservice.dtos.CartLineInDTO;
 import com.nt.order.microservice.dtos.CartOutDTO;
 import com.nt.order.microservice.dtos.CommonResponse;
 import com.nt.order.microservice.dtos.FoodItemOutDTO;
@@ -11,9 +17,9 @@ import com.nt.order.microservice.entities.Cart;
 import com.nt.order.microservice.exception.InvalidRequestException;
 import com.nt.order.microservice.exception.ResourceNotFoundException;
 import com.nt.order.microservice.exception.UnauthorizedException;
-import com.nt.order.microservice.repository.CartRepository;
 import com.nt.order.microservice.repository.OrderRepository;
 import com.nt.order.microservice.service.CartService;
+import com.nt.order.microservice.util.CartAction;
 import com.nt.order.microservice.util.Constants;
 import com.nt.order.microservice.util.Role;
 import feign.FeignException;
@@ -26,8 +32,13 @@ import javax.transaction.Transactional;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Implementation of the CartService interface. This class handles the business logic
@@ -42,10 +53,10 @@ public class CartServiceImpl implements CartService {
   private static final Logger LOGGER = LoggerFactory.getLogger(CartServiceImpl.class);
 
   /**
-   * Repository for managing Cart entities.
+   * Store of the cart lines, either the cart table itself or an in-memory write-behind copy of it.
    */
   @Autowired
-  private CartRepository cartRepository;
+  private CartStore cartStore;
 
   /**
    * Repository for managing Order entities.
@@ -54,16 +65,16 @@ public class CartServiceImpl implements CartService {
   private OrderRepository orderRepository;
 
   /**
-   * Feign client for interacting with the User service.
+   * Coalescing cache of user identities from the User service.
    */
   @Autowired
-  private UserFClient userFClient;
+  private UserProfileCache userProfileCache;
 
   /**
-   * Feign client for interacting with the Restaurant service.
+   * Restaurant lookups with a last-known-good fallback while the Restaurant service is unavailable.
    */
   @Autowired
-  private RestaurantFClient restaurantFClient;
+  private RestaurantCache restaurantCache;
 
   /**
    * Feign client for interacting with the Food Item service.
@@ -71,6 +82,12 @@ public class CartServiceImpl implements CartService {
   @Autowired
   private FoodItemFClient foodItemFClient;
 
+  /**
+   * Cache of restaurant menus, consulted before looking food items up remotely.
+   */
+  @Autowired
+  private MenuCache menuCache;
+
   /**
    * Adds an item to the cart for a specific user.
    *
@@ -88,18 +105,62 @@ public class CartServiceImpl implements CartService {
     UserOutDTO userOutDto = fetchUser(cartInDTO.getUserId());
     validateUserRole(userOutDto);
     validateRestaurant(cartInDTO.getRestaurantId());
-    try {
-      validateFoodItemInRestaurant(cartInDTO);
-    } catch (Exception e) {
-      throw new ResourceNotFoundException(Constants.FOODITEM_NOT_FOUND);
-    }
-
-    FoodItemOutDTO foodItemOutDTO = fetchFoodItem(cartInDTO.getFoodItemId());
-    validatePrice(cartInDTO, foodItemOutDTO);
+    FoodItemOutDTO foodItemOutDTO = fetchFoodItemsOfRestaurant(cartInDTO.getRestaurantId(),
+      Collections.singleton(cartInDTO.getFoodItemId())).get(cartInDTO.getFoodItemId());
+    validatePrice(cartInDTO.getFoodItemId(), cartInDTO.getPrice(), foodItemOutDTO);
 
     return processCartUpdate(cartInDTO, foodItemOutDTO);
   }
 
+  /**
+   * Applies a batch of add, update and remove lines to a user's cart for one restaurant.
+   * The user, the restaurant and the menu are looked up once for the whole batch, and the lines are written
+   * with JDBC batches in one transaction, so either every line is applied or none is.
+   *
+   * @param cartBatchInDTO the DTO containing the lines to apply
+   * @return a response indicating the result of the operation
+   * @throws UnauthorizedException if the user is a restaurant owner
+   * @throws ResourceNotFoundException if the user, restaurant, or a food item to add or update is not found
+   * @throws InvalidRequestException if a food item appears twice, a line lacks its quantity or price,
+   *                                 or a price does not match the food item price
+   */
+  @Override
+  @Transactional
+  public CommonResponse applyCartBatch(final CartBatchInDTO cartBatchInDTO) {
+    LOGGER.info("Applying {} cart lines for userId: {}", cartBatchInDTO.getLines().size(), cartBatchInDTO.getUserId());
+
+    UserOutDTO userOutDto = fetchUser(cartBatchInDTO.getUserId());
+    validateUserRole(userOutDto);
+    validateRestaurant(cartBatchInDTO.getRestaurantId());
+
+    Set<Integer> lineItemIds = new HashSet<>();
+    Set<Integer> pricedItemIds = new HashSet<>();
+    for (CartLineInDTO line : cartBatchInDTO.getLines()) {
+      if (!lineItemIds.add(line.getFoodItemId())) {
+        LOGGER.error("Food item with id: {} appears more than once in the cart batch", line.getFoodItemId());
+        throw new InvalidRequestException(Constants.DUPLICATE_CART_BATCH_ITEM);
+      }
+      if (line.getAction() != CartAction.REMOVE) {
+        if (line.getQuantity() == null || line.getPrice() == null) {
+          LOGGER.error("Cart batch line for foodItemId: {} has no quantity or price", line.getFoodItemId());
+          throw new InvalidRequestException(Constants.INCOMPLETE_CART_BATCH_LINE);
+        }
+        pricedItemIds.add(line.getFoodItemId());
+      }
+    }
+    Map<Integer, FoodItemOutDTO> foodItems = fetchFoodItemsOfRestaurant(cartBatchInDTO.getRestaurantId(),
+      pricedItemIds);
+    for (CartLineInDTO line : cartBatchInDTO.getLines()) {
+      if (line.getAction() != CartAction.REMOVE) {
+        validatePrice(line.getFoodItemId(), line.getPrice(), foodItems.get(line.getFoodItemId()));
+      }
+    }
+
+    cartStore.applyLines(cartBatchInDTO.getUserId(), cartBatchInDTO.getRestaurantId(), cartBatchInDTO.getLines());
+    LOGGER.info("Cart batch applied for userId: {}", cartBatchInDTO.getUserId());
+    return new CommonResponse(Constants.CART_BATCH_APPLIED_SUCCESSFULLY);
+  }
+
   /**
    * Fetches the user details based on the user ID.
    *
@@ -109,7 +170,7 @@ public class CartServiceImpl implements CartService {
    */
   private UserOutDTO fetchUser(final Integer userId) {
     try {
-      UserOutDTO userOutDto = userFClient.getUserProfile(userId);
+      UserOutDTO userOutDto = userProfileCache.getUser(userId);
       LOGGER.info("User fetched successfully: {}", userOutDto);
       return userOutDto;
     } catch (FeignException.NotFound ex) {
@@ -139,7 +200,7 @@ public class CartServiceImpl implements CartService {
    */
   private void validateRestaurant(final Integer restaurantId) {
     try {
-      RestaurantOutDTO restaurantOutDTO = restaurantFClient.getRestaurantById(restaurantId);
+      RestaurantOutDTO restaurantOutDTO = restaurantCache.getRestaurant(restaurantId);
       if (restaurantOutDTO == null) {
         LOGGER.error("Invalid restaurantId: {}", restaurantId);
         throw new ResourceNotFoundException(Constants.INVALID_RESTAURANT_ID);
@@ -152,87 +213,89 @@ public class CartServiceImpl implements CartService {
   }
 
   /**
-   * Validates whether the food item belongs to the specified restaurant.
+   * Fetches food items from the restaurant's cached menu, looking the ones missing from it up remotely
+   * in one call that checks the items belong to the specified restaurant.
    *
-   * @param cartInDTO the DTO containing cart input data
-   * @throws UnauthorizedException if the food item does not belong to the restaurant
+   * @param restaurantId the ID of the restaurant of the food items
+   * @param foodItemIds  the IDs of the food items to fetch
+   * @return the food items by ID
+   * @throws ResourceNotFoundException if a food item is not found or does not belong to the restaurant
    */
-  private void validateFoodItemInRestaurant(final CartInDTO cartInDTO) {
-    List<FoodItemOutDTO> foodItemsInRestaurant = foodItemFClient.getFoodItemsByRestaurant(cartInDTO.getRestaurantId());
-    boolean isFoodItemValid = foodItemsInRestaurant.stream()
-      .anyMatch(foodItem -> foodItem.getFoodItemId().equals(cartInDTO.getFoodItemId()));
-
-    if (!isFoodItemValid) {
-      LOGGER.error("Food item with id: {} does not belong to restaurantId: {}",
-        cartInDTO.getFoodItemId(), cartInDTO.getRestaurantId());
-      throw new UnauthorizedException(Constants.FOOD_ITEM_DOES_NOT_BELONG_TO_RESTAURANT);
+  private Map<Integer, FoodItemOutDTO> fetchFoodItemsOfRestaurant(final Integer restaurantId,
+                                                                  final Set<Integer> foodItemIds) {
+    Map<Integer, FoodItemOutDTO> menu = menuCache.getMenu(restaurantId);
+    Map<Integer, FoodItemOutDTO> foodItems = new HashMap<>();
+    Set<Integer> missingIds = new HashSet<>();
+    for (Integer foodItemId : foodItemIds) {
+      FoodItemOutDTO cachedFoodItem = menu.get(foodItemId);
+      if (cachedFoodItem != null) {
+        foodItems.put(foodItemId, cachedFoodItem);
+      } else {
+        missingIds.add(foodItemId);
+      }
+    }
+    if (missingIds.isEmpty()) {
+      return foodItems;
     }
-  }
 
-  /**
-   * Fetches the food item details based on the food item ID.
-   *
-   * @param foodItemId the ID of the food item to fetch
-   * @return the FoodItemOutDTO object containing food item details
-   * @throws ResourceNotFoundException if the food item is not found
-   */
-  private FoodItemOutDTO fetchFoodItem(final Integer foodItemId) {
+    List<FoodItemOutDTO> fetchedFoodItems;
     try {
-      FoodItemOutDTO foodItemOutDTO = foodItemFClient.getFoodItemById(foodItemId);
-      if (foodItemOutDTO == null) {
-        LOGGER.error("Invalid foodItemId: {}", foodItemId);
-        throw new ResourceNotFoundException(Constants.INVALID_FOOD_ITEM_ID);
-      }
-      LOGGER.info("Food item found: {}", foodItemOutDTO);
-      return foodItemOutDTO;
+      fetchedFoodItems = foodItemFClient.getFoodItemsByIds(restaurantId, missingIds);
     } catch (FeignException.NotFound ex) {
-      LOGGER.error("Food item not found for foodItemId: {}", foodItemId);
-      throw new ResourceNotFoundException(Constants.INVALID_FOOD_ITEM_ID);
+      LOGGER.error("Food items not found for foodItemIds: {}", missingIds);
+      throw new ResourceNotFoundException(Constants.FOODITEM_NOT_FOUND);
+    }
+
+    for (FoodItemOutDTO foodItem : fetchedFoodItems) {
+      if (missingIds.contains(foodItem.getFoodItemId()) && restaurantId.equals(foodItem.getRestaurantId())) {
+        foodItems.put(foodItem.getFoodItemId(), foodItem);
+      }
     }
+    for (Integer foodItemId : missingIds) {
+      if (!foodItems.containsKey(foodItemId)) {
+        LOGGER.error("Food item with id: {} does not belong to restaurantId: {}", foodItemId, restaurantId);
+        throw new ResourceNotFoundException(Constants.FOODITEM_NOT_FOUND);
+      }
+    }
+    LOGGER.info("Food items found: {}", foodItems.values());
+    return foodItems;
   }
 
   /**
    * Validates the price of the food item against the provided price.
    *
-   * @param cartInDTO the DTO containing cart input data
+   * @param foodItemId the ID of the food item
+   * @param price the price provided by the client
    * @param foodItemOutDTO the FoodItemOutDTO object containing food item details
    * @throws InvalidRequestException if the prices do not match
    */
-  private void validatePrice(final CartInDTO cartInDTO, final FoodItemOutDTO foodItemOutDTO) {
-    if (foodItemOutDTO.getPrice().compareTo(cartInDTO.getPrice()) != 0) {
+  private void validatePrice(final Integer foodItemId, final Double price, final FoodItemOutDTO foodItemOutDTO) {
+    if (foodItemOutDTO.getPrice().compareTo(price) != 0) {
       LOGGER.error("Price mismatch for foodItemId: {}, expected: {}, provided: {}",
-        cartInDTO.getFoodItemId(), foodItemOutDTO.getPrice(), cartInDTO.getPrice());
+        foodItemId, foodItemOutDTO.getPrice(), price);
       throw new InvalidRequestException(Constants.PRICE_MISMATCH);
     }
   }
 
   /**
    * Processes the cart update by either updating the quantity of an existing item or adding a new item.
+   * Both happen in one upsert statement, so the cost does not depend on the size of the cart and concurrent
+   * adds of the same item, such as a double click, merge into one cart line.
    *
    * @param cartInDTO the DTO containing cart input data
    * @param foodItemOutDTO the FoodItemOutDTO object containing food item details
    * @return a response indicating the result of the operation
    */
   private CommonResponse processCartUpdate(final CartInDTO cartInDTO, final FoodItemOutDTO foodItemOutDTO) {
-    List<Cart> existingCartItems = cartRepository.findByUserId(cartInDTO.getUserId());
-    Optional<Cart> existingCart = existingCartItems.stream()
-      .filter(cart -> cart.getFoodItemId().equals(cartInDTO.getFoodItemId())
-        && cart.getRestaurantId().equals(cartInDTO.getRestaurantId()))
-      .findFirst();
-
-    if (existingCart.isPresent()) {
-      Cart cart = existingCart.get();
-      cart.setQuantity(cart.getQuantity() + cartInDTO.getQuantity());
-      cart.setPrice(cart.getPrice());
-      cartRepository.save(cart);
-      LOGGER.info("Item quantity updated for cartId: {}", cart.getCartId());
-      return new CommonResponse(Constants.ITEM_QUANTITY_UPDATED_SUCCESS);
-    } else {
-      Cart cart = CartDtoConverter.toEntity(cartInDTO);
-      cartRepository.save(cart);
+    boolean added = cartStore.upsertItem(cartInDTO.getUserId(), cartInDTO.getRestaurantId(),
+      cartInDTO.getFoodItemId(), cartInDTO.getQuantity(), cartInDTO.getPrice());
+    if (added) {
       LOGGER.info("Item added to cart for userId: {}", cartInDTO.getUserId());
       return new CommonResponse(Constants.ITEM_ADDED_TO_CART_SUCCESS);
     }
+    LOGGER.info("Item quantity updated for userId: {}, foodItemId: {}", cartInDTO.getUserId(),
+      cartInDTO.getFoodItemId());
+    return new CommonResponse(Constants.ITEM_QUANTITY_UPDATED_SUCCESS);
   }
 
   /**
@@ -244,7 +307,7 @@ public class CartServiceImpl implements CartService {
   @Override
   public CartOutDTO getCartById(final Integer cartId) {
     LOGGER.info("Fetching cart by cartId: {}", cartId);
-    Cart cart = cartRepository.findById(cartId)
+    Cart cart = cartStore.findById(cartId)
       .orElseThrow(() -> new ResourceNotFoundException(Constants.CART_NOT_FOUND));
     LOGGER.info("Cart found: {}", cart);
     return CartDtoConverter.toOutDTO(cart);
@@ -261,12 +324,12 @@ public class CartServiceImpl implements CartService {
     LOGGER.info("Fetching carts for userId: {}", userId);
     UserOutDTO userOutDto;
     try {
-      userOutDto = userFClient.getUserProfile(userId);
+      userOutDto = userProfileCache.getUser(userId);
     } catch (Exception e) {
       LOGGER.error("User not found for userId: {}", userId);
       throw new ResourceNotFoundException(Constants.USER_NOT_FOUND);
     }
-    List<Cart> carts = cartRepository.findByUserId(userId);
+    List<Cart> carts = cartStore.findByUserId(userId);
     if (carts.isEmpty()) {
       LOGGER.warn("No carts found for userId: {}", userId);
       throw new ResourceNotFoundException(Constants.CART_NOT_FOUND);
@@ -291,12 +354,12 @@ public class CartServiceImpl implements CartService {
     LOGGER.info("Fetching cart items for userId: {} and restaurantId: {}", userId, restaurantId);
     UserOutDTO userOutDto;
     try {
-      userOutDto = userFClient.getUserProfile(userId);
+      userOutDto = userProfileCache.getUser(userId);
     } catch (Exception e) {
       LOGGER.error("User not found for userId: {}", userId);
       throw new ResourceNotFoundException(Constants.USER_NOT_FOUND);
     }
-    List<Cart> carts = cartRepository.findByUserIdAndRestaurantId(userId, restaurantId);
+    List<Cart> carts = cartStore.findByUserIdAndRestaurantId(userId, restaurantId);
     if (carts.isEmpty()) {
       LOGGER.warn("No cart items found for userId: {} and restaurantId: {}", userId, restaurantId);
       throw new ResourceNotFoundException(Constants.CART_NOT_FOUND);
@@ -306,30 +369,30 @@ public class CartServiceImpl implements CartService {
   }
 
   /**
-   * Updates the quantity of an item in the cart.
+   * Updates the quantity of an item in the cart. An item whose quantity drops to zero is removed from the cart.
    *
    * @param cartId         the ID of the cart to update
    * @param quantityChange the change in quantity to apply
-   * @return a CommonResponse indicating the result of the operation
+   * @return a CommonResponse indicating whether the item was updated or removed
    */
   @Override
   @Transactional
   public CommonResponse updateQuantity(final Integer cartId, final Integer quantityChange) {
     LOGGER.info("Updating quantity for cartId: {}, quantity change: {}", cartId, quantityChange);
-    Cart cart = cartRepository.findById(cartId)
+    Cart cart = cartStore.findById(cartId)
       .orElseThrow(() -> new ResourceNotFoundException(Constants.CART_NOT_FOUND));
     double unitPrice = cart.getPrice() / cart.getQuantity();
     int newQuantity = Math.max(0, cart.getQuantity() + quantityChange);
     if (newQuantity == 0) {
-      cartRepository.deleteById(cartId);
+      cartStore.deleteById(cartId);
       LOGGER.info("Item removed from cart with cartId: {}", cartId);
-      throw new InvalidRequestException(Constants.ITEM_REMOVED_SUCCESSFULLY);
+      return new CommonResponse(Constants.ITEM_REMOVED_SUCCESSFULLY);
     }
     double newPrice = unitPrice * newQuantity;
     BigDecimal roundedPrice = BigDecimal.valueOf(newPrice).setScale(2, RoundingMode.HALF_EVEN);
     cart.setQuantity(newQuantity);
     cart.setPrice(roundedPrice.doubleValue());
-    cartRepository.save(cart);
+    cartStore.save(cart);
     LOGGER.info("Cart updated with new quantity for cartId: {}", cartId);
     return new CommonResponse(Constants.ITEM_QUANTITY_UPDATED_SUCCESS);
   }
@@ -344,12 +407,12 @@ public class CartServiceImpl implements CartService {
   @Transactional
   public CommonResponse removeItemFromCart(final Integer cartId) {
     LOGGER.info("Removing item from cart with cartId: {}", cartId);
-    Optional<Cart> cartOptional = cartRepository.findById(cartId);
+    Optional<Cart> cartOptional = cartStore.findById(cartId);
     if (!cartOptional.isPresent()) {
       LOGGER.warn("Cart item not found with cartId: {}", cartId);
       throw new ResourceNotFoundException(Constants.CART_ITEM_NOT_FOUND);
     }
-    cartRepository.deleteById(cartId);
+    cartStore.deleteById(cartId);
     LOGGER.info("Cart item removed successfully for cartId: {}", cartId);
     return new CommonResponse(Constants.CART_ITEM_REMOVED_SUCCESSFULLY);
   }
@@ -364,12 +427,12 @@ public class CartServiceImpl implements CartService {
   @Transactional
   public CommonResponse clearCartAfterPlaceAnOrder(final Integer userId) {
     LOGGER.info("Clearing cart after placing an order for userId: {}", userId);
-    List<Cart> userCart = cartRepository.findByUserId(userId);
+    List<Cart> userCart = cartStore.findByUserId(userId);
     if (userCart.isEmpty()) {
       LOGGER.warn("No cart items found for userId: {}", userId);
       throw new ResourceNotFoundException(Constants.CART_NOT_FOUND);
     }
-    cartRepository.deleteAll(userCart);
+    cartStore.deleteAll(userCart);
     LOGGER.info("Cart cleared successfully for userId: {}", userId);
     return new CommonResponse(Constants.CART_CLEARED_SUCCESSFULLY);
   }
@@ -0,0 +1,170 @@
+package com.nt.order.microservice.serviceimpl;
+
+import com.nt.order.microservice.dtos.CartItemDTO;
+import com.nt.order.microservice.dtos.OrderInDTO;
+import com.nt.order.microservice.dtos.QuoteOutDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Issues and checks the signed tokens of checkout quotes.
+ * <p>
+ * A token holds its expiry time and an HMAC-SHA256, keyed with {@code order.quote.secret}, over that time and the
+ * user, restaurant, address and cart items of the quoted order. It is only accepted for the same order before it
+ * expires, which is {@code order.quote.ttl-seconds} after it was issued. All instances that may receive the
+ * checkout must share the secret; without one, each instance signs with a random key of its own.
+ * </p>
+ */
+@Component
+public class CheckoutQuoteSigner {
+
+  /**
+   * Logger for CheckoutQuoteSigner class, used for logging rejected tokens.
+   */
+  private static final Logger LOGGER = LoggerFactory.getLogger(CheckoutQuoteSigner.class);
+
+  /**
+   * The MAC algorithm the tokens are signed with.
+   */
+  private static final String ALGORITHM = "HmacSHA256";
+
+  /**
+   * The number of random bytes in a key generated when no secret is configured.
+   */
+  private static final int GENERATED_KEY_BYTES = 32;
+
+  /**
+   * The shared secret the tokens are signed with; a random key is generated if empty.
+   */
+  @Value("${order.quote.secret:}")
+  private String secret;
+
+  /**
+   * Number of seconds for which a quote token is accepted.
+   */
+  @Value("${order.quote.ttl-seconds:120}")
+  private long ttlSeconds;
+
+  /**
+   * The signing key.
+   */
+  private SecretKeySpec key;
+
+  /**
+   * Creates the signing key.
+   */
+  @PostConstruct
+  public void initKey() {
+    byte[] keyBytes;
+    if (secret == null || secret.isEmpty()) {
+      LOGGER.warn("No order.quote.secret configured, quote tokens are only accepted by this instance");
+      keyBytes = new byte[GENERATED_KEY_BYTES];
+      new SecureRandom().nextBytes(keyBytes);
+    } else {
+      keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+    }
+    key = new SecretKeySpec(keyBytes, ALGORITHM);
+  }
+
+  /**
+   * Issues a quote for a validated order.
+   *
+   * @param orderInDTO the validated order
+   * @param totalPrice the total price of the order
+   * @return the quote with its signed token
+   */
+  public QuoteOutDTO issue(final OrderInDTO orderInDTO, final Double totalPrice) {
+    long expiresAtMillis = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(ttlSeconds);
+    String token = expiresAtMillis + "." + sign(expiresAtMillis, orderInDTO);
+    LocalDateTime expiresAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(expiresAtMillis), ZoneId.systemDefault());
+    return new QuoteOutDTO(totalPrice, token, expiresAt);
+  }
+
+  /**
+   * Checks that a quote token was issued for an order and has not expired.
+   *
+   * @param orderInDTO the order sent with the token
+   * @param token      the quote token
+   * @return true if the token is valid for the order
+   */
+  public boolean verify(final OrderInDTO orderInDTO, final String token) {
+    int separator = token.indexOf('.');
+    if (separator <= 0) {
+      LOGGER.warn("Malformed quote token for userId: {}", orderInDTO.getUserId());
+      return false;
+    }
+    long expiresAtMillis;
+    try {
+      expiresAtMillis = Long.parseLong(token.substring(0, separator));
+    } catch (NumberFormatException ex) {
+      LOGGER.warn("Malformed quote token for userId: {}", orderInDTO.getUserId());
+      return false;
+    }
+    byte[] expected = sign(expiresAtMillis, orderInDTO).getBytes(StandardCharsets.US_ASCII);
+    byte[] actual = token.substring(separator + 1).getBytes(StandardCharsets.US_ASCII);
+    if (!MessageDigest.isEqual(expected, actual)) {
+      LOGGER.warn("Quote token does not match the order of userId: {}", orderInDTO.getUserId());
+      return false;
+    }
+    if (System.currentTimeMillis() > expiresAtMillis) {
+      LOGGER.info("Quote token expired for userId: {}", orderInDTO.getUserId());
+      return false;
+    }
+    return true;
+  }
+
+  private String sign(final long expiresAtMillis, final OrderInDTO orderInDTO) {
+    try {
+      Mac mac = Mac.getInstance(ALGORITHM);
+      mac.init(key);
+      byte[] signature = mac.doFinal(canonicalForm(expiresAtMillis, orderInDTO).getBytes(StandardCharsets.UTF_8));
+      return Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+    } catch (GeneralSecurityException ex) {
+      throw new IllegalStateException("Cannot sign quote token", ex);
+    }
+  }
+
+  /**
+   * Writes the signed fields of an order in a fixed form; the cart items are sorted, so their order does not
+   * matter.
+   *
+   * @param expiresAtMillis the expiry time of the token in epoch milliseconds
+   * @param orderInDTO      the order
+   * @return the canonical form
+   */
+  private static String canonicalForm(final long expiresAtMillis, final OrderInDTO orderInDTO) {
+    List<CartItemDTO> items = new ArrayList<>(orderInDTO.getCartItems());
+    items.sort(Comparator.comparing(CartItemDTO::getFoodItemId, Comparator.nullsFirst(Comparator.naturalOrder()))
+      .thenComparing(CartItemDTO::getQuantity, Comparator.nullsFirst(Comparator.naturalOrder()))
+      .thenComparing(CartItemDTO::getPrice, Comparator.nullsFirst(Comparator.naturalOrder())));
+    StringBuilder form = new StringBuilder()
+      .append(expiresAtMillis)
+      .append('|').append(orderInDTO.getUserId())
+      .append('|').append(orderInDTO.getRestaurantId())
+      .append('|').append(orderInDTO.getAddressId());
+    for (CartItemDTO item : items) {
+      form.append('|').append(item.getFoodItemId())
+        .append(':').append(item.getQuantity())
+        .append(':').append(item.getPrice());
+    }
+    return form.toString();
+  }
+}
@@ -4,17 +4,20 @@ import com.nt.order.microservice.dtos.FoodItemOutDTO;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 
 import java.util.List;
+import java.util.Set;
 
 /**
  * Feign client interface for interacting with the Food Item microservice.
  */
-@FeignClient(name = "foodItem-feignClient", url = "http://localhost:300")
+@FeignClient(name = "fooditem-service", url = "${clients.restaurant-service.url}")
 public interface FoodItemFClient {
 
   /**
-   * Retrieves the food item details by its ID.
+   * Retrieves the food item details by its ID, without its image.
    *
    * @param foodItemId the ID of the food item to retrieve
    * @return FoodItemOutDTO containing the food item's details
@@ -23,12 +26,24 @@ public interface FoodItemFClient {
   FoodItemOutDTO getFoodItemById(@PathVariable("foodItemId") Integer foodItemId);
 
   /**
-   * Retrieves all food items associated with a specific restaurant.
+   * Retrieves all food items associated with a specific restaurant, without their images.
    *
    * @param restaurantId the ID of the restaurant whose food items are to be retrieved
    * @return a list of FoodItemOutDTO containing the food items of the specified restaurant
    */
-  @GetMapping("/foodItems/getFoodItems/{restaurantId}")
+  @GetMapping("/foodItems/getFoodItems/{restaurantId}/summary")
   List<FoodItemOutDTO> getFoodItemsByRestaurant(@PathVariable("restaurantId") Integer restaurantId);
+
+  /**
+   * Retrieves several food items in a single call, without their images.
+   * Items that belong to another restaurant are still returned, while unknown IDs are left out.
+   *
+   * @param restaurantId the ID of the restaurant the food items are expected to belong to
+   * @param foodItemIds the IDs of the food items to retrieve
+   * @return a list of FoodItemOutDTO for the food items that exist
+   */
+  @PostMapping("/foodItems/getFoodItems/{restaurantId}/batch")
+  List<FoodItemOutDTO> getFoodItemsByIds(@PathVariable("restaurantId") Integer restaurantId,
+                                         @RequestBody Set<Integer> foodItemIds);
 }
 
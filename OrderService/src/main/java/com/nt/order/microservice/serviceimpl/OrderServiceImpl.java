@@ -1,39 +1,67 @@
 package com.nt.order.microservice.serviceimpl;
 
+import com.nt.order.microservice.cache.CartStore;
+import com.nt.order.microservice.cache.IdempotencyCache;
+import com.nt.order.microservice.cache.MenuCache;
+import com.nt.order.microservice.cache.RestaurantCache;
+import com.nt.order.microservice.cache.UserProfileCache;
 import com.nt.order.microservice.dtoconverter.OrderDtoConverter;
 import com.nt.order.microservice.dtos.AddressOutDTO;
-import com.nt.order.microservice.dtos.AmountInDTO;
 import com.nt.order.microservice.dtos.CartItemDTO;
 import com.nt.order.microservice.dtos.CommonResponse;
 import com.nt.order.microservice.dtos.FoodItemOutDTO;
 import com.nt.order.microservice.dtos.OrderInDTO;
 import com.nt.order.microservice.dtos.OrderOutDTO;
+import com.nt.order.microservice.dtos.OrderPageOutDTO;
+import com.nt.order.microservice.dtos.QuoteOutDTO;
 import com.nt.order.microservice.dtos.RestaurantOutDTO;
 import com.nt.order.microservice.dtos.UserOutDTO;
 import com.nt.order.microservice.entities.Order;
+import com.nt.order.microservice.entities.WalletOutboxEvent;
 import com.nt.order.microservice.exception.InsufficientBalanceException;
 import com.nt.order.microservice.exception.InvalidRequestException;
 import com.nt.order.microservice.exception.ResourceAlreadyExistException;
 import com.nt.order.microservice.exception.ResourceNotFoundException;
 import com.nt.order.microservice.exception.UnauthorizedException;
-import com.nt.order.microservice.repository.CartRepository;
 import com.nt.order.microservice.repository.OrderRepository;
+import com.nt.order.microservice.repository.WalletOutboxRepository;
 import com.nt.order.microservice.service.CartService;
 import com.nt.order.microservice.service.OrderService;
 import com.nt.order.microservice.util.Constants;
 import com.nt.order.microservice.util.OrderStatus;
 import com.nt.order.microservice.util.Role;
+import com.nt.order.microservice.util.WalletOperation;
 import feign.FeignException;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
 import javax.transaction.Transactional;
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Implementation of the OrderService interface.
@@ -64,16 +92,16 @@ public class OrderServiceImpl implements OrderService {
   private CartService cartService;
 
   /**
-   * Client for interacting with the User microservice to fetch user-related data.
+   * Coalescing cache of user profiles from the User microservice.
    */
   @Autowired
-  private UserFClient userFClient;
+  private UserProfileCache userProfileCache;
 
   /**
-   * Client for interacting with the Restaurant microservice to fetch restaurant-related data.
+   * Restaurant lookups with a last-known-good fallback while the Restaurant microservice is unavailable.
    */
   @Autowired
-  private RestaurantFClient restaurantFClient;
+  private RestaurantCache restaurantCache;
 
   /**
    * Client for interacting with the Address microservice to manage address-related operations.
@@ -88,43 +116,209 @@ public class OrderServiceImpl implements OrderService {
   private FoodItemFClient foodItemFClient;
 
   /**
-   * Repository for handling cart-related database operations.
+   * Cache of restaurant menus, consulted before looking food items up remotely.
    */
   @Autowired
-  private CartRepository cartRepository;
+  private MenuCache menuCache;
 
+  /**
+   * Cache of checkout results by idempotency key.
+   */
+  @Autowired
+  private IdempotencyCache idempotencyCache;
 
   /**
-   * Places an order for a user.
+   * Issues and checks the tokens of checkout quotes.
+   */
+  @Autowired
+  private CheckoutQuoteSigner checkoutQuoteSigner;
+
+  /**
+   * Store of the cart lines, cleared once an order is placed.
+   */
+  @Autowired
+  private CartStore cartStore;
+
+  /**
+   * Repository for the wallet changes the outbox relay delivers to the User microservice.
+   */
+  @Autowired
+  private WalletOutboxRepository walletOutboxRepository;
+
+  /**
+   * Transaction manager used to write an order without holding a connection during its remote validations.
+   */
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  /**
+   * Bounded executor on which the independent remote validations of an order are issued concurrently.
+   */
+  @Autowired
+  @Qualifier("validationExecutor")
+  private Executor validationExecutor;
+
+  /**
+   * Entity manager used to detach streamed orders once they have been written out.
+   */
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  /**
+   * Validates and prices an order the same way a checkout does, without writing anything.
    *
    * @param orderInDTO the order data transfer object containing order details
+   * @return the total price of the order and a signed token for placing it
+   */
+  @Override
+  public QuoteOutDTO quoteOrder(final OrderInDTO orderInDTO) {
+    LOGGER.info("Quoting order for userId: {}", orderInDTO.getUserId());
+    UserOutDTO userOutDto = validateOrder(orderInDTO);
+    Double totalPrice = calculateTotalPrice(orderInDTO);
+    validateWalletBalance(userOutDto, totalPrice);
+    return checkoutQuoteSigner.issue(orderInDTO, totalPrice);
+  }
+
+  /**
+   * Places an order for a user.
+   * <p>
+   * A checkout sent with an idempotency key runs at most once: repeats are answered from the idempotency cache,
+   * or, once the result has left it, from the order already stored under the key.
+   * </p>
+   *
+   * @param orderInDTO     the order data transfer object containing order details
+   * @param idempotencyKey the client's idempotency key for the checkout, or {@code null} if it sent none
+   * @param quoteToken     the token of a quote for the order, or {@code null} if it sent none
    * @return a CommonResponse indicating the result of the operation
    */
   @Override
-  @Transactional
-  public CommonResponse placeOrder(final OrderInDTO orderInDTO) {
-    LOGGER.info("Placing order for userId: {}", orderInDTO.getUserId());
-    UserOutDTO userOutDto = fetchUserProfile(orderInDTO.getUserId());
-    validateUserRole(userOutDto);
+  public CommonResponse placeOrder(final OrderInDTO orderInDTO, final String idempotencyKey, final String quoteToken) {
+    if (idempotencyKey == null) {
+      return checkout(orderInDTO, null, quoteToken);
+    }
+    if (idempotencyKey.trim().isEmpty() || idempotencyKey.length() > Order.MAX_IDEMPOTENCY_KEY_LENGTH) {
+      LOGGER.warn("Invalid idempotency key for userId: {}", orderInDTO.getUserId());
+      throw new InvalidRequestException(Constants.INVALID_IDEMPOTENCY_KEY);
+    }
+    return idempotencyCache.execute(orderInDTO.getUserId(), idempotencyKey,
+      () -> checkout(orderInDTO, idempotencyKey, quoteToken));
+  }
 
-    fetchAndValidateRestaurant(orderInDTO.getRestaurantId());
+  /**
+   * Runs a checkout.
+   * <p>
+   * The order is validated against the other services before any database work starts. The order, the cleared
+   * cart and the wallet debit are then written in one short transaction; the debit is delivered to the User
+   * microservice afterwards by the outbox relay, so no connection is held across a network call. A checkout
+   * whose key already placed an order, whether earlier or by a concurrent request that won the unique key,
+   * places nothing. A valid quote token for the same order stands in for the validations; the wallet debit is
+   * still checked by the User microservice when it is delivered.
+   * </p>
+   *
+   * @param orderInDTO     the order data transfer object containing order details
+   * @param idempotencyKey the client's idempotency key for the checkout, or {@code null}
+   * @param quoteToken     the token of a quote for the order, or {@code null}
+   * @return a CommonResponse indicating the result of the operation
+   */
+  private CommonResponse checkout(final OrderInDTO orderInDTO, final String idempotencyKey, final String quoteToken) {
+    LOGGER.info("Placing order for userId: {}", orderInDTO.getUserId());
+    if (isAlreadyPlaced(orderInDTO.getUserId(), idempotencyKey)) {
+      return new CommonResponse(Constants.ORDER_PLACED_SUCCESSFULLY);
+    }
+    if (quoteToken != null && checkoutQuoteSigner.verify(orderInDTO, quoteToken)) {
+      LOGGER.info("Placing quoted order without revalidation for userId: {}", orderInDTO.getUserId());
+    } else {
+      UserOutDTO userOutDto = validateOrder(orderInDTO);
+      validateWalletBalance(userOutDto, calculateTotalPrice(orderInDTO));
+    }
 
-    validateUserAddress(orderInDTO, userOutDto);
+    try {
+      new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+        Order order = createAndSaveOrder(orderInDTO, idempotencyKey);
+        clearUserCart(order);
+        walletOutboxRepository.save(new WalletOutboxEvent(order, WalletOperation.DEBIT, LocalDateTime.now()));
+      });
+    } catch (DataIntegrityViolationException ex) {
+      if (!isAlreadyPlaced(orderInDTO.getUserId(), idempotencyKey)) {
+        throw ex;
+      }
+    }
 
-    validateCartItems(orderInDTO);
+    return new CommonResponse(Constants.ORDER_PLACED_SUCCESSFULLY);
 
-    Order order = createAndSaveOrder(orderInDTO, userOutDto);
-    clearUserCart(order);
+  }
 
-    updateUserWalletBalance(userOutDto, order.getTotalPrice());
+  private boolean isAlreadyPlaced(final Integer userId, final String idempotencyKey) {
+    if (idempotencyKey == null) {
+      return false;
+    }
+    Optional<Order> order = orderRepository.findByUserIdAndIdempotencyKey(userId, idempotencyKey);
+    order.ifPresent(placed -> LOGGER.info("Order already placed for idempotency key, userId: {}, orderId: {}",
+      userId, placed.getOrderId()));
+    return order.isPresent();
+  }
 
-    return new CommonResponse(Constants.ORDER_PLACED_SUCCESSFULLY);
+  /**
+   * Runs the user, restaurant, address and cart item validations of an order concurrently on the
+   * validation executor, so the checkout waits for the slowest remote call instead of their sum.
+   *
+   * @param orderInDTO the order to validate
+   * @return the profile of the user placing the order
+   */
+  private UserOutDTO validateOrder(final OrderInDTO orderInDTO) {
+    CompletableFuture<UserOutDTO> userStage = CompletableFuture.supplyAsync(() -> {
+      UserOutDTO userOutDto = fetchUserProfile(orderInDTO.getUserId());
+      validateUserRole(userOutDto);
+      return userOutDto;
+    }, validationExecutor);
+    CompletableFuture<Void> restaurantStage = CompletableFuture.runAsync(
+      () -> fetchAndValidateRestaurant(orderInDTO.getRestaurantId()), validationExecutor);
+    CompletableFuture<Void> addressStage = CompletableFuture.runAsync(
+      () -> validateUserAddress(orderInDTO), validationExecutor);
+    CompletableFuture<Void> cartItemsStage = CompletableFuture.runAsync(
+      () -> validateCartItems(orderInDTO), validationExecutor);
+
+    awaitValidations(Arrays.asList(userStage, restaurantStage, addressStage, cartItemsStage));
+    return userStage.join();
+  }
 
+  /**
+   * Waits for the validation stages, which are listed in the order their errors take precedence.
+   * <p>
+   * As soon as a stage fails every stage listed after it is cancelled, and its error is rethrown once
+   * the stages before it have succeeded, so a rejection is reported without waiting for the remaining
+   * calls while the reported error stays the same as with sequential validation.
+   * </p>
+   *
+   * @param stages the validation stages in order of precedence
+   */
+  private void awaitValidations(final List<CompletableFuture<?>> stages) {
+    for (int i = 0; i < stages.size(); i++) {
+      final List<CompletableFuture<?>> laterStages = stages.subList(i + 1, stages.size());
+      stages.get(i).whenComplete((result, ex) -> {
+        if (ex != null) {
+          laterStages.forEach(stage -> stage.cancel(false));
+        }
+      });
+    }
+    for (CompletableFuture<?> stage : stages) {
+      try {
+        stage.join();
+      } catch (CompletionException ex) {
+        if (ex.getCause() instanceof RuntimeException) {
+          throw (RuntimeException) ex.getCause();
+        }
+        if (ex.getCause() instanceof Error) {
+          throw (Error) ex.getCause();
+        }
+        throw ex;
+      }
+    }
   }
 
   private UserOutDTO fetchUserProfile(final Integer userId) {
     try {
-      UserOutDTO userOutDto = userFClient.getUserProfile(userId);
+      UserOutDTO userOutDto = userProfileCache.getProfile(userId);
       LOGGER.info("Fetched user profile for userId: {}", userId);
       return userOutDto;
     } catch (FeignException.NotFound ex) {
@@ -142,7 +336,7 @@ public class OrderServiceImpl implements OrderService {
 
   private void fetchAndValidateRestaurant(final Integer restaurantId) {
     try {
-      RestaurantOutDTO restaurantOutDTO = restaurantFClient.getRestaurantById(restaurantId);
+      RestaurantOutDTO restaurantOutDTO = restaurantCache.getRestaurant(restaurantId);
       if (restaurantOutDTO == null) {
         LOGGER.error("Restaurant not found for restaurantId: {}", restaurantId);
         throw new ResourceNotFoundException(Constants.INVALID_RESTAURANT_ID);
@@ -154,7 +348,7 @@ public class OrderServiceImpl implements OrderService {
     }
   }
 
-  private void validateUserAddress(final OrderInDTO orderInDTO, final UserOutDTO userOutDto) {
+  private void validateUserAddress(final OrderInDTO orderInDTO) {
     List<AddressOutDTO> userAddresses;
     try {
       userAddresses = addressFClient.getUserAddresses(orderInDTO.getUserId());
@@ -173,43 +367,51 @@ public class OrderServiceImpl implements OrderService {
   }
 
   private void validateCartItems(final OrderInDTO orderInDTO) {
+    Integer restaurantId = orderInDTO.getRestaurantId();
+    Map<Integer, FoodItemOutDTO> menu = menuCache.getMenu(restaurantId);
+    Map<Integer, FoodItemOutDTO> foodItemsById = new HashMap<>();
+    Set<Integer> uncachedFoodItemIds = new LinkedHashSet<>();
     for (CartItemDTO cartItem : orderInDTO.getCartItems()) {
-      validateFoodItem(cartItem, orderInDTO.getRestaurantId());
+      FoodItemOutDTO cachedFoodItem = menu.get(cartItem.getFoodItemId());
+      if (cachedFoodItem != null) {
+        foodItemsById.put(cartItem.getFoodItemId(), cachedFoodItem);
+      } else {
+        uncachedFoodItemIds.add(cartItem.getFoodItemId());
+      }
     }
-  }
 
-  private void validateFoodItem(final CartItemDTO cartItem, final Integer restaurantId) {
-    FoodItemOutDTO foodItemOutDTO;
-    try {
-      foodItemOutDTO = foodItemFClient.getFoodItemById(cartItem.getFoodItemId());
-      if (foodItemOutDTO == null) {
-        LOGGER.error("Food item not found for foodItemId: {}", cartItem.getFoodItemId());
+    if (!uncachedFoodItemIds.isEmpty()) {
+      try {
+        for (FoodItemOutDTO foodItem : foodItemFClient.getFoodItemsByIds(restaurantId, uncachedFoodItemIds)) {
+          foodItemsById.put(foodItem.getFoodItemId(), foodItem);
+        }
+        LOGGER.info("Fetched {} food items not in the cached menu of restaurantId: {}", uncachedFoodItemIds.size(), restaurantId);
+      } catch (FeignException.NotFound ex) {
+        LOGGER.error("Food items {} not found for restaurantId: {}", uncachedFoodItemIds, restaurantId);
         throw new ResourceNotFoundException(Constants.INVALID_FOOD_ITEM_ID);
       }
-      LOGGER.info("Fetched food item details for foodItemId: {}", cartItem.getFoodItemId());
-    } catch (Exception ex) {
-      LOGGER.error("Invalid foodItemId: {}", cartItem.getFoodItemId());
-      throw new ResourceNotFoundException(Constants.INVALID_FOOD_ITEM_ID);
     }
 
-    List<FoodItemOutDTO> foodItemsInRestaurant;
-    try {
-      foodItemsInRestaurant = foodItemFClient.getFoodItemsByRestaurant(restaurantId);
-    } catch (Exception ex) {
-      throw new ResourceNotFoundException(Constants.FOODITEM_NOT_FOUND);
+    for (CartItemDTO cartItem : orderInDTO.getCartItems()) {
+      validateFoodItem(cartItem, restaurantId, foodItemsById.get(cartItem.getFoodItemId()));
     }
+  }
 
-    boolean isFoodItemValid = foodItemsInRestaurant.stream()
-      .anyMatch(foodItem -> foodItem.getFoodItemId().equals(cartItem.getFoodItemId()));
-    if (!isFoodItemValid) {
+  private void validateFoodItem(final CartItemDTO cartItem, final Integer restaurantId, final FoodItemOutDTO foodItemOutDTO) {
+    if (foodItemOutDTO == null) {
+      LOGGER.error("Invalid foodItemId: {}", cartItem.getFoodItemId());
+      throw new ResourceNotFoundException(Constants.INVALID_FOOD_ITEM_ID);
+    }
+    if (!restaurantId.equals(foodItemOutDTO.getRestaurantId())) {
       LOGGER.error("Food item with id: {} does not belong to restaurantId: {}",
         cartItem.getFoodItemId(), restaurantId);
       throw new ResourceNotFoundException(Constants.FOOD_ITEM_DOES_NOT_BELONG_TO_RESTAURANT);
     }
   }
 
-  private Order createAndSaveOrder(final OrderInDTO orderInDTO, final UserOutDTO userOutDto) {
+  private Order createAndSaveOrder(final OrderInDTO orderInDTO, final String idempotencyKey) {
     Order order = OrderDtoConverter.convertToEntity(orderInDTO);
+    order.setIdempotencyKey(idempotencyKey);
     Double totalPrice = calculateTotalPrice(orderInDTO);
     order.setTotalPrice(totalPrice);
     order.setOrderStatus(OrderStatus.PLACED);
@@ -222,18 +424,19 @@ public class OrderServiceImpl implements OrderService {
   }
 
   private void clearUserCart(final Order savedOrder) {
-    cartRepository.deleteByUserId(savedOrder.getUserId());
+    cartStore.deleteByUserId(savedOrder.getUserId());
     LOGGER.info("Cleared cart for userId: {}", savedOrder.getUserId());
   }
 
-  private void updateUserWalletBalance(final UserOutDTO userOutDto, final Double totalPrice) {
-    AmountInDTO amountInDTO = new AmountInDTO();
-    amountInDTO.setBalance(totalPrice);
-
-    try {
-      userFClient.updateWalletBalance(userOutDto.getId(), amountInDTO);
-      LOGGER.info("Updated wallet balance for userId: {}", userOutDto.getId());
-    } catch (Exception e) {
+  /**
+   * Rejects an order the wallet balance in the user's profile cannot cover. The debit itself is checked again by
+   * the User microservice when the outbox relay delivers it.
+   *
+   * @param userOutDto the profile of the user placing the order
+   * @param totalPrice the total price of the order
+   */
+  private void validateWalletBalance(final UserOutDTO userOutDto, final Double totalPrice) {
+    if (userOutDto.getWalletBalance() != null && userOutDto.getWalletBalance() < totalPrice) {
       LOGGER.error("Insufficient balance for userId: {}", userOutDto.getId());
       throw new InsufficientBalanceException(Constants.INSUFFICIENT_BALANCE);
     }
@@ -247,6 +450,11 @@ public class OrderServiceImpl implements OrderService {
 
   /**
    * Cancels an order by its ID.
+   * <p>
+   * The refund is written to the wallet outbox in the same transaction as the cancellation and delivered by the
+   * outbox relay once the debit of the order has gone through. Cancelling an order that is already cancelled or
+   * whose payment failed changes nothing, so a retried cancellation never refunds twice.
+   * </p>
    *
    * @param orderId the ID of the order to cancel
    * @return a CommonResponse indicating the result of the operation
@@ -262,6 +470,11 @@ public class OrderServiceImpl implements OrderService {
       throw new ResourceNotFoundException(Constants.ORDER_NOT_FOUND);
     }
     Order order = orderOptional.get();
+    if (order.getOrderStatus() == OrderStatus.CANCELLED || order.getOrderStatus() == OrderStatus.PAYMENT_FAILED
+      || order.getOrderStatus() == OrderStatus.UNPAID) {
+      LOGGER.info("Order already {} for orderId: {}, nothing to refund", order.getOrderStatus(), orderId);
+      return new CommonResponse(Constants.ORDER_CANCELLED_SUCCESSFULLY);
+    }
     LocalDateTime currentTime = LocalDateTime.now();
 
     if (order.getPlacedTiming().plusSeconds(TIME_LIMIT_SECONDS).isBefore(currentTime)) {
@@ -269,12 +482,9 @@ public class OrderServiceImpl implements OrderService {
       throw new InvalidRequestException(Constants.ORDER_CANCELLATION_TIME_LIMIT_EXCEEDED);
     }
 
-    AmountInDTO amountInDTO = new AmountInDTO();
-    amountInDTO.setBalance(order.getTotalPrice());
-
-    userFClient.addMoney(order.getUserId(), amountInDTO);
     order.setOrderStatus(OrderStatus.CANCELLED);
     orderRepository.save(order);
+    walletOutboxRepository.save(new WalletOutboxEvent(order, WalletOperation.REFUND, currentTime));
 
     LOGGER.info("Order cancelled successfully for orderId: {}", orderId);
     return new CommonResponse(Constants.ORDER_CANCELLED_SUCCESSFULLY);
@@ -289,6 +499,7 @@ public class OrderServiceImpl implements OrderService {
    * @throws ResourceNotFoundException     if the order or user is not found
    * @throws UnauthorizedException         if the user is unauthorized to complete the order
    * @throws ResourceAlreadyExistException if the order is already marked as completed
+   * @throws InvalidRequestException       if the order was cancelled or its payment failed
    */
   @Override
   public CommonResponse markOrderAsCompleted(final Integer orderId, final Integer userId) {
@@ -302,7 +513,7 @@ public class OrderServiceImpl implements OrderService {
     }
     UserOutDTO userOutDto;
     try {
-      userOutDto = userFClient.getUserProfile(userId);
+      userOutDto = userProfileCache.getUser(userId);
       LOGGER.info("Fetched user profile for userId: {}", userId);
     } catch (Exception e) {
       LOGGER.error("User not found with userId: {}", userId);
@@ -313,10 +524,14 @@ public class OrderServiceImpl implements OrderService {
       LOGGER.warn("Unauthorized user trying to mark order as completed. userId: {}", userId);
       throw new UnauthorizedException(Constants.UNAUTHORIZED_USER);
     }
-    if (order.getOrderStatus() == OrderStatus.COMPLETED) {
+    if (order.getOrderStatus() == OrderStatus.COMPLETED || order.getOrderStatus() == OrderStatus.UNPAID) {
       LOGGER.warn("Order already marked as completed. orderId: {}", orderId);
       throw new ResourceAlreadyExistException(Constants.ALREADY_COMPLETED);
     }
+    if (order.getOrderStatus() == OrderStatus.CANCELLED || order.getOrderStatus() == OrderStatus.PAYMENT_FAILED) {
+      LOGGER.warn("Order {} cannot be completed. orderId: {}", order.getOrderStatus(), orderId);
+      throw new InvalidRequestException(Constants.ORDER_NOT_COMPLETABLE);
+    }
     order.setOrderStatus(OrderStatus.COMPLETED);
     orderRepository.save(order);
 
@@ -335,20 +550,7 @@ public class OrderServiceImpl implements OrderService {
   @Override
   public List<OrderOutDTO> getOrdersByUserId(final Integer userId) {
     LOGGER.info("Fetching orders for userId: {}", userId);
-
-    UserOutDTO userOutDto;
-    try {
-      userOutDto = userFClient.getUserProfile(userId);
-      LOGGER.info("Fetched user profile for userId: {}", userId);
-    } catch (FeignException e) {
-      LOGGER.error("User not found for userId: {}", userId);
-      throw new ResourceNotFoundException(Constants.USER_NOT_FOUND);
-    }
-
-    if (userOutDto.getRole().equals(Role.RESTAURANT_OWNER.name())) {
-      LOGGER.warn("Unauthorized access by restaurant owner. userId: {}", userId);
-      throw new UnauthorizedException(Constants.RESTAURANT_OWNER);
-    }
+    validateOrderHistoryUser(userId);
 
     List<Order> orders = orderRepository.findByUserId(userId);
 
@@ -367,20 +569,214 @@ public class OrderServiceImpl implements OrderService {
   @Override
   public List<OrderOutDTO> getOrdersByRestaurantId(final Integer restaurantId) {
     LOGGER.info("Fetching orders for restaurantId: {}", restaurantId);
+    validateOrderHistoryRestaurant(restaurantId);
+
+    List<Order> orders = orderRepository.findByRestaurantId(restaurantId);
+
+    return orders.stream()
+      .map(OrderDtoConverter::convertToOutDto)
+      .collect(Collectors.toList());
+  }
+
+  /**
+   * Streams all orders of a specific user, newest first, to a consumer.
+   * <p>
+   * The orders are read through a database cursor in batches of {@link OrderRepository#STREAM_FETCH_SIZE}, which
+   * requires a transaction, and each order is detached once it has been converted so the persistence context does
+   * not grow with the history. The read-only transaction is opened only after the user has been validated, so no
+   * database connection is held while the user service is called.
+   * </p>
+   *
+   * @param userId   the ID of the user whose orders to stream
+   * @param consumer receives each order as it is read
+   * @throws ResourceNotFoundException if the user is not found
+   * @throws UnauthorizedException     if the user is unauthorized to view orders
+   */
+  @Override
+  public void streamOrdersByUserId(final Integer userId, final Consumer<OrderOutDTO> consumer) {
+    LOGGER.info("Streaming orders for userId: {}", userId);
+    validateOrderHistoryUser(userId);
+
+    Long count = readOnlyTransaction().execute(status -> {
+      try (Stream<Order> orders = orderRepository.streamByUserId(userId)) {
+        return forEachDetached(orders, consumer);
+      }
+    });
+    LOGGER.info("Streamed {} orders for userId: {}", count, userId);
+  }
+
+  /**
+   * Streams all orders of a specific restaurant, newest first, to a consumer.
+   * The orders are read and detached in the same way as by {@link #streamOrdersByUserId(Integer, Consumer)}.
+   *
+   * @param restaurantId the ID of the restaurant whose orders to stream
+   * @param consumer     receives each order as it is read
+   * @throws ResourceNotFoundException if the restaurant is not found
+   */
+  @Override
+  public void streamOrdersByRestaurantId(final Integer restaurantId, final Consumer<OrderOutDTO> consumer) {
+    LOGGER.info("Streaming orders for restaurantId: {}", restaurantId);
+    validateOrderHistoryRestaurant(restaurantId);
+
+    Long count = readOnlyTransaction().execute(status -> {
+      try (Stream<Order> orders = orderRepository.streamByRestaurantId(restaurantId)) {
+        return forEachDetached(orders, consumer);
+      }
+    });
+    LOGGER.info("Streamed {} orders for restaurantId: {}", count, restaurantId);
+  }
+
+  private TransactionTemplate readOnlyTransaction() {
+    TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+    transactionTemplate.setReadOnly(true);
+    return transactionTemplate;
+  }
 
+  /**
+   * Fetches one page of the orders of a specific user, newest first.
+   *
+   * @param userId        the ID of the user whose orders to fetch
+   * @param beforeTiming  the placement time of the last order of the previous page, or {@code null} for the first page
+   * @param beforeOrderId the ID of the last order of the previous page, or {@code null} for the first page
+   * @param size          the maximum number of orders on the page
+   * @return the page of orders and the cursor for the next page
+   * @throws InvalidRequestException   if the size or the cursor is invalid
+   * @throws ResourceNotFoundException if the user is not found
+   * @throws UnauthorizedException     if the user is unauthorized to view orders
+   */
+  @Override
+  public OrderPageOutDTO getOrderPageByUserId(final Integer userId, final LocalDateTime beforeTiming,
+                                              final Integer beforeOrderId, final int size) {
+    LOGGER.info("Fetching order page for userId: {} before {} / {}", userId, beforeTiming, beforeOrderId);
+    validatePageRequest(beforeTiming, beforeOrderId, size);
+    validateOrderHistoryUser(userId);
+
+    Pageable pageable = PageRequest.of(0, size + 1);
+    List<Order> orders = beforeTiming == null
+      ? orderRepository.findFirstPageByUserId(userId, pageable)
+      : orderRepository.findPageByUserIdBefore(userId, beforeTiming, beforeOrderId, pageable);
+    return toPage(orders, size);
+  }
+
+  /**
+   * Fetches one page of the orders of a specific restaurant, newest first.
+   *
+   * @param restaurantId  the ID of the restaurant whose orders to fetch
+   * @param beforeTiming  the placement time of the last order of the previous page, or {@code null} for the first page
+   * @param beforeOrderId the ID of the last order of the previous page, or {@code null} for the first page
+   * @param size          the maximum number of orders on the page
+   * @return the page of orders and the cursor for the next page
+   * @throws InvalidRequestException   if the size or the cursor is invalid
+   * @throws ResourceNotFoundException if the restaurant is not found
+   */
+  @Override
+  public OrderPageOutDTO getOrderPageByRestaurantId(final Integer restaurantId, final LocalDateTime beforeTiming,
+                                                    final Integer beforeOrderId, final int size) {
+    LOGGER.info("Fetching order page for restaurantId: {} before {} / {}", restaurantId, beforeTiming, beforeOrderId);
+    validatePageRequest(beforeTiming, beforeOrderId, size);
+    validateOrderHistoryRestaurant(restaurantId);
+
+    Pageable pageable = PageRequest.of(0, size + 1);
+    List<Order> orders = beforeTiming == null
+      ? orderRepository.findFirstPageByRestaurantId(restaurantId, pageable)
+      : orderRepository.findPageByRestaurantIdBefore(restaurantId, beforeTiming, beforeOrderId, pageable);
+    return toPage(orders, size);
+  }
+
+  /**
+   * Checks that a user exists and may view an order history.
+   *
+   * @param userId the ID of the user
+   * @throws ResourceNotFoundException if the user is not found
+   * @throws UnauthorizedException     if the user is a restaurant owner
+   */
+  private void validateOrderHistoryUser(final Integer userId) {
+    UserOutDTO userOutDto;
     try {
-      restaurantFClient.getRestaurantById(restaurantId);
+      userOutDto = userProfileCache.getUser(userId);
+      LOGGER.info("Fetched user profile for userId: {}", userId);
+    } catch (FeignException e) {
+      LOGGER.error("User not found for userId: {}", userId);
+      throw new ResourceNotFoundException(Constants.USER_NOT_FOUND);
+    }
+
+    if (userOutDto.getRole().equals(Role.RESTAURANT_OWNER.name())) {
+      LOGGER.warn("Unauthorized access by restaurant owner. userId: {}", userId);
+      throw new UnauthorizedException(Constants.RESTAURANT_OWNER);
+    }
+  }
+
+  /**
+   * Checks that a restaurant exists.
+   *
+   * @param restaurantId the ID of the restaurant
+   * @throws ResourceNotFoundException if the restaurant is not found
+   */
+  private void validateOrderHistoryRestaurant(final Integer restaurantId) {
+    try {
+      restaurantCache.getRestaurant(restaurantId);
       LOGGER.info("Fetched restaurant details for restaurantId: {}", restaurantId);
+    } catch (CallNotPermittedException | BulkheadFullException e) {
+      throw e;
     } catch (Exception e) {
       LOGGER.error("Restaurant not found for restaurantId: {}", restaurantId);
       throw new ResourceNotFoundException(Constants.INVALID_RESTAURANT_ID);
     }
+  }
 
-    List<Order> orders = orderRepository.findByRestaurantId(restaurantId);
+  /**
+   * Checks the size and keyset cursor of a page request.
+   *
+   * @param beforeTiming  the placement time of the cursor, or {@code null}
+   * @param beforeOrderId the order ID of the cursor, or {@code null}
+   * @param size          the requested page size
+   * @throws InvalidRequestException if the size is out of range or only one cursor value is given
+   */
+  private void validatePageRequest(final LocalDateTime beforeTiming, final Integer beforeOrderId, final int size) {
+    if (size < 1 || size > Constants.MAX_ORDER_PAGE_SIZE) {
+      LOGGER.error("Invalid order page size: {}", size);
+      throw new InvalidRequestException(Constants.INVALID_PAGE_SIZE);
+    }
+    if ((beforeTiming == null) != (beforeOrderId == null)) {
+      LOGGER.error("Incomplete order page cursor: {} / {}", beforeTiming, beforeOrderId);
+      throw new InvalidRequestException(Constants.INVALID_PAGE_CURSOR);
+    }
+  }
 
-    return orders.stream()
+  /**
+   * Converts the orders of a stream and hands them to a consumer, detaching each order afterwards.
+   *
+   * @param orders   the orders read from the database
+   * @param consumer receives each converted order
+   * @return the number of orders passed to the consumer
+   */
+  private long forEachDetached(final Stream<Order> orders, final Consumer<OrderOutDTO> consumer) {
+    long[] count = {0};
+    orders.forEach(order -> {
+      consumer.accept(OrderDtoConverter.convertToOutDto(order));
+      entityManager.detach(order);
+      count[0]++;
+    });
+    return count[0];
+  }
+
+  /**
+   * Builds a page from orders fetched with one extra row, which tells whether an older page exists.
+   *
+   * @param orders the fetched orders, at most {@code size + 1}
+   * @param size   the requested page size
+   * @return the page of orders and the cursor for the next page
+   */
+  private OrderPageOutDTO toPage(final List<Order> orders, final int size) {
+    boolean hasMore = orders.size() > size;
+    List<OrderOutDTO> page = orders.stream()
+      .limit(size)
       .map(OrderDtoConverter::convertToOutDto)
       .collect(Collectors.toList());
+    if (!hasMore) {
+      return new OrderPageOutDTO(page, null, null);
+    }
+    OrderOutDTO last = page.get(page.size() - 1);
+    return new OrderPageOutDTO(page, last.getPlacedTiming(), last.getOrderId());
   }
-
 }
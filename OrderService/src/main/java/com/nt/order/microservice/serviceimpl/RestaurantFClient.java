@@ -8,7 +8,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 /**
  * Feign client interface for communicating with the Restaurant microservice.
  */
-@FeignClient(name = "restaurant-service", url = "http://localhost:300")
+@FeignClient(name = "restaurant-service", url = "${clients.restaurant-service.url}")
 public interface RestaurantFClient {
 
   /**
@@ -11,7 +11,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 /**
  * Feign client interface for communicating with the User microservice.
  */
-@FeignClient(name = "user-service", url = "http://localhost:100")
+@FeignClient(name = "user-service", url = "${clients.user-service.url}")
 public interface UserFClient {
 
   /**
@@ -0,0 +1,257 @@
+package com.nt.order.microservice.serviceimpl;
+
+import com.nt.order.microservice.dtos.AmountInDTO;
+import com.nt.order.microservice.entities.Order;
+import com.nt.order.microservice.entities.WalletOutboxEvent;
+import com.nt.order.microservice.repository.OrderRepository;
+import com.nt.order.microservice.repository.WalletOutboxRepository;
+import com.nt.order.microservice.util.OrderStatus;
+import com.nt.order.microservice.util.OutboxStatus;
+import com.nt.order.microservice.util.WalletOperation;
+import feign.FeignException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Delivers the wallet outbox to the user service.
+ * <p>
+ * Each run claims a batch of due events in a short transaction, delivers them concurrently without holding a
+ * database connection, and records the outcomes in a second short transaction. Claimed events are leased by
+ * pushing their next attempt time forward, so a relay that dies mid-batch only delays them. Every call carries
+ * the order ID, which the user service uses as the idempotency key, so a delivery retried after a lost response
+ * is not applied twice.
+ * </p>
+ */
+@Component
+public class WalletOutboxRelay {
+
+  /**
+   * Logger for recording deliveries and failures.
+   */
+  private static final Logger LOGGER = LoggerFactory.getLogger(WalletOutboxRelay.class);
+
+  /**
+   * Repository holding the outbox events.
+   */
+  @Autowired
+  private WalletOutboxRepository walletOutboxRepository;
+
+  /**
+   * Repository for marking orders whose payment was refused.
+   */
+  @Autowired
+  private OrderRepository orderRepository;
+
+  /**
+   * Feign client for the user service wallet endpoints.
+   */
+  @Autowired
+  private UserFClient userFClient;
+
+  /**
+   * Transaction manager used for the claim and record transactions.
+   */
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  /**
+   * Executor on which the events of a batch are delivered concurrently.
+   */
+  @Autowired
+  @Qualifier("outboxExecutor")
+  private Executor outboxExecutor;
+
+  /**
+   * The maximum number of events claimed per run.
+   */
+  @Value("${order.outbox.batch-size:50}")
+  private int batchSize;
+
+  /**
+   * How long a claimed event is reserved for this relay, in seconds; longer than any delivery may take.
+   */
+  @Value("${order.outbox.lease-seconds:120}")
+  private long leaseSeconds;
+
+  /**
+   * The number of failed attempts after which an event is given up.
+   */
+  @Value("${order.outbox.max-attempts:10}")
+  private int maxAttempts;
+
+  /**
+   * The delay before the first retry, in milliseconds; it doubles with every further attempt.
+   */
+  @Value("${order.outbox.retry-base-delay-ms:1000}")
+  private long retryBaseDelayMs;
+
+  /**
+   * The longest delay between retries, in milliseconds.
+   */
+  @Value("${order.outbox.retry-max-delay-ms:300000}")
+  private long retryMaxDelayMs;
+
+  /**
+   * Claims a batch of due events, delivers them and records the outcomes.
+   *
+   * @return the number of events processed
+   */
+  @Scheduled(fixedDelayString = "${order.outbox.relay-interval-ms:500}")
+  public int relay() {
+    TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+    List<WalletOutboxEvent> batch = transactionTemplate.execute(status -> claim(LocalDateTime.now()));
+    if (batch == null || batch.isEmpty()) {
+      return 0;
+    }
+
+    List<CompletableFuture<RuntimeException>> deliveries = new ArrayList<>(batch.size());
+    for (WalletOutboxEvent event : batch) {
+      deliveries.add(CompletableFuture.supplyAsync(() -> deliver(event), outboxExecutor));
+    }
+    List<RuntimeException> errors = new ArrayList<>(batch.size());
+    for (CompletableFuture<RuntimeException> delivery : deliveries) {
+      errors.add(delivery.join());
+    }
+
+    transactionTemplate.executeWithoutResult(status -> {
+      LocalDateTime now = LocalDateTime.now();
+      for (int i = 0; i < batch.size(); i++) {
+        record(batch.get(i), errors.get(i), now);
+      }
+      walletOutboxRepository.saveAll(batch);
+    });
+    return batch.size();
+  }
+
+  /**
+   * Locks the due events and leases them to this relay.
+   *
+   * @param now the current time
+   * @return the claimed events
+   */
+  private List<WalletOutboxEvent> claim(final LocalDateTime now) {
+    List<WalletOutboxEvent> events = walletOutboxRepository.lockDueEvents(now, batchSize);
+    if (events.isEmpty()) {
+      return Collections.emptyList();
+    }
+    LocalDateTime leaseEnd = now.plusSeconds(leaseSeconds);
+    events.forEach(event -> event.setNextAttemptAt(leaseEnd));
+    return walletOutboxRepository.saveAll(events);
+  }
+
+  /**
+   * Sends one event to the user service.
+   *
+   * @param event the event to deliver
+   * @return {@code null} if the user service applied the change, otherwise the error of the call
+   */
+  private RuntimeException deliver(final WalletOutboxEvent event) {
+    AmountInDTO amountInDTO = new AmountInDTO();
+    amountInDTO.setBalance(event.getAmount());
+    amountInDTO.setOrderId(event.getOrderId());
+    try {
+      if (event.getOperation() == WalletOperation.DEBIT) {
+        userFClient.updateWalletBalance(event.getUserId(), amountInDTO);
+      } else {
+        userFClient.addMoney(event.getUserId(), amountInDTO);
+      }
+      return null;
+    } catch (RuntimeException e) {
+      return e;
+    }
+  }
+
+  /**
+   * Updates an event with the outcome of its delivery.
+   *
+   * @param event the delivered event
+   * @param error the error of the delivery, or {@code null} if it succeeded
+   * @param now   the current time
+   */
+  private void record(final WalletOutboxEvent event, final RuntimeException error, final LocalDateTime now) {
+    if (error == null) {
+      event.setStatus(OutboxStatus.DELIVERED);
+      event.setLastError(null);
+      LOGGER.info("Delivered {} of orderId: {} for userId: {}", event.getOperation(), event.getOrderId(),
+        event.getUserId());
+      return;
+    }
+    event.setAttempts(event.getAttempts() + 1);
+    event.setLastError(error.toString());
+    if (isRefused(error)) {
+      LOGGER.error("User service refused {} of orderId: {}: {}", event.getOperation(), event.getOrderId(),
+        error.getMessage());
+      fail(event);
+    } else if (event.getAttempts() >= maxAttempts) {
+      LOGGER.error("Giving up {} of orderId: {} after {} attempts; the wallet needs reconciliation",
+        event.getOperation(), event.getOrderId(), event.getAttempts());
+      fail(event);
+    } else {
+      long delayMs = Math.min(retryMaxDelayMs, retryBaseDelayMs << Math.min(event.getAttempts() - 1, 30));
+      event.setNextAttemptAt(now.plusNanos(delayMs * 1_000_000L));
+      LOGGER.warn("Failed to deliver {} of orderId: {}, retrying in {} ms", event.getOperation(), event.getOrderId(),
+        delayMs);
+    }
+  }
+
+  /**
+   * Marks an event as failed. A failed debit marks its order as unpaid and drops its refund, which would
+   * otherwise credit money that was never taken. An order completed before its debit failed is marked
+   * {@link OrderStatus#UNPAID}, so it can be found for reconciliation.
+   *
+   * @param event the event that failed
+   */
+  private void fail(final WalletOutboxEvent event) {
+    event.setStatus(OutboxStatus.FAILED);
+    if (event.getOperation() != WalletOperation.DEBIT) {
+      return;
+    }
+    orderRepository.findById(event.getOrderId()).ifPresent((Order order) -> {
+      if (order.getOrderStatus() == OrderStatus.PLACED) {
+        order.setOrderStatus(OrderStatus.PAYMENT_FAILED);
+        orderRepository.save(order);
+      } else if (order.getOrderStatus() == OrderStatus.COMPLETED) {
+        LOGGER.error("Order {} was completed but its debit failed; marking it {} for reconciliation",
+          order.getOrderId(), OrderStatus.UNPAID);
+        order.setOrderStatus(OrderStatus.UNPAID);
+        orderRepository.save(order);
+      }
+    });
+    walletOutboxRepository.findByOrderIdAndOperation(event.getOrderId(), WalletOperation.REFUND)
+      .filter(refund -> refund.getStatus() == OutboxStatus.PENDING)
+      .ifPresent(refund -> {
+        refund.setStatus(OutboxStatus.CANCELLED);
+        walletOutboxRepository.save(refund);
+      });
+  }
+
+  /**
+   * Tells a definitive refusal by the user service apart from an error worth retrying.
+   *
+   * @param error the error of the delivery
+   * @return true if the user service answered with a client error other than a timeout or rate limit
+   */
+  private boolean isRefused(final RuntimeException error) {
+    if (!(error instanceof FeignException)) {
+      return false;
+    }
+    int status = ((FeignException) error).status();
+    return status >= HttpStatus.BAD_REQUEST.value() && status < HttpStatus.INTERNAL_SERVER_ERROR.value()
+      && status != HttpStatus.REQUEST_TIMEOUT.value() && status != HttpStatus.TOO_MANY_REQUESTS.value();
+  }
+}
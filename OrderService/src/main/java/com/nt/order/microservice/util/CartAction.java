@@ -0,0 +1,27 @@
+package com.nt.order.microservice.util;
+
+/**
+ * Enum representing the change a line of a cart batch makes to the cart.
+ * <ul>
+ *   <li>{@link #ADD} - The quantity is added to the cart line of the food item, which is created if missing.</li>
+ *   <li>{@link #UPDATE} - The cart line of the food item is set to the quantity, and created if missing.</li>
+ *   <li>{@link #REMOVE} - The cart line of the food item is removed, if there is one.</li>
+ * </ul>
+ */
+public enum CartAction {
+
+  /**
+   * Adds the quantity to the cart line of the food item.
+   */
+  ADD,
+
+  /**
+   * Sets the cart line of the food item to the quantity.
+   */
+  UPDATE,
+
+  /**
+   * Removes the cart line of the food item.
+   */
+  REMOVE
+}
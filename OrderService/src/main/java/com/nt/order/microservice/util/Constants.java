@@ -1,5 +1,7 @@
 package com.nt.order.microservice.util;
 
+import com.nt.order.microservice.entities.Order;
+
 /**
  * Constants class contains all the constant string messages used throughout the application.
  * These constants are used for error messages, success responses, and validation messages.
@@ -83,6 +85,11 @@ public class Constants {
    * Error message when an order is already completed.
    */
   public static final String ALREADY_COMPLETED = "Order is already completed.";
+  /**
+   * Error message when an order that was cancelled or not paid for is marked as completed.
+   */
+  public static final String ORDER_NOT_COMPLETABLE = "Order cannot be completed because it was cancelled or its "
+    + "payment failed.";
   /**
    * Error message when a restaurant owner is attempting to perform a user-only action.
    */
@@ -131,6 +138,20 @@ public class Constants {
    * Error message when a food item does not belong to a specified restaurant.
    */
   public static final String FOOD_ITEM_DOES_NOT_BELONG_TO_RESTAURANT = "Food item does not belong to the specified restaurant";
+  /**
+   * Name of the request header carrying the client's idempotency key for a checkout.
+   */
+  public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+  /**
+   * Header carrying the token of a checkout quote.
+   */
+  public static final String QUOTE_TOKEN_HEADER = "Quote-Token";
+  /**
+   * Error message when the idempotency key of a checkout is blank or too long.
+   */
+  public static final String INVALID_IDEMPOTENCY_KEY = "Idempotency-Key must be between 1 and "
+    + Order.MAX_IDEMPOTENCY_KEY_LENGTH + " characters.";
 
   // Wallet-related messages
   /**
@@ -138,5 +159,57 @@ public class Constants {
    */
   public static final String INSUFFICIENT_BALANCE = "Insufficient balance in wallet.";
 
-}
+  // Menu cache-related messages
+  /**
+   * Success message when the cached menu of a restaurant is invalidated.
+   */
+  public static final String MENU_CACHE_INVALIDATED = "Cached menu invalidated successfully.";
+
+  // Batch cart-related messages
+  /**
+   * Largest number of lines a cart batch may contain.
+   */
+  public static final int MAX_CART_BATCH_LINES = 50;
 
+  /**
+   * Success message when every line of a cart batch is applied.
+   */
+  public static final String CART_BATCH_APPLIED_SUCCESSFULLY = "Cart updated successfully.";
+
+  /**
+   * Error message when a cart batch has more than one line for the same food item.
+   */
+  public static final String DUPLICATE_CART_BATCH_ITEM = "A food item can appear only once in a cart batch.";
+
+  /**
+   * Error message when an add or update line of a cart batch has no quantity or price.
+   */
+  public static final String INCOMPLETE_CART_BATCH_LINE = "Quantity and price are required to add or update a cart item.";
+
+  // Order history-related settings
+  /**
+   * Number of orders on a page of order history when the client does not ask for a size.
+   */
+  public static final int DEFAULT_ORDER_PAGE_SIZE = 20;
+
+  /**
+   * Largest number of orders that may be requested on a page of order history.
+   */
+  public static final int MAX_ORDER_PAGE_SIZE = 100;
+
+  /**
+   * Error message when a page of order history is requested with an invalid size.
+   */
+  public static final String INVALID_PAGE_SIZE = "Page size must be between 1 and " + MAX_ORDER_PAGE_SIZE + ".";
+
+  /**
+   * Error message when only one of the two keyset cursor values is given.
+   */
+  public static final String INVALID_PAGE_CURSOR = "beforeTiming and beforeOrderId must be given together.";
+
+  /**
+   * Error message when a call to another service is rejected because that service is unavailable or overloaded.
+   */
+  public static final String DOWNSTREAM_UNAVAILABLE = "A required service is temporarily unavailable, please retry later.";
+
+}
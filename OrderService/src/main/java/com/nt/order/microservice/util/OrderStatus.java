@@ -9,6 +9,8 @@ package com.nt.order.microservice.util;
  *   <li>{@link #PLACED} - The order has been placed by the user.</li>
  *   <li>{@link #CANCELLED} - The order has been cancelled by the user or system.</li>
  *   <li>{@link #COMPLETED} - The order has been successfully completed.</li>
+ *   <li>{@link #PAYMENT_FAILED} - The wallet of the user could not be debited for the order.</li>
+ *   <li>{@link #UNPAID} - The order was completed, but the wallet of the user could not be debited for it.</li>
  * </ul>
  */
 public enum OrderStatus {
@@ -26,5 +28,16 @@ public enum OrderStatus {
   /**
    * Status indicating the order has been successfully processed and completed.
    */
-  COMPLETED
+  COMPLETED,
+
+  /**
+   * Status indicating the user service refused the wallet debit of the order, so it will not be processed.
+   */
+  PAYMENT_FAILED,
+
+  /**
+   * Status indicating the order was completed before its wallet debit failed, so it was delivered without being
+   * paid and needs reconciliation.
+   */
+  UNPAID
 }
@@ -0,0 +1,109 @@
+package com.nt.order.microservice.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nt.order.microservice.dtos.OrderOutDTO;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes orders to an HTTP response one at a time as they are read from the database.
+ * <p>
+ * The orders are written as newline-delimited JSON when the client accepts {@code application/x-ndjson}, and as a
+ * JSON array otherwise. Nothing is written until the first order or {@link #finish()}, so a validation error
+ * raised before streaming starts still produces a normal error response.
+ * </p>
+ */
+public final class OrderStreamWriter {
+
+  /**
+   * Mapper used to serialize each order, configured like the one used for regular responses.
+   */
+  private final ObjectMapper objectMapper;
+
+  /**
+   * The response the orders are written to.
+   */
+  private final HttpServletResponse response;
+
+  /**
+   * Whether the orders are written as newline-delimited JSON instead of a JSON array.
+   */
+  private final boolean ndjson;
+
+  /**
+   * The generator writing to the response, created when the first order is written.
+   */
+  private JsonGenerator generator;
+
+  /**
+   * Creates a writer for a response.
+   *
+   * @param objectMapper the mapper used to serialize each order
+   * @param request      the current request, whose {@code Accept} header selects the output format
+   * @param response     the response to write the orders to
+   */
+  public OrderStreamWriter(final ObjectMapper objectMapper, final HttpServletRequest request,
+                           final HttpServletResponse response) {
+    this.objectMapper = objectMapper;
+    this.response = response;
+    String accept = request.getHeader(HttpHeaders.ACCEPT);
+    this.ndjson = accept != null && accept.contains(MediaType.APPLICATION_NDJSON_VALUE);
+  }
+
+  /**
+   * Writes one order to the response.
+   *
+   * @param order the order to write
+   * @throws UncheckedIOException if the order cannot be written, typically because the client went away
+   */
+  public void write(final OrderOutDTO order) {
+    try {
+      start();
+      generator.writeObject(order);
+      if (ndjson) {
+        generator.writeRaw('\n');
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Completes the output and flushes it to the client.
+   *
+   * @throws IOException if the output cannot be written
+   */
+  public void finish() throws IOException {
+    start();
+    if (!ndjson) {
+      generator.writeEndArray();
+    }
+    generator.close();
+  }
+
+  /**
+   * Sets the response headers and opens the generator, unless that has already been done.
+   *
+   * @throws IOException if the response output stream cannot be opened
+   */
+  private void start() throws IOException {
+    if (generator != null) {
+      return;
+    }
+    response.setStatus(HttpServletResponse.SC_OK);
+    response.setContentType(ndjson ? MediaType.APPLICATION_NDJSON_VALUE : MediaType.APPLICATION_JSON_VALUE);
+    response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+    generator = objectMapper.getFactory().createGenerator(response.getOutputStream());
+    generator.setRootValueSeparator(null);
+    if (!ndjson) {
+      generator.writeStartArray();
+    }
+  }
+}
@@ -0,0 +1,33 @@
+package com.nt.order.microservice.util;
+
+/**
+ * Enum representing the delivery status of a wallet outbox event.
+ * <ul>
+ *   <li>{@link #PENDING} - The event is waiting to be delivered or retried.</li>
+ *   <li>{@link #DELIVERED} - The user service has applied the wallet change.</li>
+ *   <li>{@link #FAILED} - The user service refused the change, or every retry failed.</li>
+ *   <li>{@link #CANCELLED} - The refund is not needed because the order's debit was never applied.</li>
+ * </ul>
+ */
+public enum OutboxStatus {
+
+  /**
+   * Status indicating the event is waiting to be delivered or retried.
+   */
+  PENDING,
+
+  /**
+   * Status indicating the user service has applied the wallet change.
+   */
+  DELIVERED,
+
+  /**
+   * Status indicating the change was refused or could not be delivered; it is not retried.
+   */
+  FAILED,
+
+  /**
+   * Status indicating a refund is not sent because the debit of its order failed.
+   */
+  CANCELLED
+}
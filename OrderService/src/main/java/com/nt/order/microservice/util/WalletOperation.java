@@ -0,0 +1,21 @@
+package com.nt.order.microservice.util;
+
+/**
+ * Enum representing the wallet change an outbox event asks the user service to make.
+ * <ul>
+ *   <li>{@link #DEBIT} - The total price of a placed order is deducted from the user's wallet.</li>
+ *   <li>{@link #REFUND} - The total price of a cancelled order is added back to the user's wallet.</li>
+ * </ul>
+ */
+public enum WalletOperation {
+
+  /**
+   * Deducts the total price of a placed order from the user's wallet.
+   */
+  DEBIT,
+
+  /**
+   * Adds the total price of a cancelled order back to the user's wallet.
+   */
+  REFUND
+}
@@ -0,0 +1,22 @@
+-- Baseline of the schema Hibernate created while the service ran with ddl-auto=update.
+-- IF NOT EXISTS makes this a no-op on databases that already have the tables.
+
+CREATE TABLE IF NOT EXISTS orders (
+    order_id      SERIAL PRIMARY KEY,
+    user_id       INTEGER,
+    restaurant_id INTEGER,
+    address_id    INTEGER,
+    order_status  VARCHAR(255),
+    total_price   DOUBLE PRECISION,
+    cart_items    VARCHAR(255),
+    placed_timing TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS cart (
+    cart_id       SERIAL PRIMARY KEY,
+    user_id       INTEGER,
+    restaurant_id INTEGER,
+    food_item_id  INTEGER,
+    quantity      INTEGER,
+    price         DOUBLE PRECISION
+);
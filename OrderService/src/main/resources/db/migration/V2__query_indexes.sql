@@ -0,0 +1,27 @@
+-- Order history by user or restaurant, newest first: findByUserId, findByRestaurantId,
+-- the streaming queries and the (placed_timing, order_id) keyset pages.
+CREATE INDEX IF NOT EXISTS idx_orders_user_placed ON orders (user_id, placed_timing, order_id);
+CREATE INDEX IF NOT EXISTS idx_orders_restaurant_placed ON orders (restaurant_id, placed_timing, order_id);
+
+-- The former read-then-insert cart add could race and store the same food item twice in a cart.
+-- Such duplicates are merged into the line with the lowest cart_id, which takes the summed quantity
+-- and price (the line total), before the unique index is built.
+UPDATE cart
+SET quantity = merged.quantity,
+    price    = merged.price
+FROM (SELECT min(cart_id) AS cart_id, sum(quantity) AS quantity, sum(price) AS price
+      FROM cart
+      GROUP BY user_id, restaurant_id, food_item_id
+      HAVING count(*) > 1) merged
+WHERE cart.cart_id = merged.cart_id;
+
+DELETE FROM cart
+USING cart kept
+WHERE cart.user_id = kept.user_id
+  AND cart.restaurant_id = kept.restaurant_id
+  AND cart.food_item_id = kept.food_item_id
+  AND cart.cart_id > kept.cart_id;
+
+-- A user holds at most one cart line per food item; the prefix also serves findByUserId
+-- and findByUserIdAndRestaurantId.
+CREATE UNIQUE INDEX IF NOT EXISTS ux_cart_user_restaurant_food_item ON cart (user_id, restaurant_id, food_item_id);
@@ -0,0 +1,19 @@
+-- Wallet changes written in the same transaction as their order and delivered to UserService by the relay.
+CREATE TABLE IF NOT EXISTS wallet_outbox (
+    id              BIGSERIAL PRIMARY KEY,
+    order_id        INTEGER NOT NULL,
+    user_id         INTEGER NOT NULL,
+    amount          DOUBLE PRECISION NOT NULL,
+    operation       VARCHAR(16) NOT NULL,
+    status          VARCHAR(16) NOT NULL,
+    attempts        INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL,
+    created_at      TIMESTAMP NOT NULL,
+    last_error      VARCHAR(500)
+);
+
+-- An order is debited and refunded at most once.
+CREATE UNIQUE INDEX IF NOT EXISTS ux_wallet_outbox_order_operation ON wallet_outbox (order_id, operation);
+
+-- The relay's claim query only ever looks at due pending events.
+CREATE INDEX IF NOT EXISTS idx_wallet_outbox_pending ON wallet_outbox (next_attempt_at, id) WHERE status = 'PENDING';
@@ -0,0 +1,6 @@
+-- Client-supplied key of the checkout request that created an order, so a retried checkout finds its order.
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS idempotency_key VARCHAR(64);
+
+-- A user's key places at most one order; orders placed without a key are not constrained.
+CREATE UNIQUE INDEX IF NOT EXISTS ux_orders_user_idempotency_key ON orders (user_id, idempotency_key)
+    WHERE idempotency_key IS NOT NULL;
@@ -0,0 +1,16 @@
+-- Time a cart line was last created or changed; the abandoned-cart sweeper removes carts of users
+-- none of whose lines changed within the TTL. Existing lines count as changed when this runs.
+ALTER TABLE cart ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP NOT NULL DEFAULT now();
+
+-- Every change is stamped by the database clock, whichever path writes it, so the sweeper can compare against
+-- now() in SQL without depending on the time zone or clock of any application instance.
+CREATE OR REPLACE FUNCTION cart_touch_updated_at() RETURNS trigger AS $$
+BEGIN
+  NEW.updated_at := now();
+  RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS cart_touch_updated_at ON cart;
+CREATE TRIGGER cart_touch_updated_at BEFORE UPDATE ON cart
+  FOR EACH ROW EXECUTE FUNCTION cart_touch_updated_at();
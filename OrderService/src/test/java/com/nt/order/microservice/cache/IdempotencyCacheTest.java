@@ -0,0 +1,134 @@
+package com.nt.order.microservice.cache;
+
+import com.nt.order.microservice.dtos.CommonResponse;
+import com.nt.order.microservice.exception.InsufficientBalanceException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IdempotencyCacheTest {
+
+  private IdempotencyCache idempotencyCache;
+
+  private SimpleMeterRegistry meterRegistry;
+
+  private AtomicInteger checkouts;
+
+  @BeforeEach
+  public void setup() {
+    idempotencyCache = new IdempotencyCache();
+    meterRegistry = new SimpleMeterRegistry();
+    ReflectionTestUtils.setField(idempotencyCache, "meterRegistry", meterRegistry);
+    ReflectionTestUtils.setField(idempotencyCache, "maxKeys", 2);
+    ReflectionTestUtils.setField(idempotencyCache, "ttlSeconds", 300L);
+    idempotencyCache.registerMeters();
+    checkouts = new AtomicInteger();
+  }
+
+  private CommonResponse checkout() {
+    checkouts.incrementAndGet();
+    return new CommonResponse("placed");
+  }
+
+  private double requests(final String result) {
+    return meterRegistry.get("order.idempotency.requests").tag("result", result).counter().count();
+  }
+
+  @Test
+  public void testExecute_RepeatReturnsOriginalResult() {
+    CommonResponse first = idempotencyCache.execute(1, "key", this::checkout);
+    CommonResponse second = idempotencyCache.execute(1, "key", this::checkout);
+
+    assertSame(first, second);
+    assertEquals(1, checkouts.get());
+    assertEquals(1.0, requests("hit"));
+    assertEquals(1.0, requests("miss"));
+  }
+
+  @Test
+  public void testExecute_KeysAreScopedPerUser() {
+    idempotencyCache.execute(1, "key", this::checkout);
+    idempotencyCache.execute(2, "key", this::checkout);
+
+    assertEquals(2, checkouts.get());
+  }
+
+  @Test
+  public void testExecute_ConcurrentDuplicatesJoinRunningCheckout() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      CompletableFuture<CommonResponse> first = CompletableFuture.supplyAsync(
+        () -> idempotencyCache.execute(1, "key", () -> {
+          started.countDown();
+          try {
+            release.await(5, TimeUnit.SECONDS);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          return checkout();
+        }), executor);
+      assertTrue(started.await(5, TimeUnit.SECONDS));
+      CompletableFuture<CommonResponse> second = CompletableFuture.supplyAsync(
+        () -> idempotencyCache.execute(1, "key", this::checkout), executor);
+      while (requests("coalesced") < 1.0) {
+        Thread.sleep(5);
+      }
+      release.countDown();
+
+      assertSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+      assertEquals(1, checkouts.get());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testExecute_FailureIsNotCached() {
+    assertThrows(InsufficientBalanceException.class, () -> idempotencyCache.execute(1, "key", () -> {
+      throw new InsufficientBalanceException("Insufficient balance in wallet.");
+    }));
+
+    idempotencyCache.execute(1, "key", this::checkout);
+
+    assertEquals(1, checkouts.get());
+    assertEquals(2.0, requests("miss"));
+  }
+
+  @Test
+  public void testExecute_EvictsLeastRecentlyUsedKey() {
+    idempotencyCache.execute(1, "a", this::checkout);
+    idempotencyCache.execute(1, "b", this::checkout);
+    idempotencyCache.execute(1, "a", this::checkout);
+    idempotencyCache.execute(1, "c", this::checkout);
+    idempotencyCache.execute(1, "b", this::checkout);
+
+    assertEquals(4, checkouts.get());
+    assertEquals(2, idempotencyCache.size());
+    assertEquals(2.0, meterRegistry.get("order.idempotency.evictions").counter().count());
+  }
+
+  @Test
+  public void testExecute_ExpiredResultRunsAgain() {
+    ReflectionTestUtils.setField(idempotencyCache, "ttlSeconds", 0L);
+
+    idempotencyCache.execute(1, "key", this::checkout);
+    idempotencyCache.execute(1, "key", this::checkout);
+
+    assertEquals(2, checkouts.get());
+  }
+}
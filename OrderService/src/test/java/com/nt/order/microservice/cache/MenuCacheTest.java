@@ -0,0 +1,165 @@
+package com.nt.order.microservice.cache;
+
+import com.nt.order.microservice.dtos.FoodItemOutDTO;
+import com.nt.order.microservice.serviceimpl.FoodItemFClient;
+import feign.FeignException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class MenuCacheTest {
+
+  @Mock
+  private FoodItemFClient foodItemFClient;
+
+  @InjectMocks
+  private MenuCache menuCache;
+
+  private SimpleMeterRegistry meterRegistry;
+
+  private FoodItemOutDTO foodItem;
+
+  @BeforeEach
+  public void setup() {
+    MockitoAnnotations.openMocks(this);
+    meterRegistry = new SimpleMeterRegistry();
+    ReflectionTestUtils.setField(menuCache, "meterRegistry", meterRegistry);
+    ReflectionTestUtils.setField(menuCache, "maxRestaurants", 2);
+    ReflectionTestUtils.setField(menuCache, "ttlSeconds", 300L);
+    ReflectionTestUtils.setField(menuCache, "maxStaleSeconds", 1800L);
+    menuCache.registerMeters();
+
+    foodItem = new FoodItemOutDTO();
+    foodItem.setFoodItemId(10);
+    foodItem.setRestaurantId(1);
+    foodItem.setPrice(100.0);
+  }
+
+  @Test
+  public void testGetMenu_LoadsOnceThenHits() {
+    when(foodItemFClient.getFoodItemsByRestaurant(1)).thenReturn(Collections.singletonList(foodItem));
+
+    Map<Integer, FoodItemOutDTO> first = menuCache.getMenu(1);
+    Map<Integer, FoodItemOutDTO> second = menuCache.getMenu(1);
+
+    assertEquals(foodItem, first.get(10));
+    assertEquals(first, second);
+    verify(foodItemFClient, times(1)).getFoodItemsByRestaurant(1);
+    assertEquals(1.0, meterRegistry.get("menu.cache.requests").tag("result", "hit").counter().count());
+    assertEquals(1.0, meterRegistry.get("menu.cache.requests").tag("result", "miss").counter().count());
+  }
+
+  @Test
+  public void testInvalidate_ForcesReload() {
+    when(foodItemFClient.getFoodItemsByRestaurant(1)).thenReturn(Collections.singletonList(foodItem));
+
+    menuCache.getMenu(1);
+    menuCache.invalidate(1);
+    menuCache.getMenu(1);
+
+    verify(foodItemFClient, times(2)).getFoodItemsByRestaurant(1);
+    assertEquals(1.0, meterRegistry.get("menu.cache.invalidations").counter().count());
+  }
+
+  @Test
+  public void testInvalidateDuringLoad_DoesNotCacheOutdatedMenu() {
+    when(foodItemFClient.getFoodItemsByRestaurant(1)).thenAnswer(invocation -> {
+      menuCache.invalidate(1);
+      return Collections.singletonList(foodItem);
+    });
+
+    menuCache.getMenu(1);
+
+    assertEquals(0, menuCache.size());
+  }
+
+  @Test
+  public void testGetMenu_EvictsLeastRecentlyUsedRestaurant() {
+    when(foodItemFClient.getFoodItemsByRestaurant(1)).thenReturn(Collections.singletonList(foodItem));
+    when(foodItemFClient.getFoodItemsByRestaurant(2)).thenReturn(Collections.emptyList());
+    when(foodItemFClient.getFoodItemsByRestaurant(3)).thenReturn(Collections.emptyList());
+
+    menuCache.getMenu(1);
+    menuCache.getMenu(2);
+    menuCache.getMenu(1);
+    menuCache.getMenu(3);
+    menuCache.getMenu(1);
+    menuCache.getMenu(2);
+
+    assertEquals(2, menuCache.size());
+    verify(foodItemFClient, times(1)).getFoodItemsByRestaurant(1);
+    verify(foodItemFClient, times(2)).getFoodItemsByRestaurant(2);
+    assertEquals(2.0, meterRegistry.get("menu.cache.evictions").counter().count());
+  }
+
+  @Test
+  public void testGetMenu_ReloadsExpiredMenu() {
+    ReflectionTestUtils.setField(menuCache, "ttlSeconds", 0L);
+    when(foodItemFClient.getFoodItemsByRestaurant(1)).thenReturn(Arrays.asList(foodItem));
+
+    menuCache.getMenu(1);
+    menuCache.getMenu(1);
+
+    verify(foodItemFClient, times(2)).getFoodItemsByRestaurant(1);
+  }
+
+  @Test
+  public void testGetMenu_RestaurantWithoutItemsIsCachedEmpty() {
+    when(foodItemFClient.getFoodItemsByRestaurant(1)).thenThrow(FeignException.NotFound.class);
+
+    assertTrue(menuCache.getMenu(1).isEmpty());
+    assertTrue(menuCache.getMenu(1).isEmpty());
+
+    verify(foodItemFClient, times(1)).getFoodItemsByRestaurant(1);
+  }
+
+  @Test
+  public void testGetMenu_LoadFailureIsNotCached() {
+    when(foodItemFClient.getFoodItemsByRestaurant(1)).thenThrow(new RuntimeException("connection refused"));
+
+    assertTrue(menuCache.getMenu(1).isEmpty());
+    assertTrue(menuCache.getMenu(1).isEmpty());
+
+    verify(foodItemFClient, times(2)).getFoodItemsByRestaurant(1);
+    assertEquals(0, menuCache.size());
+  }
+
+  @Test
+  public void testGetMenu_ServesExpiredMenuWhileReloadFails() {
+    ReflectionTestUtils.setField(menuCache, "ttlSeconds", 0L);
+    when(foodItemFClient.getFoodItemsByRestaurant(1)).thenReturn(Collections.singletonList(foodItem))
+      .thenThrow(new RuntimeException("circuit open"));
+
+    menuCache.getMenu(1);
+
+    assertEquals(foodItem, menuCache.getMenu(1).get(10));
+    assertEquals(1.0, meterRegistry.get("menu.cache.requests").tag("result", "stale").counter().count());
+  }
+
+  @Test
+  public void testGetMenu_TooOldMenuIsNotServed() {
+    ReflectionTestUtils.setField(menuCache, "ttlSeconds", 0L);
+    ReflectionTestUtils.setField(menuCache, "maxStaleSeconds", 0L);
+    when(foodItemFClient.getFoodItemsByRestaurant(1)).thenReturn(Collections.singletonList(foodItem))
+      .thenThrow(new RuntimeException("circuit open"));
+
+    menuCache.getMenu(1);
+
+    assertTrue(menuCache.getMenu(1).isEmpty());
+    assertEquals(0, menuCache.size());
+  }
+}
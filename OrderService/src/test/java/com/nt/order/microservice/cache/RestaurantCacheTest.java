@@ -0,0 +1,105 @@
+package com.nt.order.microservice.cache;
+
+import com.nt.order.microservice.dtos.RestaurantOutDTO;
+import com.nt.order.microservice.serviceimpl.RestaurantFClient;
+import feign.FeignException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+public class RestaurantCacheTest {
+
+  @Mock
+  private RestaurantFClient restaurantFClient;
+
+  @InjectMocks
+  private RestaurantCache restaurantCache;
+
+  private SimpleMeterRegistry meterRegistry;
+
+  private RestaurantOutDTO restaurant;
+
+  private CallNotPermittedException breakerOpen;
+
+  @BeforeEach
+  public void setup() {
+    MockitoAnnotations.openMocks(this);
+    meterRegistry = new SimpleMeterRegistry();
+    ReflectionTestUtils.setField(restaurantCache, "meterRegistry", meterRegistry);
+    ReflectionTestUtils.setField(restaurantCache, "maxRestaurants", 2);
+    ReflectionTestUtils.setField(restaurantCache, "maxStaleSeconds", 600L);
+    restaurantCache.registerMeters();
+
+    restaurant = new RestaurantOutDTO();
+    restaurant.setRestaurantId(1);
+    restaurant.setRestaurantName("Spice Hub");
+    breakerOpen = CallNotPermittedException.createCallNotPermittedException(
+      CircuitBreaker.ofDefaults("restaurant-service"));
+  }
+
+  private double fallbacks() {
+    return meterRegistry.get("restaurant.cache.fallbacks").counter().count();
+  }
+
+  @Test
+  public void testGetRestaurant_FallsBackToLastKnownWhileUnavailable() {
+    when(restaurantFClient.getRestaurantById(1)).thenReturn(restaurant).thenThrow(breakerOpen);
+
+    assertEquals(restaurant, restaurantCache.getRestaurant(1));
+    assertEquals(restaurant, restaurantCache.getRestaurant(1));
+
+    assertEquals(1.0, fallbacks());
+  }
+
+  @Test
+  public void testGetRestaurant_UnknownRestaurantFailsWhileUnavailable() {
+    when(restaurantFClient.getRestaurantById(1)).thenThrow(breakerOpen);
+
+    assertThrows(CallNotPermittedException.class, () -> restaurantCache.getRestaurant(1));
+    assertEquals(0.0, fallbacks());
+  }
+
+  @Test
+  public void testGetRestaurant_TooOldCopyIsNotUsed() {
+    ReflectionTestUtils.setField(restaurantCache, "maxStaleSeconds", 0L);
+    when(restaurantFClient.getRestaurantById(1)).thenReturn(restaurant).thenThrow(breakerOpen);
+
+    restaurantCache.getRestaurant(1);
+
+    assertThrows(CallNotPermittedException.class, () -> restaurantCache.getRestaurant(1));
+  }
+
+  @Test
+  public void testGetRestaurant_RemovedRestaurantIsForgotten() {
+    when(restaurantFClient.getRestaurantById(1)).thenReturn(restaurant)
+      .thenThrow(FeignException.NotFound.class)
+      .thenThrow(breakerOpen);
+
+    restaurantCache.getRestaurant(1);
+
+    assertThrows(FeignException.NotFound.class, () -> restaurantCache.getRestaurant(1));
+    assertThrows(CallNotPermittedException.class, () -> restaurantCache.getRestaurant(1));
+    assertEquals(0, restaurantCache.size());
+  }
+
+  @Test
+  public void testGetRestaurant_ClientErrorIsNotAFallbackCase() {
+    when(restaurantFClient.getRestaurantById(1)).thenReturn(restaurant)
+      .thenThrow(FeignException.BadRequest.class);
+
+    restaurantCache.getRestaurant(1);
+
+    assertThrows(FeignException.BadRequest.class, () -> restaurantCache.getRestaurant(1));
+    assertEquals(0.0, fallbacks());
+  }
+}
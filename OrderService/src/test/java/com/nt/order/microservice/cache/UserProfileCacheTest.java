@@ -0,0 +1,132 @@
+package com.nt.order.microservice.cache;
+
+import com.nt.order.microservice.dtos.UserOutDTO;
+import com.nt.order.microservice.serviceimpl.UserFClient;
+import feign.FeignException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class UserProfileCacheTest {
+
+  @Mock
+  private UserFClient userFClient;
+
+  @InjectMocks
+  private UserProfileCache userProfileCache;
+
+  private SimpleMeterRegistry meterRegistry;
+
+  private UserOutDTO user;
+
+  @BeforeEach
+  public void setup() {
+    MockitoAnnotations.openMocks(this);
+    meterRegistry = new SimpleMeterRegistry();
+    ReflectionTestUtils.setField(userProfileCache, "meterRegistry", meterRegistry);
+    ReflectionTestUtils.setField(userProfileCache, "maxUsers", 2);
+    ReflectionTestUtils.setField(userProfileCache, "ttlSeconds", 30L);
+    userProfileCache.registerMeters();
+
+    user = new UserOutDTO();
+    user.setId(1);
+    user.setRole("USER");
+    user.setWalletBalance(500.0);
+  }
+
+  private double requests(final String result) {
+    return meterRegistry.get("user.profile.cache.requests").tag("result", result).counter().count();
+  }
+
+  @Test
+  public void testGetUser_LoadsOnceThenHitsWithoutBalance() {
+    when(userFClient.getUserProfile(1)).thenReturn(user);
+
+    UserOutDTO first = userProfileCache.getUser(1);
+    UserOutDTO second = userProfileCache.getUser(1);
+
+    assertEquals("USER", first.getRole());
+    assertNull(first.getWalletBalance());
+    assertEquals(first, second);
+    verify(userFClient, times(1)).getUserProfile(1);
+    assertEquals(1.0, requests("hit"));
+    assertEquals(1.0, requests("miss"));
+  }
+
+  @Test
+  public void testGetProfile_AlwaysCallsAndKeepsBalance() {
+    when(userFClient.getUserProfile(1)).thenReturn(user);
+
+    userProfileCache.getProfile(1);
+    UserOutDTO profile = userProfileCache.getProfile(1);
+
+    assertEquals(500.0, profile.getWalletBalance());
+    verify(userFClient, times(2)).getUserProfile(1);
+  }
+
+  @Test
+  public void testGetUser_ExpiredEntryIsLoadedAgain() {
+    ReflectionTestUtils.setField(userProfileCache, "ttlSeconds", 0L);
+    when(userFClient.getUserProfile(1)).thenReturn(user);
+
+    userProfileCache.getUser(1);
+    userProfileCache.getUser(1);
+
+    verify(userFClient, times(2)).getUserProfile(1);
+  }
+
+  @Test
+  public void testGetUser_UnknownUserIsNotCached() {
+    when(userFClient.getUserProfile(1)).thenThrow(FeignException.NotFound.class).thenReturn(user);
+
+    assertThrows(FeignException.NotFound.class, () -> userProfileCache.getUser(1));
+
+    assertEquals("USER", userProfileCache.getUser(1).getRole());
+    verify(userFClient, times(2)).getUserProfile(1);
+  }
+
+  @Test
+  public void testGetUser_ConcurrentLookupsShareOneCall() throws Exception {
+    CountDownLatch called = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    when(userFClient.getUserProfile(1)).thenAnswer(invocation -> {
+      called.countDown();
+      release.await(5, TimeUnit.SECONDS);
+      return user;
+    });
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      CompletableFuture<UserOutDTO> first = CompletableFuture.supplyAsync(() -> userProfileCache.getProfile(1), executor);
+      assertTrue(called.await(5, TimeUnit.SECONDS));
+      CompletableFuture<UserOutDTO> second = CompletableFuture.supplyAsync(() -> userProfileCache.getUser(1), executor);
+      while (requests("coalesced") < 1.0) {
+        Thread.sleep(5);
+      }
+      release.countDown();
+
+      assertEquals(500.0, first.get(5, TimeUnit.SECONDS).getWalletBalance());
+      assertNull(second.get(5, TimeUnit.SECONDS).getWalletBalance());
+      verify(userFClient, times(1)).getUserProfile(1);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
@@ -0,0 +1,236 @@
+package com.nt.order.microservice.cache;
+
+import com.nt.order.microservice.dtos.CartLineInDTO;
+import com.nt.order.microservice.entities.Cart;
+import com.nt.order.microservice.repository.CartRepository;
+import com.nt.order.microservice.util.CartAction;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class WriteBehindCartStoreTest {
+
+  @Mock
+  private CartRepository cartRepository;
+
+  @Mock
+  private JdbcTemplate jdbcTemplate;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  @InjectMocks
+  private WriteBehindCartStore cartStore;
+
+  private SimpleMeterRegistry meterRegistry;
+
+  @BeforeEach
+  public void setup() {
+    MockitoAnnotations.openMocks(this);
+    meterRegistry = new SimpleMeterRegistry();
+    ReflectionTestUtils.setField(cartStore, "meterRegistry", meterRegistry);
+    ReflectionTestUtils.setField(cartStore, "maxUsers", 100);
+    ReflectionTestUtils.setField(cartStore, "idleSeconds", 1800L);
+    ReflectionTestUtils.setField(cartStore, "idBlockSize", 2);
+    ReflectionTestUtils.setField(cartStore, "maxFlushRetries", 3);
+    cartStore.registerMeters();
+    when(jdbcTemplate.queryForList(WriteBehindCartStore.RESERVE_IDS, Integer.class, 2))
+      .thenReturn(Arrays.asList(10, 11), Arrays.asList(12, 13));
+  }
+
+  @SuppressWarnings("unchecked")
+  private List<Object[]> batch(final String sql) {
+    ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+    verify(jdbcTemplate).batchUpdate(eq(sql), rows.capture());
+    return rows.getValue();
+  }
+
+  @Test
+  public void testFindByUserId_LoadsOnceAndReturnsCopies() {
+    when(cartRepository.findByUserId(1)).thenReturn(Collections.singletonList(new Cart(5, 1, 2, 3, 1, 100.0)));
+
+    cartStore.findByUserId(1).get(0).setQuantity(7);
+    List<Cart> carts = cartStore.findByUserId(1);
+
+    assertEquals(Collections.singletonList(new Cart(5, 1, 2, 3, 1, 100.0)), carts);
+    verify(cartRepository, times(1)).findByUserId(1);
+    assertEquals(1.0, meterRegistry.get("cart.store.loads").counter().count());
+  }
+
+  @Test
+  public void testUpsertItem_RepeatedAddsAreWrittenOnce() {
+    assertTrue(cartStore.upsertItem(1, 2, 3, 1, 100.0));
+    assertFalse(cartStore.upsertItem(1, 2, 3, 2, 100.0));
+
+    assertEquals(1, cartStore.flush());
+
+    List<Object[]> upserts = batch(WriteBehindCartStore.UPSERT_LINE);
+    assertEquals(1, upserts.size());
+    assertArrayEquals(new Object[] {10, 1, 2, 3, 3, 100.0}, upserts.get(0));
+    verify(jdbcTemplate, never()).batchUpdate(eq(WriteBehindCartStore.DELETE_LINE), anyList());
+    assertEquals(0, cartStore.flush());
+  }
+
+  @Test
+  public void testApplyLines_RemovalsAreWrittenBeforeUpserts() {
+    when(cartRepository.findByUserId(1)).thenReturn(Arrays.asList(
+      new Cart(5, 1, 2, 3, 1, 100.0), new Cart(6, 1, 2, 4, 1, 50.0)));
+
+    cartStore.applyLines(1, 2, Arrays.asList(
+      new CartLineInDTO(CartAction.REMOVE, 3, null, null),
+      new CartLineInDTO(CartAction.UPDATE, 4, 4, 50.0),
+      new CartLineInDTO(CartAction.ADD, 8, 1, 20.0)));
+
+    assertEquals(3, cartStore.flush());
+    InOrder order = inOrder(jdbcTemplate);
+    order.verify(jdbcTemplate).batchUpdate(eq(WriteBehindCartStore.DELETE_LINE), anyList());
+    order.verify(jdbcTemplate).batchUpdate(eq(WriteBehindCartStore.UPSERT_LINE), anyList());
+    assertArrayEquals(new Object[] {5}, batch(WriteBehindCartStore.DELETE_LINE).get(0));
+    assertEquals(2, batch(WriteBehindCartStore.UPSERT_LINE).size());
+    assertEquals(Arrays.asList(new Cart(6, 1, 2, 4, 4, 50.0), new Cart(10, 1, 2, 8, 1, 20.0)),
+      cartStore.findByUserIdAndRestaurantId(1, 2));
+  }
+
+  @Test
+  public void testFlush_FailedWriteIsRetried() {
+    when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+      .thenThrow(new DataAccessResourceFailureException("connection refused"))
+      .thenThrow(new DataAccessResourceFailureException("connection refused"))
+      .thenReturn(new int[] {1});
+    cartStore.upsertItem(1, 2, 3, 1, 100.0);
+
+    assertEquals(0, cartStore.flush());
+    assertEquals(2.0, meterRegistry.get("cart.store.flush.failures").counter().count());
+
+    assertEquals(1, cartStore.flush());
+    assertEquals(1.0, meterRegistry.get("cart.store.written.lines").counter().count());
+  }
+
+  @Test
+  public void testFindById_LoadsTheCartOfTheOwner() {
+    Cart line = new Cart(5, 1, 2, 3, 1, 100.0);
+    when(cartRepository.findById(5)).thenReturn(Optional.of(line));
+    when(cartRepository.findByUserId(1)).thenReturn(Collections.singletonList(line));
+
+    assertEquals(Optional.of(line), cartStore.findById(5));
+
+    cartStore.deleteById(5);
+    assertEquals(Optional.empty(), cartStore.findById(5));
+    verify(cartRepository, times(1)).findByUserId(1);
+  }
+
+  @Test
+  public void testSave_ChangesQuantityAndPrice() {
+    when(cartRepository.findByUserId(1)).thenReturn(Collections.singletonList(new Cart(5, 1, 2, 3, 1, 100.0)));
+    Cart line = cartStore.findByUserId(1).get(0);
+    line.setQuantity(2);
+    line.setPrice(200.0);
+
+    cartStore.save(line);
+    cartStore.flush();
+
+    assertArrayEquals(new Object[] {5, 1, 2, 3, 2, 200.0}, batch(WriteBehindCartStore.UPSERT_LINE).get(0));
+  }
+
+  @Test
+  public void testDeleteByUserId_WaitsForTheTransactionToCommit() {
+    when(cartRepository.findByUserId(1)).thenReturn(Collections.singletonList(new Cart(5, 1, 2, 3, 1, 100.0)));
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      cartStore.deleteByUserId(1);
+      assertEquals(1, cartStore.findByUserId(1).size());
+
+      TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    assertTrue(cartStore.findByUserId(1).isEmpty());
+    cartStore.flush();
+    assertArrayEquals(new Object[] {5}, batch(WriteBehindCartStore.DELETE_LINE).get(0));
+  }
+
+  @Test
+  public void testFlush_EvictsOnlyCartsWithoutUnwrittenChanges() {
+    ReflectionTestUtils.setField(cartStore, "idleSeconds", 0L);
+    when(cartRepository.findByUserId(1)).thenReturn(Collections.singletonList(new Cart(5, 1, 2, 3, 1, 100.0)));
+    when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+      .thenThrow(new DataAccessResourceFailureException("connection refused"));
+    cartStore.findByUserId(1);
+    cartStore.upsertItem(2, 2, 3, 1, 100.0);
+
+    cartStore.flush();
+
+    assertEquals(1, cartStore.size());
+    assertEquals(Collections.singletonList(new Cart(10, 2, 2, 3, 1, 100.0)), cartStore.findByUserId(2));
+    cartStore.findByUserId(1);
+    verify(cartRepository, times(2)).findByUserId(1);
+  }
+
+  @Test
+  public void testFlush_CollidingLinesAreWrittenByFoodItemAndTheCartIsReloaded() {
+    when(cartRepository.findByUserId(1)).thenReturn(Collections.singletonList(new Cart(5, 1, 2, 3, 1, 100.0)),
+      Arrays.asList(new Cart(5, 1, 2, 3, 1, 100.0), new Cart(40, 1, 2, 4, 2, 50.0)));
+    when(jdbcTemplate.batchUpdate(eq(WriteBehindCartStore.UPSERT_LINE), anyList()))
+      .thenThrow(new DuplicateKeyException("ux_cart_user_restaurant_food_item"));
+    cartStore.deleteById(cartStore.findByUserId(1).get(0).getCartId());
+    cartStore.upsertItem(1, 2, 4, 2, 50.0);
+
+    assertEquals(2, cartStore.flush());
+
+    assertArrayEquals(new Object[] {1, 2, 3}, batch(WriteBehindCartStore.DELETE_ITEM).get(0));
+    assertArrayEquals(new Object[] {10, 1, 2, 4, 2, 50.0}, batch(WriteBehindCartStore.MERGE_LINE).get(0));
+    assertEquals(1.0, meterRegistry.get("cart.store.flush.failures").counter().count());
+    assertEquals(0, cartStore.size());
+    assertEquals(2, cartStore.findByUserId(1).size());
+    assertEquals(0, cartStore.flush());
+  }
+
+  @Test
+  public void testFlush_ChangesAreDroppedAfterTooManyFailures() {
+    when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+      .thenThrow(new DataAccessResourceFailureException("connection refused"));
+    when(cartRepository.findByUserId(1)).thenReturn(Collections.emptyList());
+    cartStore.upsertItem(1, 2, 3, 1, 100.0);
+
+    cartStore.flush();
+    cartStore.flush();
+    assertEquals(1, cartStore.size());
+    cartStore.flush();
+
+    assertEquals(0, cartStore.size());
+    assertEquals(0, cartStore.flush());
+    assertEquals(6.0, meterRegistry.get("cart.store.flush.failures").counter().count());
+    assertTrue(cartStore.findByUserId(1).isEmpty());
+  }
+}
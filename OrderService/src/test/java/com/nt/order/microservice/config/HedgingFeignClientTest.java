@@ -0,0 +1,154 @@
+package com.nt.order.microservice.config;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class HedgingFeignClientTest {
+
+  private Client delegate;
+
+  private ExecutorService executor;
+
+  private SimpleMeterRegistry meterRegistry;
+
+  private Request get;
+
+  @BeforeEach
+  public void setup() {
+    delegate = mock(Client.class);
+    executor = Executors.newFixedThreadPool(2);
+    meterRegistry = new SimpleMeterRegistry();
+    get = Request.create(Request.HttpMethod.GET, "http://restaurants:300/restaurants/1", new HashMap<>(), null,
+      StandardCharsets.UTF_8, null);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  private HedgingFeignClient client(final double budgetRatio) {
+    return new HedgingFeignClient(delegate, executor, meterRegistry, Collections.singleton("restaurants:300"),
+      0.95, 20, 0, budgetRatio);
+  }
+
+  private Response response(final Request request, final int status, final InputStream body) {
+    return Response.builder().status(status).reason("status").request(request).headers(new HashMap<>())
+      .body(body, null).build();
+  }
+
+  private double hedges(final String result) {
+    return meterRegistry.get("feign.hedging.hedges").tag("result", result).counter().count();
+  }
+
+  @Test
+  public void testExecute_SlowFirstAttemptIsHedged() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch slowClosed = new CountDownLatch(1);
+    InputStream slowBody = new ByteArrayInputStream(new byte[0]) {
+      @Override
+      public void close() {
+        slowClosed.countDown();
+      }
+    };
+    AtomicInteger attempts = new AtomicInteger();
+    when(delegate.execute(any(), any())).thenAnswer(invocation -> {
+      if (attempts.incrementAndGet() == 1) {
+        assertTrue(release.await(5, TimeUnit.SECONDS));
+        return response(get, 500, slowBody);
+      }
+      return response(get, 200, null);
+    });
+
+    Response response = client(1.0).execute(get, new Request.Options());
+    release.countDown();
+
+    assertEquals(200, response.status());
+    assertEquals(1.0, hedges("sent"));
+    assertEquals(1.0, hedges("won"));
+    assertTrue(slowClosed.await(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void testExecute_ExhaustedBudgetSendsNoHedge() throws Exception {
+    when(delegate.execute(any(), any())).thenAnswer(invocation -> {
+      Thread.sleep(60);
+      return response(get, 200, null);
+    });
+
+    assertEquals(200, client(0.0).execute(get, new Request.Options()).status());
+
+    verify(delegate, times(1)).execute(any(), any());
+    assertEquals(0.0, hedges("sent"));
+  }
+
+  @Test
+  public void testExecute_FailedHedgeWaitsForFirstAttempt() throws Exception {
+    CountDownLatch hedgeFailed = new CountDownLatch(1);
+    AtomicInteger attempts = new AtomicInteger();
+    when(delegate.execute(any(), any())).thenAnswer(invocation -> {
+      if (attempts.incrementAndGet() == 1) {
+        assertTrue(hedgeFailed.await(5, TimeUnit.SECONDS));
+        return response(get, 200, null);
+      }
+      hedgeFailed.countDown();
+      throw new IOException("connection reset");
+    });
+
+    assertEquals(200, client(1.0).execute(get, new Request.Options()).status());
+    assertEquals(0.0, hedges("won"));
+  }
+
+  @Test
+  public void testExecute_EveryAttemptFailingRethrowsTheError() throws Exception {
+    when(delegate.execute(any(), any())).thenThrow(new IOException("connection refused"));
+
+    IOException error = assertThrows(IOException.class, () -> client(1.0).execute(get, new Request.Options()));
+
+    assertEquals("connection refused", error.getMessage());
+  }
+
+  @Test
+  public void testExecute_WritesAndOtherClientsAreNotHedged() throws Exception {
+    Request post = Request.create(Request.HttpMethod.POST, "http://restaurants:300/restaurants", new HashMap<>(),
+      new byte[0], StandardCharsets.UTF_8, null);
+    Request other = Request.create(Request.HttpMethod.GET, "http://users:100/users/1", new HashMap<>(), null,
+      StandardCharsets.UTF_8, null);
+    when(delegate.execute(any(), any())).thenAnswer(invocation -> {
+      Thread.sleep(60);
+      return response(invocation.getArgument(0), 200, null);
+    });
+    HedgingFeignClient client = client(1.0);
+
+    client.execute(post, new Request.Options());
+    client.execute(other, new Request.Options());
+
+    verify(delegate, times(2)).execute(any(), any());
+  }
+}
@@ -0,0 +1,172 @@
+package com.nt.order.microservice.config;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import feign.Util;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class MemoizingFeignClientTest {
+
+  private Client delegate;
+
+  private SimpleMeterRegistry meterRegistry;
+
+  private MemoizingFeignClient client;
+
+  private ServletRequestAttributes attributes;
+
+  @BeforeEach
+  public void setup() {
+    delegate = mock(Client.class);
+    meterRegistry = new SimpleMeterRegistry();
+    client = new MemoizingFeignClient(delegate, meterRegistry);
+    attributes = new ServletRequestAttributes(new MockHttpServletRequest());
+    RequestContextHolder.setRequestAttributes(attributes);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    RequestContextHolder.resetRequestAttributes();
+  }
+
+  private Request request(final Request.HttpMethod method, final String url) {
+    return Request.create(method, url, new HashMap<>(), null, StandardCharsets.UTF_8, null);
+  }
+
+  private Response response(final Request request, final int status, final String body) {
+    return Response.builder().status(status).reason("status").request(request).headers(new HashMap<>())
+      .body(body, StandardCharsets.UTF_8).build();
+  }
+
+  private String body(final Response response) throws IOException {
+    return Util.toString(response.body().asReader(StandardCharsets.UTF_8));
+  }
+
+  private double saved() {
+    return meterRegistry.get("feign.memo.saved").tag("client", "restaurants:300").counter().count();
+  }
+
+  @Test
+  public void testExecute_IdenticalGetIsSentOnce() throws Exception {
+    Request get = request(Request.HttpMethod.GET, "http://restaurants:300/restaurant/getRestaurant/1");
+    when(delegate.execute(any(), any())).thenAnswer(invocation -> response(get, 200, "{\"restaurantId\":1}"));
+
+    assertEquals("{\"restaurantId\":1}", body(client.execute(get, new Request.Options())));
+    Response repeated = client.execute(get, new Request.Options());
+
+    assertEquals(200, repeated.status());
+    assertEquals("{\"restaurantId\":1}", body(repeated));
+    verify(delegate, times(1)).execute(any(), any());
+    assertEquals(1.0, saved());
+  }
+
+  @Test
+  public void testExecute_NotFoundIsKeptButServerErrorIsRetried() throws Exception {
+    Request missing = request(Request.HttpMethod.GET, "http://restaurants:300/restaurant/getRestaurant/404");
+    Request failing = request(Request.HttpMethod.GET, "http://restaurants:300/restaurant/getRestaurant/500");
+    when(delegate.execute(any(), any())).thenAnswer(invocation -> {
+      Request sent = invocation.getArgument(0);
+      return response(sent, sent == missing ? 404 : 503, "");
+    });
+
+    assertEquals(404, client.execute(missing, new Request.Options()).status());
+    assertEquals(404, client.execute(missing, new Request.Options()).status());
+    assertEquals(503, client.execute(failing, new Request.Options()).status());
+    assertEquals(503, client.execute(failing, new Request.Options()).status());
+
+    verify(delegate, times(1)).execute(eq(missing), any());
+    verify(delegate, times(3)).execute(any(), any());
+  }
+
+  @Test
+  public void testExecute_FailedCallIsNotKept() throws Exception {
+    Request get = request(Request.HttpMethod.GET, "http://restaurants:300/restaurant/getRestaurant/1");
+    when(delegate.execute(any(), any()))
+      .thenThrow(new IOException("refused"))
+      .thenAnswer(invocation -> response(get, 200, "{}"));
+
+    assertThrows(IOException.class, () -> client.execute(get, new Request.Options()));
+    assertEquals(200, client.execute(get, new Request.Options()).status());
+
+    verify(delegate, times(2)).execute(any(), any());
+  }
+
+  @Test
+  public void testExecute_WriteEmptiesTheMemo() throws Exception {
+    Request get = request(Request.HttpMethod.GET, "http://users:100/users/profile/1");
+    Request put = request(Request.HttpMethod.PUT, "http://users:100/users/walletBalance/1");
+    when(delegate.execute(any(), any())).thenAnswer(invocation -> response(invocation.getArgument(0), 200, "{}"));
+
+    client.execute(get, new Request.Options());
+    client.execute(put, new Request.Options());
+    client.execute(get, new Request.Options());
+
+    verify(delegate, times(2)).execute(eq(get), any());
+  }
+
+  @Test
+  public void testExecute_NoMemoOutsideARequest() throws Exception {
+    RequestContextHolder.resetRequestAttributes();
+    Request get = request(Request.HttpMethod.GET, "http://restaurants:300/restaurant/getRestaurant/1");
+    when(delegate.execute(any(), any())).thenAnswer(invocation -> response(get, 200, "{}"));
+
+    client.execute(get, new Request.Options());
+    client.execute(get, new Request.Options());
+
+    verify(delegate, times(2)).execute(any(), any());
+  }
+
+  @Test
+  public void testExecute_DecoratedTaskSharesTheMemoOfItsRequest() throws Exception {
+    Request get = request(Request.HttpMethod.GET, "http://restaurants:300/restaurant/getRestaurant/1");
+    when(delegate.execute(any(), any())).thenAnswer(invocation -> response(get, 200, "{}"));
+    client.execute(get, new Request.Options());
+
+    int[] result = new int[1];
+    Runnable task = new RequestContextTaskDecorator().decorate(() -> {
+      try {
+        result[0] = client.execute(get, new Request.Options()).status();
+      } catch (IOException ex) {
+        throw new IllegalStateException(ex);
+      }
+    });
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<Integer> status = executor.submit(() -> {
+        task.run();
+        assertNull(RequestContextHolder.getRequestAttributes());
+        return result[0];
+      });
+      assertEquals(200, status.get());
+    } finally {
+      executor.shutdownNow();
+    }
+
+    verify(delegate, times(1)).execute(any(), any());
+    assertEquals(1.0, saved());
+  }
+}
@@ -0,0 +1,142 @@
+package com.nt.order.microservice.config;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ResilientFeignClientTest {
+
+  private Client delegate;
+
+  private CircuitBreakerRegistry circuitBreakerRegistry;
+
+  private BulkheadRegistry bulkheadRegistry;
+
+  private SimpleMeterRegistry meterRegistry;
+
+  private ResilientFeignClient client;
+
+  private Request request;
+
+  @BeforeEach
+  public void setup() {
+    delegate = mock(Client.class);
+    meterRegistry = new SimpleMeterRegistry();
+    circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+      .slidingWindowSize(4)
+      .minimumNumberOfCalls(4)
+      .failureRateThreshold(50)
+      .waitDurationInOpenState(Duration.ofMinutes(1))
+      .build());
+    circuitBreakerRegistry.getEventPublisher()
+      .onEntryAdded(event -> ResilienceConfig.countTransitions(event.getAddedEntry(), meterRegistry));
+    bulkheadRegistry = BulkheadRegistry.of(BulkheadConfig.custom()
+      .maxConcurrentCalls(1)
+      .maxWaitDuration(Duration.ZERO)
+      .build());
+    client = new ResilientFeignClient(delegate, circuitBreakerRegistry, bulkheadRegistry);
+    request = Request.create(Request.HttpMethod.GET, "http://restaurants:300/restaurants/1", new HashMap<>(), null,
+      StandardCharsets.UTF_8, null);
+  }
+
+  private Response response(final int status) {
+    return Response.builder().status(status).reason("status").request(request).headers(new HashMap<>()).build();
+  }
+
+  @Test
+  public void testExecute_ServerErrorsOpenTheBreaker() throws IOException {
+    when(delegate.execute(any(), any())).thenReturn(response(503));
+
+    for (int i = 0; i < 4; i++) {
+      assertEquals(503, client.execute(request, new Request.Options()).status());
+    }
+
+    assertThrows(CallNotPermittedException.class, () -> client.execute(request, new Request.Options()));
+    assertEquals(CircuitBreaker.State.OPEN, circuitBreakerRegistry.circuitBreaker("restaurants:300").getState());
+    assertEquals(1.0, meterRegistry.get("feign.circuitbreaker.transitions")
+      .tag("from", "CLOSED").tag("to", "OPEN").counter().count());
+  }
+
+  @Test
+  public void testExecute_ClientErrorsAndConnectionFailures() throws IOException {
+    when(delegate.execute(any(), any())).thenReturn(response(404)).thenThrow(new IOException("refused"));
+
+    assertEquals(404, client.execute(request, new Request.Options()).status());
+    assertThrows(IOException.class, () -> client.execute(request, new Request.Options()));
+
+    CircuitBreaker.Metrics metrics = circuitBreakerRegistry.circuitBreaker("restaurants:300").getMetrics();
+    assertEquals(1, metrics.getNumberOfSuccessfulCalls());
+    assertEquals(1, metrics.getNumberOfFailedCalls());
+  }
+
+  @Test
+  public void testExecute_FullBulkheadRejectsAtOnce() throws Exception {
+    CountDownLatch inFlight = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    when(delegate.execute(any(), any())).thenAnswer(invocation -> {
+      inFlight.countDown();
+      assertTrue(release.await(5, TimeUnit.SECONDS));
+      return response(200);
+    });
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<Response> first = executor.submit(() -> client.execute(request, new Request.Options()));
+      assertTrue(inFlight.await(5, TimeUnit.SECONDS));
+
+      assertThrows(BulkheadFullException.class, () -> client.execute(request, new Request.Options()));
+
+      release.countDown();
+      assertEquals(200, first.get(5, TimeUnit.SECONDS).status());
+      assertEquals(1, bulkheadRegistry.bulkhead("restaurants:300").getMetrics().getAvailableConcurrentCalls());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testExecute_OpenBreakerDoesNotCallDownstream() throws IOException {
+    circuitBreakerRegistry.circuitBreaker("restaurants:300").transitionToOpenState();
+
+    assertThrows(CallNotPermittedException.class, () -> client.execute(request, new Request.Options()));
+
+    verify(delegate, never()).execute(any(), any());
+    assertEquals(1, bulkheadRegistry.bulkhead("restaurants:300").getMetrics().getAvailableConcurrentCalls());
+  }
+
+  @Test
+  public void testIsUnavailable() {
+    assertTrue(ResilientFeignClient.isUnavailable(
+      CallNotPermittedException.createCallNotPermittedException(CircuitBreaker.ofDefaults("x"))));
+    assertFalse(ResilientFeignClient.isUnavailable(new IllegalStateException("bug")));
+  }
+}
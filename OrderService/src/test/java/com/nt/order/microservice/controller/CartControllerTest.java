@@ -1,11 +1,14 @@
 package com.nt.order.microservice.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nt.order.microservice.dtos.CartBatchInDTO;
 import com.nt.order.microservice.dtos.CartInDTO;
+import com.nt.order.microservice.dtos.CartLineInDTO;
 import com.nt.order.microservice.dtos.CartOutDTO;
 import com.nt.order.microservice.dtos.CommonResponse;
 import com.nt.order.microservice.entities.Cart;
 import com.nt.order.microservice.service.CartService;
+import com.nt.order.microservice.util.CartAction;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -132,6 +135,30 @@ public class CartControllerTest {
       .andExpect(jsonPath("$.message").value("Success"));
   }
 
+  @Test
+  public void testApplyCartBatch_Success() throws Exception {
+    CartBatchInDTO batch = new CartBatchInDTO(1, 5, Arrays.asList(
+      new CartLineInDTO(CartAction.ADD, 100, 2, 20.2),
+      new CartLineInDTO(CartAction.REMOVE, 101, null, null)));
+    when(cartService.applyCartBatch(batch)).thenReturn(commonResponse);
+
+    mockMvc.perform(post("/cart/batch")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(batch)))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.message").value("Success"));
+  }
+
+  @Test
+  public void testApplyCartBatch_EmptyLinesRejected() throws Exception {
+    CartBatchInDTO batch = new CartBatchInDTO(1, 5, Collections.emptyList());
+
+    mockMvc.perform(post("/cart/batch")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(batch)))
+      .andExpect(status().isBadRequest());
+  }
+
   @Test
   public void testClearCartAfterPlaceAnOrder_Success() throws Exception {
     when(cartService.clearCartAfterPlaceAnOrder(anyInt())).thenReturn(commonResponse);
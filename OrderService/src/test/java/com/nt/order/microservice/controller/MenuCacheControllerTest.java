@@ -0,0 +1,42 @@
+package com.nt.order.microservice.controller;
+
+import com.nt.order.microservice.cache.MenuCache;
+import com.nt.order.microservice.util.Constants;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class MenuCacheControllerTest {
+
+  private MockMvc mockMvc;
+
+  @Mock
+  private MenuCache menuCache;
+
+  @InjectMocks
+  private MenuCacheController menuCacheController;
+
+  @BeforeEach
+  public void setup() {
+    MockitoAnnotations.openMocks(this);
+    mockMvc = MockMvcBuilders.standaloneSetup(menuCacheController).build();
+  }
+
+  @Test
+  public void testInvalidateMenu() throws Exception {
+    mockMvc.perform(delete("/menuCache/{restaurantId}", 2))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.message").value(Constants.MENU_CACHE_INVALIDATED));
+
+    verify(menuCache).invalidate(2);
+  }
+}
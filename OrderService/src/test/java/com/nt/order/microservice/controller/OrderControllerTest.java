@@ -5,7 +5,10 @@ import com.nt.order.microservice.dtos.CartItemDTO;
 import com.nt.order.microservice.dtos.CommonResponse;
 import com.nt.order.microservice.dtos.OrderInDTO;
 import com.nt.order.microservice.dtos.OrderOutDTO;
+import com.nt.order.microservice.dtos.OrderPageOutDTO;
+import com.nt.order.microservice.dtos.QuoteOutDTO;
 import com.nt.order.microservice.service.OrderService;
+import com.nt.order.microservice.util.Constants;
 import com.nt.order.microservice.util.OrderStatus;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,15 +16,22 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -49,6 +59,7 @@ public class OrderControllerTest {
   @BeforeEach
   public void setup() {
     MockitoAnnotations.openMocks(this);
+    ReflectionTestUtils.setField(orderController, "objectMapper", new ObjectMapper().findAndRegisterModules());
     mockMvc = MockMvcBuilders.standaloneSetup(orderController).build();
 
     orderInDTO = new OrderInDTO();
@@ -72,7 +83,7 @@ public class OrderControllerTest {
   @Test
   public void testPlaceOrder_Success() throws Exception {
 
-    when(orderService.placeOrder(orderInDTO)).thenReturn(commonResponse);
+    when(orderService.placeOrder(orderInDTO, null, null)).thenReturn(commonResponse);
 
     mockMvc.perform(post("/orders/place")
         .contentType(MediaType.APPLICATION_JSON)
@@ -83,6 +94,46 @@ public class OrderControllerTest {
   }
 
 
+  @Test
+  public void testPlaceOrder_PassesIdempotencyKey() throws Exception {
+
+    when(orderService.placeOrder(orderInDTO, "checkout-1", null)).thenReturn(commonResponse);
+
+    mockMvc.perform(post("/orders/place")
+        .header(Constants.IDEMPOTENCY_KEY_HEADER, "checkout-1")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(orderInDTO)))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.message").value("Success"));
+  }
+
+  @Test
+  public void testPlaceOrder_PassesQuoteToken() throws Exception {
+
+    when(orderService.placeOrder(orderInDTO, null, "quote-1")).thenReturn(commonResponse);
+
+    mockMvc.perform(post("/orders/place")
+        .header(Constants.QUOTE_TOKEN_HEADER, "quote-1")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(orderInDTO)))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.message").value("Success"));
+  }
+
+  @Test
+  public void testQuoteOrder_Success() throws Exception {
+
+    when(orderService.quoteOrder(orderInDTO))
+      .thenReturn(new QuoteOutDTO(200.0, "quote-1", LocalDateTime.of(2024, 5, 1, 12, 0)));
+
+    mockMvc.perform(post("/orders/quote")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(orderInDTO)))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.totalPrice").value(200.0))
+      .andExpect(jsonPath("$.quoteToken").value("quote-1"));
+  }
+
   @Test
   public void testCancelOrder_Success() throws Exception {
 
@@ -128,4 +179,73 @@ public class OrderControllerTest {
       .andExpect(jsonPath("$.length()").value(1))
       .andExpect(jsonPath("$[0].orderStatus").value("PLACED"));
   }
+
+  @Test
+  public void testStreamOrdersByUserId_JsonArray() throws Exception {
+    doAnswer(invocation -> {
+      Consumer<OrderOutDTO> consumer = invocation.getArgument(1);
+      consumer.accept(orderOutDTO);
+      consumer.accept(orderOutDTO);
+      return null;
+    }).when(orderService).streamOrdersByUserId(eq(1), any());
+
+    mockMvc.perform(get("/orders/user/1/stream"))
+      .andExpect(status().isOk())
+      .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+      .andExpect(jsonPath("$.length()").value(2))
+      .andExpect(jsonPath("$[1].orderStatus").value("PLACED"));
+  }
+
+  @Test
+  public void testStreamOrdersByUserId_Empty() throws Exception {
+    mockMvc.perform(get("/orders/user/1/stream"))
+      .andExpect(status().isOk())
+      .andExpect(content().string("[]"));
+  }
+
+  @Test
+  public void testStreamOrdersByRestaurantId_Ndjson() throws Exception {
+    doAnswer(invocation -> {
+      Consumer<OrderOutDTO> consumer = invocation.getArgument(1);
+      consumer.accept(orderOutDTO);
+      consumer.accept(orderOutDTO);
+      return null;
+    }).when(orderService).streamOrdersByRestaurantId(eq(2), any());
+
+    String body = mockMvc.perform(get("/orders/restaurant/2/stream")
+        .accept(MediaType.APPLICATION_NDJSON))
+      .andExpect(status().isOk())
+      .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+      .andReturn().getResponse().getContentAsString();
+
+    String[] lines = body.split("\n");
+    assertEquals(2, lines.length);
+    assertEquals("PLACED", objectMapper.readTree(lines[0]).get("orderStatus").asText());
+  }
+
+  @Test
+  public void testGetOrderPageByUserId_Success() throws Exception {
+    LocalDateTime before = LocalDateTime.of(2024, 5, 1, 12, 30);
+    OrderPageOutDTO page = new OrderPageOutDTO(Collections.singletonList(orderOutDTO), null, null);
+    when(orderService.getOrderPageByUserId(1, before, 7, 5)).thenReturn(page);
+
+    mockMvc.perform(get("/orders/user/1/page")
+        .param("beforeTiming", "2024-05-01T12:30:00")
+        .param("beforeOrderId", "7")
+        .param("size", "5"))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.orders.length()").value(1))
+      .andExpect(jsonPath("$.nextBeforeOrderId").doesNotExist());
+  }
+
+  @Test
+  public void testGetOrderPageByRestaurantId_DefaultSize() throws Exception {
+    OrderPageOutDTO page = new OrderPageOutDTO(Collections.singletonList(orderOutDTO), null, 4);
+    when(orderService.getOrderPageByRestaurantId(2, null, null, Constants.DEFAULT_ORDER_PAGE_SIZE)).thenReturn(page);
+
+    mockMvc.perform(get("/orders/restaurant/2/page"))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.orders[0].orderStatus").value("PLACED"))
+      .andExpect(jsonPath("$.nextBeforeOrderId").value(4));
+  }
 }
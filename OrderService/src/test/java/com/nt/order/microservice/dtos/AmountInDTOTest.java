@@ -54,4 +54,12 @@ public class AmountInDTOTest {
 
     assertEquals(testBalance, balance);
   }
+
+  @Test
+  public void testSetAndGetOrderId() {
+    AmountInDTO amountInDTO = new AmountInDTO();
+    amountInDTO.setOrderId(7);
+
+    assertEquals(7, amountInDTO.getOrderId());
+  }
 }
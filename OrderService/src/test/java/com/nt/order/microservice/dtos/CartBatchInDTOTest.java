@@ -0,0 +1,94 @@
+package com.nt.order.microservice.dtos;
+
+import com.nt.order.microservice.util.CartAction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CartBatchInDTOTest {
+
+  private Validator validator;
+
+  @BeforeEach
+  public void setUp() {
+    validator = Validation.buildDefaultValidatorFactory().getValidator();
+  }
+
+  @Test
+  public void testValidCartBatch() {
+    CartBatchInDTO batch = new CartBatchInDTO(1, 2, Arrays.asList(
+      new CartLineInDTO(CartAction.ADD, 3, 2, 100.0),
+      new CartLineInDTO(CartAction.REMOVE, 4, null, null)));
+
+    assertTrue(validator.validate(batch).isEmpty());
+  }
+
+  @Test
+  public void testEmptyLines() {
+    CartBatchInDTO batch = new CartBatchInDTO(1, 2, Collections.emptyList());
+
+    Set<ConstraintViolation<CartBatchInDTO>> violations = validator.validate(batch);
+    assertEquals(1, violations.size());
+    assertEquals("Cart batch lines cannot be empty", violations.iterator().next().getMessage());
+  }
+
+  @Test
+  public void testTooManyLines() {
+    List<CartLineInDTO> lines = new ArrayList<>();
+    for (int i = 0; i <= 50; i++) {
+      lines.add(new CartLineInDTO(CartAction.REMOVE, i, null, null));
+    }
+
+    Set<ConstraintViolation<CartBatchInDTO>> violations = validator.validate(new CartBatchInDTO(1, 2, lines));
+    assertEquals(1, violations.size());
+    assertEquals("Cart batch cannot have more than 50 lines", violations.iterator().next().getMessage());
+  }
+
+  @Test
+  public void testInvalidLineIsReported() {
+    CartBatchInDTO batch = new CartBatchInDTO(1, 2,
+      Collections.singletonList(new CartLineInDTO(CartAction.UPDATE, 3, 0, 100.0)));
+
+    Set<ConstraintViolation<CartBatchInDTO>> violations = validator.validate(batch);
+    assertEquals(1, violations.size());
+    assertEquals("Quantity must be at least 1", violations.iterator().next().getMessage());
+  }
+
+  @Test
+  public void testNullUserId() {
+    CartBatchInDTO batch = new CartBatchInDTO(null, 2,
+      Collections.singletonList(new CartLineInDTO(CartAction.REMOVE, 3, null, null)));
+
+    Set<ConstraintViolation<CartBatchInDTO>> violations = validator.validate(batch);
+    assertEquals(1, violations.size());
+    assertEquals("User ID cannot be null", violations.iterator().next().getMessage());
+  }
+
+  @Test
+  public void testEqualsHashCodeAndToString() {
+    CartBatchInDTO batch = new CartBatchInDTO(1, 2,
+      Collections.singletonList(new CartLineInDTO(CartAction.ADD, 3, 2, 100.0)));
+    CartBatchInDTO same = new CartBatchInDTO(1, 2,
+      Collections.singletonList(new CartLineInDTO(CartAction.ADD, 3, 2, 100.0)));
+    CartBatchInDTO other = new CartBatchInDTO(1, 2,
+      Collections.singletonList(new CartLineInDTO(CartAction.REMOVE, 3, null, null)));
+
+    assertEquals(batch, same);
+    assertEquals(batch.hashCode(), same.hashCode());
+    assertNotEquals(batch, other);
+    assertEquals("CartBatchInDTO{userId=1, restaurantId=2, lines=[CartLineInDTO{action=ADD, foodItemId=3, "
+      + "quantity=2, price=100.0}]}", batch.toString());
+  }
+}
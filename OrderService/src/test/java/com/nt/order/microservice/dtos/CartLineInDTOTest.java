@@ -0,0 +1,66 @@
+package com.nt.order.microservice.dtos;
+
+import com.nt.order.microservice.util.CartAction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CartLineInDTOTest {
+
+  private Validator validator;
+
+  @BeforeEach
+  public void setUp() {
+    validator = Validation.buildDefaultValidatorFactory().getValidator();
+  }
+
+  @Test
+  public void testRemoveLineNeedsNoQuantityOrPrice() {
+    assertTrue(validator.validate(new CartLineInDTO(CartAction.REMOVE, 3, null, null)).isEmpty());
+  }
+
+  @Test
+  public void testNullAction() {
+    Set<ConstraintViolation<CartLineInDTO>> violations = validator.validate(new CartLineInDTO(null, 3, 1, 100.0));
+    assertEquals(1, violations.size());
+    assertEquals("Action cannot be null", violations.iterator().next().getMessage());
+  }
+
+  @Test
+  public void testNullFoodItemId() {
+    Set<ConstraintViolation<CartLineInDTO>> violations =
+      validator.validate(new CartLineInDTO(CartAction.ADD, null, 1, 100.0));
+    assertEquals(1, violations.size());
+    assertEquals("Food Item ID cannot be null", violations.iterator().next().getMessage());
+  }
+
+  @Test
+  public void testInvalidPriceFormat() {
+    Set<ConstraintViolation<CartLineInDTO>> violations =
+      validator.validate(new CartLineInDTO(CartAction.ADD, 3, 1, 100.123));
+    assertEquals(1, violations.size());
+    assertEquals("Price format is invalid", violations.iterator().next().getMessage());
+  }
+
+  @Test
+  public void testGettersAndSetters() {
+    CartLineInDTO line = new CartLineInDTO();
+    line.setAction(CartAction.UPDATE);
+    line.setFoodItemId(3);
+    line.setQuantity(4);
+    line.setPrice(25.5);
+
+    assertEquals(CartAction.UPDATE, line.getAction());
+    assertEquals(3, line.getFoodItemId());
+    assertEquals(4, line.getQuantity());
+    assertEquals(25.5, line.getPrice());
+    assertEquals(new CartLineInDTO(CartAction.UPDATE, 3, 4, 25.5), line);
+  }
+}
@@ -2,7 +2,6 @@ package com.nt.order.microservice.dtos;
 
 import org.junit.jupiter.api.Test;
 
-import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
@@ -37,7 +36,7 @@ class FoodItemOutDTOTest {
     String description = "Sample Description";
     Double price = 100.0;
     boolean isAvailable = true;
-    byte[] foodItemImage = new byte[] {1, 2, 3};
+    String foodItemImage = "/foodItems/1/image";
 
     // When
     FoodItemOutDTO dto = new FoodItemOutDTO(foodItemId, categoryId, restaurantId, foodItemName,
@@ -51,7 +50,7 @@ class FoodItemOutDTOTest {
     assertEquals(description, dto.getDescription());
     assertEquals(price, dto.getPrice());
     assertTrue(dto.isAvailable());
-    assertArrayEquals(foodItemImage, dto.getFoodItemImage());
+    assertEquals(foodItemImage, dto.getFoodItemImage());
   }
 
   @Test
@@ -65,7 +64,7 @@ class FoodItemOutDTOTest {
     String description = "Another Description";
     Double price = 200.0;
     boolean isAvailable = false;
-    byte[] foodItemImage = new byte[] {4, 5, 6};
+    String foodItemImage = "/foodItems/4/image";
 
     // When
     dto.setFoodItemId(foodItemId);
@@ -85,15 +84,15 @@ class FoodItemOutDTOTest {
     assertEquals(description, dto.getDescription());
     assertEquals(price, dto.getPrice());
     assertFalse(dto.isAvailable());
-    assertArrayEquals(foodItemImage, dto.getFoodItemImage());
+    assertEquals(foodItemImage, dto.getFoodItemImage());
   }
 
   @Test
   void testEqualsAndHashCode() {
     // Given
-    FoodItemOutDTO dto1 = new FoodItemOutDTO(1, 2, 3, "FoodName", "Description", 100.0, true, new byte[] {1, 2, 3});
-    FoodItemOutDTO dto2 = new FoodItemOutDTO(1, 2, 3, "FoodName", "Description", 100.0, true, new byte[] {1, 2, 3});
-    FoodItemOutDTO dto3 = new FoodItemOutDTO(2, 3, 4, "DifferentFood", "Different Description", 200.0, false, new byte[] {4, 5, 6});
+    FoodItemOutDTO dto1 = new FoodItemOutDTO(1, 2, 3, "FoodName", "Description", 100.0, true, "/foodItems/1/image");
+    FoodItemOutDTO dto2 = new FoodItemOutDTO(1, 2, 3, "FoodName", "Description", 100.0, true, "/foodItems/1/image");
+    FoodItemOutDTO dto3 = new FoodItemOutDTO(2, 3, 4, "DifferentFood", "Different Description", 200.0, false, "/foodItems/4/image");
 
     // Then
     assertEquals(dto1, dto2);
@@ -105,7 +104,7 @@ class FoodItemOutDTOTest {
   @Test
   void testToString() {
     // Given
-    FoodItemOutDTO dto = new FoodItemOutDTO(1, 2, 3, "FoodItem", "Food Description", 150.0, true, new byte[] {7, 8, 9});
+    FoodItemOutDTO dto = new FoodItemOutDTO(1, 2, 3, "FoodItem", "Food Description", 150.0, true, "/foodItems/7/image");
 
     // When
     String result = dto.toString();
@@ -118,6 +117,6 @@ class FoodItemOutDTOTest {
     assertTrue(result.contains("description='Food Description'"));
     assertTrue(result.contains("Price=150.0"));
     assertTrue(result.contains("isAvailable=true"));
-    assertTrue(result.contains("foodItemImage=[7, 8, 9]"));
+    assertTrue(result.contains("foodItemImage='/foodItems/7/image'"));
   }
 }
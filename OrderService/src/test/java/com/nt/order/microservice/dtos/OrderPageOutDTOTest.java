@@ -0,0 +1,65 @@
+package com.nt.order.microservice.dtos;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderPageOutDTOTest {
+
+  private final LocalDateTime timing = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+  @Test
+  void testNoArgsConstructor() {
+    OrderPageOutDTO page = new OrderPageOutDTO();
+    assertNull(page.getOrders());
+    assertNull(page.getNextBeforeTiming());
+    assertNull(page.getNextBeforeOrderId());
+  }
+
+  @Test
+  void testAllArgsConstructor() {
+    List<OrderOutDTO> orders = Collections.singletonList(new OrderOutDTO());
+    OrderPageOutDTO page = new OrderPageOutDTO(orders, timing, 7);
+
+    assertEquals(orders, page.getOrders());
+    assertEquals(timing, page.getNextBeforeTiming());
+    assertEquals(7, page.getNextBeforeOrderId());
+  }
+
+  @Test
+  void testSettersAndGetters() {
+    OrderPageOutDTO page = new OrderPageOutDTO();
+    page.setOrders(Collections.emptyList());
+    page.setNextBeforeTiming(timing);
+    page.setNextBeforeOrderId(3);
+
+    assertTrue(page.getOrders().isEmpty());
+    assertEquals(timing, page.getNextBeforeTiming());
+    assertEquals(3, page.getNextBeforeOrderId());
+  }
+
+  @Test
+  void testEqualsAndHashCode() {
+    OrderPageOutDTO page1 = new OrderPageOutDTO(Collections.emptyList(), timing, 7);
+    OrderPageOutDTO page2 = new OrderPageOutDTO(Collections.emptyList(), timing, 7);
+    OrderPageOutDTO page3 = new OrderPageOutDTO(Collections.emptyList(), null, null);
+
+    assertEquals(page1, page2);
+    assertEquals(page1.hashCode(), page2.hashCode());
+    assertNotEquals(page1, page3);
+    assertNotEquals(page1, null);
+  }
+
+  @Test
+  void testToString() {
+    OrderPageOutDTO page = new OrderPageOutDTO(Collections.emptyList(), timing, 7);
+    assertTrue(page.toString().contains("nextBeforeOrderId=7"));
+  }
+}
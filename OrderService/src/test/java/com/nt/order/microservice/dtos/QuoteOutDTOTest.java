@@ -0,0 +1,55 @@
+package com.nt.order.microservice.dtos;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuoteOutDTOTest {
+
+  private final LocalDateTime expiresAt = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+  @Test
+  void testNoArgsConstructor() {
+    QuoteOutDTO quote = new QuoteOutDTO();
+    assertNull(quote.getTotalPrice());
+    assertNull(quote.getQuoteToken());
+    assertNull(quote.getExpiresAt());
+  }
+
+  @Test
+  void testSettersAndGetters() {
+    QuoteOutDTO quote = new QuoteOutDTO();
+    quote.setTotalPrice(120.0);
+    quote.setQuoteToken("token");
+    quote.setExpiresAt(expiresAt);
+
+    assertEquals(120.0, quote.getTotalPrice());
+    assertEquals("token", quote.getQuoteToken());
+    assertEquals(expiresAt, quote.getExpiresAt());
+  }
+
+  @Test
+  void testEqualsAndHashCode() {
+    QuoteOutDTO quote1 = new QuoteOutDTO(120.0, "token", expiresAt);
+    QuoteOutDTO quote2 = new QuoteOutDTO(120.0, "token", expiresAt);
+    QuoteOutDTO quote3 = new QuoteOutDTO(120.0, "other", expiresAt);
+
+    assertEquals(quote1, quote2);
+    assertEquals(quote1.hashCode(), quote2.hashCode());
+    assertNotEquals(quote1, quote3);
+    assertNotEquals(quote1, null);
+  }
+
+  @Test
+  void testToStringLeavesOutTheToken() {
+    String text = new QuoteOutDTO(120.0, "token", expiresAt).toString();
+    assertTrue(text.contains("totalPrice=120.0"));
+    assertFalse(text.contains("token"));
+  }
+}
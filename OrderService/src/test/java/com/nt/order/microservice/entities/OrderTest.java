@@ -58,7 +58,8 @@ class OrderTest {
   void testToString() {
     String expectedString = "Order{" +
       "OrderId=1, userId=101, restaurantId=201, addressId=301, orderStatus=PLACED, " +
-      "totalPrice=150.0, cartItems='[]', placedTiming=" + fixedPlacedTiming + '}';  // Use the fixed time in expected string
+      "totalPrice=150.0, cartItems='[]', placedTiming=" + fixedPlacedTiming
+      + ", idempotencyKey='null'}";  // Use the fixed time in expected string
     assertEquals(expectedString, order.toString());
   }
 
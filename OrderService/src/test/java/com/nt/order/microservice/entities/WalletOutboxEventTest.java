@@ -0,0 +1,64 @@
+package com.nt.order.microservice.entities;
+
+import com.nt.order.microservice.util.OutboxStatus;
+import com.nt.order.microservice.util.WalletOperation;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class WalletOutboxEventTest {
+
+  @Test
+  public void testCreatedFromOrder() {
+    Order order = new Order();
+    order.setOrderId(7);
+    order.setUserId(1);
+    order.setTotalPrice(100.0);
+    LocalDateTime now = LocalDateTime.now();
+
+    WalletOutboxEvent event = new WalletOutboxEvent(order, WalletOperation.DEBIT, now);
+
+    assertNull(event.getId());
+    assertEquals(7, event.getOrderId());
+    assertEquals(1, event.getUserId());
+    assertEquals(100.0, event.getAmount());
+    assertEquals(WalletOperation.DEBIT, event.getOperation());
+    assertEquals(OutboxStatus.PENDING, event.getStatus());
+    assertEquals(0, event.getAttempts());
+    assertEquals(now, event.getNextAttemptAt());
+    assertEquals(now, event.getCreatedAt());
+  }
+
+  @Test
+  public void testLastErrorIsTruncated() {
+    WalletOutboxEvent event = new WalletOutboxEvent();
+    StringBuilder error = new StringBuilder();
+    for (int i = 0; i < WalletOutboxEvent.MAX_ERROR_LENGTH + 10; i++) {
+      error.append('x');
+    }
+
+    event.setLastError(error.toString());
+
+    assertEquals(WalletOutboxEvent.MAX_ERROR_LENGTH, event.getLastError().length());
+  }
+
+  @Test
+  public void testEqualsAndHashCode() {
+    WalletOutboxEvent event1 = new WalletOutboxEvent();
+    event1.setId(1L);
+    event1.setStatus(OutboxStatus.PENDING);
+    WalletOutboxEvent event2 = new WalletOutboxEvent();
+    event2.setId(1L);
+    event2.setStatus(OutboxStatus.PENDING);
+
+    assertEquals(event1, event2);
+    assertEquals(event1.hashCode(), event2.hashCode());
+
+    event2.setStatus(OutboxStatus.DELIVERED);
+    assertNotEquals(event1, event2);
+  }
+}
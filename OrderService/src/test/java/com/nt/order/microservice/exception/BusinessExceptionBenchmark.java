@@ -0,0 +1,83 @@
+package com.nt.order.microservice.exception;
+
+import com.nt.order.microservice.util.Constants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Microbenchmark of the 404 and 400 paths: an exception thrown deep in a request thread, caught and turned into an
+ * error response, once with a full stack trace as before and once as a {@link BusinessException}.
+ * <p>
+ * Not run by the build. Run it with
+ * {@code mvn test-compile exec:java -Dexec.mainClass=com.nt.order.microservice.exception.BusinessExceptionBenchmark
+ * -Dexec.classpathScope=test} or from the IDE.
+ * </p>
+ */
+public final class BusinessExceptionBenchmark {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(BusinessExceptionBenchmark.class);
+
+  /**
+   * Frames between the servlet container and a service method in a Spring MVC request.
+   */
+  private static final int STACK_DEPTH = 120;
+
+  private static final int WARMUP_ITERATIONS = 200_000;
+
+  private static final int MEASURED_ITERATIONS = 1_000_000;
+
+  private static final GlobalExceptionHandler HANDLER = new GlobalExceptionHandler();
+
+  private static long sink;
+
+  private BusinessExceptionBenchmark() {
+  }
+
+  public static void main(final String[] args) {
+    run("404 with stack trace", () -> new RuntimeException(Constants.CART_NOT_FOUND),
+      ex -> new ResponseEntity<>(new ErrorResponse(HttpStatus.NOT_FOUND.value(), ex.getMessage()), HttpStatus.NOT_FOUND));
+    run("404 business exception", () -> new ResourceNotFoundException(Constants.CART_NOT_FOUND),
+      ex -> HANDLER.handleUserNotFoundException((ResourceNotFoundException) ex));
+    run("400 with stack trace", () -> new RuntimeException(Constants.INVALID_PAGE_SIZE),
+      ex -> new ResponseEntity<>(new ErrorResponse(HttpStatus.BAD_REQUEST.value(), ex.getMessage()),
+        HttpStatus.BAD_REQUEST));
+    run("400 business exception", () -> new InvalidRequestException(Constants.INVALID_PAGE_SIZE),
+      ex -> HANDLER.handleInvalidRequestException((InvalidRequestException) ex));
+    LOGGER.info("(sink {})", sink);
+  }
+
+  private static void run(final String name, final Supplier<RuntimeException> exception,
+                          final Function<RuntimeException, ResponseEntity<ErrorResponse>> handler) {
+    measure(exception, handler, WARMUP_ITERATIONS);
+    long start = System.nanoTime();
+    measure(exception, handler, MEASURED_ITERATIONS);
+    long elapsed = System.nanoTime() - start;
+    LOGGER.info("{} {} ns/op ({} ms total)", String.format("%-24s", name),
+      String.format("%8.0f", (double) elapsed / MEASURED_ITERATIONS), TimeUnit.NANOSECONDS.toMillis(elapsed));
+  }
+
+  private static void measure(final Supplier<RuntimeException> exception,
+                              final Function<RuntimeException, ResponseEntity<ErrorResponse>> handler,
+                              final int iterations) {
+    for (int i = 0; i < iterations; i++) {
+      try {
+        sink += throwAt(STACK_DEPTH, exception);
+      } catch (RuntimeException ex) {
+        sink += handler.apply(ex).getStatusCodeValue();
+      }
+    }
+  }
+
+  private static int throwAt(final int depth, final Supplier<RuntimeException> exception) {
+    if (depth == 0) {
+      throw exception.get();
+    }
+    return throwAt(depth - 1, exception) + 1;
+  }
+}
@@ -0,0 +1,45 @@
+package com.nt.order.microservice.exception;
+
+import com.nt.order.microservice.util.Constants;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BusinessExceptionTest {
+
+  private final GlobalExceptionHandler globalExceptionHandler = new GlobalExceptionHandler();
+
+  @Test
+  public void testBusinessExceptions_CaptureNoStackTrace() {
+    List<BusinessException> exceptions = Arrays.asList(
+      new ResourceNotFoundException(Constants.CART_NOT_FOUND),
+      new InvalidRequestException(Constants.INVALID_PAGE_SIZE),
+      new UnauthorizedException("Unauthorized"),
+      new ResourceAlreadyExistException("Already exists"),
+      new InsufficientBalanceException(Constants.INSUFFICIENT_BALANCE));
+
+    for (BusinessException exception : exceptions) {
+      assertEquals(0, exception.getStackTrace().length);
+      exception.addSuppressed(new IllegalStateException());
+      assertEquals(0, exception.getSuppressed().length);
+    }
+  }
+
+  @Test
+  public void testBusinessException_IsStillThrownAndHandled() {
+    ResourceNotFoundException thrown = assertThrows(ResourceNotFoundException.class, () -> {
+      throw new ResourceNotFoundException(Constants.CART_NOT_FOUND);
+    });
+
+    ResponseEntity<ErrorResponse> response = globalExceptionHandler.handleUserNotFoundException(thrown);
+
+    assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    assertEquals(Constants.CART_NOT_FOUND, response.getBody().getMessage());
+  }
+}
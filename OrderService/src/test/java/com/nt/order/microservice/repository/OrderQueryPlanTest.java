@@ -0,0 +1,254 @@
+package com.nt.order.microservice.repository;
+
+import com.nt.order.microservice.cache.WriteBehindCartStore;
+import com.nt.order.microservice.dtos.CartLineInDTO;
+import com.nt.order.microservice.serviceimpl.AbandonedCartSweeper;
+import com.nt.order.microservice.util.CartAction;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Applies the migrations to a real PostgreSQL and checks that the hot order and cart queries can use the indexes,
+ * that duplicate cart lines left by the old cart add are merged before the unique cart index is built,
+ * and that the native cart upsert, batch, write-behind and sweeper statements run against the schema.
+ * Sequential scans are disabled so the planner picks an index whenever one is usable, regardless of table size.
+ * Skipped when Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class OrderQueryPlanTest {
+
+  @Container
+  private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:14-alpine");
+
+  private static Connection connection;
+
+  @BeforeAll
+  static void migrate() throws SQLException {
+    Flyway.configure()
+      .dataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword())
+      .load()
+      .migrate();
+    connection = DriverManager.getConnection(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("SET enable_seqscan = off");
+    }
+  }
+
+  @AfterAll
+  static void close() throws SQLException {
+    if (connection != null) {
+      connection.close();
+    }
+  }
+
+  @Test
+  void duplicateCartLinesAreMergedBeforeTheUniqueIndex() throws SQLException {
+    Flyway.configure()
+      .dataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword())
+      .schemas("legacy_cart")
+      .target("1")
+      .load()
+      .migrate();
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("INSERT INTO legacy_cart.cart (cart_id, user_id, restaurant_id, food_item_id, quantity, price) "
+        + "VALUES (7, 1, 2, 3, 1, 10.0), (5, 1, 2, 3, 2, 20.0), (9, 1, 2, 3, 1, 10.0), (6, 1, 2, 4, 1, 5.0)");
+    }
+
+    Flyway.configure()
+      .dataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword())
+      .schemas("legacy_cart")
+      .load()
+      .migrate();
+
+    try (Statement statement = connection.createStatement();
+         ResultSet rows = statement.executeQuery(
+           "SELECT cart_id, quantity, price FROM legacy_cart.cart ORDER BY cart_id")) {
+      assertTrue(rows.next());
+      assertEquals(5, rows.getInt(1));
+      assertEquals(4, rows.getInt(2));
+      assertEquals(40.0, rows.getDouble(3));
+      assertTrue(rows.next());
+      assertEquals(6, rows.getInt(1));
+      assertFalse(rows.next());
+    }
+  }
+
+  @Test
+  void ordersByRestaurantUseRestaurantIndex() throws SQLException {
+    assertPlanUses("SELECT * FROM orders WHERE restaurant_id = 2 ORDER BY placed_timing DESC, order_id DESC",
+      "idx_orders_restaurant_placed");
+  }
+
+  @Test
+  void ordersByUserKeysetPageUsesUserIndex() throws SQLException {
+    assertPlanUses("SELECT * FROM orders WHERE user_id = 1 AND (placed_timing < now() "
+      + "OR (placed_timing = now() AND order_id < 10)) ORDER BY placed_timing DESC, order_id DESC LIMIT 21",
+      "idx_orders_user_placed");
+  }
+
+  @Test
+  void cartByUserAndRestaurantUsesUniqueIndex() throws SQLException {
+    assertPlanUses("SELECT * FROM cart WHERE user_id = 1 AND restaurant_id = 2", "ux_cart_user_restaurant_food_item");
+  }
+
+  @Test
+  void cartUpsertMergesRepeatedAddsIntoOneLine() throws SQLException {
+    assertTrue(upsertCartItem(7, 2, 3, 1, 100.0));
+    assertFalse(upsertCartItem(7, 2, 3, 2, 100.0));
+
+    try (Statement statement = connection.createStatement();
+         ResultSet rows = statement.executeQuery("SELECT quantity, price FROM cart WHERE user_id = 7")) {
+      assertTrue(rows.next());
+      assertEquals(3, rows.getInt(1));
+      assertEquals(100.0, rows.getDouble(2));
+      assertFalse(rows.next());
+    }
+  }
+
+  @Test
+  void cartBatchAddsUpdatesAndRemovesLines() throws SQLException {
+    assertTrue(upsertCartItem(8, 2, 3, 1, 100.0));
+    assertTrue(upsertCartItem(8, 2, 4, 5, 50.0));
+    assertTrue(upsertCartItem(8, 2, 5, 1, 20.0));
+    CartRepositoryImpl repository = new CartRepositoryImpl();
+    ReflectionTestUtils.setField(repository, "jdbcTemplate",
+      new JdbcTemplate(new SingleConnectionDataSource(connection, true)));
+
+    repository.applyLines(8, 2, Arrays.asList(
+      new CartLineInDTO(CartAction.ADD, 3, 2, 100.0),
+      new CartLineInDTO(CartAction.UPDATE, 4, 1, 50.0),
+      new CartLineInDTO(CartAction.REMOVE, 5, null, null),
+      new CartLineInDTO(CartAction.ADD, 6, 1, 30.0)));
+
+    try (Statement statement = connection.createStatement();
+         ResultSet rows = statement.executeQuery(
+           "SELECT food_item_id, quantity FROM cart WHERE user_id = 8 ORDER BY food_item_id")) {
+      int[][] expected = {{3, 3}, {4, 1}, {6, 1}};
+      for (int[] line : expected) {
+        assertTrue(rows.next());
+        assertEquals(line[0], rows.getInt(1));
+        assertEquals(line[1], rows.getInt(2));
+      }
+      assertFalse(rows.next());
+    }
+  }
+
+  @Test
+  void writeBehindCartStoreFlushesToTheCartTable() throws SQLException {
+    SingleConnectionDataSource dataSource = new SingleConnectionDataSource(connection, true);
+    WriteBehindCartStore cartStore = new WriteBehindCartStore();
+    ReflectionTestUtils.setField(cartStore, "cartRepository", mock(CartRepository.class));
+    ReflectionTestUtils.setField(cartStore, "jdbcTemplate", new JdbcTemplate(dataSource));
+    ReflectionTestUtils.setField(cartStore, "transactionManager", new DataSourceTransactionManager(dataSource));
+    ReflectionTestUtils.setField(cartStore, "meterRegistry", new SimpleMeterRegistry());
+    ReflectionTestUtils.setField(cartStore, "maxUsers", 100);
+    ReflectionTestUtils.setField(cartStore, "idleSeconds", 1800L);
+    ReflectionTestUtils.setField(cartStore, "idBlockSize", 10);
+    cartStore.registerMeters();
+
+    cartStore.upsertItem(9, 2, 3, 1, 100.0);
+    cartStore.upsertItem(9, 2, 4, 1, 50.0);
+    assertEquals(2, cartStore.flush());
+    cartStore.applyLines(9, 2, Arrays.asList(
+      new CartLineInDTO(CartAction.REMOVE, 3, null, null),
+      new CartLineInDTO(CartAction.ADD, 3, 2, 100.0),
+      new CartLineInDTO(CartAction.UPDATE, 4, 5, 50.0)));
+    assertEquals(3, cartStore.flush());
+
+    try (Statement statement = connection.createStatement();
+         ResultSet rows = statement.executeQuery(
+           "SELECT food_item_id, quantity FROM cart WHERE user_id = 9 ORDER BY food_item_id")) {
+      int[][] expected = {{3, 2}, {4, 5}};
+      for (int[] line : expected) {
+        assertTrue(rows.next());
+        assertEquals(line[0], rows.getInt(1));
+        assertEquals(line[1], rows.getInt(2));
+      }
+      assertFalse(rows.next());
+    }
+  }
+
+  @Test
+  void sweeperRemovesOnlyCartsWithoutRecentChanges() throws SQLException {
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("INSERT INTO cart (user_id, restaurant_id, food_item_id, quantity, price, updated_at) VALUES "
+        + "(30, 2, 3, 1, 10.0, now() - interval '2 days'), (30, 2, 4, 1, 10.0, now() - interval '3 days'), "
+        + "(31, 2, 3, 1, 10.0, now() - interval '2 days'), (31, 2, 4, 1, 10.0, now()), "
+        + "(32, 2, 3, 1, 10.0, now() - interval '2 days'), (33, 2, 3, 1, 10.0, now() - interval '2 days')");
+      statement.execute("UPDATE cart SET quantity = 2 WHERE user_id = 33");
+    }
+    SingleConnectionDataSource dataSource = new SingleConnectionDataSource(connection, true);
+    AbandonedCartSweeper sweeper = new AbandonedCartSweeper();
+    ReflectionTestUtils.setField(sweeper, "jdbcTemplate", new JdbcTemplate(dataSource));
+    ReflectionTestUtils.setField(sweeper, "transactionManager", new DataSourceTransactionManager(dataSource));
+    ReflectionTestUtils.setField(sweeper, "meterRegistry", new SimpleMeterRegistry());
+    ReflectionTestUtils.setField(sweeper, "ttlSeconds", 86400L);
+    ReflectionTestUtils.setField(sweeper, "batchSize", 1);
+    ReflectionTestUtils.setField(sweeper, "batchPauseMs", 0L);
+    ReflectionTestUtils.setField(sweeper, "maxBatchesPerRun", 10);
+    sweeper.registerMeters();
+
+    assertEquals(3, sweeper.sweep());
+
+    try (Statement statement = connection.createStatement();
+         ResultSet rows = statement.executeQuery(
+           "SELECT user_id, count(*) FROM cart WHERE user_id BETWEEN 30 AND 33 GROUP BY user_id ORDER BY user_id")) {
+      assertTrue(rows.next());
+      assertEquals(31, rows.getInt(1));
+      assertEquals(2, rows.getInt(2));
+      assertTrue(rows.next());
+      assertEquals(33, rows.getInt(1));
+      assertEquals(1, rows.getInt(2));
+      assertFalse(rows.next());
+    }
+  }
+
+  private static boolean upsertCartItem(final int userId, final int restaurantId, final int foodItemId,
+                                        final int quantity, final double price) throws SQLException {
+    try (PreparedStatement statement = connection.prepareStatement(CartRepository.UPSERT_ITEM.replaceAll("\\?\\d", "?"))) {
+      statement.setInt(1, userId);
+      statement.setInt(2, restaurantId);
+      statement.setInt(3, foodItemId);
+      statement.setInt(4, quantity);
+      statement.setDouble(5, price);
+      try (ResultSet rows = statement.executeQuery()) {
+        assertTrue(rows.next());
+        return rows.getBoolean(1);
+      }
+    }
+  }
+
+  private static void assertPlanUses(final String query, final String index) throws SQLException {
+    StringBuilder plan = new StringBuilder();
+    try (Statement statement = connection.createStatement();
+         ResultSet rows = statement.executeQuery("EXPLAIN " + query)) {
+      while (rows.next()) {
+        plan.append(rows.getString(1)).append('\n');
+      }
+    }
+    assertTrue(plan.toString().contains(index), "Expected " + index + " in plan:\n" + plan);
+  }
+}
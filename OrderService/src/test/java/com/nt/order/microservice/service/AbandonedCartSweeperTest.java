@@ -0,0 +1,109 @@
+package com.nt.order.microservice.service;
+
+import com.nt.order.microservice.serviceimpl.AbandonedCartSweeper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class AbandonedCartSweeperTest {
+
+  @Mock
+  private JdbcTemplate jdbcTemplate;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  @InjectMocks
+  private AbandonedCartSweeper abandonedCartSweeper;
+
+  private SimpleMeterRegistry meterRegistry;
+
+  @BeforeEach
+  public void setup() {
+    MockitoAnnotations.openMocks(this);
+    meterRegistry = new SimpleMeterRegistry();
+    ReflectionTestUtils.setField(abandonedCartSweeper, "meterRegistry", meterRegistry);
+    ReflectionTestUtils.setField(abandonedCartSweeper, "ttlSeconds", 3600L);
+    ReflectionTestUtils.setField(abandonedCartSweeper, "batchSize", 2);
+    ReflectionTestUtils.setField(abandonedCartSweeper, "batchPauseMs", 0L);
+    ReflectionTestUtils.setField(abandonedCartSweeper, "maxBatchesPerRun", 10);
+    abandonedCartSweeper.registerMeters();
+  }
+
+  private void verifyBatchAfter(final int cursor) {
+    verify(jdbcTemplate).queryForMap(anyString(), eq(cursor), eq(3600L), eq(2), eq(3600L));
+  }
+
+  private static Map<String, Object> batch(final Integer lastUserId, final long users, final long lines) {
+    Map<String, Object> result = new HashMap<>();
+    result.put("last_user_id", lastUserId);
+    result.put("users", users);
+    result.put("lines", lines);
+    return result;
+  }
+
+  @Test
+  public void testSweep_RemovesBatchesUntilAShortOne() {
+    when(jdbcTemplate.queryForMap(anyString(), any(), any(), any(), any()))
+      .thenReturn(batch(2, 2, 3), batch(5, 1, 1));
+
+    assertEquals(4, abandonedCartSweeper.sweep());
+
+    verifyBatchAfter(Integer.MIN_VALUE);
+    verifyBatchAfter(2);
+    assertEquals(4.0, meterRegistry.get("cart.sweeper.deleted").counter().count());
+    assertEquals(1, meterRegistry.get("cart.sweeper.run").timer().count());
+  }
+
+  @Test
+  public void testSweep_NextRunContinuesAfterTheBatchLimit() {
+    ReflectionTestUtils.setField(abandonedCartSweeper, "maxBatchesPerRun", 1);
+    when(jdbcTemplate.queryForMap(anyString(), any(), any(), any(), any()))
+      .thenReturn(batch(4, 2, 2), batch(null, 0, 0));
+
+    assertEquals(2, abandonedCartSweeper.sweep());
+    assertEquals(0, abandonedCartSweeper.sweep());
+    assertEquals(0, abandonedCartSweeper.sweep());
+
+    verifyBatchAfter(4);
+    verify(jdbcTemplate, times(2)).queryForMap(anyString(), eq(Integer.MIN_VALUE), any(), any(), any());
+  }
+
+  @Test
+  public void testSweep_NothingAbandoned() {
+    when(jdbcTemplate.queryForMap(anyString(), any(), any(), any(), any()))
+      .thenReturn(batch(null, 0, 0));
+
+    assertEquals(0, abandonedCartSweeper.sweep());
+
+    assertEquals(0.0, meterRegistry.get("cart.sweeper.deleted").counter().count());
+  }
+
+  @Test
+  public void testSweep_FullBatchContinuesWhenACartChangedMeanwhile() {
+    when(jdbcTemplate.queryForMap(anyString(), any(), any(), any(), any()))
+      .thenReturn(batch(2, 2, 1), batch(null, 0, 0));
+
+    assertEquals(1, abandonedCartSweeper.sweep());
+
+    verifyBatchAfter(Integer.MIN_VALUE);
+    verifyBatchAfter(2);
+  }
+}
@@ -1,6 +1,12 @@
 package com.nt.order.microservice.service;
 
+import com.nt.order.microservice.cache.DatabaseCartStore;
+import com.nt.order.microservice.cache.MenuCache;
+import com.nt.order.microservice.cache.RestaurantCache;
+import com.nt.order.microservice.cache.UserProfileCache;
+import com.nt.order.microservice.dtos.CartBatchInDTO;
 import com.nt.order.microservice.dtos.CartInDTO;
+import com.nt.order.microservice.dtos.CartLineInDTO;
 import com.nt.order.microservice.dtos.CartOutDTO;
 import com.nt.order.microservice.dtos.CommonResponse;
 import com.nt.order.microservice.dtos.FoodItemOutDTO;
@@ -16,24 +22,35 @@ import com.nt.order.microservice.serviceimpl.CartServiceImpl;
 import com.nt.order.microservice.serviceimpl.FoodItemFClient;
 import com.nt.order.microservice.serviceimpl.RestaurantFClient;
 import com.nt.order.microservice.serviceimpl.UserFClient;
+import com.nt.order.microservice.util.CartAction;
 import com.nt.order.microservice.util.Constants;
 import com.nt.order.microservice.util.Role;
+import feign.FeignException;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyInt;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -55,12 +72,39 @@ public class CartServiceImplTest {
   @Mock
   private FoodItemFClient foodItemFClient;
 
+  @Mock
+  private MenuCache menuCache;
+
   @InjectMocks
   private CartServiceImpl cartServiceImpl;
 
   @BeforeEach
   public void setup() {
     MockitoAnnotations.openMocks(this);
+    DatabaseCartStore cartStore = new DatabaseCartStore();
+    ReflectionTestUtils.setField(cartStore, "cartRepository", cartRepository);
+    ReflectionTestUtils.setField(cartServiceImpl, "cartStore", cartStore);
+    UserProfileCache userProfileCache = new UserProfileCache();
+    ReflectionTestUtils.setField(userProfileCache, "userFClient", userFClient);
+    ReflectionTestUtils.setField(userProfileCache, "meterRegistry", new SimpleMeterRegistry());
+    ReflectionTestUtils.setField(userProfileCache, "maxUsers", 100);
+    ReflectionTestUtils.setField(userProfileCache, "ttlSeconds", 0L);
+    userProfileCache.registerMeters();
+    ReflectionTestUtils.setField(cartServiceImpl, "userProfileCache", userProfileCache);
+    RestaurantCache restaurantCache = new RestaurantCache();
+    ReflectionTestUtils.setField(restaurantCache, "restaurantFClient", restaurantFClient);
+    ReflectionTestUtils.setField(restaurantCache, "meterRegistry", new SimpleMeterRegistry());
+    ReflectionTestUtils.setField(restaurantCache, "maxRestaurants", 100);
+    ReflectionTestUtils.setField(restaurantCache, "maxStaleSeconds", 600L);
+    restaurantCache.registerMeters();
+    ReflectionTestUtils.setField(cartServiceImpl, "restaurantCache", restaurantCache);
+  }
+
+  private FeignException feignError(final int status) {
+    Request request = Request.create(Request.HttpMethod.POST, "/foodItems/getFoodItems/2/batch", new HashMap<>(), null,
+      StandardCharsets.UTF_8, null);
+    return FeignException.errorStatus("FoodItemFClient#getFoodItemsByIds",
+      Response.builder().status(status).reason("error").request(request).headers(new HashMap<>()).build());
   }
 
   @Test
@@ -84,17 +128,81 @@ public class CartServiceImplTest {
 
     FoodItemOutDTO foodItemOutDTO = new FoodItemOutDTO();
     foodItemOutDTO.setFoodItemId(3);
+    foodItemOutDTO.setRestaurantId(2);
     foodItemOutDTO.setPrice(100.0);
-    when(foodItemFClient.getFoodItemById(3)).thenReturn(foodItemOutDTO);
-    when(foodItemFClient.getFoodItemsByRestaurant(2)).thenReturn(Collections.singletonList(foodItemOutDTO));
+    when(foodItemFClient.getFoodItemsByIds(2, Collections.singleton(3))).thenReturn(Collections.singletonList(foodItemOutDTO));
 
-    when(cartRepository.findByUserId(1)).thenReturn(Collections.emptyList());
+    when(cartRepository.upsertItem(1, 2, 3, 1, 100.0)).thenReturn(true);
 
     CommonResponse response = cartServiceImpl.addItemToCart(cartInDTO);
 
     assertNotNull(response);
     assertEquals(Constants.ITEM_ADDED_TO_CART_SUCCESS, response.getMessage());
-    verify(cartRepository, times(1)).save(any(Cart.class));
+    verify(cartRepository, times(1)).upsertItem(1, 2, 3, 1, 100.0);
+    verify(cartRepository, never()).findByUserId(anyInt());
+  }
+
+  @Test
+  public void testAddItemToCart_ExistingItemQuantityIsIncreased() {
+    CartInDTO cartInDTO = new CartInDTO();
+    cartInDTO.setUserId(1);
+    cartInDTO.setRestaurantId(2);
+    cartInDTO.setFoodItemId(3);
+    cartInDTO.setQuantity(1);
+    cartInDTO.setPrice(100.0);
+
+    UserOutDTO userOutDTO = new UserOutDTO();
+    userOutDTO.setId(1);
+    userOutDTO.setRole(Role.USER.name());
+    when(userFClient.getUserProfile(1)).thenReturn(userOutDTO);
+
+    RestaurantOutDTO restaurantOutDTO = new RestaurantOutDTO();
+    restaurantOutDTO.setRestaurantId(2);
+    when(restaurantFClient.getRestaurantById(2)).thenReturn(restaurantOutDTO);
+
+    FoodItemOutDTO foodItemOutDTO = new FoodItemOutDTO();
+    foodItemOutDTO.setFoodItemId(3);
+    foodItemOutDTO.setRestaurantId(2);
+    foodItemOutDTO.setPrice(100.0);
+    when(menuCache.getMenu(2)).thenReturn(Collections.singletonMap(3, foodItemOutDTO));
+
+    when(cartRepository.upsertItem(1, 2, 3, 1, 100.0)).thenReturn(false);
+
+    CommonResponse response = cartServiceImpl.addItemToCart(cartInDTO);
+
+    assertEquals(Constants.ITEM_QUANTITY_UPDATED_SUCCESS, response.getMessage());
+    verify(cartRepository, never()).save(any(Cart.class));
+  }
+
+  @Test
+  public void testAddItemToCart_UsesCachedMenu() {
+    CartInDTO cartInDTO = new CartInDTO();
+    cartInDTO.setUserId(1);
+    cartInDTO.setRestaurantId(2);
+    cartInDTO.setFoodItemId(3);
+    cartInDTO.setQuantity(1);
+    cartInDTO.setPrice(100.0);
+
+    UserOutDTO userOutDTO = new UserOutDTO();
+    userOutDTO.setId(1);
+    userOutDTO.setRole(Role.USER.name());
+    when(userFClient.getUserProfile(1)).thenReturn(userOutDTO);
+
+    RestaurantOutDTO restaurantOutDTO = new RestaurantOutDTO();
+    restaurantOutDTO.setRestaurantId(2);
+    when(restaurantFClient.getRestaurantById(2)).thenReturn(restaurantOutDTO);
+
+    FoodItemOutDTO foodItemOutDTO = new FoodItemOutDTO();
+    foodItemOutDTO.setFoodItemId(3);
+    foodItemOutDTO.setRestaurantId(2);
+    foodItemOutDTO.setPrice(100.0);
+    when(menuCache.getMenu(2)).thenReturn(Collections.singletonMap(3, foodItemOutDTO));
+    when(cartRepository.upsertItem(1, 2, 3, 1, 100.0)).thenReturn(true);
+
+    CommonResponse response = cartServiceImpl.addItemToCart(cartInDTO);
+
+    assertEquals(Constants.ITEM_ADDED_TO_CART_SUCCESS, response.getMessage());
+    verify(foodItemFClient, never()).getFoodItemsByIds(any(), any());
   }
 
   @Test
@@ -137,16 +245,100 @@ public class CartServiceImplTest {
     when(restaurantFClient.getRestaurantById(2)).thenReturn(restaurantOutDTO);
 
     FoodItemOutDTO foodItemOutDTO = new FoodItemOutDTO();
-    foodItemOutDTO.setFoodItemId(4);
+    foodItemOutDTO.setFoodItemId(3);
+    foodItemOutDTO.setRestaurantId(5);
     foodItemOutDTO.setPrice(100.0);
-    when(foodItemFClient.getFoodItemById(3)).thenReturn(foodItemOutDTO);
-    when(foodItemFClient.getFoodItemsByRestaurant(2)).thenReturn(Collections.singletonList(foodItemOutDTO));
+    when(foodItemFClient.getFoodItemsByIds(2, Collections.singleton(3))).thenReturn(Collections.singletonList(foodItemOutDTO));
+
+    ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
+      cartServiceImpl.addItemToCart(cartInDTO);
+    });
+
+    assertEquals(Constants.FOODITEM_NOT_FOUND, exception.getMessage());
+  }
+
+  @Test
+  public void testAddItemToCart_UnknownFoodItem() {
+    CartInDTO cartInDTO = new CartInDTO();
+    cartInDTO.setUserId(1);
+    cartInDTO.setRestaurantId(2);
+    cartInDTO.setFoodItemId(3);
+    cartInDTO.setQuantity(1);
+    cartInDTO.setPrice(100.0);
+
+    UserOutDTO userOutDTO = new UserOutDTO();
+    userOutDTO.setId(1);
+    userOutDTO.setRole(Role.USER.name());
+    when(userFClient.getUserProfile(1)).thenReturn(userOutDTO);
+
+    RestaurantOutDTO restaurantOutDTO = new RestaurantOutDTO();
+    restaurantOutDTO.setRestaurantId(2);
+    when(restaurantFClient.getRestaurantById(2)).thenReturn(restaurantOutDTO);
+
+    when(foodItemFClient.getFoodItemsByIds(2, Collections.singleton(3))).thenReturn(Collections.emptyList());
+
+    ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
+      cartServiceImpl.addItemToCart(cartInDTO);
+    });
+
+    assertEquals(Constants.FOODITEM_NOT_FOUND, exception.getMessage());
+    verify(cartRepository, never()).save(any(Cart.class));
+  }
+
+  @Test
+  public void testAddItemToCart_FoodItemsNotFoundDownstream() {
+    CartInDTO cartInDTO = new CartInDTO();
+    cartInDTO.setUserId(1);
+    cartInDTO.setRestaurantId(2);
+    cartInDTO.setFoodItemId(3);
+    cartInDTO.setQuantity(1);
+    cartInDTO.setPrice(100.0);
+
+    UserOutDTO userOutDTO = new UserOutDTO();
+    userOutDTO.setId(1);
+    userOutDTO.setRole(Role.USER.name());
+    when(userFClient.getUserProfile(1)).thenReturn(userOutDTO);
+
+    RestaurantOutDTO restaurantOutDTO = new RestaurantOutDTO();
+    restaurantOutDTO.setRestaurantId(2);
+    when(restaurantFClient.getRestaurantById(2)).thenReturn(restaurantOutDTO);
+
+    when(foodItemFClient.getFoodItemsByIds(2, Collections.singleton(3))).thenThrow(feignError(404));
 
     ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
       cartServiceImpl.addItemToCart(cartInDTO);
     });
 
     assertEquals(Constants.FOODITEM_NOT_FOUND, exception.getMessage());
+    verify(cartRepository, never()).save(any(Cart.class));
+  }
+
+  @Test
+  public void testAddItemToCart_FoodItemServiceUnavailablePropagates() {
+    CartInDTO cartInDTO = new CartInDTO();
+    cartInDTO.setUserId(1);
+    cartInDTO.setRestaurantId(2);
+    cartInDTO.setFoodItemId(3);
+    cartInDTO.setQuantity(1);
+    cartInDTO.setPrice(100.0);
+
+    UserOutDTO userOutDTO = new UserOutDTO();
+    userOutDTO.setId(1);
+    userOutDTO.setRole(Role.USER.name());
+    when(userFClient.getUserProfile(1)).thenReturn(userOutDTO);
+
+    RestaurantOutDTO restaurantOutDTO = new RestaurantOutDTO();
+    restaurantOutDTO.setRestaurantId(2);
+    when(restaurantFClient.getRestaurantById(2)).thenReturn(restaurantOutDTO);
+
+    when(foodItemFClient.getFoodItemsByIds(2, Collections.singleton(3))).thenThrow(feignError(503));
+
+    FeignException exception = assertThrows(FeignException.class, () -> {
+      cartServiceImpl.addItemToCart(cartInDTO);
+    });
+
+    assertEquals(503, exception.status());
+    verify(cartRepository, never()).save(any(Cart.class));
   }
 
   @Test
@@ -169,9 +361,9 @@ public class CartServiceImplTest {
 
     FoodItemOutDTO foodItemOutDTO = new FoodItemOutDTO();
     foodItemOutDTO.setFoodItemId(3);
+    foodItemOutDTO.setRestaurantId(2);
     foodItemOutDTO.setPrice(100.0); // Expected price
-    when(foodItemFClient.getFoodItemById(3)).thenReturn(foodItemOutDTO);
-    when(foodItemFClient.getFoodItemsByRestaurant(2)).thenReturn(Collections.singletonList(foodItemOutDTO));
+    when(foodItemFClient.getFoodItemsByIds(2, Collections.singleton(3))).thenReturn(Collections.singletonList(foodItemOutDTO));
 
     InvalidRequestException exception = assertThrows(InvalidRequestException.class, () -> {
       cartServiceImpl.addItemToCart(cartInDTO);
@@ -180,6 +372,124 @@ public class CartServiceImplTest {
     assertEquals(Constants.PRICE_MISMATCH, exception.getMessage());
   }
 
+  private void stubUserAndRestaurant(final String role) {
+    UserOutDTO userOutDTO = new UserOutDTO();
+    userOutDTO.setId(1);
+    userOutDTO.setRole(role);
+    when(userFClient.getUserProfile(1)).thenReturn(userOutDTO);
+    RestaurantOutDTO restaurantOutDTO = new RestaurantOutDTO();
+    restaurantOutDTO.setRestaurantId(2);
+    when(restaurantFClient.getRestaurantById(2)).thenReturn(restaurantOutDTO);
+  }
+
+  private FoodItemOutDTO foodItem(final int foodItemId, final double price) {
+    FoodItemOutDTO foodItemOutDTO = new FoodItemOutDTO();
+    foodItemOutDTO.setFoodItemId(foodItemId);
+    foodItemOutDTO.setRestaurantId(2);
+    foodItemOutDTO.setPrice(price);
+    return foodItemOutDTO;
+  }
+
+  @Test
+  public void testApplyCartBatch_Success() {
+    stubUserAndRestaurant(Role.USER.name());
+    when(menuCache.getMenu(2)).thenReturn(Collections.singletonMap(3, foodItem(3, 100.0)));
+    when(foodItemFClient.getFoodItemsByIds(2, Collections.singleton(4)))
+      .thenReturn(Collections.singletonList(foodItem(4, 50.0)));
+    List<CartLineInDTO> lines = Arrays.asList(
+      new CartLineInDTO(CartAction.ADD, 3, 2, 100.0),
+      new CartLineInDTO(CartAction.UPDATE, 4, 1, 50.0),
+      new CartLineInDTO(CartAction.REMOVE, 5, null, null));
+
+    CommonResponse response = cartServiceImpl.applyCartBatch(new CartBatchInDTO(1, 2, lines));
+
+    assertEquals(Constants.CART_BATCH_APPLIED_SUCCESSFULLY, response.getMessage());
+    verify(userFClient, times(1)).getUserProfile(1);
+    verify(menuCache, times(1)).getMenu(2);
+    verify(foodItemFClient, times(1)).getFoodItemsByIds(any(), any());
+    verify(cartRepository).applyLines(1, 2, lines);
+  }
+
+  @Test
+  public void testApplyCartBatch_OnlyRemovesNeedNoFoodItemLookup() {
+    stubUserAndRestaurant(Role.USER.name());
+    List<CartLineInDTO> lines = Collections.singletonList(new CartLineInDTO(CartAction.REMOVE, 5, null, null));
+
+    cartServiceImpl.applyCartBatch(new CartBatchInDTO(1, 2, lines));
+
+    verify(foodItemFClient, never()).getFoodItemsByIds(any(), any());
+    verify(cartRepository).applyLines(1, 2, lines);
+  }
+
+  @Test
+  public void testApplyCartBatch_DuplicateFoodItem() {
+    stubUserAndRestaurant(Role.USER.name());
+    CartBatchInDTO batch = new CartBatchInDTO(1, 2, Arrays.asList(
+      new CartLineInDTO(CartAction.ADD, 3, 2, 100.0),
+      new CartLineInDTO(CartAction.REMOVE, 3, null, null)));
+
+    InvalidRequestException exception = assertThrows(InvalidRequestException.class,
+      () -> cartServiceImpl.applyCartBatch(batch));
+
+    assertEquals(Constants.DUPLICATE_CART_BATCH_ITEM, exception.getMessage());
+    verify(cartRepository, never()).applyLines(any(), any(), any());
+  }
+
+  @Test
+  public void testApplyCartBatch_AddWithoutPrice() {
+    stubUserAndRestaurant(Role.USER.name());
+    CartBatchInDTO batch = new CartBatchInDTO(1, 2,
+      Collections.singletonList(new CartLineInDTO(CartAction.ADD, 3, 2, null)));
+
+    InvalidRequestException exception = assertThrows(InvalidRequestException.class,
+      () -> cartServiceImpl.applyCartBatch(batch));
+
+    assertEquals(Constants.INCOMPLETE_CART_BATCH_LINE, exception.getMessage());
+  }
+
+  @Test
+  public void testApplyCartBatch_PriceMismatchAppliesNothing() {
+    stubUserAndRestaurant(Role.USER.name());
+    Map<Integer, FoodItemOutDTO> menu = new HashMap<>();
+    menu.put(3, foodItem(3, 100.0));
+    menu.put(4, foodItem(4, 50.0));
+    when(menuCache.getMenu(2)).thenReturn(menu);
+    CartBatchInDTO batch = new CartBatchInDTO(1, 2, Arrays.asList(
+      new CartLineInDTO(CartAction.ADD, 3, 2, 100.0),
+      new CartLineInDTO(CartAction.ADD, 4, 1, 40.0)));
+
+    InvalidRequestException exception = assertThrows(InvalidRequestException.class,
+      () -> cartServiceImpl.applyCartBatch(batch));
+
+    assertEquals(Constants.PRICE_MISMATCH, exception.getMessage());
+    verify(cartRepository, never()).applyLines(any(), any(), any());
+  }
+
+  @Test
+  public void testApplyCartBatch_UnknownFoodItem() {
+    stubUserAndRestaurant(Role.USER.name());
+    when(foodItemFClient.getFoodItemsByIds(2, Collections.singleton(3))).thenReturn(Collections.emptyList());
+    CartBatchInDTO batch = new CartBatchInDTO(1, 2,
+      Collections.singletonList(new CartLineInDTO(CartAction.ADD, 3, 2, 100.0)));
+
+    ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+      () -> cartServiceImpl.applyCartBatch(batch));
+
+    assertEquals(Constants.FOODITEM_NOT_FOUND, exception.getMessage());
+  }
+
+  @Test
+  public void testApplyCartBatch_RestaurantOwnerNotAllowed() {
+    stubUserAndRestaurant(Role.RESTAURANT_OWNER.name());
+    CartBatchInDTO batch = new CartBatchInDTO(1, 2,
+      Collections.singletonList(new CartLineInDTO(CartAction.REMOVE, 3, null, null)));
+
+    UnauthorizedException exception = assertThrows(UnauthorizedException.class,
+      () -> cartServiceImpl.applyCartBatch(batch));
+
+    assertEquals(Constants.RESTAURANT_OWNER_CART_ERROR, exception.getMessage());
+  }
+
   @Test
   public void testGetCartById_Success() {
     Cart cart = new Cart(1, 1, 2, 3, 1, 100.0);
@@ -329,11 +639,10 @@ public class CartServiceImplTest {
     when(cartRepository.findById(cartId)).thenReturn(Optional.of(cart));
     doNothing().when(cartRepository).deleteById(cartId);
 
-    InvalidRequestException thrown = assertThrows(
-      InvalidRequestException.class,
-      () -> cartServiceImpl.updateQuantity(cartId, quantityChange)
-    );
-    assertEquals(Constants.ITEM_REMOVED_SUCCESSFULLY, thrown.getMessage());
+    CommonResponse response = cartServiceImpl.updateQuantity(cartId, quantityChange);
+
+    assertEquals(Constants.ITEM_REMOVED_SUCCESSFULLY, response.getMessage());
+    verify(cartRepository, times(1)).deleteById(cartId);
   }
 
   @Test
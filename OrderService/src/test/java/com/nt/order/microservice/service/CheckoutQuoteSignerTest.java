@@ -0,0 +1,88 @@
+package com.nt.order.microservice.service;
+
+import com.nt.order.microservice.dtos.CartItemDTO;
+import com.nt.order.microservice.dtos.OrderInDTO;
+import com.nt.order.microservice.dtos.QuoteOutDTO;
+import com.nt.order.microservice.serviceimpl.CheckoutQuoteSigner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CheckoutQuoteSignerTest {
+
+  private CheckoutQuoteSigner signer;
+
+  private OrderInDTO orderInDTO;
+
+  @BeforeEach
+  public void setup() {
+    signer = signer("test-secret", 120L);
+    orderInDTO = new OrderInDTO(1, 2, 3, Arrays.asList(new CartItemDTO(10, 2, 50.0), new CartItemDTO(11, 1, 30.0)));
+  }
+
+  private CheckoutQuoteSigner signer(final String secret, final long ttlSeconds) {
+    CheckoutQuoteSigner quoteSigner = new CheckoutQuoteSigner();
+    ReflectionTestUtils.setField(quoteSigner, "secret", secret);
+    ReflectionTestUtils.setField(quoteSigner, "ttlSeconds", ttlSeconds);
+    quoteSigner.initKey();
+    return quoteSigner;
+  }
+
+  @Test
+  public void testIssue_TokenIsAcceptedForTheSameOrder() {
+    QuoteOutDTO quote = signer.issue(orderInDTO, 130.0);
+
+    assertEquals(130.0, quote.getTotalPrice());
+    assertTrue(signer.verify(orderInDTO, quote.getQuoteToken()));
+  }
+
+  @Test
+  public void testVerify_ItemOrderDoesNotMatter() {
+    String token = signer.issue(orderInDTO, 130.0).getQuoteToken();
+    OrderInDTO reordered = new OrderInDTO(1, 2, 3,
+      Arrays.asList(new CartItemDTO(11, 1, 30.0), new CartItemDTO(10, 2, 50.0)));
+
+    assertTrue(signer.verify(reordered, token));
+  }
+
+  @Test
+  public void testVerify_ChangedOrderIsRejected() {
+    String token = signer.issue(orderInDTO, 130.0).getQuoteToken();
+
+    assertFalse(signer.verify(new OrderInDTO(1, 2, 4, orderInDTO.getCartItems()), token));
+    assertFalse(signer.verify(new OrderInDTO(5, 2, 3, orderInDTO.getCartItems()), token));
+    assertFalse(signer.verify(new OrderInDTO(1, 2, 3, Arrays.asList(new CartItemDTO(10, 2, 40.0))), token));
+  }
+
+  @Test
+  public void testVerify_TamperedOrMalformedTokenIsRejected() {
+    String token = signer.issue(orderInDTO, 130.0).getQuoteToken();
+    String extended = (Long.parseLong(token.substring(0, token.indexOf('.'))) + 60000) + token.substring(token.indexOf('.'));
+
+    assertFalse(signer.verify(orderInDTO, extended));
+    assertFalse(signer.verify(orderInDTO, "not-a-token"));
+    assertFalse(signer.verify(orderInDTO, "abc.def"));
+  }
+
+  @Test
+  public void testVerify_ExpiredTokenIsRejected() {
+    CheckoutQuoteSigner expired = signer("test-secret", -1L);
+
+    assertFalse(expired.verify(orderInDTO, expired.issue(orderInDTO, 130.0).getQuoteToken()));
+  }
+
+  @Test
+  public void testVerify_TokenIsSharedOnlyBetweenInstancesWithTheSameSecret() {
+    String token = signer.issue(orderInDTO, 130.0).getQuoteToken();
+
+    assertTrue(signer("test-secret", 120L).verify(orderInDTO, token));
+    assertFalse(signer("other-secret", 120L).verify(orderInDTO, token));
+    assertFalse(signer("", 120L).verify(orderInDTO, token));
+  }
+}
@@ -1,5 +1,10 @@
 package com.nt.order.microservice.service;
 
+import com.nt.order.microservice.cache.DatabaseCartStore;
+import com.nt.order.microservice.cache.IdempotencyCache;
+import com.nt.order.microservice.cache.MenuCache;
+import com.nt.order.microservice.cache.RestaurantCache;
+import com.nt.order.microservice.cache.UserProfileCache;
 import com.nt.order.microservice.dtos.AddressOutDTO;
 import com.nt.order.microservice.dtos.AmountInDTO;
 import com.nt.order.microservice.dtos.CartItemDTO;
@@ -7,14 +12,21 @@ import com.nt.order.microservice.dtos.CommonResponse;
 import com.nt.order.microservice.dtos.FoodItemOutDTO;
 import com.nt.order.microservice.dtos.OrderInDTO;
 import com.nt.order.microservice.dtos.OrderOutDTO;
+import com.nt.order.microservice.dtos.OrderPageOutDTO;
+import com.nt.order.microservice.dtos.QuoteOutDTO;
 import com.nt.order.microservice.dtos.RestaurantOutDTO;
 import com.nt.order.microservice.dtos.UserOutDTO;
 import com.nt.order.microservice.entities.Order;
+import com.nt.order.microservice.entities.WalletOutboxEvent;
+import com.nt.order.microservice.exception.InsufficientBalanceException;
+import com.nt.order.microservice.exception.InvalidRequestException;
 import com.nt.order.microservice.exception.ResourceNotFoundException;
 import com.nt.order.microservice.exception.UnauthorizedException;
 import com.nt.order.microservice.repository.CartRepository;
 import com.nt.order.microservice.repository.OrderRepository;
+import com.nt.order.microservice.repository.WalletOutboxRepository;
 import com.nt.order.microservice.serviceimpl.AddressFClient;
+import com.nt.order.microservice.serviceimpl.CheckoutQuoteSigner;
 import com.nt.order.microservice.serviceimpl.FoodItemFClient;
 import com.nt.order.microservice.serviceimpl.OrderServiceImpl;
 import com.nt.order.microservice.serviceimpl.RestaurantFClient;
@@ -22,27 +34,55 @@ import com.nt.order.microservice.serviceimpl.UserFClient;
 import com.nt.order.microservice.util.Constants;
 import com.nt.order.microservice.util.OrderStatus;
 import com.nt.order.microservice.util.Role;
+import com.nt.order.microservice.util.WalletOperation;
 import feign.FeignException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 
+import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -69,19 +109,59 @@ public class OrderServiceImplTest {
   @Mock
   private FoodItemFClient foodItemFClient;
 
+  @Mock
+  private MenuCache menuCache;
+
+  @Mock
+  private IdempotencyCache idempotencyCache;
+
   @Mock
   private CartRepository cartRepository;
 
+  @Mock
+  private EntityManager entityManager;
+
+  @Mock
+  private WalletOutboxRepository walletOutboxRepository;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
   private OrderInDTO orderInDTO;
   private Order order;
   private UserOutDTO userOutDTO;
   private RestaurantOutDTO restaurantOutDTO;
   private AddressOutDTO addressOutDTO;
   private FoodItemOutDTO foodItemOutDTO;
+  private ExecutorService validationExecutor;
 
   @BeforeEach
   public void setup() {
     MockitoAnnotations.openMocks(this);
+    DatabaseCartStore cartStore = new DatabaseCartStore();
+    ReflectionTestUtils.setField(cartStore, "cartRepository", cartRepository);
+    ReflectionTestUtils.setField(orderService, "cartStore", cartStore);
+    UserProfileCache userProfileCache = new UserProfileCache();
+    ReflectionTestUtils.setField(userProfileCache, "userFClient", userFClient);
+    ReflectionTestUtils.setField(userProfileCache, "meterRegistry", new SimpleMeterRegistry());
+    ReflectionTestUtils.setField(userProfileCache, "maxUsers", 100);
+    ReflectionTestUtils.setField(userProfileCache, "ttlSeconds", 0L);
+    userProfileCache.registerMeters();
+    ReflectionTestUtils.setField(orderService, "userProfileCache", userProfileCache);
+    RestaurantCache restaurantCache = new RestaurantCache();
+    ReflectionTestUtils.setField(restaurantCache, "restaurantFClient", restaurantFClient);
+    ReflectionTestUtils.setField(restaurantCache, "meterRegistry", new SimpleMeterRegistry());
+    ReflectionTestUtils.setField(restaurantCache, "maxRestaurants", 100);
+    ReflectionTestUtils.setField(restaurantCache, "maxStaleSeconds", 600L);
+    restaurantCache.registerMeters();
+    ReflectionTestUtils.setField(orderService, "restaurantCache", restaurantCache);
+    CheckoutQuoteSigner checkoutQuoteSigner = new CheckoutQuoteSigner();
+    ReflectionTestUtils.setField(checkoutQuoteSigner, "secret", "test-secret");
+    ReflectionTestUtils.setField(checkoutQuoteSigner, "ttlSeconds", 120L);
+    checkoutQuoteSigner.initKey();
+    ReflectionTestUtils.setField(orderService, "checkoutQuoteSigner", checkoutQuoteSigner);
+    validationExecutor = Executors.newFixedThreadPool(4);
+    ReflectionTestUtils.setField(orderService, "validationExecutor", validationExecutor);
 
     // Initialize DTOs
     orderInDTO = new OrderInDTO();
@@ -114,6 +194,12 @@ public class OrderServiceImplTest {
 
     foodItemOutDTO = new FoodItemOutDTO();
     foodItemOutDTO.setFoodItemId(1);  // Mocking a valid food item ID
+    foodItemOutDTO.setRestaurantId(2);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    validationExecutor.shutdownNow();
   }
 
   @Test
@@ -124,7 +210,7 @@ public class OrderServiceImplTest {
     when(userFClient.getUserProfile(orderInDTO.getUserId())).thenThrow(new ResourceNotFoundException(Constants.USER_NOT_FOUND));
 
     ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
-      orderService.placeOrder(orderInDTO);
+      orderService.placeOrder(orderInDTO, null, null);
     });
 
     assertEquals(Constants.USER_NOT_FOUND, exception.getMessage());
@@ -136,7 +222,7 @@ public class OrderServiceImplTest {
     when(userFClient.getUserProfile(orderInDTO.getUserId())).thenReturn(userOutDTO);
 
     UnauthorizedException exception = assertThrows(UnauthorizedException.class, () -> {
-      orderService.placeOrder(orderInDTO);
+      orderService.placeOrder(orderInDTO, null, null);
     });
 
     assertEquals(Constants.RESTAURANT_OWNER_ORDER_ERROR, exception.getMessage());
@@ -149,7 +235,7 @@ public class OrderServiceImplTest {
     when(addressFClient.getUserAddresses(orderInDTO.getAddressId())).thenReturn(Collections.emptyList());
 
     ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
-      orderService.placeOrder(orderInDTO);
+      orderService.placeOrder(orderInDTO, null, null);
     });
 
     assertEquals(Constants.ADDRESS_NOT_FOUND, exception.getMessage());
@@ -160,38 +246,243 @@ public class OrderServiceImplTest {
     when(userFClient.getUserProfile(orderInDTO.getUserId())).thenReturn(userOutDTO);
     when(restaurantFClient.getRestaurantById(orderInDTO.getRestaurantId())).thenReturn(restaurantOutDTO);
     when(addressFClient.getUserAddresses(anyInt())).thenReturn(Collections.singletonList(addressOutDTO));
-    when(foodItemFClient.getFoodItemById(anyInt())).thenThrow(new ResourceNotFoundException(Constants.INVALID_FOOD_ITEM_ID));
+    when(foodItemFClient.getFoodItemsByIds(anyInt(), anySet())).thenReturn(Collections.emptyList());
+
+    ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
+      orderService.placeOrder(orderInDTO, null, null);
+    });
+
+    assertEquals(Constants.INVALID_FOOD_ITEM_ID, exception.getMessage());
+  }
+
+  @Test
+  public void testPlaceOrder_FoodItemLookupNotFound() {
+    when(userFClient.getUserProfile(orderInDTO.getUserId())).thenReturn(userOutDTO);
+    when(restaurantFClient.getRestaurantById(orderInDTO.getRestaurantId())).thenReturn(restaurantOutDTO);
+    when(addressFClient.getUserAddresses(anyInt())).thenReturn(Collections.singletonList(addressOutDTO));
+    when(foodItemFClient.getFoodItemsByIds(anyInt(), anySet())).thenThrow(FeignException.NotFound.class);
 
     ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
-      orderService.placeOrder(orderInDTO);
+      orderService.placeOrder(orderInDTO, null, null);
     });
 
     assertEquals(Constants.INVALID_FOOD_ITEM_ID, exception.getMessage());
   }
 
+  @Test
+  public void testPlaceOrder_FoodItemServiceUnavailablePropagates() {
+    when(userFClient.getUserProfile(orderInDTO.getUserId())).thenReturn(userOutDTO);
+    when(restaurantFClient.getRestaurantById(orderInDTO.getRestaurantId())).thenReturn(restaurantOutDTO);
+    when(addressFClient.getUserAddresses(anyInt())).thenReturn(Collections.singletonList(addressOutDTO));
+    when(foodItemFClient.getFoodItemsByIds(anyInt(), anySet())).thenThrow(
+      CallNotPermittedException.createCallNotPermittedException(CircuitBreaker.ofDefaults("restaurant-service")));
+
+    assertThrows(CallNotPermittedException.class, () -> orderService.placeOrder(orderInDTO, null, null));
+    verify(orderRepository, never()).save(any(Order.class));
+  }
+
   @Test
   public void testPlaceOrder_FoodItemDoesNotBelongToRestaurant() {
     when(userFClient.getUserProfile(anyInt())).thenReturn(userOutDTO);
     when(restaurantFClient.getRestaurantById(anyInt())).thenReturn(restaurantOutDTO);
     when(addressFClient.getUserAddresses(anyInt())).thenReturn(Collections.singletonList(addressOutDTO));
-    when(foodItemFClient.getFoodItemById(anyInt())).thenReturn(foodItemOutDTO);
-
-    when(foodItemFClient.getFoodItemsByRestaurant(anyInt())).thenReturn(Collections.emptyList());
+    foodItemOutDTO.setRestaurantId(5);
+    when(foodItemFClient.getFoodItemsByIds(anyInt(), anySet())).thenReturn(Collections.singletonList(foodItemOutDTO));
 
     ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
-      orderService.placeOrder(orderInDTO);
+      orderService.placeOrder(orderInDTO, null, null);
     });
 
     assertEquals(Constants.FOOD_ITEM_DOES_NOT_BELONG_TO_RESTAURANT, exception.getMessage());
     verify(orderRepository, never()).save(any(Order.class));
   }
 
+  @Test
+  public void testPlaceOrder_ValidatesWholeCartWithOneLookup() {
+    CartItemDTO secondItem = new CartItemDTO();
+    secondItem.setFoodItemId(7);
+    secondItem.setPrice(25.0);
+    secondItem.setQuantity(1);
+    orderInDTO.setCartItems(Arrays.asList(orderInDTO.getCartItems().get(0), secondItem));
+    FoodItemOutDTO secondFoodItem = new FoodItemOutDTO();
+    secondFoodItem.setFoodItemId(7);
+    secondFoodItem.setRestaurantId(2);
+
+    when(userFClient.getUserProfile(anyInt())).thenReturn(userOutDTO);
+    when(restaurantFClient.getRestaurantById(anyInt())).thenReturn(restaurantOutDTO);
+    when(addressFClient.getUserAddresses(anyInt())).thenReturn(Collections.singletonList(addressOutDTO));
+    when(foodItemFClient.getFoodItemsByIds(2, new HashSet<>(Arrays.asList(1, 7))))
+      .thenReturn(Arrays.asList(foodItemOutDTO, secondFoodItem));
+    when(orderRepository.save(any(Order.class))).thenReturn(order);
+
+    CommonResponse response = orderService.placeOrder(orderInDTO, null, null);
+
+    assertEquals(Constants.ORDER_PLACED_SUCCESSFULLY, response.getMessage());
+    verify(foodItemFClient, times(1)).getFoodItemsByIds(anyInt(), anySet());
+  }
+
+  @Test
+  public void testPlaceOrder_LooksUpOnlyItemsMissingFromCachedMenu() {
+    CartItemDTO secondItem = new CartItemDTO();
+    secondItem.setFoodItemId(7);
+    secondItem.setPrice(25.0);
+    secondItem.setQuantity(1);
+    orderInDTO.setCartItems(Arrays.asList(orderInDTO.getCartItems().get(0), secondItem));
+    FoodItemOutDTO secondFoodItem = new FoodItemOutDTO();
+    secondFoodItem.setFoodItemId(7);
+    secondFoodItem.setRestaurantId(2);
+
+    when(userFClient.getUserProfile(anyInt())).thenReturn(userOutDTO);
+    when(restaurantFClient.getRestaurantById(anyInt())).thenReturn(restaurantOutDTO);
+    when(addressFClient.getUserAddresses(anyInt())).thenReturn(Collections.singletonList(addressOutDTO));
+    when(menuCache.getMenu(2)).thenReturn(Collections.singletonMap(1, foodItemOutDTO));
+    when(foodItemFClient.getFoodItemsByIds(2, Collections.singleton(7))).thenReturn(Collections.singletonList(secondFoodItem));
+    when(orderRepository.save(any(Order.class))).thenReturn(order);
+
+    CommonResponse response = orderService.placeOrder(orderInDTO, null, null);
+
+    assertEquals(Constants.ORDER_PLACED_SUCCESSFULLY, response.getMessage());
+    verify(foodItemFClient, times(1)).getFoodItemsByIds(2, Collections.singleton(7));
+  }
+
+  @Test
+  public void testPlaceOrder_CachedMenuSkipsRemoteLookup() {
+    when(userFClient.getUserProfile(anyInt())).thenReturn(userOutDTO);
+    when(restaurantFClient.getRestaurantById(anyInt())).thenReturn(restaurantOutDTO);
+    when(addressFClient.getUserAddresses(anyInt())).thenReturn(Collections.singletonList(addressOutDTO));
+    when(menuCache.getMenu(2)).thenReturn(Collections.singletonMap(1, foodItemOutDTO));
+    when(orderRepository.save(any(Order.class))).thenReturn(order);
+
+    CommonResponse response = orderService.placeOrder(orderInDTO, null, null);
+
+    assertEquals(Constants.ORDER_PLACED_SUCCESSFULLY, response.getMessage());
+    verify(foodItemFClient, never()).getFoodItemsByIds(anyInt(), anySet());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testPlaceOrder_WithIdempotencyKeyRunsOnceThroughCache() {
+    when(idempotencyCache.execute(eq(1), eq("checkout-1"), any()))
+      .thenAnswer(invocation -> ((Supplier<CommonResponse>) invocation.getArgument(2)).get());
+    when(orderRepository.findByUserIdAndIdempotencyKey(1, "checkout-1")).thenReturn(Optional.empty());
+    when(userFClient.getUserProfile(anyInt())).thenReturn(userOutDTO);
+    when(restaurantFClient.getRestaurantById(anyInt())).thenReturn(restaurantOutDTO);
+    when(addressFClient.getUserAddresses(anyInt())).thenReturn(Collections.singletonList(addressOutDTO));
+    when(menuCache.getMenu(2)).thenReturn(Collections.singletonMap(1, foodItemOutDTO));
+    when(orderRepository.save(any(Order.class))).thenReturn(order);
+
+    CommonResponse response = orderService.placeOrder(orderInDTO, "checkout-1", null);
+
+    assertEquals(Constants.ORDER_PLACED_SUCCESSFULLY, response.getMessage());
+    verify(orderRepository, times(1)).save(argThat(saved -> "checkout-1".equals(saved.getIdempotencyKey())));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testPlaceOrder_RepeatOfStoredKeyPlacesNothing() {
+    when(idempotencyCache.execute(eq(1), eq("checkout-1"), any()))
+      .thenAnswer(invocation -> ((Supplier<CommonResponse>) invocation.getArgument(2)).get());
+    when(orderRepository.findByUserIdAndIdempotencyKey(1, "checkout-1")).thenReturn(Optional.of(order));
+
+    CommonResponse response = orderService.placeOrder(orderInDTO, "checkout-1", null);
+
+    assertEquals(Constants.ORDER_PLACED_SUCCESSFULLY, response.getMessage());
+    verifyNoInteractions(userFClient, restaurantFClient, addressFClient, walletOutboxRepository);
+    verify(orderRepository, never()).save(any(Order.class));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testPlaceOrder_ConcurrentDuplicateLosingUniqueKeySucceeds() {
+    when(idempotencyCache.execute(eq(1), eq("checkout-1"), any()))
+      .thenAnswer(invocation -> ((Supplier<CommonResponse>) invocation.getArgument(2)).get());
+    when(orderRepository.findByUserIdAndIdempotencyKey(1, "checkout-1"))
+      .thenReturn(Optional.empty(), Optional.of(order));
+    when(userFClient.getUserProfile(anyInt())).thenReturn(userOutDTO);
+    when(restaurantFClient.getRestaurantById(anyInt())).thenReturn(restaurantOutDTO);
+    when(addressFClient.getUserAddresses(anyInt())).thenReturn(Collections.singletonList(addressOutDTO));
+    when(menuCache.getMenu(2)).thenReturn(Collections.singletonMap(1, foodItemOutDTO));
+    when(orderRepository.save(any(Order.class)))
+      .thenThrow(new DataIntegrityViolationException("ux_orders_user_idempotency_key"));
+
+    CommonResponse response = orderService.placeOrder(orderInDTO, "checkout-1", null);
+
+    assertEquals(Constants.ORDER_PLACED_SUCCESSFULLY, response.getMessage());
+    verify(walletOutboxRepository, never()).save(any(WalletOutboxEvent.class));
+  }
+
+  private void stubValidOrder() {
+    when(userFClient.getUserProfile(anyInt())).thenReturn(userOutDTO);
+    when(restaurantFClient.getRestaurantById(anyInt())).thenReturn(restaurantOutDTO);
+    when(addressFClient.getUserAddresses(anyInt())).thenReturn(Collections.singletonList(addressOutDTO));
+    when(menuCache.getMenu(2)).thenReturn(Collections.singletonMap(1, foodItemOutDTO));
+    when(orderRepository.save(any(Order.class))).thenReturn(order);
+  }
+
+  @Test
+  public void testQuoteOrder_ValidatesAndPricesWithoutWriting() {
+    stubValidOrder();
+
+    QuoteOutDTO quote = orderService.quoteOrder(orderInDTO);
+
+    assertEquals(100.0, quote.getTotalPrice());
+    assertNotNull(quote.getQuoteToken());
+    assertTrue(quote.getExpiresAt().isAfter(LocalDateTime.now()));
+    verify(userFClient, times(1)).getUserProfile(1);
+    verify(addressFClient, times(1)).getUserAddresses(1);
+    verifyNoInteractions(orderRepository, cartRepository, walletOutboxRepository);
+  }
+
+  @Test
+  public void testQuoteOrder_InsufficientBalance() {
+    stubValidOrder();
+    userOutDTO.setWalletBalance(10.0);
+
+    assertThrows(InsufficientBalanceException.class, () -> orderService.quoteOrder(orderInDTO));
+  }
+
+  @Test
+  public void testPlaceOrder_WithQuoteTokenSkipsRevalidation() {
+    stubValidOrder();
+    QuoteOutDTO quote = orderService.quoteOrder(orderInDTO);
+    clearInvocations(userFClient, restaurantFClient, addressFClient, foodItemFClient, menuCache);
+
+    CommonResponse response = orderService.placeOrder(orderInDTO, null, quote.getQuoteToken());
+
+    assertEquals(Constants.ORDER_PLACED_SUCCESSFULLY, response.getMessage());
+    verifyNoInteractions(userFClient, restaurantFClient, addressFClient, foodItemFClient, menuCache);
+    verify(orderRepository, times(1)).save(argThat(saved -> saved.getTotalPrice() == 100.0));
+    verify(walletOutboxRepository, times(1)).save(any(WalletOutboxEvent.class));
+  }
+
+  @Test
+  public void testPlaceOrder_QuoteOfChangedOrderIsRevalidated() {
+    stubValidOrder();
+    QuoteOutDTO quote = orderService.quoteOrder(orderInDTO);
+    orderInDTO.getCartItems().get(0).setQuantity(3);
+
+    orderService.placeOrder(orderInDTO, null, quote.getQuoteToken());
+
+    verify(userFClient, times(2)).getUserProfile(1);
+    verify(addressFClient, times(2)).getUserAddresses(1);
+    verify(orderRepository, times(1)).save(argThat(saved -> saved.getTotalPrice() == 150.0));
+  }
+
+  @Test
+  public void testPlaceOrder_InvalidIdempotencyKey() {
+    InvalidRequestException exception = assertThrows(InvalidRequestException.class,
+      () -> orderService.placeOrder(orderInDTO, " ", null));
+
+    assertEquals(Constants.INVALID_IDEMPOTENCY_KEY, exception.getMessage());
+    verifyNoInteractions(idempotencyCache, orderRepository);
+  }
+
   @Test
   public void testPlaceOrder_UserNotFound() {
     when(userFClient.getUserProfile(anyInt())).thenThrow(FeignException.NotFound.class);
 
     ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
-      orderService.placeOrder(orderInDTO);
+      orderService.placeOrder(orderInDTO, null, null);
     });
 
     assertEquals(Constants.USER_NOT_FOUND, exception.getMessage());
@@ -204,21 +495,94 @@ public class OrderServiceImplTest {
     when(restaurantFClient.getRestaurantById(anyInt())).thenThrow(FeignException.NotFound.class);
 
     ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
-      orderService.placeOrder(orderInDTO);
+      orderService.placeOrder(orderInDTO, null, null);
     });
 
     assertEquals(Constants.INVALID_RESTAURANT_ID, exception.getMessage());
   }
 
+  @Test
+  public void testPlaceOrder_ValidatesDependenciesConcurrently() {
+    CountDownLatch restaurantCalled = new CountDownLatch(1);
+    when(userFClient.getUserProfile(anyInt())).thenAnswer(invocation -> {
+      // Only returns once the restaurant lookup has started, which requires both calls to be in flight together.
+      assertTrue(restaurantCalled.await(5, TimeUnit.SECONDS));
+      return userOutDTO;
+    });
+    when(restaurantFClient.getRestaurantById(anyInt())).thenAnswer(invocation -> {
+      restaurantCalled.countDown();
+      return restaurantOutDTO;
+    });
+    when(addressFClient.getUserAddresses(anyInt())).thenReturn(Collections.singletonList(addressOutDTO));
+    when(foodItemFClient.getFoodItemsByIds(anyInt(), anySet())).thenReturn(Collections.singletonList(foodItemOutDTO));
+    when(orderRepository.save(any(Order.class))).thenReturn(order);
+
+    CommonResponse response = orderService.placeOrder(orderInDTO, null, null);
+
+    assertEquals(Constants.ORDER_PLACED_SUCCESSFULLY, response.getMessage());
+    verify(walletOutboxRepository, times(1)).save(argThat(event -> event.getOperation() == WalletOperation.DEBIT
+      && event.getAmount().equals(order.getTotalPrice())));
+    verify(transactionManager, times(1)).commit(any());
+    verify(userFClient, never()).updateWalletBalance(anyInt(), any(AmountInDTO.class));
+  }
+
+  @Test
+  public void testPlaceOrder_InsufficientWalletBalance() {
+    userOutDTO.setWalletBalance(50.0);
+    when(userFClient.getUserProfile(anyInt())).thenReturn(userOutDTO);
+    when(restaurantFClient.getRestaurantById(anyInt())).thenReturn(restaurantOutDTO);
+    when(addressFClient.getUserAddresses(anyInt())).thenReturn(Collections.singletonList(addressOutDTO));
+    when(foodItemFClient.getFoodItemsByIds(anyInt(), anySet())).thenReturn(Collections.singletonList(foodItemOutDTO));
+
+    InsufficientBalanceException exception = assertThrows(InsufficientBalanceException.class, () -> {
+      orderService.placeOrder(orderInDTO, null, null);
+    });
+
+    assertEquals(Constants.INSUFFICIENT_BALANCE, exception.getMessage());
+    verify(orderRepository, never()).save(any(Order.class));
+    verify(walletOutboxRepository, never()).save(any(WalletOutboxEvent.class));
+  }
+
+  @Test
+  public void testPlaceOrder_ReportsUserErrorBeforeLaterFailures() {
+    when(userFClient.getUserProfile(anyInt())).thenThrow(FeignException.NotFound.class);
+    when(restaurantFClient.getRestaurantById(anyInt())).thenThrow(FeignException.NotFound.class);
+    when(addressFClient.getUserAddresses(anyInt())).thenReturn(Collections.emptyList());
+
+    ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
+      orderService.placeOrder(orderInDTO, null, null);
+    });
+
+    assertEquals(Constants.USER_NOT_FOUND, exception.getMessage());
+    verify(orderRepository, never()).save(any(Order.class));
+  }
+
   @Test
   public void testCancelOrder_Success() {
+    order.setOrderId(1);
     when(orderRepository.findById(anyInt())).thenReturn(Optional.of(order));
 
     CommonResponse response = orderService.cancelOrder(1);
 
     assertEquals(Constants.ORDER_CANCELLED_SUCCESSFULLY, response.getMessage());
-    verify(userFClient, times(1)).addMoney(anyInt(), any(AmountInDTO.class));
+    assertEquals(OrderStatus.CANCELLED, order.getOrderStatus());
     verify(orderRepository, times(1)).save(any(Order.class));
+    verify(walletOutboxRepository, times(1)).save(argThat(event -> event.getOperation() == WalletOperation.REFUND
+      && Integer.valueOf(1).equals(event.getOrderId())));
+    verify(userFClient, never()).addMoney(anyInt(), any(AmountInDTO.class));
+  }
+
+  @Test
+  public void testCancelOrder_AlreadyCancelled() {
+    order.setOrderId(1);
+    order.setOrderStatus(OrderStatus.CANCELLED);
+    when(orderRepository.findById(anyInt())).thenReturn(Optional.of(order));
+
+    CommonResponse response = orderService.cancelOrder(1);
+
+    assertEquals(Constants.ORDER_CANCELLED_SUCCESSFULLY, response.getMessage());
+    verify(orderRepository, never()).save(any(Order.class));
+    verify(walletOutboxRepository, never()).save(any(WalletOutboxEvent.class));
   }
 
   @Test
@@ -259,6 +623,24 @@ public class OrderServiceImplTest {
     verify(orderRepository, never()).save(any(Order.class));
   }
 
+  @Test
+  public void testMarkOrderAsCompleted_PaymentFailedOrCancelledIsRefused() {
+    when(orderRepository.findById(anyInt())).thenReturn(Optional.of(order));
+    userOutDTO.setRole(Role.RESTAURANT_OWNER.name());
+    when(userFClient.getUserProfile(anyInt())).thenReturn(userOutDTO);
+
+    for (OrderStatus status : new OrderStatus[] {OrderStatus.PAYMENT_FAILED, OrderStatus.CANCELLED}) {
+      order.setOrderStatus(status);
+
+      InvalidRequestException exception = assertThrows(InvalidRequestException.class,
+        () -> orderService.markOrderAsCompleted(1, 1));
+
+      assertEquals(Constants.ORDER_NOT_COMPLETABLE, exception.getMessage());
+      assertEquals(status, order.getOrderStatus());
+    }
+    verify(orderRepository, never()).save(any(Order.class));
+  }
+
   @Test
   public void testGetOrdersByUserId_NoOrdersFound() {
     when(userFClient.getUserProfile(anyInt())).thenReturn(userOutDTO);
@@ -318,4 +700,157 @@ public class OrderServiceImplTest {
     assertEquals(1, orders.size());
     verify(orderRepository, times(1)).findByRestaurantId(anyInt());
   }
+
+  @Test
+  public void testStreamOrdersByUserId_Success() {
+    when(userFClient.getUserProfile(anyInt())).thenReturn(userOutDTO);
+    AtomicBoolean closed = new AtomicBoolean();
+    when(orderRepository.streamByUserId(1)).thenReturn(Stream.of(order, order).onClose(() -> closed.set(true)));
+    List<OrderOutDTO> streamed = new ArrayList<>();
+
+    orderService.streamOrdersByUserId(1, streamed::add);
+
+    assertEquals(2, streamed.size());
+    assertTrue(closed.get());
+    verify(entityManager, times(2)).detach(order);
+    InOrder sequence = inOrder(userFClient, transactionManager, orderRepository);
+    sequence.verify(userFClient).getUserProfile(1);
+    sequence.verify(transactionManager).getTransaction(argThat(TransactionDefinition::isReadOnly));
+    sequence.verify(orderRepository).streamByUserId(1);
+    sequence.verify(transactionManager).commit(any());
+  }
+
+  @Test
+  public void testStreamOrdersByUserId_UserNotFound() {
+    when(userFClient.getUserProfile(anyInt())).thenThrow(FeignException.NotFound.class);
+
+    ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+      () -> orderService.streamOrdersByUserId(1, o -> { }));
+
+    assertEquals(Constants.USER_NOT_FOUND, exception.getMessage());
+    verify(orderRepository, never()).streamByUserId(anyInt());
+    verify(transactionManager, never()).getTransaction(any());
+  }
+
+  @Test
+  public void testStreamOrdersByUserId_RestaurantOwner() {
+    userOutDTO.setRole(Role.RESTAURANT_OWNER.name());
+    when(userFClient.getUserProfile(anyInt())).thenReturn(userOutDTO);
+
+    assertThrows(UnauthorizedException.class, () -> orderService.streamOrdersByUserId(1, o -> { }));
+    verify(orderRepository, never()).streamByUserId(anyInt());
+  }
+
+  @Test
+  public void testStreamOrdersByRestaurantId_Success() {
+    when(restaurantFClient.getRestaurantById(anyInt())).thenReturn(restaurantOutDTO);
+    when(orderRepository.streamByRestaurantId(2)).thenReturn(Stream.of(order));
+    List<OrderOutDTO> streamed = new ArrayList<>();
+
+    orderService.streamOrdersByRestaurantId(2, streamed::add);
+
+    assertEquals(1, streamed.size());
+    verify(entityManager).detach(order);
+  }
+
+  @Test
+  public void testStreamOrdersByRestaurantId_RestaurantNotFound() {
+    when(restaurantFClient.getRestaurantById(anyInt())).thenThrow(FeignException.NotFound.class);
+
+    ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+      () -> orderService.streamOrdersByRestaurantId(2, o -> { }));
+
+    assertEquals(Constants.INVALID_RESTAURANT_ID, exception.getMessage());
+    verify(orderRepository, never()).streamByRestaurantId(anyInt());
+    verify(transactionManager, never()).getTransaction(any());
+  }
+
+  @Test
+  public void testGetOrderPageByUserId_FirstPageWithMore() {
+    when(userFClient.getUserProfile(anyInt())).thenReturn(userOutDTO);
+    Order newer = orderWithId(9, LocalDateTime.of(2024, 5, 2, 12, 0));
+    Order older = orderWithId(7, LocalDateTime.of(2024, 5, 1, 12, 0));
+    Order oldest = orderWithId(3, LocalDateTime.of(2024, 4, 30, 12, 0));
+    when(orderRepository.findFirstPageByUserId(1, PageRequest.of(0, 3))).thenReturn(Arrays.asList(newer, older, oldest));
+
+    OrderPageOutDTO page = orderService.getOrderPageByUserId(1, null, null, 2);
+
+    assertEquals(2, page.getOrders().size());
+    assertEquals(9, page.getOrders().get(0).getOrderId());
+    assertEquals(older.getPlacedTiming(), page.getNextBeforeTiming());
+    assertEquals(7, page.getNextBeforeOrderId());
+  }
+
+  @Test
+  public void testGetOrderPageByUserId_LastPage() {
+    when(userFClient.getUserProfile(anyInt())).thenReturn(userOutDTO);
+    LocalDateTime before = LocalDateTime.of(2024, 5, 1, 12, 0);
+    Order oldest = orderWithId(3, LocalDateTime.of(2024, 4, 30, 12, 0));
+    when(orderRepository.findPageByUserIdBefore(1, before, 7, PageRequest.of(0, 3)))
+      .thenReturn(Collections.singletonList(oldest));
+
+    OrderPageOutDTO page = orderService.getOrderPageByUserId(1, before, 7, 2);
+
+    assertEquals(1, page.getOrders().size());
+    assertNull(page.getNextBeforeTiming());
+    assertNull(page.getNextBeforeOrderId());
+  }
+
+  @Test
+  public void testGetOrderPageByUserId_InvalidSize() {
+    InvalidRequestException exception = assertThrows(InvalidRequestException.class,
+      () -> orderService.getOrderPageByUserId(1, null, null, Constants.MAX_ORDER_PAGE_SIZE + 1));
+
+    assertEquals(Constants.INVALID_PAGE_SIZE, exception.getMessage());
+    verify(userFClient, never()).getUserProfile(anyInt());
+  }
+
+  @Test
+  public void testGetOrderPageByUserId_IncompleteCursor() {
+    InvalidRequestException exception = assertThrows(InvalidRequestException.class,
+      () -> orderService.getOrderPageByUserId(1, LocalDateTime.now(), null, 10));
+
+    assertEquals(Constants.INVALID_PAGE_CURSOR, exception.getMessage());
+  }
+
+  @Test
+  public void testGetOrderPageByRestaurantId_Success() {
+    when(restaurantFClient.getRestaurantById(anyInt())).thenReturn(restaurantOutDTO);
+    LocalDateTime before = LocalDateTime.of(2024, 5, 1, 12, 0);
+    when(orderRepository.findPageByRestaurantIdBefore(2, before, 7, PageRequest.of(0, 11)))
+      .thenReturn(Collections.singletonList(orderWithId(3, LocalDateTime.of(2024, 4, 30, 12, 0))));
+
+    OrderPageOutDTO page = orderService.getOrderPageByRestaurantId(2, before, 7, 10);
+
+    assertEquals(1, page.getOrders().size());
+    assertNull(page.getNextBeforeOrderId());
+    verify(orderRepository, never()).findFirstPageByRestaurantId(anyInt(), any());
+  }
+
+  @Test
+  public void testGetOrderPageByRestaurantId_RestaurantNotFound() {
+    when(restaurantFClient.getRestaurantById(anyInt())).thenThrow(FeignException.NotFound.class);
+
+    assertThrows(ResourceNotFoundException.class, () -> orderService.getOrderPageByRestaurantId(2, null, null, 10));
+    verify(orderRepository, never()).findFirstPageByRestaurantId(anyInt(), any());
+  }
+
+  @Test
+  public void testGetOrderPageByRestaurantId_RestaurantServiceUnavailable() {
+    when(restaurantFClient.getRestaurantById(anyInt())).thenThrow(
+      CallNotPermittedException.createCallNotPermittedException(CircuitBreaker.ofDefaults("restaurant-service")));
+
+    assertThrows(CallNotPermittedException.class, () -> orderService.getOrderPageByRestaurantId(2, null, null, 10));
+    verify(orderRepository, never()).findFirstPageByRestaurantId(anyInt(), any());
+  }
+
+  private Order orderWithId(final int orderId, final LocalDateTime placedTiming) {
+    Order result = new Order();
+    result.setOrderId(orderId);
+    result.setUserId(1);
+    result.setRestaurantId(2);
+    result.setOrderStatus(OrderStatus.PLACED);
+    result.setPlacedTiming(placedTiming);
+    return result;
+  }
 }
@@ -0,0 +1,193 @@
+package com.nt.order.microservice.service;
+
+import com.nt.order.microservice.dtos.AmountInDTO;
+import com.nt.order.microservice.entities.Order;
+import com.nt.order.microservice.entities.WalletOutboxEvent;
+import com.nt.order.microservice.repository.OrderRepository;
+import com.nt.order.microservice.repository.WalletOutboxRepository;
+import com.nt.order.microservice.serviceimpl.UserFClient;
+import com.nt.order.microservice.serviceimpl.WalletOutboxRelay;
+import com.nt.order.microservice.util.OrderStatus;
+import com.nt.order.microservice.util.OutboxStatus;
+import com.nt.order.microservice.util.WalletOperation;
+import feign.FeignException;
+import feign.Request;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class WalletOutboxRelayTest {
+
+  @InjectMocks
+  private WalletOutboxRelay walletOutboxRelay;
+
+  @Mock
+  private WalletOutboxRepository walletOutboxRepository;
+
+  @Mock
+  private OrderRepository orderRepository;
+
+  @Mock
+  private UserFClient userFClient;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  private Order order;
+
+  @BeforeEach
+  public void setup() {
+    MockitoAnnotations.openMocks(this);
+    ReflectionTestUtils.setField(walletOutboxRelay, "outboxExecutor", (Executor) Runnable::run);
+    ReflectionTestUtils.setField(walletOutboxRelay, "batchSize", 50);
+    ReflectionTestUtils.setField(walletOutboxRelay, "leaseSeconds", 120L);
+    ReflectionTestUtils.setField(walletOutboxRelay, "maxAttempts", 3);
+    ReflectionTestUtils.setField(walletOutboxRelay, "retryBaseDelayMs", 1000L);
+    ReflectionTestUtils.setField(walletOutboxRelay, "retryMaxDelayMs", 300000L);
+    when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    when(walletOutboxRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+    order = new Order();
+    order.setOrderId(7);
+    order.setUserId(1);
+    order.setTotalPrice(100.0);
+    order.setOrderStatus(OrderStatus.PLACED);
+  }
+
+  private WalletOutboxEvent due(final WalletOperation operation) {
+    WalletOutboxEvent event = new WalletOutboxEvent(order, operation, LocalDateTime.now());
+    when(walletOutboxRepository.lockDueEvents(any(LocalDateTime.class), eq(50)))
+      .thenReturn(Collections.singletonList(event));
+    return event;
+  }
+
+  private FeignException feignError(final int status) {
+    Request request = Request.create(Request.HttpMethod.PUT, "/users/walletBalance/1", new HashMap<>(), null,
+      StandardCharsets.UTF_8, null);
+    return FeignException.errorStatus("UserFClient#updateWalletBalance",
+      feign.Response.builder().status(status).reason("error").request(request).headers(new HashMap<>()).build());
+  }
+
+  @Test
+  public void testRelay_NothingDue() {
+    when(walletOutboxRepository.lockDueEvents(any(LocalDateTime.class), eq(50))).thenReturn(Collections.emptyList());
+
+    assertEquals(0, walletOutboxRelay.relay());
+    verify(userFClient, never()).updateWalletBalance(anyInt(), any(AmountInDTO.class));
+  }
+
+  @Test
+  public void testRelay_DeliversBatchWithOrderIdAsIdempotencyKey() {
+    WalletOutboxEvent debit = new WalletOutboxEvent(order, WalletOperation.DEBIT, LocalDateTime.now());
+    Order other = new Order();
+    other.setOrderId(8);
+    other.setUserId(2);
+    other.setTotalPrice(40.0);
+    WalletOutboxEvent refund = new WalletOutboxEvent(other, WalletOperation.REFUND, LocalDateTime.now());
+    when(walletOutboxRepository.lockDueEvents(any(LocalDateTime.class), eq(50))).thenReturn(Arrays.asList(debit, refund));
+
+    assertEquals(2, walletOutboxRelay.relay());
+
+    verify(userFClient, times(1)).updateWalletBalance(eq(1),
+      argThat(amount -> amount.getBalance() == 100.0 && Integer.valueOf(7).equals(amount.getOrderId())));
+    verify(userFClient, times(1)).addMoney(eq(2),
+      argThat(amount -> amount.getBalance() == 40.0 && Integer.valueOf(8).equals(amount.getOrderId())));
+    assertEquals(OutboxStatus.DELIVERED, debit.getStatus());
+    assertEquals(OutboxStatus.DELIVERED, refund.getStatus());
+    verify(transactionManager, times(2)).commit(any());
+  }
+
+  @Test
+  public void testRelay_TransientFailureIsRetriedLater() {
+    WalletOutboxEvent debit = due(WalletOperation.DEBIT);
+    when(userFClient.updateWalletBalance(anyInt(), any(AmountInDTO.class))).thenThrow(feignError(503));
+
+    walletOutboxRelay.relay();
+
+    assertEquals(OutboxStatus.PENDING, debit.getStatus());
+    assertEquals(1, debit.getAttempts());
+    assertTrue(debit.getNextAttemptAt().isAfter(LocalDateTime.now()));
+    assertTrue(debit.getNextAttemptAt().isBefore(LocalDateTime.now().plusSeconds(2)));
+    verify(orderRepository, never()).save(any(Order.class));
+  }
+
+  @Test
+  public void testRelay_GivesUpAfterMaxAttempts() {
+    WalletOutboxEvent refund = due(WalletOperation.REFUND);
+    refund.setAttempts(2);
+    when(userFClient.addMoney(anyInt(), any(AmountInDTO.class))).thenThrow(new IllegalStateException("down"));
+
+    walletOutboxRelay.relay();
+
+    assertEquals(OutboxStatus.FAILED, refund.getStatus());
+    assertEquals(3, refund.getAttempts());
+  }
+
+  @Test
+  public void testRelay_RefusedDebitFailsOrderAndDropsRefund() {
+    WalletOutboxEvent debit = due(WalletOperation.DEBIT);
+    WalletOutboxEvent refund = new WalletOutboxEvent(order, WalletOperation.REFUND, LocalDateTime.now());
+    when(userFClient.updateWalletBalance(anyInt(), any(AmountInDTO.class))).thenThrow(feignError(402));
+    when(orderRepository.findById(7)).thenReturn(Optional.of(order));
+    when(walletOutboxRepository.findByOrderIdAndOperation(7, WalletOperation.REFUND)).thenReturn(Optional.of(refund));
+
+    walletOutboxRelay.relay();
+
+    assertEquals(OutboxStatus.FAILED, debit.getStatus());
+    assertEquals(OrderStatus.PAYMENT_FAILED, order.getOrderStatus());
+    assertEquals(OutboxStatus.CANCELLED, refund.getStatus());
+    verify(orderRepository, times(1)).save(order);
+  }
+
+  @Test
+  public void testRelay_FailedDebitOfCompletedOrderMarksItUnpaid() {
+    order.setOrderStatus(OrderStatus.COMPLETED);
+    WalletOutboxEvent debit = due(WalletOperation.DEBIT);
+    when(userFClient.updateWalletBalance(anyInt(), any(AmountInDTO.class))).thenThrow(feignError(402));
+    when(orderRepository.findById(7)).thenReturn(Optional.of(order));
+    when(walletOutboxRepository.findByOrderIdAndOperation(7, WalletOperation.REFUND)).thenReturn(Optional.empty());
+
+    walletOutboxRelay.relay();
+
+    assertEquals(OutboxStatus.FAILED, debit.getStatus());
+    assertEquals(OrderStatus.UNPAID, order.getOrderStatus());
+    verify(orderRepository, times(1)).save(order);
+  }
+
+  @Test
+  public void testRelay_SuccessClearsLastError() {
+    WalletOutboxEvent debit = due(WalletOperation.DEBIT);
+    debit.setLastError("previous failure");
+
+    walletOutboxRelay.relay();
+
+    assertEquals(OutboxStatus.DELIVERED, debit.getStatus());
+    assertNull(debit.getLastError());
+  }
+}
@@ -0,0 +1,37 @@
+package com.nt.restaurant.microservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Configuration of the thread pools used by the restaurant microservice.
+ */
+@Configuration
+public class ExecutorConfig {
+
+  /**
+   * Creates the bounded executor on which image renditions are generated after an upload.
+   * <p>
+   * When both the pool and its queue are full new work is rejected rather than run on the request thread;
+   * the image is then served in its original size until a later request schedules its renditions again.
+   * </p>
+   *
+   * @param poolSize      the maximum number of images scaled at the same time
+   * @param queueCapacity the number of images allowed to wait for a free thread
+   * @return the rendition executor
+   */
+  @Bean(name = "renditionExecutor")
+  public ThreadPoolTaskExecutor renditionExecutor(@Value("${image.rendition.pool-size:2}") final int poolSize,
+                                                  @Value("${image.rendition.queue-capacity:100}") final int queueCapacity) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(poolSize);
+    executor.setMaxPoolSize(poolSize);
+    executor.setQueueCapacity(queueCapacity);
+    executor.setThreadNamePrefix("image-rendition-");
+    executor.setWaitForTasksToCompleteOnShutdown(true);
+    executor.initialize();
+    return executor;
+  }
+}
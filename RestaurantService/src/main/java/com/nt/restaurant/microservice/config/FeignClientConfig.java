@@ -0,0 +1,134 @@
+package com.nt.restaurant.microservice.config;
+
+import feign.Client;
+import feign.httpclient.ApacheHttpClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.openfeign.support.FeignHttpClientProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuration of the pooled HTTP transport shared by the Feign clients.
+ * <p>
+ * Connections to the other services are kept alive in one pool sized by {@code feign.httpclient.max-connections}
+ * and {@code feign.httpclient.max-connections-per-route}. A request waits at most {@code feign.pool.lease-timeout-ms}
+ * for a free connection, and the connect and read timeouts of each client are set under
+ * {@code feign.client.config.<client name>}. The pool is published in the {@code httpcomponents.httpclient.pool.*}
+ * meters, tagged {@code httpclient=feign}, and the time spent waiting for a connection in {@code feign.pool.lease.wait}.
+ * </p>
+ */
+@Configuration
+public class FeignClientConfig {
+
+  /**
+   * Longest time a request waits for a free pooled connection, in milliseconds.
+   */
+  @Value("${feign.pool.lease-timeout-ms:1000}")
+  private int leaseTimeoutMs;
+
+  /**
+   * Time after which an idle pooled connection is closed, in seconds.
+   */
+  @Value("${feign.pool.idle-timeout-seconds:30}")
+  private long idleTimeoutSeconds;
+
+  /**
+   * Time after which a pooled connection is checked before it is reused, in milliseconds.
+   */
+  @Value("${feign.pool.validate-after-inactivity-ms:2000}")
+  private int validateAfterInactivityMs;
+
+  /**
+   * Creates the connection pool of the Feign clients and registers its meters.
+   *
+   * @param properties    the Feign HTTP client settings
+   * @param meterRegistry the registry the pool meters are published to
+   * @return the connection pool
+   */
+  @Bean(destroyMethod = "shutdown")
+  public PoolingHttpClientConnectionManager feignConnectionManager(final FeignHttpClientProperties properties,
+                                                                   final MeterRegistry meterRegistry) {
+    final Timer leaseWait = Timer.builder("feign.pool.lease.wait")
+      .description("Time spent waiting for a pooled connection")
+      .register(meterRegistry);
+    PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(
+      properties.getTimeToLive(), properties.getTimeToLiveUnit()) {
+      @Override
+      public ConnectionRequest requestConnection(final HttpRoute route, final Object state) {
+        final ConnectionRequest request = super.requestConnection(route, state);
+        return new ConnectionRequest() {
+          @Override
+          public HttpClientConnection get(final long timeout, final TimeUnit timeUnit)
+            throws InterruptedException, ExecutionException, ConnectionPoolTimeoutException {
+            long start = System.nanoTime();
+            try {
+              return request.get(timeout, timeUnit);
+            } finally {
+              leaseWait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+          }
+
+          @Override
+          public boolean cancel() {
+            return request.cancel();
+          }
+        };
+      }
+    };
+    connectionManager.setMaxTotal(properties.getMaxConnections());
+    connectionManager.setDefaultMaxPerRoute(properties.getMaxConnectionsPerRoute());
+    connectionManager.setValidateAfterInactivity(validateAfterInactivityMs);
+    new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "feign").bindTo(meterRegistry);
+    return connectionManager;
+  }
+
+  /**
+   * Creates the HTTP client the Feign clients send their requests through. Compressed responses are
+   * decompressed transparently, and idle or expired connections are closed in the background.
+   *
+   * @param connectionManager the connection pool
+   * @param properties        the Feign HTTP client settings
+   * @return the HTTP client
+   */
+  @Bean(destroyMethod = "close")
+  public CloseableHttpClient feignHttpClient(final PoolingHttpClientConnectionManager connectionManager,
+                                             final FeignHttpClientProperties properties) {
+    RequestConfig requestConfig = RequestConfig.custom()
+      .setConnectTimeout(properties.getConnectionTimeout())
+      .setConnectionRequestTimeout(leaseTimeoutMs)
+      .setRedirectsEnabled(properties.isFollowRedirects())
+      .build();
+    return HttpClientBuilder.create()
+      .setConnectionManager(connectionManager)
+      .setDefaultRequestConfig(requestConfig)
+      .disableCookieManagement()
+      .evictExpiredConnections()
+      .evictIdleConnections(idleTimeoutSeconds, TimeUnit.SECONDS)
+      .build();
+  }
+
+  /**
+   * Creates the Feign transport backed by the pooled HTTP client.
+   *
+   * @param feignHttpClient the pooled HTTP client
+   * @return the Feign client transport
+   */
+  @Bean
+  public Client feignClient(final CloseableHttpClient feignHttpClient) {
+    return new ApacheHttpClient(feignHttpClient);
+  }
+}
@@ -3,14 +3,16 @@ package com.nt.restaurant.microservice.controller;
 import com.nt.restaurant.microservice.dto.CommonResponse;
 import com.nt.restaurant.microservice.dto.FoodItemInDTO;
 import com.nt.restaurant.microservice.dto.FoodItemOutDTO;
+import com.nt.restaurant.microservice.dto.FoodItemSummaryOutDTO;
 import com.nt.restaurant.microservice.dto.FoodItemUpdateInDTO;
-import com.nt.restaurant.microservice.entities.FoodItem;
+import com.nt.restaurant.microservice.dto.StoredImage;
 import com.nt.restaurant.microservice.service.FoodItemService;
+import com.nt.restaurant.microservice.util.ImageSize;
+import com.nt.restaurant.microservice.util.ImageStreamer;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -18,13 +20,18 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.io.IOException;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Controller for managing food item-related operations such as adding, fetching, and updating food items.
@@ -98,6 +105,50 @@ public class FoodItemController {
     return ResponseEntity.ok(foodItems);
   }
 
+  /**
+   * Fetches all food items for a given category ID without their images.
+   *
+   * @param categoryId the ID of the food category whose items are to be fetched.
+   * @return a response entity containing the food items, each linking to its image by URL.
+   */
+  @GetMapping("/getFoodItem/{categoryId}/summary")
+  public ResponseEntity<List<FoodItemSummaryOutDTO>> getFoodItemSummariesByCategory(@PathVariable final Integer categoryId) {
+    LOGGER.info("Fetching food item summaries for category ID: {}", categoryId);
+    List<FoodItemSummaryOutDTO> foodItems = foodItemService.getFoodItemSummariesByCategory(categoryId);
+    LOGGER.info("Successfully retrieved {} food item summaries for category ID: {}", foodItems.size(), categoryId);
+    return ResponseEntity.ok(foodItems);
+  }
+
+  /**
+   * Fetches all food items for a given restaurant ID without their images.
+   *
+   * @param restaurantId the ID of the restaurant whose food items are to be fetched.
+   * @return a response entity containing the food items, each linking to its image by URL.
+   */
+  @GetMapping("/getFoodItems/{restaurantId}/summary")
+  public ResponseEntity<List<FoodItemSummaryOutDTO>> getFoodItemSummariesByRestaurant(@PathVariable final Integer restaurantId) {
+    LOGGER.info("Fetching food item summaries for restaurant ID: {}", restaurantId);
+    List<FoodItemSummaryOutDTO> foodItems = foodItemService.getFoodItemSummariesByRestaurant(restaurantId);
+    LOGGER.info("Successfully retrieved {} food item summaries for restaurant ID: {}", foodItems.size(), restaurantId);
+    return ResponseEntity.ok(foodItems);
+  }
+
+  /**
+   * Fetches several food items of a restaurant in one call, so a whole cart can be validated at once.
+   *
+   * @param restaurantId the ID of the restaurant the food items are expected to belong to.
+   * @param foodItemIds  the IDs of the food items to fetch.
+   * @return a response entity containing the food items that exist, without their images.
+   */
+  @PostMapping("/getFoodItems/{restaurantId}/batch")
+  public ResponseEntity<List<FoodItemSummaryOutDTO>> getFoodItemsByIds(@PathVariable final Integer restaurantId,
+                                                                       @RequestBody final Set<Integer> foodItemIds) {
+    LOGGER.info("Fetching food items {} for restaurant ID: {}", foodItemIds, restaurantId);
+    List<FoodItemSummaryOutDTO> foodItems = foodItemService.getFoodItemsByIds(restaurantId, foodItemIds);
+    LOGGER.info("Successfully retrieved {} food items for restaurant ID: {}", foodItems.size(), restaurantId);
+    return ResponseEntity.ok(foodItems);
+  }
+
   /**
    * Updates a food item by its food item ID.
    *
@@ -117,30 +168,36 @@ public class FoodItemController {
   }
 
   /**
-   * Fetches the image of a food item by its ID.
+   * Streams the image of a food item by its ID straight from the image store.
+   * Answers a matching {@code If-None-Match} with 304 and serves a single {@code Range} as a partial response.
    *
-   * @param id the ID of the food item whose image is to be fetched.
-   * @return a response entity containing the food item image in JPEG format.
+   * @param id       the ID of the food item whose image is to be fetched.
+   * @param size     the requested size: {@code original} (the default), {@code medium} or {@code thumbnail}.
+   * @param request  the current request, carrying the conditional and range headers.
+   * @param response the response the image is streamed to.
+   * @throws IOException if the image cannot be streamed.
    */
   @GetMapping("/{id}/image")
-  public ResponseEntity<byte[]> getFoodItemImage(@PathVariable final Integer id) {
+  public void getFoodItemImage(@PathVariable final Integer id,
+                               @RequestParam(value = "size", required = false) final String size,
+                               final HttpServletRequest request, final HttpServletResponse response) throws IOException {
     LOGGER.info("Fetching image for food item with ID: {}", id);
-    byte[] imageData = foodItemService.getFoodItemImage(id);
+    StoredImage image = foodItemService.getFoodItemImage(id, ImageSize.fromValue(size));
+    ImageStreamer.stream(image, request, response);
     LOGGER.info("Successfully retrieved image for food item with ID: {}", id);
-    return ResponseEntity.ok().contentType(MediaType.IMAGE_JPEG).body(imageData);
   }
 
   /**
-   * Fetches the food item by its ID.
+   * Fetches the food item by its ID, without its image.
    *
    * @param foodItemId the ID of the food item to fetch.
-   * @return the food item entity if found.
+   * @return the food item details if found, linking to the image by URL.
    */
   @GetMapping("/{foodItemId}")
-  public ResponseEntity<FoodItem> getFoodItemById(@PathVariable final Integer foodItemId) {
+  public ResponseEntity<FoodItemSummaryOutDTO> getFoodItemById(@PathVariable final Integer foodItemId) {
 
     LOGGER.info("Fetching food item details for ID: {}", foodItemId);
-    FoodItem foodItem = foodItemService.findFoodItemById(foodItemId);
+    FoodItemSummaryOutDTO foodItem = foodItemService.getFoodItemSummaryById(foodItemId);
     LOGGER.info("Successfully retrieved food item details for ID: {}", foodItemId);
     return ResponseEntity.ok(foodItem);
   }
@@ -3,12 +3,16 @@ package com.nt.restaurant.microservice.controller;
 import com.nt.restaurant.microservice.dto.CommonResponse;
 import com.nt.restaurant.microservice.dto.RestaurantInDTO;
 import com.nt.restaurant.microservice.dto.RestaurantOutDTO;
+import com.nt.restaurant.microservice.dto.RestaurantPageOutDTO;
+import com.nt.restaurant.microservice.dto.StoredImage;
 import com.nt.restaurant.microservice.service.RestaurantService;
+import com.nt.restaurant.microservice.util.Constants;
+import com.nt.restaurant.microservice.util.ImageSize;
+import com.nt.restaurant.microservice.util.ImageStreamer;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -20,7 +24,10 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.io.IOException;
 import java.util.List;
 
 
@@ -97,17 +104,23 @@ public class RestaurantController {
   }
 
   /**
-   * Fetches the image of a restaurant by its ID.
+   * Streams the image of a restaurant by its ID straight from the image store.
+   * Answers a matching {@code If-None-Match} with 304 and serves a single {@code Range} as a partial response.
    *
-   * @param id the ID of the restaurant whose image is to be fetched.
-   * @return a response entity containing the restaurant image in JPEG format.
+   * @param id       the ID of the restaurant whose image is to be fetched.
+   * @param size     the requested size: {@code original} (the default), {@code medium} or {@code thumbnail}.
+   * @param request  the current request, carrying the conditional and range headers.
+   * @param response the response the image is streamed to.
+   * @throws IOException if the image cannot be streamed.
    */
   @GetMapping("/{id}/image")
-  public ResponseEntity<byte[]> getRestaurantImage(@PathVariable final Integer id) {
+  public void getRestaurantImage(@PathVariable final Integer id,
+                                 @RequestParam(value = "size", required = false) final String size,
+                                 final HttpServletRequest request, final HttpServletResponse response) throws IOException {
     LOGGER.info("Fetching image for restaurant ID: {}", id);
-    byte[] imageData = restaurantService.getRestaurantImage(id);
+    StoredImage image = restaurantService.getRestaurantImage(id, ImageSize.fromValue(size));
+    ImageStreamer.stream(image, request, response);
     LOGGER.info("Successfully retrieved image for restaurant ID: {}", id);
-    return ResponseEntity.ok().contentType(MediaType.IMAGE_JPEG).body(imageData);
   }
 
   /**
@@ -123,4 +136,23 @@ public class RestaurantController {
     return ResponseEntity.ok(restaurantOutDTOs);
   }
 
+  /**
+   * Fetches one page of restaurants without their images, ordered by restaurant ID.
+   * Pass the returned {@code nextAfterId} as {@code afterId} to fetch the following page.
+   *
+   * @param afterId  the restaurant ID after which the page starts; omit it for the first page.
+   * @param size     the number of restaurants on the page.
+   * @param isOpen   whether to list only open or only closed restaurants; omit it to list all.
+   * @return a response entity containing the page of restaurants.
+   */
+  @GetMapping("/summary")
+  public ResponseEntity<RestaurantPageOutDTO> getRestaurantPage(
+    @RequestParam(value = "afterId", required = false) final Integer afterId,
+    @RequestParam(value = "size", defaultValue = "" + Constants.DEFAULT_RESTAURANT_PAGE_SIZE) final int size,
+    @RequestParam(value = "isOpen", required = false) final Boolean isOpen) {
+    LOGGER.info("Fetching page of restaurants after ID: {}", afterId);
+    RestaurantPageOutDTO page = restaurantService.getRestaurantPage(afterId, size, isOpen);
+    LOGGER.info("Successfully retrieved {} restaurants", page.getRestaurants().size());
+    return ResponseEntity.ok(page);
+  }
 }
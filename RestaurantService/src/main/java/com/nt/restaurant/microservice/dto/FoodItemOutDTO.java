@@ -1,7 +1,5 @@
 package com.nt.restaurant.microservice.dto;
 
-import javax.persistence.Lob;
-import java.util.Arrays;
 import java.util.Objects;
 
 /**
@@ -46,10 +44,9 @@ public class FoodItemOutDTO {
   private boolean isAvailable;
 
   /**
-   * The image of the food item stored as a byte array.
+   * The URL the image of the food item is served from.
    */
-  @Lob
-  private byte[] foodItemImage;
+  private String foodItemImage;
 
   /**
    * Default constructor for creating an empty {@code FoodItemOutDTO} instance.
@@ -67,10 +64,10 @@ public class FoodItemOutDTO {
    * @param description   a description of the food item.
    * @param price         the price of the food item.
    * @param isAvailable   a flag indicating whether the food item is available.
-   * @param foodItemImage the image of the food item stored as a byte array.
+   * @param foodItemImage the URL the image of the food item is served from.
    */
   public FoodItemOutDTO(final Integer foodItemId, final Integer categoryId, final Integer restaurantId, final String foodItemName,
-                        final String description, final Double price, final boolean isAvailable, final byte[] foodItemImage) {
+                        final String description, final Double price, final boolean isAvailable, final String foodItemImage) {
     this.foodItemId = foodItemId;
     this.categoryId = categoryId;
     this.restaurantId = restaurantId;
@@ -208,20 +205,20 @@ public class FoodItemOutDTO {
   }
 
   /**
-   * Gets the image of the food item as a byte array.
+   * Gets the URL the image of the food item is served from.
    *
-   * @return the food item image.
+   * @return the food item image URL.
    */
-  public byte[] getFoodItemImage() {
+  public String getFoodItemImage() {
     return foodItemImage;
   }
 
   /**
-   * Sets the image of the food item as a byte array.
+   * Sets the URL the image of the food item is served from.
    *
-   * @param foodItemImage the food item image to set.
+   * @param foodItemImage the food item image URL to set.
    */
-  public void setFoodItemImage(final byte[] foodItemImage) {
+  public void setFoodItemImage(final String foodItemImage) {
     this.foodItemImage = foodItemImage;
   }
 
@@ -247,9 +244,7 @@ public class FoodItemOutDTO {
       && Objects.equals(foodItemName, that.foodItemName)
       && Objects.equals(description, that.description)
       && Objects.equals(price, that.price)
-      &&
-
-      Arrays.equals(foodItemImage, that.foodItemImage);
+      && Objects.equals(foodItemImage, that.foodItemImage);
   }
 
   /**
@@ -259,8 +254,8 @@ public class FoodItemOutDTO {
    */
   @Override
   public int hashCode() {
-    return Objects.hash(foodItemId, categoryId, restaurantId, foodItemName, description, price, isAvailable)
-      + Arrays.hashCode(foodItemImage);
+    return Objects.hash(foodItemId, categoryId, restaurantId, foodItemName, description, price, isAvailable,
+      foodItemImage);
   }
 
   /**
@@ -278,8 +273,7 @@ public class FoodItemOutDTO {
       + '\'' + ", description='" + description
       + '\'' + ", price=" + price
       + ", isAvailable=" + isAvailable
-      + ", foodItemImage="
-      + Arrays.toString(foodItemImage)
+      + ", foodItemImage='" + foodItemImage + '\''
       + '}';
   }
 }
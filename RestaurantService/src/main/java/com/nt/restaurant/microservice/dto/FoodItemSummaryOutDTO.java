@@ -0,0 +1,278 @@
+package com.nt.restaurant.microservice.dto;
+
+import java.util.Objects;
+
+/**
+ * Data Transfer Object (DTO) for representing a food item without its image.
+ * This class is populated directly from the scalar columns of the food item table and links to
+ * the image through a URL, so reads that do not display the image never load its bytes.
+ */
+public class FoodItemSummaryOutDTO {
+
+  /**
+   * The unique identifier for the food item.
+   */
+  private Integer foodItemId;
+
+  /**
+   * The identifier of the category to which the food item belongs.
+   */
+  private Integer categoryId;
+
+  /**
+   * The identifier of the restaurant to which the food item belongs.
+   */
+  private Integer restaurantId;
+
+  /**
+   * The name of the food item.
+   */
+  private String foodItemName;
+
+  /**
+   * A description of the food item.
+   */
+  private String description;
+
+  /**
+   * The price of the food item.
+   */
+  private Double price;
+
+  /**
+   * A flag indicating whether the food item is available.
+   */
+  private boolean isAvailable;
+
+  /**
+   * The URL from which the image of the food item can be fetched.
+   */
+  private String imageUrl;
+
+  /**
+   * Default constructor for creating an empty {@code FoodItemSummaryOutDTO} instance.
+   */
+  public FoodItemSummaryOutDTO() {
+  }
+
+  /**
+   * Constructor used by the repository's projection queries.
+   *
+   * @param foodItemId   the unique identifier for the food item.
+   * @param categoryId   the identifier of the category to which the food item belongs.
+   * @param restaurantId the identifier of the restaurant to which the food item belongs.
+   * @param foodItemName the name of the food item.
+   * @param description  a description of the food item.
+   * @param price        the price of the food item.
+   * @param isAvailable  a flag indicating whether the food item is available.
+   */
+  public FoodItemSummaryOutDTO(final Integer foodItemId, final Integer categoryId, final Integer restaurantId,
+                               final String foodItemName, final String description, final Double price,
+                               final boolean isAvailable) {
+    this.foodItemId = foodItemId;
+    this.categoryId = categoryId;
+    this.restaurantId = restaurantId;
+    this.foodItemName = foodItemName;
+    this.description = description;
+    this.price = price;
+    this.isAvailable = isAvailable;
+  }
+
+  /**
+   * Gets the unique identifier for the food item.
+   *
+   * @return the food item ID.
+   */
+  public Integer getFoodItemId() {
+    return foodItemId;
+  }
+
+  /**
+   * Sets the unique identifier for the food item.
+   *
+   * @param foodItemId the food item ID to set.
+   */
+  public void setFoodItemId(final Integer foodItemId) {
+    this.foodItemId = foodItemId;
+  }
+
+  /**
+   * Gets the identifier of the category to which the food item belongs.
+   *
+   * @return the category ID.
+   */
+  public Integer getCategoryId() {
+    return categoryId;
+  }
+
+  /**
+   * Sets the identifier of the category to which the food item belongs.
+   *
+   * @param categoryId the category ID to set.
+   */
+  public void setCategoryId(final Integer categoryId) {
+    this.categoryId = categoryId;
+  }
+
+  /**
+   * Gets the identifier of the restaurant to which the food item belongs.
+   *
+   * @return the restaurant ID.
+   */
+  public Integer getRestaurantId() {
+    return restaurantId;
+  }
+
+  /**
+   * Sets the identifier of the restaurant to which the food item belongs.
+   *
+   * @param restaurantId the restaurant ID to set.
+   */
+  public void setRestaurantId(final Integer restaurantId) {
+    this.restaurantId = restaurantId;
+  }
+
+  /**
+   * Gets the name of the food item.
+   *
+   * @return the food item name.
+   */
+  public String getFoodItemName() {
+    return foodItemName;
+  }
+
+  /**
+   * Sets the name of the food item.
+   *
+   * @param foodItemName the food item name to set.
+   */
+  public void setFoodItemName(final String foodItemName) {
+    this.foodItemName = foodItemName;
+  }
+
+  /**
+   * Gets the description of the food item.
+   *
+   * @return the food item description.
+   */
+  public String getDescription() {
+    return description;
+  }
+
+  /**
+   * Sets the description of the food item.
+   *
+   * @param description the food item description to set.
+   */
+  public void setDescription(final String description) {
+    this.description = description;
+  }
+
+  /**
+   * Gets the price of the food item.
+   *
+   * @return the food item price.
+   */
+  public Double getPrice() {
+    return price;
+  }
+
+  /**
+   * Sets the price of the food item.
+   *
+   * @param price the food item price to set.
+   */
+  public void setPrice(final Double price) {
+    this.price = price;
+  }
+
+  /**
+   * Checks if the food item is available.
+   *
+   * @return {@code true} if the food item is available, {@code false} otherwise.
+   */
+  public boolean isAvailable() {
+    return isAvailable;
+  }
+
+  /**
+   * Sets the availability of the food item.
+   *
+   * @param available the availability status to set.
+   */
+  public void setAvailable(final boolean available) {
+    this.isAvailable = available;
+  }
+
+  /**
+   * Gets the URL from which the image of the food item can be fetched.
+   *
+   * @return the image URL.
+   */
+  public String getImageUrl() {
+    return imageUrl;
+  }
+
+  /**
+   * Sets the URL from which the image of the food item can be fetched.
+   *
+   * @param imageUrl the image URL to set.
+   */
+  public void setImageUrl(final String imageUrl) {
+    this.imageUrl = imageUrl;
+  }
+
+  /**
+   * Compares this {@code FoodItemSummaryOutDTO} to another object for equality.
+   *
+   * @param o the object to compare with.
+   * @return {@code true} if this object is equal to the other object, {@code false} otherwise.
+   */
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    FoodItemSummaryOutDTO that = (FoodItemSummaryOutDTO) o;
+    return isAvailable == that.isAvailable
+      && Objects.equals(foodItemId, that.foodItemId)
+      && Objects.equals(categoryId, that.categoryId)
+      && Objects.equals(restaurantId, that.restaurantId)
+      && Objects.equals(foodItemName, that.foodItemName)
+      && Objects.equals(description, that.description)
+      && Objects.equals(price, that.price)
+      && Objects.equals(imageUrl, that.imageUrl);
+  }
+
+  /**
+   * Returns a hash code value for this {@code FoodItemSummaryOutDTO}.
+   *
+   * @return the hash code value.
+   */
+  @Override
+  public int hashCode() {
+    return Objects.hash(foodItemId, categoryId, restaurantId, foodItemName, description, price, isAvailable, imageUrl);
+  }
+
+  /**
+   * Returns a string representation of this {@code FoodItemSummaryOutDTO}.
+   *
+   * @return a string representation of the object.
+   */
+  @Override
+  public String toString() {
+    return "FoodItemSummaryOutDTO{"
+      + "foodItemId=" + foodItemId
+      + ", categoryId=" + categoryId
+      + ", restaurantId=" + restaurantId
+      + ", foodItemName='" + foodItemName
+      + '\'' + ", description='" + description
+      + '\'' + ", price=" + price
+      + ", isAvailable=" + isAvailable
+      + ", imageUrl='" + imageUrl
+      + '\'' + '}';
+  }
+}
@@ -0,0 +1,116 @@
+package com.nt.restaurant.microservice.dto;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Data Transfer Object (DTO) for one page of a keyset-paginated restaurant listing.
+ * The next page is requested by passing {@link #getNextAfterId()} as the {@code afterId} parameter.
+ */
+public class RestaurantPageOutDTO {
+
+  /**
+   * The restaurants on this page, ordered by restaurant ID.
+   */
+  private List<RestaurantSummaryOutDTO> restaurants;
+
+  /**
+   * The restaurant ID to continue after, or {@code null} when this is the last page.
+   */
+  private Integer nextAfterId;
+
+  /**
+   * Default constructor for creating an empty {@code RestaurantPageOutDTO} instance.
+   */
+  public RestaurantPageOutDTO() {
+  }
+
+  /**
+   * Constructor for creating a {@code RestaurantPageOutDTO} instance.
+   *
+   * @param restaurants the restaurants on this page, ordered by restaurant ID.
+   * @param nextAfterId the restaurant ID to continue after, or {@code null} when this is the last page.
+   */
+  public RestaurantPageOutDTO(final List<RestaurantSummaryOutDTO> restaurants, final Integer nextAfterId) {
+    this.restaurants = restaurants;
+    this.nextAfterId = nextAfterId;
+  }
+
+  /**
+   * Gets the restaurants on this page.
+   *
+   * @return the restaurants, ordered by restaurant ID.
+   */
+  public List<RestaurantSummaryOutDTO> getRestaurants() {
+    return restaurants;
+  }
+
+  /**
+   * Sets the restaurants on this page.
+   *
+   * @param restaurants the restaurants to set.
+   */
+  public void setRestaurants(final List<RestaurantSummaryOutDTO> restaurants) {
+    this.restaurants = restaurants;
+  }
+
+  /**
+   * Gets the restaurant ID to continue after.
+   *
+   * @return the restaurant ID of the last restaurant on this page, or {@code null} when there are no more pages.
+   */
+  public Integer getNextAfterId() {
+    return nextAfterId;
+  }
+
+  /**
+   * Sets the restaurant ID to continue after.
+   *
+   * @param nextAfterId the restaurant ID to set.
+   */
+  public void setNextAfterId(final Integer nextAfterId) {
+    this.nextAfterId = nextAfterId;
+  }
+
+  /**
+   * Compares this {@code RestaurantPageOutDTO} to another object for equality.
+   *
+   * @param o the object to compare with.
+   * @return {@code true} if this object is equal to the other object, {@code false} otherwise.
+   */
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    RestaurantPageOutDTO that = (RestaurantPageOutDTO) o;
+    return Objects.equals(restaurants, that.restaurants)
+      && Objects.equals(nextAfterId, that.nextAfterId);
+  }
+
+  /**
+   * Returns a hash code value for this {@code RestaurantPageOutDTO}.
+   *
+   * @return the hash code value.
+   */
+  @Override
+  public int hashCode() {
+    return Objects.hash(restaurants, nextAfterId);
+  }
+
+  /**
+   * Returns a string representation of this {@code RestaurantPageOutDTO}.
+   *
+   * @return a string representation of the object.
+   */
+  @Override
+  public String toString() {
+    return "RestaurantPageOutDTO{"
+      + "restaurants=" + restaurants
+      + ", nextAfterId=" + nextAfterId
+      + '}';
+  }
+}
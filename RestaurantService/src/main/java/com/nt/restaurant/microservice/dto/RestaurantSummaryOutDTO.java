@@ -0,0 +1,250 @@
+package com.nt.restaurant.microservice.dto;
+
+import java.util.Objects;
+
+/**
+ * Data Transfer Object (DTO) for listing a restaurant without its image.
+ * This class is populated directly from the scalar columns of the restaurant table and links to
+ * the image through a URL, so listings never load image data.
+ */
+public class RestaurantSummaryOutDTO {
+
+  /**
+   * The unique identifier for the restaurant.
+   */
+  private Integer restaurantId;
+
+  /**
+   * The name of the restaurant.
+   */
+  private String restaurantName;
+
+  /**
+   * The address of the restaurant.
+   */
+  private String restaurantAddress;
+
+  /**
+   * The contact number of the restaurant.
+   */
+  private String contactNumber;
+
+  /**
+   * A description of the restaurant.
+   */
+  private String description;
+
+  /**
+   * A flag indicating whether the restaurant is currently open.
+   */
+  private boolean isOpen;
+
+  /**
+   * The URL from which the image of the restaurant can be fetched.
+   */
+  private String imageUrl;
+
+  /**
+   * Default constructor for creating an empty {@code RestaurantSummaryOutDTO} instance.
+   */
+  public RestaurantSummaryOutDTO() {
+  }
+
+  /**
+   * Constructor used by the repository's projection queries.
+   *
+   * @param restaurantId      the unique identifier for the restaurant.
+   * @param restaurantName    the name of the restaurant.
+   * @param restaurantAddress the address of the restaurant.
+   * @param contactNumber     the contact number of the restaurant.
+   * @param description       a description of the restaurant.
+   * @param isOpen            a flag indicating whether the restaurant is currently open.
+   */
+  public RestaurantSummaryOutDTO(final Integer restaurantId, final String restaurantName, final String restaurantAddress,
+                                 final String contactNumber, final String description, final boolean isOpen) {
+    this.restaurantId = restaurantId;
+    this.restaurantName = restaurantName;
+    this.restaurantAddress = restaurantAddress;
+    this.contactNumber = contactNumber;
+    this.description = description;
+    this.isOpen = isOpen;
+  }
+
+  /**
+   * Gets the unique identifier for the restaurant.
+   *
+   * @return the restaurant ID.
+   */
+  public Integer getRestaurantId() {
+    return restaurantId;
+  }
+
+  /**
+   * Sets the unique identifier for the restaurant.
+   *
+   * @param restaurantId the restaurant ID to set.
+   */
+  public void setRestaurantId(final Integer restaurantId) {
+    this.restaurantId = restaurantId;
+  }
+
+  /**
+   * Gets the name of the restaurant.
+   *
+   * @return the restaurant name.
+   */
+  public String getRestaurantName() {
+    return restaurantName;
+  }
+
+  /**
+   * Sets the name of the restaurant.
+   *
+   * @param restaurantName the restaurant name to set.
+   */
+  public void setRestaurantName(final String restaurantName) {
+    this.restaurantName = restaurantName;
+  }
+
+  /**
+   * Gets the address of the restaurant.
+   *
+   * @return the restaurant address.
+   */
+  public String getRestaurantAddress() {
+    return restaurantAddress;
+  }
+
+  /**
+   * Sets the address of the restaurant.
+   *
+   * @param restaurantAddress the restaurant address to set.
+   */
+  public void setRestaurantAddress(final String restaurantAddress) {
+    this.restaurantAddress = restaurantAddress;
+  }
+
+  /**
+   * Gets the contact number of the restaurant.
+   *
+   * @return the contact number.
+   */
+  public String getContactNumber() {
+    return contactNumber;
+  }
+
+  /**
+   * Sets the contact number of the restaurant.
+   *
+   * @param contactNumber the contact number to set.
+   */
+  public void setContactNumber(final String contactNumber) {
+    this.contactNumber = contactNumber;
+  }
+
+  /**
+   * Gets the description of the restaurant.
+   *
+   * @return the description.
+   */
+  public String getDescription() {
+    return description;
+  }
+
+  /**
+   * Sets the description of the restaurant.
+   *
+   * @param description the description to set.
+   */
+  public void setDescription(final String description) {
+    this.description = description;
+  }
+
+  /**
+   * Checks whether the restaurant is currently open.
+   *
+   * @return {@code true} if the restaurant is open, {@code false} otherwise.
+   */
+  public boolean isOpen() {
+    return isOpen;
+  }
+
+  /**
+   * Sets whether the restaurant is currently open.
+   *
+   * @param open {@code true} if the restaurant is open, {@code false} otherwise.
+   */
+  public void setOpen(final boolean open) {
+    this.isOpen = open;
+  }
+
+  /**
+   * Gets the URL from which the image of the restaurant can be fetched.
+   *
+   * @return the image URL.
+   */
+  public String getImageUrl() {
+    return imageUrl;
+  }
+
+  /**
+   * Sets the URL from which the image of the restaurant can be fetched.
+   *
+   * @param imageUrl the image URL to set.
+   */
+  public void setImageUrl(final String imageUrl) {
+    this.imageUrl = imageUrl;
+  }
+
+  /**
+   * Compares this {@code RestaurantSummaryOutDTO} to another object for equality.
+   *
+   * @param o the object to compare with.
+   * @return {@code true} if this object is equal to the other object, {@code false} otherwise.
+   */
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    RestaurantSummaryOutDTO that = (RestaurantSummaryOutDTO) o;
+    return isOpen == that.isOpen
+      && Objects.equals(restaurantId, that.restaurantId)
+      && Objects.equals(restaurantName, that.restaurantName)
+      && Objects.equals(restaurantAddress, that.restaurantAddress)
+      && Objects.equals(contactNumber, that.contactNumber)
+      && Objects.equals(description, that.description)
+      && Objects.equals(imageUrl, that.imageUrl);
+  }
+
+  /**
+   * Returns a hash code value for this {@code RestaurantSummaryOutDTO}.
+   *
+   * @return the hash code value.
+   */
+  @Override
+  public int hashCode() {
+    return Objects.hash(restaurantId, restaurantName, restaurantAddress, contactNumber, description, isOpen, imageUrl);
+  }
+
+  /**
+   * Returns a string representation of this {@code RestaurantSummaryOutDTO}.
+   *
+   * @return a string representation of the object.
+   */
+  @Override
+  public String toString() {
+    return "RestaurantSummaryOutDTO{"
+      + "restaurantId=" + restaurantId
+      + ", restaurantName='" + restaurantName + '\''
+      + ", restaurantAddress='" + restaurantAddress + '\''
+      + ", contactNumber='" + contactNumber + '\''
+      + ", description='" + description + '\''
+      + ", isOpen=" + isOpen
+      + ", imageUrl='" + imageUrl + '\''
+      + '}';
+  }
+}
@@ -0,0 +1,149 @@
+package com.nt.restaurant.microservice.dto;
+
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * Describes an image held by the {@link com.nt.restaurant.microservice.service.ImageStore}.
+ * This class carries the location of the image file so it can be streamed from disk instead of being read into memory.
+ */
+public final class StoredImage {
+
+  /**
+   * The hex-encoded SHA-256 hash identifying the image.
+   */
+  private final String hash;
+
+  /**
+   * The file holding the image bytes.
+   */
+  private final Path path;
+
+  /**
+   * The size of the image in bytes.
+   */
+  private final long size;
+
+  /**
+   * Whether this is the original image served in place of a rendition that does not exist yet.
+   */
+  private final boolean substitute;
+
+  /**
+   * Constructor for creating a {@code StoredImage} instance.
+   *
+   * @param hash the hex-encoded SHA-256 hash identifying the image.
+   * @param path the file holding the image bytes.
+   * @param size the size of the image in bytes.
+   */
+  public StoredImage(final String hash, final Path path, final long size) {
+    this(hash, path, size, false);
+  }
+
+  /**
+   * Constructor for creating a {@code StoredImage} instance.
+   *
+   * @param hash       the hex-encoded SHA-256 hash identifying the image.
+   * @param path       the file holding the image bytes.
+   * @param size       the size of the image in bytes.
+   * @param substitute whether the image is served in place of a missing rendition.
+   */
+  public StoredImage(final String hash, final Path path, final long size, final boolean substitute) {
+    this.hash = hash;
+    this.path = path;
+    this.size = size;
+    this.substitute = substitute;
+  }
+
+  /**
+   * Returns this image marked as served in place of a missing rendition.
+   *
+   * @return the substitute image.
+   */
+  public StoredImage asSubstitute() {
+    return new StoredImage(hash, path, size, true);
+  }
+
+  /**
+   * Gets the hex-encoded SHA-256 hash identifying the image.
+   *
+   * @return the image hash.
+   */
+  public String getHash() {
+    return hash;
+  }
+
+  /**
+   * Gets the file holding the image bytes.
+   *
+   * @return the image file.
+   */
+  public Path getPath() {
+    return path;
+  }
+
+  /**
+   * Gets the size of the image in bytes.
+   *
+   * @return the image size.
+   */
+  public long getSize() {
+    return size;
+  }
+
+  /**
+   * Tells whether this is the original image served in place of a rendition that does not exist yet.
+   * Such a response must not be cached under the rendition URL.
+   *
+   * @return {@code true} if the image substitutes a missing rendition.
+   */
+  public boolean isSubstitute() {
+    return substitute;
+  }
+
+  /**
+   * Compares this {@code StoredImage} to another object for equality.
+   *
+   * @param o the object to compare with.
+   * @return {@code true} if this object is equal to the other object, {@code false} otherwise.
+   */
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    StoredImage that = (StoredImage) o;
+    return size == that.size
+      && substitute == that.substitute
+      && Objects.equals(hash, that.hash)
+      && Objects.equals(path, that.path);
+  }
+
+  /**
+   * Returns a hash code value for this {@code StoredImage}.
+   *
+   * @return the hash code value.
+   */
+  @Override
+  public int hashCode() {
+    return Objects.hash(hash, path, size, substitute);
+  }
+
+  /**
+   * Returns a string representation of this {@code StoredImage}.
+   *
+   * @return a string representation of the object.
+   */
+  @Override
+  public String toString() {
+    return "StoredImage{"
+      + "hash='" + hash
+      + '\'' + ", path=" + path
+      + ", size=" + size
+      + ", substitute=" + substitute
+      + '}';
+  }
+}
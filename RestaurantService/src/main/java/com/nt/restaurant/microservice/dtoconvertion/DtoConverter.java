@@ -3,11 +3,9 @@ package com.nt.restaurant.microservice.dtoconvertion;
 import com.nt.restaurant.microservice.dto.RestaurantInDTO;
 import com.nt.restaurant.microservice.dto.RestaurantOutDTO;
 import com.nt.restaurant.microservice.entities.Restaurant;
+import com.nt.restaurant.microservice.util.Constants;
 
-import java.io.IOException;
 import java.time.LocalDate;
-import java.util.Base64;
-import java.util.Objects;
 
 /**
  * Utility class to convert between DTOs and entities for the Restaurant entity.
@@ -16,6 +14,7 @@ public class DtoConverter {
 
   /**
    * Converts a {@link RestaurantInDTO} to a {@link Restaurant} entity.
+   * The image is not copied; the service puts it in the image store and records its hash.
    *
    * @param restaurantInDTO the DTO containing restaurant input data.
    * @return the {@link Restaurant} entity populated with input data.
@@ -29,19 +28,13 @@ public class DtoConverter {
     restaurant.setDescription(restaurantInDTO.getDescription());
     restaurant.setRegistrationDate(LocalDate.now());
     restaurant.setOpen(true);
-
-    try {
-      byte[] imageBytes = restaurantInDTO.getRestaurantImage().getBytes();
-      restaurant.setRestaurantImage(imageBytes);
-    } catch (IOException e) {
-      e.printStackTrace();
-    }
-
     return restaurant;
   }
 
   /**
    * Converts a {@link Restaurant} entity to a {@link RestaurantOutDTO}.
+   * The image is not embedded; the DTO carries the URL it is served from, {@code /restaurant/{restaurantId}/image},
+   * which answers 404 if the restaurant has no image.
    *
    * @param restaurant the entity representing the restaurant.
    * @return a {@link RestaurantOutDTO} populated with restaurant data.
@@ -55,12 +48,7 @@ public class DtoConverter {
     restaurantOutDTO.setRegistrationDate(restaurant.getRegistrationDate());
     restaurantOutDTO.setDescription(restaurant.getDescription());
     restaurantOutDTO.setOpen(restaurant.isOpen());
-
-    if (Objects.nonNull(restaurant.getRestaurantImage())) {
-      String base64Image = Base64.getEncoder().encodeToString(restaurant.getRestaurantImage());
-      restaurantOutDTO.setRestaurantImage(base64Image);
-    }
-
+    restaurantOutDTO.setRestaurantImage(String.format(Constants.RESTAURANT_IMAGE_URL, restaurant.getRestaurantId()));
     return restaurantOutDTO;
   }
 }
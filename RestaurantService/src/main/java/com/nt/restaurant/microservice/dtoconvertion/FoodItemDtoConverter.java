@@ -3,8 +3,7 @@ package com.nt.restaurant.microservice.dtoconvertion;
 import com.nt.restaurant.microservice.dto.FoodItemInDTO;
 import com.nt.restaurant.microservice.dto.FoodItemOutDTO;
 import com.nt.restaurant.microservice.entities.FoodItem;
-
-import java.io.IOException;
+import com.nt.restaurant.microservice.util.Constants;
 
 /**
  * Utility class to convert between {@link FoodItemInDTO} and {@link FoodItem} entities,
@@ -14,6 +13,7 @@ public class FoodItemDtoConverter {
 
   /**
    * Converts a {@link FoodItemInDTO} to a {@link FoodItem} entity.
+   * The image is not copied; the service puts it in the image store and records its hash.
    *
    * @param foodItemInDTO the DTO containing food item input data.
    * @return the {@link FoodItem} entity populated with input data.
@@ -26,18 +26,13 @@ public class FoodItemDtoConverter {
     foodItem.setDescription(foodItemInDTO.getDescription().trim());
     foodItem.setPrice(foodItemInDTO.getPrice());
     foodItem.setAvailable(true);
-
-    try {
-      foodItem.setFoodItemImage(foodItemInDTO.getFoodItemImage().getBytes());
-    } catch (IOException e) {
-      e.printStackTrace();
-    }
-
     return foodItem;
   }
 
   /**
    * Converts a {@link FoodItem} entity to a {@link FoodItemOutDTO}.
+   * The image is not embedded; the DTO carries the URL it is served from, {@code /foodItems/{foodItemId}/image},
+   * which answers 404 if the food item has no image.
    *
    * @param foodItem the entity representing the food item.
    * @return a {@link FoodItemOutDTO} populated with food item data.
@@ -51,7 +46,7 @@ public class FoodItemDtoConverter {
       foodItem.getDescription(),
       foodItem.getPrice(),
       foodItem.isAvailable(),
-      foodItem.getFoodItemImage()
+      String.format(Constants.FOOD_ITEM_IMAGE_URL, foodItem.getFoodItemId())
     );
   }
 }
@@ -1,6 +1,9 @@
 package com.nt.restaurant.microservice.entities;
 
+import javax.persistence.Basic;
+import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
@@ -54,10 +57,19 @@ public class FoodItem {
 
   /**
    * The image of the food item stored as a byte array.
+   * Only kept for food items added before images moved to the image store; such images are moved
+   * into the store the first time they are requested. Fetched lazily, so it is only read when needed.
    */
   @Lob
+  @Basic(fetch = FetchType.LAZY)
   private byte[] foodItemImage;
 
+  /**
+   * The SHA-256 hash under which the food item image is kept in the image store.
+   */
+  @Column(length = 64)
+  private String foodItemImageHash;
+
   /**
    * Default constructor.
    * Required by JPA for entity creation.
@@ -89,6 +101,24 @@ public class FoodItem {
     this.foodItemImage = foodItemImage;
   }
 
+  /**
+   * Gets the hash under which the food item image is kept in the image store.
+   *
+   * @return the food item image hash.
+   */
+  public String getFoodItemImageHash() {
+    return foodItemImageHash;
+  }
+
+  /**
+   * Sets the hash under which the food item image is kept in the image store.
+   *
+   * @param foodItemImageHash the food item image hash.
+   */
+  public void setFoodItemImageHash(final String foodItemImageHash) {
+    this.foodItemImageHash = foodItemImageHash;
+  }
+
   // Getters and Setters
 
   /**
@@ -1,6 +1,9 @@
 package com.nt.restaurant.microservice.entities;
 
+import javax.persistence.Basic;
+import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
@@ -62,10 +65,19 @@ public class Restaurant {
 
   /**
    * The image of the restaurant stored as byte array.
+   * Only kept for restaurants registered before images moved to the image store; such images are moved
+   * into the store the first time they are requested. Fetched lazily, so it is only read when needed.
    */
   @Lob
+  @Basic(fetch = FetchType.LAZY)
   private byte[] restaurantImage;
 
+  /**
+   * The SHA-256 hash under which the restaurant image is kept in the image store.
+   */
+  @Column(length = 64)
+  private String restaurantImageHash;
+
   /**
    * Default constructor for Restaurant.
    */
@@ -263,6 +275,24 @@ public class Restaurant {
     this.restaurantImage = restaurantImage;
   }
 
+  /**
+   * Gets the hash under which the restaurant image is kept in the image store.
+   *
+   * @return the restaurant image hash
+   */
+  public String getRestaurantImageHash() {
+    return restaurantImageHash;
+  }
+
+  /**
+   * Sets the hash under which the restaurant image is kept in the image store.
+   *
+   * @param restaurantImageHash the restaurant image hash to set
+   */
+  public void setRestaurantImageHash(final String restaurantImageHash) {
+    this.restaurantImageHash = restaurantImageHash;
+  }
+
   /**
    * Generates the hash code for this Restaurant object.
    *
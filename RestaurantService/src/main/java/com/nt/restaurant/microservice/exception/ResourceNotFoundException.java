@@ -5,7 +5,7 @@ package com.nt.restaurant.microservice.exception;
  * is not found in the system. This exception is typically thrown when an entity
  * being searched for does not exist in the database.
  */
-public class ResourceNotFoundException extends RuntimeException {
+public class ResourceNotFoundException extends BusinessException {
 
   /**
    * Constructs a new {@code NotFoundException} with the specified detail message.
@@ -1,15 +1,23 @@
 package com.nt.restaurant.microservice.repository;
 
+import com.nt.restaurant.microservice.dto.FoodItemSummaryOutDTO;
 import com.nt.restaurant.microservice.entities.FoodItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 /**
  * Repository interface for performing CRUD operations on {@link FoodItem} entities.
  * Extends {@link JpaRepository} to provide basic CRUD and JPA functionalities.
+ * <p>
+ * Food item images live in the image store and are served separately, so the summary queries select
+ * only the scalar columns and never touch the lazily fetched legacy image column.
+ * </p>
  */
 @Repository
 public interface FoodItemRepository extends JpaRepository<FoodItem, Integer> {
@@ -30,6 +38,46 @@ public interface FoodItemRepository extends JpaRepository<FoodItem, Integer> {
    */
   List<FoodItem> findByRestaurantId(Integer restaurantId);
 
+  /**
+   * Finds the scalar columns of a food item by its ID, without loading its image.
+   *
+   * @param foodItemId the ID of the food item.
+   * @return an {@link Optional} containing the {@link FoodItemSummaryOutDTO} if found, or {@link Optional#empty()} if not.
+   */
+  @Query("SELECT new com.nt.restaurant.microservice.dto.FoodItemSummaryOutDTO(f.foodItemId, f.categoryId, f.restaurantId, "
+    + "f.foodItemName, f.description, f.price, f.isAvailable) FROM FoodItem f WHERE f.foodItemId = :foodItemId")
+  Optional<FoodItemSummaryOutDTO> findSummaryByFoodItemId(@Param("foodItemId") Integer foodItemId);
+
+  /**
+   * Finds the scalar columns of all food items of a category, without loading their images.
+   *
+   * @param categoryId the ID of the food category.
+   * @return a {@link List} of {@link FoodItemSummaryOutDTO} for the specified category.
+   */
+  @Query("SELECT new com.nt.restaurant.microservice.dto.FoodItemSummaryOutDTO(f.foodItemId, f.categoryId, f.restaurantId, "
+    + "f.foodItemName, f.description, f.price, f.isAvailable) FROM FoodItem f WHERE f.categoryId = :categoryId")
+  List<FoodItemSummaryOutDTO> findSummariesByCategoryId(@Param("categoryId") Integer categoryId);
+
+  /**
+   * Finds the scalar columns of all food items of a restaurant, without loading their images.
+   *
+   * @param restaurantId the ID of the restaurant.
+   * @return a {@link List} of {@link FoodItemSummaryOutDTO} for the specified restaurant.
+   */
+  @Query("SELECT new com.nt.restaurant.microservice.dto.FoodItemSummaryOutDTO(f.foodItemId, f.categoryId, f.restaurantId, "
+    + "f.foodItemName, f.description, f.price, f.isAvailable) FROM FoodItem f WHERE f.restaurantId = :restaurantId")
+  List<FoodItemSummaryOutDTO> findSummariesByRestaurantId(@Param("restaurantId") Integer restaurantId);
+
+  /**
+   * Finds the scalar columns of the food items whose IDs are in the given collection, in a single query.
+   *
+   * @param foodItemIds the IDs of the food items.
+   * @return a {@link List} of {@link FoodItemSummaryOutDTO}; unknown IDs are simply absent.
+   */
+  @Query("SELECT new com.nt.restaurant.microservice.dto.FoodItemSummaryOutDTO(f.foodItemId, f.categoryId, f.restaurantId, "
+    + "f.foodItemName, f.description, f.price, f.isAvailable) FROM FoodItem f WHERE f.foodItemId IN :foodItemIds")
+  List<FoodItemSummaryOutDTO> findSummariesByFoodItemIdIn(@Param("foodItemIds") Collection<Integer> foodItemIds);
+
   /**
    * Finds a {@link FoodItem} by its name.
    *
@@ -1,7 +1,11 @@
 package com.nt.restaurant.microservice.repository;
 
+import com.nt.restaurant.microservice.dto.RestaurantSummaryOutDTO;
 import com.nt.restaurant.microservice.entities.Restaurant;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -37,4 +41,31 @@ public interface RestaurantRepository extends JpaRepository<Restaurant, Integer>
    * @return true if a restaurant with the specified name exists, false otherwise.
    */
   boolean existsByRestaurantNameIgnoreCase(String normalizedRestaurantName);
+
+  /**
+   * Finds the next restaurants after a given ID, ordered by ID, without loading their images.
+   * Seeking on the primary key keeps every page as cheap as the first, however deep the listing goes.
+   *
+   * @param afterId  the ID after which the page starts.
+   * @param pageable the number of restaurants to return; its sort is ignored.
+   * @return a {@link List} of {@link RestaurantSummaryOutDTO} ordered by restaurant ID.
+   */
+  @Query("SELECT new com.nt.restaurant.microservice.dto.RestaurantSummaryOutDTO(r.restaurantId, r.restaurantName, "
+    + "r.restaurantAddress, r.contactNumber, r.description, r.isOpen) FROM Restaurant r "
+    + "WHERE r.restaurantId > :afterId ORDER BY r.restaurantId")
+  List<RestaurantSummaryOutDTO> findSummariesAfter(@Param("afterId") Integer afterId, Pageable pageable);
+
+  /**
+   * Finds the next open or closed restaurants after a given ID, ordered by ID, without loading their images.
+   *
+   * @param afterId  the ID after which the page starts.
+   * @param isOpen   whether to list open or closed restaurants.
+   * @param pageable the number of restaurants to return; its sort is ignored.
+   * @return a {@link List} of {@link RestaurantSummaryOutDTO} ordered by restaurant ID.
+   */
+  @Query("SELECT new com.nt.restaurant.microservice.dto.RestaurantSummaryOutDTO(r.restaurantId, r.restaurantName, "
+    + "r.restaurantAddress, r.contactNumber, r.description, r.isOpen) FROM Restaurant r "
+    + "WHERE r.restaurantId > :afterId AND r.isOpen = :isOpen ORDER BY r.restaurantId")
+  List<RestaurantSummaryOutDTO> findSummariesAfterByIsOpen(@Param("afterId") Integer afterId, @Param("isOpen") boolean isOpen,
+                                                           Pageable pageable);
 }
@@ -3,11 +3,15 @@ package com.nt.restaurant.microservice.service;
 import com.nt.restaurant.microservice.dto.CommonResponse;
 import com.nt.restaurant.microservice.dto.FoodItemInDTO;
 import com.nt.restaurant.microservice.dto.FoodItemOutDTO;
+import com.nt.restaurant.microservice.dto.FoodItemSummaryOutDTO;
 import com.nt.restaurant.microservice.dto.FoodItemUpdateInDTO;
+import com.nt.restaurant.microservice.dto.StoredImage;
 import com.nt.restaurant.microservice.entities.FoodItem;
+import com.nt.restaurant.microservice.util.ImageSize;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
+import java.util.Set;
 
 /**
  * Service interface for managing food items in the restaurant microservice.
@@ -40,6 +44,40 @@ public interface FoodItemService {
    */
   List<FoodItemOutDTO> getFoodItemsByRestaurant(Integer restaurantId);
 
+  /**
+   * Retrieves the food items of a specific category without loading their images.
+   *
+   * @param categoryId The ID of the food category.
+   * @return A list of {@link FoodItemSummaryOutDTO} linking to the images by URL.
+   */
+  List<FoodItemSummaryOutDTO> getFoodItemSummariesByCategory(Integer categoryId);
+
+  /**
+   * Retrieves the food items of a specific restaurant without loading their images.
+   *
+   * @param restaurantId The ID of the restaurant.
+   * @return A list of {@link FoodItemSummaryOutDTO} linking to the images by URL.
+   */
+  List<FoodItemSummaryOutDTO> getFoodItemSummariesByRestaurant(Integer restaurantId);
+
+  /**
+   * Retrieves the requested food items of a restaurant in a single lookup, without their images.
+   * Items owned by another restaurant are still returned so callers can tell them apart from unknown IDs.
+   *
+   * @param restaurantId The ID of the restaurant the items are expected to belong to.
+   * @param foodItemIds  The IDs of the food items to retrieve.
+   * @return A list of {@link FoodItemSummaryOutDTO} for the IDs that exist.
+   */
+  List<FoodItemSummaryOutDTO> getFoodItemsByIds(Integer restaurantId, Set<Integer> foodItemIds);
+
+  /**
+   * Retrieves a food item by its ID without loading its image.
+   *
+   * @param id The ID of the food item.
+   * @return The {@link FoodItemSummaryOutDTO} linking to the image by URL.
+   */
+  FoodItemSummaryOutDTO getFoodItemSummaryById(Integer id);
+
   /**
    * Updates an existing food item by its ID.
    *
@@ -52,10 +90,12 @@ public interface FoodItemService {
   /**
    * Retrieves the image of a food item by its ID.
    *
-   * @param id The ID of the food item.
-   * @return A byte array representing the food item's image.
+   * @param id   The ID of the food item.
+   * @param size The requested size of the image.
+   * @return A {@link StoredImage} locating the food item's image in the image store,
+   *     or the original while the rendition is not ready.
    */
-  byte[] getFoodItemImage(Integer id);
+  StoredImage getFoodItemImage(Integer id, ImageSize size);
 
   /**
    * Finds and returns a food item entity by its ID.
@@ -0,0 +1,30 @@
+package com.nt.restaurant.microservice.service;
+
+import com.nt.restaurant.microservice.dto.StoredImage;
+import com.nt.restaurant.microservice.util.ImageSize;
+
+/**
+ * Service interface for the scaled-down renditions of restaurant and food item images.
+ */
+public interface ImageRenditionService {
+
+  /**
+   * Schedules the renditions of an image to be generated in the background.
+   * Returns immediately; an image whose renditions are already being generated is not scheduled twice, and an
+   * image found to be too large or unreadable is not scheduled again.
+   *
+   * @param hash The hash of the original image in the image store.
+   */
+  void generateRenditions(String hash);
+
+  /**
+   * Finds an image in the requested size.
+   * While a rendition has not been generated yet the original, marked as a substitute, is returned and the
+   * rendition is scheduled.
+   *
+   * @param hash The hash of the original image in the image store.
+   * @param size The requested size.
+   * @return The stored rendition, or the original image marked as a substitute.
+   */
+  StoredImage findImage(String hash, ImageSize size);
+}
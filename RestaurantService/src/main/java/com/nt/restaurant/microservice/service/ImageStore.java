@@ -0,0 +1,54 @@
+package com.nt.restaurant.microservice.service;
+
+import com.nt.restaurant.microservice.dto.StoredImage;
+import com.nt.restaurant.microservice.util.ImageSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+
+/**
+ * Content-addressed storage for restaurant and food item images.
+ * Images are identified by the SHA-256 hash of their bytes, so identical uploads are stored only once
+ * and entities keep just the hash instead of the image itself. Scaled renditions are kept next to the
+ * original they were made from.
+ */
+public interface ImageStore {
+
+  /**
+   * Stores an image, reusing the existing copy when the same bytes were stored before.
+   *
+   * @param content The image bytes to store; the stream is read to the end but not closed.
+   * @return The hex-encoded SHA-256 hash identifying the stored image.
+   * @throws IOException If the image cannot be written.
+   */
+  String store(InputStream content) throws IOException;
+
+  /**
+   * Looks up a stored image by its hash.
+   *
+   * @param hash The hex-encoded SHA-256 hash returned by {@link #store(InputStream)}.
+   * @return A {@link StoredImage} describing the stored file.
+   * @throws com.nt.restaurant.microservice.exception.ResourceNotFoundException If no image is stored under the hash.
+   */
+  StoredImage find(String hash);
+
+  /**
+   * Stores a rendition of an image next to the original, replacing any earlier rendition of the same size.
+   *
+   * @param hash    The hash of the original image.
+   * @param size    The size of the rendition; must not be {@link ImageSize#ORIGINAL}.
+   * @param content The encoded rendition.
+   * @throws IOException If the rendition cannot be written.
+   */
+  void storeRendition(String hash, ImageSize size, byte[] content) throws IOException;
+
+  /**
+   * Looks up a rendition of an image.
+   *
+   * @param hash The hash of the original image.
+   * @param size The size of the rendition.
+   * @return The rendition, or {@link Optional#empty()} if it has not been generated yet.
+   */
+  Optional<StoredImage> findRendition(String hash, ImageSize size);
+}
@@ -3,6 +3,9 @@ package com.nt.restaurant.microservice.service;
 import com.nt.restaurant.microservice.dto.CommonResponse;
 import com.nt.restaurant.microservice.dto.RestaurantInDTO;
 import com.nt.restaurant.microservice.dto.RestaurantOutDTO;
+import com.nt.restaurant.microservice.dto.RestaurantPageOutDTO;
+import com.nt.restaurant.microservice.dto.StoredImage;
+import com.nt.restaurant.microservice.util.ImageSize;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
@@ -40,10 +43,12 @@ public interface RestaurantService {
   /**
    * Retrieves the image of a restaurant by its ID.
    *
-   * @param id The ID of the restaurant whose image is to be retrieved.
-   * @return A byte array representing the image of the restaurant.
+   * @param id   The ID of the restaurant whose image is to be retrieved.
+   * @param size The requested size of the image.
+   * @return A {@link StoredImage} locating the image of the restaurant in the image store,
+   *     or the original while the rendition is not ready.
    */
-  byte[] getRestaurantImage(Integer id);
+  StoredImage getRestaurantImage(Integer id, ImageSize size);
 
   /**
    * Retrieves all restaurants.
@@ -52,5 +57,13 @@ public interface RestaurantService {
    */
   List<RestaurantOutDTO> getAllRestaurants();
 
+  /**
+   * Retrieves one page of restaurants without their images, using keyset pagination on the restaurant ID.
+   *
+   * @param afterId  The ID after which the page starts, or {@code null} for the first page.
+   * @param pageSize The number of restaurants on the page, between 1 and {@code Constants.MAX_RESTAURANT_PAGE_SIZE}.
+   * @param isOpen   Whether to list only open or only closed restaurants, or {@code null} for all.
+   * @return A {@link RestaurantPageOutDTO} holding the restaurants and the ID to continue after.
+   */
+  RestaurantPageOutDTO getRestaurantPage(Integer afterId, int pageSize, Boolean isOpen);
 }
-
@@ -0,0 +1,210 @@
+package com.nt.restaurant.microservice.serviceimpl;
+
+import com.nt.restaurant.microservice.dto.StoredImage;
+import com.nt.restaurant.microservice.exception.ResourceNotFoundException;
+import com.nt.restaurant.microservice.service.ImageStore;
+import com.nt.restaurant.microservice.util.Constants;
+import com.nt.restaurant.microservice.util.ImageSize;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * {@link ImageStore} that keeps images as files on the local disk, named after the SHA-256 hash of their bytes.
+ * <p>
+ * Files are laid out as {@code <root>/<first two hash characters>/<hash>}, with renditions stored beside the
+ * original as {@code <hash>-<size>}. An upload is first written to a temporary file while it is hashed and then
+ * moved into place atomically, so readers never see a partial image and an image that is already stored is not
+ * written a second time.
+ * </p>
+ */
+@Service
+public class FileSystemImageStore implements ImageStore {
+
+  /**
+   * Logger instance for logging events within the image store.
+   */
+  private static final Logger LOGGER = LogManager.getLogger(FileSystemImageStore.class);
+
+  /**
+   * Format of a valid image hash, which also keeps lookups from escaping the store directory.
+   */
+  private static final Pattern HASH_PATTERN = Pattern.compile("[0-9a-f]{64}");
+
+  /**
+   * Root directory of the image store.
+   */
+  @Value("${image.store.root:image-store}")
+  private String root;
+
+  /**
+   * Stores an image under the SHA-256 hash of its bytes, skipping the write when it is already stored.
+   *
+   * @param content The image bytes to store; the stream is read to the end but not closed.
+   * @return The hex-encoded SHA-256 hash identifying the stored image.
+   * @throws IOException If the image cannot be written.
+   */
+  @Override
+  public String store(final InputStream content) throws IOException {
+    Path tempDirectory = Files.createDirectories(Paths.get(root, "tmp"));
+    Path tempFile = Files.createTempFile(tempDirectory, "upload-", ".tmp");
+    try {
+      MessageDigest digest = newDigest();
+      try (OutputStream out = new DigestOutputStream(Files.newOutputStream(tempFile), digest)) {
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = content.read(buffer)) != -1) {
+          out.write(buffer, 0, read);
+        }
+      }
+      String hash = toHex(digest.digest());
+      Path target = pathOf(hash);
+      if (Files.exists(target)) {
+        LOGGER.debug("Image {} is already stored", hash);
+        return hash;
+      }
+      Files.createDirectories(target.getParent());
+      try {
+        Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE);
+        LOGGER.info("Stored image {}", hash);
+      } catch (FileAlreadyExistsException e) {
+        LOGGER.debug("Image {} was stored concurrently", hash);
+      }
+      return hash;
+    } finally {
+      Files.deleteIfExists(tempFile);
+    }
+  }
+
+  /**
+   * Looks up a stored image by its hash.
+   *
+   * @param hash The hex-encoded SHA-256 hash of the image.
+   * @return A {@link StoredImage} describing the stored file.
+   * @throws ResourceNotFoundException If the hash is malformed or no image is stored under it.
+   */
+  @Override
+  public StoredImage find(final String hash) {
+    if (hash == null || !HASH_PATTERN.matcher(hash).matches()) {
+      LOGGER.error("Invalid image hash: {}", hash);
+      throw new ResourceNotFoundException(Constants.IMAGE_NOT_FOUND);
+    }
+    Path path = pathOf(hash);
+    try {
+      return new StoredImage(hash, path, Files.size(path));
+    } catch (IOException e) {
+      LOGGER.error("Image {} is missing from the store", hash);
+      throw new ResourceNotFoundException(Constants.IMAGE_NOT_FOUND);
+    }
+  }
+
+  /**
+   * Stores a rendition of an image next to the original, replacing any earlier rendition of the same size.
+   *
+   * @param hash    The hash of the original image.
+   * @param size    The size of the rendition.
+   * @param content The encoded rendition.
+   * @throws IOException If the rendition cannot be written.
+   */
+  @Override
+  public void storeRendition(final String hash, final ImageSize size, final byte[] content) throws IOException {
+    Path target = renditionPathOf(hash, size);
+    Path tempDirectory = Files.createDirectories(Paths.get(root, "tmp"));
+    Path tempFile = Files.createTempFile(tempDirectory, "rendition-", ".tmp");
+    try {
+      Files.write(tempFile, content);
+      Files.createDirectories(target.getParent());
+      Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      LOGGER.info("Stored {} rendition of image {}", size, hash);
+    } finally {
+      Files.deleteIfExists(tempFile);
+    }
+  }
+
+  /**
+   * Looks up a rendition of an image.
+   *
+   * @param hash The hash of the original image.
+   * @param size The size of the rendition.
+   * @return The rendition, identified by the original hash and the size, or {@link Optional#empty()} if it has
+   *     not been generated yet.
+   */
+  @Override
+  public Optional<StoredImage> findRendition(final String hash, final ImageSize size) {
+    Path path = renditionPathOf(hash, size);
+    try {
+      return Optional.of(new StoredImage(path.getFileName().toString(), path, Files.size(path)));
+    } catch (IOException e) {
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Resolves the file a rendition of an image is stored in.
+   *
+   * @param hash The hash of the original image.
+   * @param size The size of the rendition.
+   * @return The path of the rendition file.
+   * @throws ResourceNotFoundException If the hash is malformed.
+   */
+  private Path renditionPathOf(final String hash, final ImageSize size) {
+    if (hash == null || !HASH_PATTERN.matcher(hash).matches() || size == ImageSize.ORIGINAL) {
+      LOGGER.error("Invalid rendition {} of image {}", size, hash);
+      throw new ResourceNotFoundException(Constants.IMAGE_NOT_FOUND);
+    }
+    return Paths.get(root, hash.substring(0, 2), hash + "-" + size.name().toLowerCase(Locale.ROOT)).toAbsolutePath();
+  }
+
+  /**
+   * Resolves the file an image with the given hash is stored in.
+   *
+   * @param hash The hex-encoded SHA-256 hash of the image.
+   * @return The path of the image file.
+   */
+  private Path pathOf(final String hash) {
+    return Paths.get(root, hash.substring(0, 2), hash).toAbsolutePath();
+  }
+
+  /**
+   * Creates a SHA-256 message digest.
+   *
+   * @return A new SHA-256 digest.
+   */
+  private static MessageDigest newDigest() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  /**
+   * Encodes bytes as lower-case hexadecimal.
+   *
+   * @param bytes The bytes to encode.
+   * @return The hexadecimal representation.
+   */
+  private static String toHex(final byte[] bytes) {
+    StringBuilder hex = new StringBuilder(bytes.length * 2);
+    for (byte b : bytes) {
+      hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+    }
+    return hex.toString();
+  }
+}
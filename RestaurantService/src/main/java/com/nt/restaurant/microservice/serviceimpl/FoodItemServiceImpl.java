@@ -3,7 +3,9 @@ package com.nt.restaurant.microservice.serviceimpl;
 import com.nt.restaurant.microservice.dto.CommonResponse;
 import com.nt.restaurant.microservice.dto.FoodItemInDTO;
 import com.nt.restaurant.microservice.dto.FoodItemOutDTO;
+import com.nt.restaurant.microservice.dto.FoodItemSummaryOutDTO;
 import com.nt.restaurant.microservice.dto.FoodItemUpdateInDTO;
+import com.nt.restaurant.microservice.dto.StoredImage;
 import com.nt.restaurant.microservice.dtoconvertion.FoodItemDtoConverter;
 import com.nt.restaurant.microservice.entities.FoodCategory;
 import com.nt.restaurant.microservice.entities.FoodItem;
@@ -14,18 +16,24 @@ import com.nt.restaurant.microservice.repository.FoodCategoryRepository;
 import com.nt.restaurant.microservice.repository.FoodItemRepository;
 import com.nt.restaurant.microservice.repository.RestaurantRepository;
 import com.nt.restaurant.microservice.service.FoodItemService;
+import com.nt.restaurant.microservice.service.ImageRenditionService;
+import com.nt.restaurant.microservice.service.ImageStore;
 import com.nt.restaurant.microservice.util.Constants;
+import com.nt.restaurant.microservice.util.ImageSize;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Implementation of the FoodItemService interface that provides operations for managing food items.
@@ -56,6 +64,24 @@ public class FoodItemServiceImpl implements FoodItemService {
   @Autowired
   private FoodItemRepository foodItemRepository;
 
+  /**
+   * Client used to tell the order service that a restaurant's menu changed.
+   */
+  @Autowired
+  private OrderFClient orderFClient;
+
+  /**
+   * Store holding the food item images.
+   */
+  @Autowired
+  private ImageStore imageStore;
+
+  /**
+   * Service generating and serving the scaled renditions of food item images.
+   */
+  @Autowired
+  private ImageRenditionService imageRenditionService;
+
   /**
    * Adds a new food item to the system.
    *
@@ -100,7 +126,8 @@ public class FoodItemServiceImpl implements FoodItemService {
           LOGGER.error("Invalid image type: {}. Only JPG and PNG are allowed.", contentType);
           throw new ResourceNotFoundException(Constants.INVALID_FILE_TYPE);
         }
-        foodItem.setFoodItemImage(image.getBytes());
+        foodItem.setFoodItemImageHash(imageStore.store(image.getInputStream()));
+        imageRenditionService.generateRenditions(foodItem.getFoodItemImageHash());
         LOGGER.debug("Image processed successfully for food item: {}", foodItemInDTO.getFoodItemName());
       } else {
         LOGGER.warn("No image provided for food item: {}", foodItemInDTO.getFoodItemName());
@@ -114,6 +141,7 @@ public class FoodItemServiceImpl implements FoodItemService {
     FoodItem savedFoodItem = foodItemRepository.save(foodItem);
     LOGGER.info("Successfully added food item '{}' for restaurant ID: {}", savedFoodItem.getFoodItemName(),
       savedFoodItem.getRestaurantId());
+    notifyMenuChanged(savedFoodItem.getRestaurantId());
     FoodItemDtoConverter.entityToOutDTO(savedFoodItem);
     LOGGER.debug("Returning success response for adding food item '{}'", savedFoodItem.getFoodItemName());
     return new CommonResponse(Constants.FOOD_ITEM_ADDED_SUCCESS);
@@ -167,6 +195,97 @@ public class FoodItemServiceImpl implements FoodItemService {
     return foodItemOutDTOList;
   }
 
+  /**
+   * Retrieves the food items of a specific category without loading their images.
+   *
+   * @param categoryId The ID of the food category whose items are to be retrieved.
+   * @return A list of summary DTOs linking to the images by URL.
+   * @throws ResourceNotFoundException If no food items are found for the category ID.
+   */
+  @Override
+  public List<FoodItemSummaryOutDTO> getFoodItemSummariesByCategory(final Integer categoryId) {
+    LOGGER.info("Fetching food item summaries for category ID: {}", categoryId);
+    List<FoodItemSummaryOutDTO> foodItems = foodItemRepository.findSummariesByCategoryId(categoryId);
+    if (foodItems.isEmpty()) {
+      LOGGER.error("No food items found for category ID: {}", categoryId);
+      throw new ResourceNotFoundException(Constants.NO_FOOD_ITEM_PRESENT);
+    }
+    foodItems.forEach(this::setImageUrl);
+    LOGGER.info("Found {} food items for category ID: {}", foodItems.size(), categoryId);
+    return foodItems;
+  }
+
+  /**
+   * Retrieves the food items of a specific restaurant without loading their images.
+   *
+   * @param restaurantId The ID of the restaurant whose food items are to be retrieved.
+   * @return A list of summary DTOs linking to the images by URL.
+   * @throws ResourceNotFoundException If no food items are found for the restaurant ID.
+   */
+  @Override
+  public List<FoodItemSummaryOutDTO> getFoodItemSummariesByRestaurant(final Integer restaurantId) {
+    LOGGER.info("Fetching food item summaries for restaurant ID: {}", restaurantId);
+    List<FoodItemSummaryOutDTO> foodItems = foodItemRepository.findSummariesByRestaurantId(restaurantId);
+    if (foodItems.isEmpty()) {
+      LOGGER.error("No food items found for restaurant ID: {}", restaurantId);
+      throw new ResourceNotFoundException(Constants.NO_FOOD_ITEM_PRESENT);
+    }
+    foodItems.forEach(this::setImageUrl);
+    LOGGER.info("Found {} food items for restaurant ID: {}", foodItems.size(), restaurantId);
+    return foodItems;
+  }
+
+  /**
+   * Retrieves the requested food items with one query over the scalar columns, since callers
+   * only need price, availability and the owning restaurant to validate a cart.
+   *
+   * @param restaurantId The ID of the restaurant the items are expected to belong to.
+   * @param foodItemIds  The IDs of the food items to retrieve.
+   * @return A list of summary DTOs for the IDs that exist, including items owned by other restaurants.
+   */
+  @Override
+  public List<FoodItemSummaryOutDTO> getFoodItemsByIds(final Integer restaurantId, final Set<Integer> foodItemIds) {
+    LOGGER.info("Fetching {} food items for restaurant ID: {}", foodItemIds.size(), restaurantId);
+    if (foodItemIds.isEmpty()) {
+      return Collections.emptyList();
+    }
+    List<FoodItemSummaryOutDTO> foodItems = foodItemRepository.findSummariesByFoodItemIdIn(foodItemIds);
+    for (FoodItemSummaryOutDTO foodItem : foodItems) {
+      setImageUrl(foodItem);
+      if (!foodItem.getRestaurantId().equals(restaurantId)) {
+        LOGGER.warn("Food item ID: {} belongs to restaurant ID: {}, not {}",
+          foodItem.getFoodItemId(), foodItem.getRestaurantId(), restaurantId);
+      }
+    }
+    LOGGER.info("Found {} of {} requested food items", foodItems.size(), foodItemIds.size());
+    return foodItems;
+  }
+
+  /**
+   * Retrieves a food item by its ID without loading its image.
+   *
+   * @param id The ID of the food item.
+   * @return The summary DTO linking to the image by URL.
+   * @throws ResourceNotFoundException If no food item is found with the specified ID.
+   */
+  @Override
+  public FoodItemSummaryOutDTO getFoodItemSummaryById(final Integer id) {
+    LOGGER.info("Fetching food item summary for ID: {}", id);
+    FoodItemSummaryOutDTO foodItem = foodItemRepository.findSummaryByFoodItemId(id)
+      .orElseThrow(() -> new ResourceNotFoundException(Constants.NO_FOOD_ITEM_PRESENT));
+    setImageUrl(foodItem);
+    return foodItem;
+  }
+
+  /**
+   * Points a summary DTO at the endpoint serving the food item's image.
+   *
+   * @param foodItem The summary DTO to update.
+   */
+  private void setImageUrl(final FoodItemSummaryOutDTO foodItem) {
+    foodItem.setImageUrl(String.format(Constants.FOOD_ITEM_IMAGE_URL, foodItem.getFoodItemId()));
+  }
+
   /**
    * Updates an existing food item by its ID.
    *
@@ -187,6 +306,7 @@ public class FoodItemServiceImpl implements FoodItemService {
     }
     FoodItem updatedFoodItem = foodItemRepository.save(existingFoodItem);
     LOGGER.info("Successfully updated food item with ID: {}", foodItemId);
+    notifyMenuChanged(updatedFoodItem.getRestaurantId());
     convertFoodItemToFoodItemResponse(updatedFoodItem);
     return new CommonResponse(Constants.FOOD_ITEM_UPDATED_SUCCESS);
   }
@@ -206,7 +326,24 @@ public class FoodItemServiceImpl implements FoodItemService {
 
     if (Objects.nonNull(foodItemInDTO.getFoodItemImage()) && !foodItemInDTO.getFoodItemImage().isEmpty()) {
       LOGGER.info("Updating food item image for food item: {}", existingFoodItem.getFoodItemName());
-      existingFoodItem.setFoodItemImage(foodItemInDTO.getFoodItemImage().getBytes());
+      existingFoodItem.setFoodItemImageHash(imageStore.store(foodItemInDTO.getFoodItemImage().getInputStream()));
+      existingFoodItem.setFoodItemImage(null);
+      imageRenditionService.generateRenditions(existingFoodItem.getFoodItemImageHash());
+    }
+  }
+
+  /**
+   * Tells the order service that a restaurant's menu changed so it drops its cached copy.
+   * A failed notification is only logged, since the cached menu also expires on its own.
+   *
+   * @param restaurantId The ID of the restaurant whose menu changed.
+   */
+  private void notifyMenuChanged(final Integer restaurantId) {
+    try {
+      orderFClient.invalidateMenu(restaurantId);
+      LOGGER.debug("Notified order service of menu change for restaurant ID: {}", restaurantId);
+    } catch (Exception e) {
+      LOGGER.warn("Failed to notify order service of menu change for restaurant ID: {}: {}", restaurantId, e.getMessage());
     }
   }
 
@@ -222,16 +359,42 @@ public class FoodItemServiceImpl implements FoodItemService {
 
   /**
    * Retrieves the image of a food item by its ID.
+   * An image still held in the legacy database column is first moved into the image store.
    *
-   * @param id The ID of the food item whose image is to be retrieved.
-   * @return A byte array representing the image of the food item.
+   * @param id   The ID of the food item whose image is to be retrieved.
+   * @param size The requested size of the image.
+   * @return The stored image of the food item, or the original while the requested rendition is not ready.
+   * @throws ResourceNotFoundException If the food item is not found or has no image.
    */
   @Override
-  public byte[] getFoodItemImage(final Integer id) {
+  public StoredImage getFoodItemImage(final Integer id, final ImageSize size) {
     LOGGER.info("Fetching food item image for ID: {}", id);
-
     FoodItem foodItem = findFoodItemById(id);
-    return foodItem.getFoodItemImage();
+    if (Objects.isNull(foodItem.getFoodItemImageHash()) && Objects.nonNull(foodItem.getFoodItemImage())) {
+      migrateLegacyImage(foodItem);
+    }
+    if (Objects.isNull(foodItem.getFoodItemImageHash())) {
+      LOGGER.error("No image stored for food item with ID: {}", id);
+      throw new ResourceNotFoundException(Constants.IMAGE_NOT_FOUND);
+    }
+    return imageRenditionService.findImage(foodItem.getFoodItemImageHash(), size);
+  }
+
+  /**
+   * Moves an image kept in the legacy database column into the image store.
+   *
+   * @param foodItem The food item whose image is moved.
+   */
+  private void migrateLegacyImage(final FoodItem foodItem) {
+    try {
+      foodItem.setFoodItemImageHash(imageStore.store(new ByteArrayInputStream(foodItem.getFoodItemImage())));
+    } catch (IOException e) {
+      LOGGER.error("Failed to move image of food item with ID {} to the image store", foodItem.getFoodItemId(), e);
+      throw new RuntimeException(Constants.ERROR_PROCESSING_FOOD_ITEM_IMAGE, e);
+    }
+    foodItem.setFoodItemImage(null);
+    foodItemRepository.save(foodItem);
+    LOGGER.info("Moved image of food item with ID {} to the image store", foodItem.getFoodItemId());
   }
 
   /**
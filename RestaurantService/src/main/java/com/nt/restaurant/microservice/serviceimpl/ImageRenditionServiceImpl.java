@@ -0,0 +1,252 @@
+package com.nt.restaurant.microservice.serviceimpl;
+
+import com.nt.restaurant.microservice.dto.StoredImage;
+import com.nt.restaurant.microservice.service.ImageRenditionService;
+import com.nt.restaurant.microservice.service.ImageStore;
+import com.nt.restaurant.microservice.util.ImageSize;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Implementation of the ImageRenditionService interface that scales images with Java2D on a bounded worker pool.
+ * <p>
+ * Each rendition is scaled down in halving steps with bilinear interpolation, which keeps thumbnails of large
+ * photos sharp without an external image service. Images with transparency are encoded as PNG, all others as JPEG.
+ * </p>
+ */
+@Service
+public class ImageRenditionServiceImpl implements ImageRenditionService {
+
+  /**
+   * Logger instance for logging events within the service.
+   */
+  private static final Logger LOGGER = LogManager.getLogger(ImageRenditionServiceImpl.class);
+
+  /**
+   * Store holding the original images and their renditions.
+   */
+  @Autowired
+  private ImageStore imageStore;
+
+  /**
+   * Bounded executor on which renditions are generated.
+   */
+  @Autowired
+  @Qualifier("renditionExecutor")
+  private Executor renditionExecutor;
+
+  /**
+   * Largest number of pixels an image may have to be decoded for scaling.
+   */
+  @Value("${image.rendition.max-pixels:50000000}")
+  private long maxPixels;
+
+  /**
+   * Largest number of images remembered as having no renditions.
+   */
+  @Value("${image.rendition.max-failed:10000}")
+  private int maxFailed;
+
+  /**
+   * Hashes of the images whose renditions are currently scheduled or being generated.
+   */
+  private final Set<String> inProgress = ConcurrentHashMap.newKeySet();
+
+  /**
+   * Hashes of the images that cannot have renditions, because they are too large or not a readable image,
+   * so they are not scheduled again on every request. I/O errors are not remembered and are retried.
+   */
+  private final Set<String> failed = ConcurrentHashMap.newKeySet();
+
+  /**
+   * Schedules the renditions of an image to be generated in the background.
+   *
+   * @param hash The hash of the original image in the image store.
+   */
+  @Override
+  public void generateRenditions(final String hash) {
+    if (failed.contains(hash)) {
+      LOGGER.debug("Image {} cannot have renditions, not scheduled", hash);
+      return;
+    }
+    if (!inProgress.add(hash)) {
+      LOGGER.debug("Renditions of image {} are already scheduled", hash);
+      return;
+    }
+    try {
+      renditionExecutor.execute(() -> {
+        try {
+          createRenditions(hash);
+        } catch (Exception e) {
+          LOGGER.error("Failed to generate renditions of image {}", hash, e);
+        } finally {
+          inProgress.remove(hash);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      inProgress.remove(hash);
+      LOGGER.warn("Rendition pool is full, renditions of image {} are generated on a later request", hash);
+    }
+  }
+
+  /**
+   * Finds an image in the requested size, falling back to the original while the rendition is missing.
+   * The original is then marked as a substitute so it is not cached under the rendition URL.
+   *
+   * @param hash The hash of the original image in the image store.
+   * @param size The requested size.
+   * @return The stored rendition, or the original image marked as a substitute.
+   */
+  @Override
+  public StoredImage findImage(final String hash, final ImageSize size) {
+    if (size == ImageSize.ORIGINAL) {
+      return imageStore.find(hash);
+    }
+    return imageStore.findRendition(hash, size).orElseGet(() -> {
+      StoredImage original = imageStore.find(hash);
+      generateRenditions(hash);
+      return original.asSubstitute();
+    });
+  }
+
+  /**
+   * Decodes an original image and stores every rendition of it.
+   *
+   * @param hash The hash of the original image in the image store.
+   * @throws IOException If the image cannot be read or a rendition cannot be written.
+   */
+  private void createRenditions(final String hash) throws IOException {
+    Path path = imageStore.find(hash).getPath();
+    if (!hasAcceptableSize(path)) {
+      LOGGER.warn("Image {} is not a readable image of at most {} pixels, no renditions generated", hash, maxPixels);
+      rememberFailure(hash);
+      return;
+    }
+    BufferedImage original = ImageIO.read(path.toFile());
+    if (original == null) {
+      LOGGER.warn("Image {} has an unsupported format, no renditions generated", hash);
+      rememberFailure(hash);
+      return;
+    }
+    boolean transparent = original.getColorModel().hasAlpha();
+    for (ImageSize size : ImageSize.values()) {
+      if (size == ImageSize.ORIGINAL) {
+        continue;
+      }
+      BufferedImage rendition = scale(original, size.getMaxDimension(), transparent);
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      ImageIO.write(rendition, transparent ? "png" : "jpg", out);
+      imageStore.storeRendition(hash, size, out.toByteArray());
+    }
+    LOGGER.info("Generated renditions of image {}", hash);
+  }
+
+  /**
+   * Remembers an image that cannot have renditions, unless the limit of remembered images is reached.
+   *
+   * @param hash The hash of the original image in the image store.
+   */
+  private void rememberFailure(final String hash) {
+    if (failed.size() < maxFailed) {
+      failed.add(hash);
+    }
+  }
+
+  /**
+   * Checks the dimensions in an image header before the image is decoded, so oversized uploads are not
+   * expanded into memory.
+   *
+   * @param path The image file.
+   * @return {@code true} if the image format is known and its pixel count is within the limit.
+   * @throws IOException If the file cannot be read.
+   */
+  private boolean hasAcceptableSize(final Path path) throws IOException {
+    try (ImageInputStream input = ImageIO.createImageInputStream(path.toFile())) {
+      Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+      if (!readers.hasNext()) {
+        return false;
+      }
+      ImageReader reader = readers.next();
+      try {
+        reader.setInput(input);
+        return (long) reader.getWidth(0) * reader.getHeight(0) <= maxPixels;
+      } finally {
+        reader.dispose();
+      }
+    }
+  }
+
+  /**
+   * Scales an image down to fit a square of the given size, keeping its aspect ratio.
+   * Images that already fit are only re-encoded.
+   *
+   * @param source       The image to scale.
+   * @param maxDimension The largest width or height of the result.
+   * @param transparent  Whether the alpha channel should be kept.
+   * @return The scaled image.
+   */
+  static BufferedImage scale(final BufferedImage source, final int maxDimension, final boolean transparent) {
+    double ratio = Math.min(1.0, (double) maxDimension / Math.max(source.getWidth(), source.getHeight()));
+    int targetWidth = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+    int targetHeight = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+    int type = transparent ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+
+    BufferedImage current = source;
+    int width = source.getWidth();
+    int height = source.getHeight();
+    do {
+      width = Math.max(targetWidth, width / 2);
+      height = Math.max(targetHeight, height / 2);
+      current = draw(current, width, height, type, transparent);
+    } while (width > targetWidth || height > targetHeight);
+    return current;
+  }
+
+  /**
+   * Draws an image onto a new canvas of the given size with bilinear interpolation.
+   *
+   * @param source      The image to draw.
+   * @param width       The width of the canvas.
+   * @param height      The height of the canvas.
+   * @param type        The {@link BufferedImage} type of the canvas.
+   * @param transparent Whether the canvas keeps transparency; otherwise it is filled white first.
+   * @return The new image.
+   */
+  private static BufferedImage draw(final BufferedImage source, final int width, final int height, final int type,
+                                    final boolean transparent) {
+    BufferedImage target = new BufferedImage(width, height, type);
+    Graphics2D graphics = target.createGraphics();
+    try {
+      if (!transparent) {
+        graphics.setColor(Color.WHITE);
+        graphics.fillRect(0, 0, width, height);
+      }
+      graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+      graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+      graphics.drawImage(source, 0, 0, width, height, null);
+    } finally {
+      graphics.dispose();
+    }
+    return target;
+  }
+}
@@ -0,0 +1,21 @@
+package com.nt.restaurant.microservice.serviceimpl;
+
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+
+/**
+ * Feign client interface for interacting with the Order Service.
+ * This interface is used to tell the order service when a restaurant's menu changes.
+ */
+@FeignClient(name = "order-service", url = "${clients.order-service.url}")
+public interface OrderFClient {
+
+  /**
+   * Invalidates the order service's cached copy of a restaurant's menu.
+   *
+   * @param restaurantId The ID of the restaurant whose menu changed.
+   */
+  @DeleteMapping("/menuCache/{restaurantId}")
+  void invalidateMenu(@PathVariable("restaurantId") Integer restaurantId);
+}
@@ -3,6 +3,9 @@ package com.nt.restaurant.microservice.serviceimpl;
 import com.nt.restaurant.microservice.dto.CommonResponse;
 import com.nt.restaurant.microservice.dto.RestaurantInDTO;
 import com.nt.restaurant.microservice.dto.RestaurantOutDTO;
+import com.nt.restaurant.microservice.dto.RestaurantPageOutDTO;
+import com.nt.restaurant.microservice.dto.RestaurantSummaryOutDTO;
+import com.nt.restaurant.microservice.dto.StoredImage;
 import com.nt.restaurant.microservice.dto.UserOutDTO;
 import com.nt.restaurant.microservice.dtoconvertion.DtoConverter;
 import com.nt.restaurant.microservice.entities.Restaurant;
@@ -10,18 +13,24 @@ import com.nt.restaurant.microservice.exception.InvalidRequestException;
 import com.nt.restaurant.microservice.exception.ResourceNotFoundException;
 import com.nt.restaurant.microservice.exception.UnauthorizedException;
 import com.nt.restaurant.microservice.repository.RestaurantRepository;
+import com.nt.restaurant.microservice.service.ImageRenditionService;
+import com.nt.restaurant.microservice.service.ImageStore;
 import com.nt.restaurant.microservice.service.RestaurantService;
 import com.nt.restaurant.microservice.util.Constants;
+import com.nt.restaurant.microservice.util.ImageSize;
 import com.nt.restaurant.microservice.util.Role;
 import feign.FeignException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Base64;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -44,10 +53,22 @@ public class RestaurantServiceImpl implements RestaurantService {
   private RestaurantRepository restaurantRepository;
 
   /**
-   * Autowired UserFClient to communicate with the user microservice.
+   * Coalescing cache of user identities from the user microservice.
    */
   @Autowired
-  private UserFClient userFClient;
+  private UserProfileCache userProfileCache;
+
+  /**
+   * Store holding the restaurant images.
+   */
+  @Autowired
+  private ImageStore imageStore;
+
+  /**
+   * Service generating and serving the scaled renditions of restaurant images.
+   */
+  @Autowired
+  private ImageRenditionService imageRenditionService;
 
   /**
    * Adds a new restaurant to the system.
@@ -63,7 +84,7 @@ public class RestaurantServiceImpl implements RestaurantService {
     UserOutDTO userOutDto;
     try {
       LOGGER.debug("Fetching user profile for userId: {}", restaurantInDTO.getUserId());
-      userOutDto = userFClient.getUserProfile(restaurantInDTO.getUserId());
+      userOutDto = userProfileCache.getUser(restaurantInDTO.getUserId());
       LOGGER.debug("User profile fetched successfully: {}", userOutDto);
     } catch (FeignException.NotFound ex) {
       LOGGER.error("User with ID {} not found: {}", restaurantInDTO.getUserId(), ex.getMessage());
@@ -89,7 +110,8 @@ public class RestaurantServiceImpl implements RestaurantService {
           LOGGER.error("Invalid image type: {}. Only JPG and PNG are allowed.", contentType);
           throw new ResourceNotFoundException(Constants.INVALID_FILE_TYPE);
         }
-        restaurant.setRestaurantImage(image.getBytes());
+        restaurant.setRestaurantImageHash(imageStore.store(image.getInputStream()));
+        imageRenditionService.generateRenditions(restaurant.getRestaurantImageHash());
         LOGGER.debug("Image processed and added successfully for restaurant: {}", restaurantInDTO.getRestaurantName());
       } else {
         LOGGER.warn("No image provided for restaurant: {}", restaurantInDTO.getRestaurantName());
@@ -154,18 +176,45 @@ public class RestaurantServiceImpl implements RestaurantService {
 
   /**
    * Retrieves the image of a restaurant by its ID.
+   * An image still held in the legacy database column is first moved into the image store.
    *
-   * @param id The ID of the restaurant whose image is to be retrieved.
-   * @return A byte array representing the image of the restaurant.
+   * @param id   The ID of the restaurant whose image is to be retrieved.
+   * @param size The requested size of the image.
+   * @return The stored image of the restaurant, or the original while the requested rendition is not ready.
+   * @throws ResourceNotFoundException If the restaurant is not found or has no image.
    */
   @Override
-  public byte[] getRestaurantImage(final Integer id) {
+  public StoredImage getRestaurantImage(final Integer id, final ImageSize size) {
     LOGGER.info("Fetching image for restaurant with ID: {}", id);
-    RestaurantOutDTO restaurant = getRestaurantById(id);
-    String base64Image = restaurant.getRestaurantImage();
-    byte[] imageData = Base64.getDecoder().decode(base64Image);
-    LOGGER.info("Image byte length for restaurant with ID {}: {}", id, imageData.length);
-    return imageData;
+    Restaurant restaurant = restaurantRepository.findById(id)
+      .orElseThrow(() -> new ResourceNotFoundException(Constants.RESTAURANT_NOT_FOUND));
+    if (Objects.isNull(restaurant.getRestaurantImageHash()) && Objects.nonNull(restaurant.getRestaurantImage())) {
+      migrateLegacyImage(restaurant);
+    }
+    if (Objects.isNull(restaurant.getRestaurantImageHash())) {
+      LOGGER.error("No image stored for restaurant with ID: {}", id);
+      throw new ResourceNotFoundException(Constants.IMAGE_NOT_FOUND);
+    }
+    StoredImage image = imageRenditionService.findImage(restaurant.getRestaurantImageHash(), size);
+    LOGGER.info("Image byte length for restaurant with ID {}: {}", id, image.getSize());
+    return image;
+  }
+
+  /**
+   * Moves an image kept in the legacy database column into the image store.
+   *
+   * @param restaurant The restaurant whose image is moved.
+   */
+  private void migrateLegacyImage(final Restaurant restaurant) {
+    try {
+      restaurant.setRestaurantImageHash(imageStore.store(new ByteArrayInputStream(restaurant.getRestaurantImage())));
+    } catch (IOException e) {
+      LOGGER.error("Failed to move image of restaurant with ID {} to the image store", restaurant.getRestaurantId(), e);
+      throw new RuntimeException("Image processing failed", e);
+    }
+    restaurant.setRestaurantImage(null);
+    restaurantRepository.save(restaurant);
+    LOGGER.info("Moved image of restaurant with ID {} to the image store", restaurant.getRestaurantId());
   }
 
   /**
@@ -188,4 +237,38 @@ public class RestaurantServiceImpl implements RestaurantService {
     LOGGER.info("Successfully retrieved {} restaurants", restaurantOutDTOs.size());
     return restaurantOutDTOs;
   }
+
+  /**
+   * Retrieves one page of restaurants without their images, using keyset pagination on the restaurant ID.
+   * One row more than the page size is read to tell whether another page follows.
+   *
+   * @param afterId  The ID after which the page starts, or {@code null} for the first page.
+   * @param pageSize The number of restaurants on the page.
+   * @param isOpen   Whether to list only open or only closed restaurants, or {@code null} for all.
+   * @return A {@link RestaurantPageOutDTO} holding the restaurants and the ID to continue after.
+   * @throws InvalidRequestException If the page size is outside the allowed range.
+   */
+  @Override
+  public RestaurantPageOutDTO getRestaurantPage(final Integer afterId, final int pageSize, final Boolean isOpen) {
+    LOGGER.info("Fetching page of {} restaurants after ID: {}, open: {}", pageSize, afterId, isOpen);
+    if (pageSize < 1 || pageSize > Constants.MAX_RESTAURANT_PAGE_SIZE) {
+      LOGGER.error("Invalid page size: {}", pageSize);
+      throw new InvalidRequestException(Constants.INVALID_PAGE_SIZE);
+    }
+    Integer start = Objects.isNull(afterId) ? 0 : afterId;
+    Pageable limit = PageRequest.of(0, pageSize + 1);
+    List<RestaurantSummaryOutDTO> restaurants = Objects.isNull(isOpen)
+      ? restaurantRepository.findSummariesAfter(start, limit)
+      : restaurantRepository.findSummariesAfterByIsOpen(start, isOpen, limit);
+
+    Integer nextAfterId = null;
+    if (restaurants.size() > pageSize) {
+      restaurants = new ArrayList<>(restaurants.subList(0, pageSize));
+      nextAfterId = restaurants.get(pageSize - 1).getRestaurantId();
+    }
+    restaurants.forEach(restaurant ->
+      restaurant.setImageUrl(String.format(Constants.RESTAURANT_IMAGE_URL, restaurant.getRestaurantId())));
+    LOGGER.info("Successfully retrieved {} restaurants, next page after ID: {}", restaurants.size(), nextAfterId);
+    return new RestaurantPageOutDTO(restaurants, nextAfterId);
+  }
 }
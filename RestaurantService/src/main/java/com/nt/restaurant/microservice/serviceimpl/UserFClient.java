@@ -10,7 +10,7 @@ import org.springframework.web.bind.annotation.PathVariable;
  * Feign client interface for interacting with the User Service.
  * This interface defines methods for making HTTP requests to the user service.
  */
-@FeignClient(name = "user-service", url = "http://localhost:100")
+@FeignClient(name = "user-service", url = "${clients.user-service.url}")
 public interface UserFClient {
 
   /**
@@ -0,0 +1,215 @@
+package com.nt.restaurant.microservice.serviceimpl;
+
+import com.nt.restaurant.microservice.dto.UserOutDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalescing front of {@link UserFClient#getUserProfile(Integer)} with a short-lived cache of user identities.
+ * <p>
+ * Concurrent lookups of the same user share one call to the user service, and the identity and role of a user
+ * are kept for {@code user.profile.cache.ttl-seconds}, at most {@code user.profile.cache.max-users} of them.
+ * The wallet balance is never cached. Errors, including an unknown user, are passed to every waiting caller and
+ * not cached. Lookups are counted in the {@code user.profile.cache.*} meters.
+ * </p>
+ */
+@Component
+public class UserProfileCache {
+
+  /**
+   * Feign client used to load a user profile.
+   */
+  @Autowired
+  private UserFClient userFClient;
+
+  /**
+   * Registry the cache counters are published to.
+   */
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  /**
+   * Maximum number of users kept in the cache.
+   */
+  @Value("${user.profile.cache.max-users:1000}")
+  private int maxUsers;
+
+  /**
+   * Number of seconds after which a cached user is loaded again.
+   */
+  @Value("${user.profile.cache.ttl-seconds:30}")
+  private long ttlSeconds;
+
+  /**
+   * Cached users without their wallet balance, in least recently used order; guarded by {@code this}.
+   */
+  private final Map<Integer, CachedUser> users = new LinkedHashMap<Integer, CachedUser>(16, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(final Map.Entry<Integer, CachedUser> eldest) {
+      boolean evict = size() > maxUsers;
+      if (evict) {
+        evictions.increment();
+      }
+      return evict;
+    }
+  };
+
+  /**
+   * Calls to the user service currently running, by user ID.
+   */
+  private final ConcurrentMap<Integer, CompletableFuture<UserOutDTO>> calls = new ConcurrentHashMap<>();
+
+  /**
+   * Counter of lookups answered from the cache.
+   */
+  private Counter hits;
+
+  /**
+   * Counter of lookups that joined a call already running.
+   */
+  private Counter coalesced;
+
+  /**
+   * Counter of lookups that called the user service.
+   */
+  private Counter misses;
+
+  /**
+   * Counter of users dropped because the cache was full or the entry had expired.
+   */
+  private Counter evictions;
+
+  /**
+   * Registers the cache meters.
+   */
+  @PostConstruct
+  public void registerMeters() {
+    hits = Counter.builder("user.profile.cache.requests").tag("result", "hit").register(meterRegistry);
+    coalesced = Counter.builder("user.profile.cache.requests").tag("result", "coalesced").register(meterRegistry);
+    misses = Counter.builder("user.profile.cache.requests").tag("result", "miss").register(meterRegistry);
+    evictions = Counter.builder("user.profile.cache.evictions").register(meterRegistry);
+    meterRegistry.gauge("user.profile.cache.size", this, UserProfileCache::size);
+  }
+
+  /**
+   * Returns the identity and role of a user, possibly up to the TTL old. The wallet balance is not set.
+   *
+   * @param userId the ID of the user
+   * @return the user without the wallet balance
+   * @throws feign.FeignException.NotFound if the user does not exist
+   */
+  public UserOutDTO getUser(final Integer userId) {
+    synchronized (this) {
+      CachedUser cached = users.get(userId);
+      if (cached != null && !cached.isExpired()) {
+        hits.increment();
+        return withoutBalance(cached.getUser());
+      }
+      if (cached != null) {
+        users.remove(userId);
+        evictions.increment();
+      }
+    }
+
+    CompletableFuture<UserOutDTO> call = new CompletableFuture<>();
+    CompletableFuture<UserOutDTO> running = calls.putIfAbsent(userId, call);
+    if (running != null) {
+      coalesced.increment();
+      return withoutBalance(await(running));
+    }
+    misses.increment();
+    try {
+      UserOutDTO user = withoutBalance(userFClient.getUserProfile(userId));
+      if (user != null) {
+        synchronized (this) {
+          users.put(userId, new CachedUser(user, System.nanoTime() + TimeUnit.SECONDS.toNanos(ttlSeconds)));
+        }
+      }
+      call.complete(user);
+      return withoutBalance(user);
+    } catch (RuntimeException | Error ex) {
+      call.completeExceptionally(ex);
+      throw ex;
+    } finally {
+      calls.remove(userId, call);
+    }
+  }
+
+  /**
+   * Returns the number of users currently cached.
+   *
+   * @return the number of cached users
+   */
+  public synchronized int size() {
+    return users.size();
+  }
+
+  private UserOutDTO await(final CompletableFuture<UserOutDTO> call) {
+    try {
+      return call.join();
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) ex.getCause();
+      }
+      if (ex.getCause() instanceof Error) {
+        throw (Error) ex.getCause();
+      }
+      throw ex;
+    }
+  }
+
+  private static UserOutDTO withoutBalance(final UserOutDTO user) {
+    if (user == null) {
+      return null;
+    }
+    return new UserOutDTO(user.getId(), user.getFirstName(), user.getLastName(), user.getEmail(), user.getPhoneNo(),
+      user.getRole(), null);
+  }
+
+  /**
+   * A cached user together with the time it expires at.
+   */
+  private static final class CachedUser {
+
+    /**
+     * The user without the wallet balance.
+     */
+    private final UserOutDTO user;
+
+    /**
+     * The {@link System#nanoTime()} value after which the user is loaded again.
+     */
+    private final long expiresAt;
+
+    /**
+     * Creates a cache entry.
+     *
+     * @param user      the user without the wallet balance
+     * @param expiresAt the {@link System#nanoTime()} value after which the user is loaded again
+     */
+    CachedUser(final UserOutDTO user, final long expiresAt) {
+      this.user = user;
+      this.expiresAt = expiresAt;
+    }
+
+    UserOutDTO getUser() {
+      return user;
+    }
+
+    boolean isExpired() {
+      return System.nanoTime() - expiresAt >= 0;
+    }
+  }
+}
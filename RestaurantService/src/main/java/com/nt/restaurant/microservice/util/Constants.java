@@ -100,4 +100,51 @@ public class Constants {
    * Error message when no content is provided in the request body, or the format is invalid.
    */
   public static final String EMPTY_CONTENT_ERROR = "No content was provided in the request body or the format is invalid";
+
+  /**
+   * Format of the URL from which the image of a food item is served, taking the food item ID.
+   */
+  public static final String FOOD_ITEM_IMAGE_URL = "/foodItems/%d/image";
+
+  /**
+   * Error message when a restaurant or food item has no stored image.
+   */
+  public static final String IMAGE_NOT_FOUND = "Image not found";
+
+  /**
+   * Cache-Control header sent with images. Image URLs are stable while their content may change,
+   * so caches may reuse an image for a day and then revalidate it with its ETag.
+   */
+  public static final String IMAGE_CACHE_CONTROL = "public, max-age=86400";
+
+  /**
+   * Cache-Control header sent when the original image is served in place of a rendition that does not exist yet,
+   * so the full-size image is not kept under the rendition URL.
+   */
+  public static final String IMAGE_SUBSTITUTE_CACHE_CONTROL = "no-store";
+
+  /**
+   * Error message when the requested image size is not one of the supported sizes.
+   */
+  public static final String INVALID_IMAGE_SIZE = "Invalid image size. Supported sizes are original, thumbnail and medium";
+
+  /**
+   * Format of the URL from which the image of a restaurant is served, taking the restaurant ID.
+   */
+  public static final String RESTAURANT_IMAGE_URL = "/restaurant/%d/image";
+
+  /**
+   * Number of restaurants on a listing page when no page size is given.
+   */
+  public static final int DEFAULT_RESTAURANT_PAGE_SIZE = 20;
+
+  /**
+   * Largest number of restaurants that can be requested on one listing page.
+   */
+  public static final int MAX_RESTAURANT_PAGE_SIZE = 100;
+
+  /**
+   * Error message when the requested page size is outside the allowed range.
+   */
+  public static final String INVALID_PAGE_SIZE = "Page size must be between 1 and " + MAX_RESTAURANT_PAGE_SIZE;
 }
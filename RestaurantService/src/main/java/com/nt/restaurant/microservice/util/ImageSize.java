@@ -0,0 +1,68 @@
+package com.nt.restaurant.microservice.util;
+
+import com.nt.restaurant.microservice.exception.InvalidRequestException;
+
+import java.util.Locale;
+
+/**
+ * Enumeration of the sizes an image can be served in.
+ * Every size other than {@link #ORIGINAL} is a rendition scaled down to fit a square of {@link #getMaxDimension()} pixels.
+ */
+public enum ImageSize {
+
+  /**
+   * The image exactly as it was uploaded.
+   */
+  ORIGINAL(0),
+
+  /**
+   * A small rendition for list screens.
+   */
+  THUMBNAIL(160),
+
+  /**
+   * A mid-sized rendition for detail screens.
+   */
+  MEDIUM(640);
+
+  /**
+   * The largest width or height of the rendition in pixels, or 0 for the original.
+   */
+  private final int maxDimension;
+
+  /**
+   * Creates an image size.
+   *
+   * @param maxDimension the largest width or height of the rendition in pixels, or 0 for the original
+   */
+  ImageSize(final int maxDimension) {
+    this.maxDimension = maxDimension;
+  }
+
+  /**
+   * Gets the largest width or height of the rendition in pixels.
+   *
+   * @return the maximum dimension, or 0 for the original
+   */
+  public int getMaxDimension() {
+    return maxDimension;
+  }
+
+  /**
+   * Resolves the value of a {@code size} request parameter, ignoring case.
+   *
+   * @param value the parameter value, or {@code null} when it was not given
+   * @return the matching size, or {@link #ORIGINAL} when no value was given
+   * @throws InvalidRequestException if the value does not name a size
+   */
+  public static ImageSize fromValue(final String value) {
+    if (value == null || value.trim().isEmpty()) {
+      return ORIGINAL;
+    }
+    try {
+      return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new InvalidRequestException(Constants.INVALID_IMAGE_SIZE);
+    }
+  }
+}
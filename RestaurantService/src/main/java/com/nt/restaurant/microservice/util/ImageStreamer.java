@@ -0,0 +1,200 @@
+package com.nt.restaurant.microservice.util;
+
+import com.nt.restaurant.microservice.dto.StoredImage;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Writes stored images to HTTP responses straight from disk.
+ * <p>
+ * Every response carries the image hash as a strong ETag and a {@code Cache-Control} header, and a request whose
+ * {@code If-None-Match} matches is answered with 304 before the file is opened. An original served in place of a
+ * missing rendition gets no ETag and {@code Cache-Control: no-store}, so it is not cached under the rendition URL.
+ * A single byte range is served as a 206 partial response. When the servlet container supports sendfile (Tomcat's
+ * NIO connector does), the file is handed to the container, which sends it with zero-copy after the request returns.
+ * Otherwise the file is written with {@link FileChannel#transferTo(long, long, WritableByteChannel)}, so the image is
+ * never read into a byte array.
+ * </p>
+ */
+public final class ImageStreamer {
+
+  /**
+   * Request attribute set by Tomcat when the response may be sent with sendfile.
+   */
+  private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+
+  /**
+   * Request attribute naming the file Tomcat should send.
+   */
+  private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+
+  /**
+   * Request attribute holding the offset of the first byte Tomcat should send.
+   */
+  private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+
+  /**
+   * Request attribute holding the offset after the last byte Tomcat should send.
+   */
+  private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+  /**
+   * The first bytes of every PNG file.
+   */
+  private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+
+  /**
+   * The first bytes of every JPEG file.
+   */
+  private static final byte[] JPEG_SIGNATURE = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF};
+
+  /**
+   * Prevents instantiation of this utility class.
+   */
+  private ImageStreamer() {
+  }
+
+  /**
+   * Writes an image, or the requested byte range of it, to the response.
+   *
+   * @param image    the stored image to send.
+   * @param request  the current request, used for conditional and range headers and to detect sendfile support.
+   * @param response the response to write the image to.
+   * @throws IOException if the image cannot be read or written.
+   */
+  public static void stream(final StoredImage image, final HttpServletRequest request,
+                            final HttpServletResponse response) throws IOException {
+    String etag = null;
+    if (image.isSubstitute()) {
+      response.setHeader(HttpHeaders.CACHE_CONTROL, Constants.IMAGE_SUBSTITUTE_CACHE_CONTROL);
+    } else {
+      etag = "\"" + image.getHash() + "\"";
+      response.setHeader(HttpHeaders.ETAG, etag);
+      response.setHeader(HttpHeaders.CACHE_CONTROL, Constants.IMAGE_CACHE_CONTROL);
+    }
+    response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+    if (etag != null && new ServletWebRequest(request, response).checkNotModified(etag)) {
+      return;
+    }
+
+    long size = image.getSize();
+    long start = 0;
+    long end = size;
+    HttpRange range = requestedRange(request, etag);
+    if (range != null) {
+      start = range.getRangeStart(size);
+      end = range.getRangeEnd(size) + 1;
+      if (start >= size) {
+        response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+        return;
+      }
+      response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+      response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + (end - 1) + "/" + size);
+    }
+    response.setContentType(contentTypeOf(image.getPath()));
+    response.setContentLengthLong(end - start);
+
+    if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+      request.setAttribute(SENDFILE_FILENAME, image.getPath().toString());
+      request.setAttribute(SENDFILE_START, start);
+      request.setAttribute(SENDFILE_END, end);
+      return;
+    }
+
+    try (FileChannel file = FileChannel.open(image.getPath(), StandardOpenOption.READ)) {
+      WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+      long position = start;
+      while (position < end) {
+        long sent = file.transferTo(position, end - position, out);
+        if (sent <= 0) {
+          break;
+        }
+        position += sent;
+      }
+    }
+  }
+
+  /**
+   * Returns the single byte range the request asks for, if it should be honoured.
+   * A malformed or multi-part {@code Range} header, or an {@code If-Range} that does not match the current ETag,
+   * results in the whole image being sent.
+   *
+   * @param request the current request.
+   * @param etag    the ETag of the image, or {@code null} if it has none.
+   * @return the requested range, or {@code null} to send the whole image.
+   */
+  private static HttpRange requestedRange(final HttpServletRequest request, final String etag) {
+    String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+    if (rangeHeader == null) {
+      return null;
+    }
+    String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+    if (ifRange != null && !ifRange.equals(etag)) {
+      return null;
+    }
+    try {
+      List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+      return ranges.size() == 1 ? ranges.get(0) : null;
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Determines the content type of an image from its leading bytes, since both PNG and JPEG uploads are accepted.
+   *
+   * @param path the image file.
+   * @return the image content type, or {@code application/octet-stream} if the format is not recognised.
+   * @throws IOException if the file cannot be read.
+   */
+  static String contentTypeOf(final Path path) throws IOException {
+    ByteBuffer header = ByteBuffer.allocate(PNG_SIGNATURE.length);
+    try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ)) {
+      while (header.hasRemaining()) {
+        if (file.read(header) < 0) {
+          break;
+        }
+      }
+    }
+    if (startsWith(header, PNG_SIGNATURE)) {
+      return MediaType.IMAGE_PNG_VALUE;
+    }
+    if (startsWith(header, JPEG_SIGNATURE)) {
+      return MediaType.IMAGE_JPEG_VALUE;
+    }
+    return MediaType.APPLICATION_OCTET_STREAM_VALUE;
+  }
+
+  /**
+   * Checks whether the bytes read into a buffer start with the given signature.
+   *
+   * @param header    the buffer holding the leading bytes of a file.
+   * @param signature the signature to look for.
+   * @return {@code true} if the buffer starts with the signature.
+   */
+  private static boolean startsWith(final ByteBuffer header, final byte[] signature) {
+    if (header.position() < signature.length) {
+      return false;
+    }
+    for (int i = 0; i < signature.length; i++) {
+      if (header.get(i) != signature[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
@@ -0,0 +1,37 @@
+-- Baseline of the schema Hibernate created while the service ran with ddl-auto=update.
+-- IF NOT EXISTS makes this a no-op on databases that already have the tables.
+
+CREATE TABLE IF NOT EXISTS restaurant (
+    restaurant_id         SERIAL PRIMARY KEY,
+    user_id               INTEGER,
+    restaurant_name       VARCHAR(255),
+    restaurant_address    VARCHAR(255),
+    contact_number        VARCHAR(255),
+    registration_date     DATE,
+    description           VARCHAR(255),
+    is_open               BOOLEAN NOT NULL,
+    restaurant_image      OID,
+    restaurant_image_hash VARCHAR(64)
+);
+
+CREATE TABLE IF NOT EXISTS food_category (
+    food_category_id   SERIAL PRIMARY KEY,
+    restaurant_id      INTEGER,
+    food_category_name VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS food_item (
+    food_item_id         SERIAL PRIMARY KEY,
+    category_id          INTEGER,
+    restaurant_id        INTEGER,
+    food_item_name       VARCHAR(255),
+    description          VARCHAR(255),
+    price                DOUBLE PRECISION,
+    is_available         BOOLEAN NOT NULL,
+    food_item_image      OID,
+    food_item_image_hash VARCHAR(64)
+);
+
+-- Image hash columns added after some databases were created.
+ALTER TABLE restaurant ADD COLUMN IF NOT EXISTS restaurant_image_hash VARCHAR(64);
+ALTER TABLE food_item ADD COLUMN IF NOT EXISTS food_item_image_hash VARCHAR(64);
@@ -0,0 +1,17 @@
+-- Restaurants of an owner: findByUserId.
+CREATE INDEX IF NOT EXISTS idx_restaurant_user ON restaurant (user_id);
+
+-- Duplicate name check: existsByRestaurantNameIgnoreCase compares upper(restaurant_name).
+CREATE INDEX IF NOT EXISTS idx_restaurant_name_upper ON restaurant (upper(restaurant_name));
+
+-- Keyset listing of open or closed restaurants: findSummariesAfterByIsOpen.
+CREATE INDEX IF NOT EXISTS idx_restaurant_open ON restaurant (is_open, restaurant_id);
+
+-- Categories of a restaurant: findByRestaurantId and findByRestaurantIdAndFoodCategoryName.
+CREATE INDEX IF NOT EXISTS idx_food_category_restaurant_name ON food_category (restaurant_id, food_category_name);
+
+-- Menu of a restaurant: findByRestaurantId, findSummariesByRestaurantId and findByFoodItemNameAndRestaurantId.
+CREATE INDEX IF NOT EXISTS idx_food_item_restaurant_name ON food_item (restaurant_id, food_item_name);
+
+-- Items of a category: findByCategoryId and findSummariesByCategoryId.
+CREATE INDEX IF NOT EXISTS idx_food_item_category ON food_item (category_id);
@@ -0,0 +1,59 @@
+package com.nt.restaurant.microservice.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpHost;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.openfeign.support.FeignHttpClientProperties;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class FeignClientConfigTest {
+
+  private SimpleMeterRegistry meterRegistry;
+
+  private PoolingHttpClientConnectionManager connectionManager;
+
+  @BeforeEach
+  public void setup() {
+    FeignClientConfig feignClientConfig = new FeignClientConfig();
+    ReflectionTestUtils.setField(feignClientConfig, "validateAfterInactivityMs", 2000);
+    FeignHttpClientProperties properties = new FeignHttpClientProperties();
+    properties.setMaxConnections(10);
+    properties.setMaxConnectionsPerRoute(5);
+    meterRegistry = new SimpleMeterRegistry();
+    connectionManager = feignClientConfig.feignConnectionManager(properties, meterRegistry);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    connectionManager.shutdown();
+  }
+
+  @Test
+  public void testConnectionManager_AppliesPoolLimits() {
+    assertEquals(10, connectionManager.getMaxTotal());
+    assertEquals(5, connectionManager.getDefaultMaxPerRoute());
+    assertEquals(10.0, meterRegistry.get("httpcomponents.httpclient.pool.total.max").tag("httpclient", "feign")
+      .gauge().value());
+  }
+
+  @Test
+  public void testConnectionManager_RecordsLeaseWaitAndLeasedConnections() throws Exception {
+    HttpRoute route = new HttpRoute(new HttpHost("localhost", 100));
+
+    HttpClientConnection connection = connectionManager.requestConnection(route, null).get(1, TimeUnit.SECONDS);
+
+    assertEquals(1, meterRegistry.get("feign.pool.lease.wait").timer().count());
+    assertEquals(1.0, meterRegistry.get("httpcomponents.httpclient.pool.total.connections")
+      .tag("httpclient", "feign").tag("state", "leased").gauge().value());
+    connectionManager.releaseConnection(connection, null, 0, TimeUnit.MILLISECONDS);
+  }
+}
@@ -2,19 +2,27 @@ package com.nt.restaurant.microservice.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.nt.restaurant.microservice.dto.FoodItemOutDTO;
+import com.nt.restaurant.microservice.dto.FoodItemSummaryOutDTO;
+import com.nt.restaurant.microservice.dto.StoredImage;
 import com.nt.restaurant.microservice.service.FoodItemService;
+import com.nt.restaurant.microservice.util.ImageSize;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.MockitoAnnotations;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 
 import static org.mockito.Mockito.times;
@@ -70,16 +78,92 @@ public class FoodItemControllerTest {
   }
 
   @Test
-  void getFoodItemImageTest() throws Exception {
-    byte[] imageBytes = new byte[] {1, 2, 3}; // Example image data
+  void getFoodItemsByIdsTest() throws Exception {
+    FoodItemSummaryOutDTO foodItemOutDTO = new FoodItemSummaryOutDTO();
+    foodItemOutDTO.setFoodItemId(5);
+    List<FoodItemSummaryOutDTO> foodItems = Arrays.asList(foodItemOutDTO);
 
-    when(foodItemService.getFoodItemImage(1)).thenReturn(imageBytes);
+    when(foodItemService.getFoodItemsByIds(1, new HashSet<>(Arrays.asList(5, 6)))).thenReturn(foodItems);
+
+    mockMvc.perform(MockMvcRequestBuilders.post("/foodItems/getFoodItems/{restaurantId}/batch", 1)
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(objectMapper.writeValueAsString(Arrays.asList(5, 6))))
+      .andExpect(status().isOk())
+      .andExpect(MockMvcResultMatchers.jsonPath("$[0].foodItemId").value(5));
+
+    verify(foodItemService, times(1)).getFoodItemsByIds(1, new HashSet<>(Arrays.asList(5, 6)));
+  }
+
+  @Test
+  void getFoodItemSummariesByRestaurantTest() throws Exception {
+    FoodItemSummaryOutDTO foodItem = new FoodItemSummaryOutDTO(5, 2, 1, "PIZZA", "Cheese", 100.0, true);
+    foodItem.setImageUrl("/foodItems/5/image");
+
+    when(foodItemService.getFoodItemSummariesByRestaurant(1)).thenReturn(Arrays.asList(foodItem));
+
+    mockMvc.perform(MockMvcRequestBuilders.get("/foodItems/getFoodItems/{restaurantId}/summary", 1))
+      .andExpect(status().isOk())
+      .andExpect(MockMvcResultMatchers.jsonPath("$[0].imageUrl").value("/foodItems/5/image"))
+      .andExpect(MockMvcResultMatchers.jsonPath("$[0].foodItemImage").doesNotExist());
+  }
+
+  @Test
+  void getFoodItemByIdTest() throws Exception {
+    FoodItemSummaryOutDTO foodItem = new FoodItemSummaryOutDTO(5, 2, 1, "PIZZA", "Cheese", 100.0, true);
+
+    when(foodItemService.getFoodItemSummaryById(5)).thenReturn(foodItem);
+
+    mockMvc.perform(MockMvcRequestBuilders.get("/foodItems/{foodItemId}", 5))
+      .andExpect(status().isOk())
+      .andExpect(MockMvcResultMatchers.jsonPath("$.price").value(100.0))
+      .andExpect(MockMvcResultMatchers.jsonPath("$.available").value(true));
+  }
+
+  @Test
+  void getFoodItemImageTest(@TempDir final Path tempDir) throws Exception {
+    byte[] imageBytes = new byte[] {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, 1}; // Example JPEG image data
+    Path file = Files.write(tempDir.resolve("image"), imageBytes);
+
+    when(foodItemService.getFoodItemImage(1, ImageSize.ORIGINAL)).thenReturn(new StoredImage("hash", file, imageBytes.length));
 
     mockMvc.perform(MockMvcRequestBuilders.get("/foodItems/{id}/image", 1))
       .andExpect(status().isOk())
       .andExpect(MockMvcResultMatchers.content().contentType(MediaType.IMAGE_JPEG))
-      .andExpect(MockMvcResultMatchers.content().bytes(imageBytes));
+      .andExpect(MockMvcResultMatchers.content().bytes(imageBytes))
+      .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"hash\""))
+      .andExpect(MockMvcResultMatchers.header().exists(HttpHeaders.CACHE_CONTROL));
+
+    verify(foodItemService, times(1)).getFoodItemImage(1, ImageSize.ORIGINAL);
+  }
+
+  @Test
+  void getFoodItemImageNotModifiedTest(@TempDir final Path tempDir) throws Exception {
+    Path file = tempDir.resolve("missing");
+
+    when(foodItemService.getFoodItemImage(1, ImageSize.ORIGINAL)).thenReturn(new StoredImage("hash", file, 4));
+
+    mockMvc.perform(MockMvcRequestBuilders.get("/foodItems/{id}/image", 1).header(HttpHeaders.IF_NONE_MATCH, "\"hash\""))
+      .andExpect(status().isNotModified())
+      .andExpect(MockMvcResultMatchers.content().bytes(new byte[0]));
+  }
+
+  @Test
+  void getFoodItemImageThumbnailTest(@TempDir final Path tempDir) throws Exception {
+    byte[] imageBytes = new byte[] {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, 2};
+    Path file = Files.write(tempDir.resolve("thumbnail"), imageBytes);
+
+    when(foodItemService.getFoodItemImage(1, ImageSize.THUMBNAIL))
+      .thenReturn(new StoredImage("hash-thumbnail", file, imageBytes.length));
 
-    verify(foodItemService, times(1)).getFoodItemImage(1);
+    mockMvc.perform(MockMvcRequestBuilders.get("/foodItems/{id}/image", 1).param("size", "thumbnail"))
+      .andExpect(status().isOk())
+      .andExpect(MockMvcResultMatchers.content().bytes(imageBytes))
+      .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"hash-thumbnail\""));
+  }
+
+  @Test
+  void getFoodItemImageInvalidSizeTest() throws Exception {
+    mockMvc.perform(MockMvcRequestBuilders.get("/foodItems/{id}/image", 1).param("size", "huge"))
+      .andExpect(status().isBadRequest());
   }
 }
@@ -3,17 +3,27 @@ package com.nt.restaurant.microservice.controller;
 import com.nt.restaurant.microservice.dto.CommonResponse;
 import com.nt.restaurant.microservice.dto.RestaurantInDTO;
 import com.nt.restaurant.microservice.dto.RestaurantOutDTO;
+import com.nt.restaurant.microservice.dto.RestaurantPageOutDTO;
+import com.nt.restaurant.microservice.dto.RestaurantSummaryOutDTO;
+import com.nt.restaurant.microservice.dto.StoredImage;
 import com.nt.restaurant.microservice.service.RestaurantService;
+import com.nt.restaurant.microservice.util.ImageSize;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Collections;
 import java.util.List;
 
@@ -88,17 +98,18 @@ public class RestaurantControllerTest {
   }
 
   @Test
-  void testGetRestaurantImage_Success() {
-    byte[] image = new byte[0]; // Placeholder for actual image data
-
-    when(restaurantService.getRestaurantImage(anyInt())).thenReturn(image);
-
-    ResponseEntity<byte[]> response = restaurantController.getRestaurantImage(1);
-
-    assertEquals(HttpStatus.OK, response.getStatusCode());
-    assertArrayEquals(image, response.getBody());
-    assertEquals("image/jpeg", response.getHeaders().getContentType().toString());
-    verify(restaurantService, times(1)).getRestaurantImage(anyInt());
+  void testGetRestaurantImage_Success(@TempDir final Path tempDir) throws IOException {
+    byte[] image = new byte[] {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, 1};
+    Path file = Files.write(tempDir.resolve("image"), image);
+    when(restaurantService.getRestaurantImage(anyInt(), any(ImageSize.class))).thenReturn(new StoredImage("hash", file, image.length));
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    restaurantController.getRestaurantImage(1, null, new MockHttpServletRequest(), response);
+
+    assertEquals(HttpStatus.OK.value(), response.getStatus());
+    assertArrayEquals(image, response.getContentAsByteArray());
+    assertEquals("image/jpeg", response.getContentType());
+    verify(restaurantService, times(1)).getRestaurantImage(anyInt(), any(ImageSize.class));
   }
 
   @Test
@@ -117,4 +128,17 @@ public class RestaurantControllerTest {
     assertEquals("Test Restaurant", response.getBody().get(0).getRestaurantName());
     verify(restaurantService, times(1)).getAllRestaurants();
   }
+
+  @Test
+  void testGetRestaurantPage_Success() {
+    RestaurantPageOutDTO page = new RestaurantPageOutDTO(Collections.singletonList(
+      new RestaurantSummaryOutDTO(5, "Test Restaurant", "123 Test St", "9876543210", "Best restaurant", true)), 5);
+    when(restaurantService.getRestaurantPage(4, 1, true)).thenReturn(page);
+
+    ResponseEntity<RestaurantPageOutDTO> response = restaurantController.getRestaurantPage(4, 1, true);
+
+    assertEquals(HttpStatus.OK, response.getStatusCode());
+    assertEquals(page, response.getBody());
+    verify(restaurantService, times(1)).getRestaurantPage(4, 1, true);
+  }
 }
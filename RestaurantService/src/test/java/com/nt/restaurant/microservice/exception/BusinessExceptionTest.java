@@ -0,0 +1,25 @@
+package com.nt.restaurant.microservice.exception;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BusinessExceptionTest {
+
+  @Test
+  void testBusinessExceptionsCaptureNoStackTrace() {
+    List<BusinessException> exceptions = Arrays.asList(
+      new ResourceNotFoundException("Entity not found"),
+      new InvalidRequestException("Invalid request"),
+      new UnauthorizedException("Unauthorized"),
+      new ResourceAlreadyExistException("Entity already exists"));
+
+    for (BusinessException exception : exceptions) {
+      assertEquals(0, exception.getStackTrace().length);
+      assertEquals(0, exception.getSuppressed().length);
+    }
+  }
+}
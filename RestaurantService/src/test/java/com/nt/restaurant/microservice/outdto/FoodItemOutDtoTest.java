@@ -3,9 +3,6 @@ package com.nt.restaurant.microservice.outdto;
 import com.nt.restaurant.microservice.dto.FoodItemOutDTO;
 import org.junit.jupiter.api.Test;
 
-import java.util.Arrays;
-
-import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -14,8 +11,8 @@ class FoodItemOutDTOTest {
 
   @Test
   void testFoodItemOutDTOEqualsAndHashCode() {
-    byte[] image1 = {1, 2, 3};
-    byte[] image2 = {1, 2, 3};
+    String image1 = "/foodItems/1/image";
+    String image2 = "/foodItems/1/image";
 
     FoodItemOutDTO dto1 = new FoodItemOutDTO(1, 2, 3, "Test Food", "Delicious", 10.0, true, image1);
     FoodItemOutDTO dto2 = new FoodItemOutDTO(1, 2, 3, "Test Food", "Delicious", 10.0, true, image2);
@@ -27,8 +24,8 @@ class FoodItemOutDTOTest {
 
   @Test
   void testFoodItemOutDTONotEquals() {
-    byte[] image1 = {1, 2, 3};
-    byte[] image2 = {4, 5, 6};
+    String image1 = "/foodItems/1/image";
+    String image2 = "/foodItems/4/image";
 
     FoodItemOutDTO dto1 = new FoodItemOutDTO(1, 2, 3, "Test Food", "Test Description", 10.0, true, image1);
     FoodItemOutDTO dto2 = new FoodItemOutDTO(2, 3, 4, "Test Food", "Test Description", 12.0, false, image2);
@@ -38,7 +35,7 @@ class FoodItemOutDTOTest {
 
   @Test
   void testFoodItemOutDTOToString() {
-    byte[] image = {1, 2, 3};
+    String image = "/foodItems/1/image";
 
     FoodItemOutDTO dto = new FoodItemOutDTO(1, 2, 3, "Test Food", "Test Description", 10.0, true, image);
 
@@ -50,14 +47,14 @@ class FoodItemOutDTOTest {
       ", description='Test Description'" +
       ", price=10.0" +
       ", isAvailable=true" +
-      ", foodItemImage=" + Arrays.toString(image) +
+      ", foodItemImage='" + image + '\'' +
       '}';
     assertEquals(expected, dto.toString());
   }
 
   @Test
   void testFoodItemOutDTOSettersAndGetters() {
-    byte[] image = {1, 2, 3};
+    String image = "/foodItems/1/image";
 
     FoodItemOutDTO dto = new FoodItemOutDTO();
     dto.setFoodItemId(1);
@@ -76,6 +73,6 @@ class FoodItemOutDTOTest {
     assertEquals("Test Description", dto.getDescription());
     assertEquals(10.0, dto.getprice());
     assertTrue(dto.isAvailable());
-    assertArrayEquals(image, dto.getFoodItemImage());
+    assertEquals(image, dto.getFoodItemImage());
   }
 }
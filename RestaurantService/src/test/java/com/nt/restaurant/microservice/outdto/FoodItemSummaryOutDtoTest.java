@@ -0,0 +1,70 @@
+package com.nt.restaurant.microservice.outdto;
+
+import com.nt.restaurant.microservice.dto.FoodItemSummaryOutDTO;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FoodItemSummaryOutDtoTest {
+
+  @Test
+  void testEqualsAndHashCode() {
+    FoodItemSummaryOutDTO dto1 = new FoodItemSummaryOutDTO(1, 2, 3, "Test Food", "Delicious", 10.0, true);
+    FoodItemSummaryOutDTO dto2 = new FoodItemSummaryOutDTO(1, 2, 3, "Test Food", "Delicious", 10.0, true);
+    dto1.setImageUrl("/foodItems/1/image");
+    dto2.setImageUrl("/foodItems/1/image");
+
+    assertEquals(dto1, dto2);
+    assertEquals(dto1.hashCode(), dto2.hashCode());
+  }
+
+  @Test
+  void testNotEquals() {
+    FoodItemSummaryOutDTO dto1 = new FoodItemSummaryOutDTO(1, 2, 3, "Test Food", "Delicious", 10.0, true);
+    FoodItemSummaryOutDTO dto2 = new FoodItemSummaryOutDTO(2, 2, 3, "Test Food", "Delicious", 12.0, false);
+
+    assertNotEquals(dto1, dto2);
+  }
+
+  @Test
+  void testToString() {
+    FoodItemSummaryOutDTO dto = new FoodItemSummaryOutDTO(1, 2, 3, "Test Food", "Test Description", 10.0, true);
+    dto.setImageUrl("/foodItems/1/image");
+
+    String expected = "FoodItemSummaryOutDTO{"
+      + "foodItemId=1"
+      + ", categoryId=2"
+      + ", restaurantId=3"
+      + ", foodItemName='Test Food'"
+      + ", description='Test Description'"
+      + ", price=10.0"
+      + ", isAvailable=true"
+      + ", imageUrl='/foodItems/1/image'"
+      + '}';
+    assertEquals(expected, dto.toString());
+  }
+
+  @Test
+  void testSettersAndGetters() {
+    FoodItemSummaryOutDTO dto = new FoodItemSummaryOutDTO();
+    dto.setFoodItemId(1);
+    dto.setCategoryId(2);
+    dto.setRestaurantId(3);
+    dto.setFoodItemName("Test Food");
+    dto.setDescription("Test Description");
+    dto.setPrice(10.0);
+    dto.setAvailable(true);
+    dto.setImageUrl("/foodItems/1/image");
+
+    assertEquals(1, dto.getFoodItemId());
+    assertEquals(2, dto.getCategoryId());
+    assertEquals(3, dto.getRestaurantId());
+    assertEquals("Test Food", dto.getFoodItemName());
+    assertEquals("Test Description", dto.getDescription());
+    assertEquals(10.0, dto.getPrice());
+    assertTrue(dto.isAvailable());
+    assertEquals("/foodItems/1/image", dto.getImageUrl());
+  }
+}
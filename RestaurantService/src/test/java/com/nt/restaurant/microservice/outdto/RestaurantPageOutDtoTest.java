@@ -0,0 +1,41 @@
+package com.nt.restaurant.microservice.outdto;
+
+import com.nt.restaurant.microservice.dto.RestaurantPageOutDTO;
+import com.nt.restaurant.microservice.dto.RestaurantSummaryOutDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class RestaurantPageOutDtoTest {
+
+  private final List<RestaurantSummaryOutDTO> restaurants = Collections.singletonList(
+    new RestaurantSummaryOutDTO(1, "Test", "Address", "9876543210", "Desc", true));
+
+  @Test
+  void testEqualsAndHashCode() {
+    RestaurantPageOutDTO dto1 = new RestaurantPageOutDTO(restaurants, 1);
+    RestaurantPageOutDTO dto2 = new RestaurantPageOutDTO(restaurants, 1);
+
+    assertEquals(dto1, dto2);
+    assertEquals(dto1.hashCode(), dto2.hashCode());
+    assertNotEquals(dto1, new RestaurantPageOutDTO(restaurants, null));
+  }
+
+  @Test
+  void testSettersAndGetters() {
+    RestaurantPageOutDTO dto = new RestaurantPageOutDTO();
+    assertNull(dto.getNextAfterId());
+
+    dto.setRestaurants(restaurants);
+    dto.setNextAfterId(7);
+
+    assertEquals(restaurants, dto.getRestaurants());
+    assertEquals(7, dto.getNextAfterId());
+    assertEquals("RestaurantPageOutDTO{restaurants=" + restaurants + ", nextAfterId=7}", dto.toString());
+  }
+}
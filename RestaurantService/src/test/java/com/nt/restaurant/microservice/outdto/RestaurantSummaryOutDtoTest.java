@@ -0,0 +1,67 @@
+package com.nt.restaurant.microservice.outdto;
+
+import com.nt.restaurant.microservice.dto.RestaurantSummaryOutDTO;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RestaurantSummaryOutDtoTest {
+
+  @Test
+  void testEqualsAndHashCode() {
+    RestaurantSummaryOutDTO dto1 = new RestaurantSummaryOutDTO(1, "Test", "Address", "9876543210", "Desc", true);
+    RestaurantSummaryOutDTO dto2 = new RestaurantSummaryOutDTO(1, "Test", "Address", "9876543210", "Desc", true);
+    dto1.setImageUrl("/restaurant/1/image");
+    dto2.setImageUrl("/restaurant/1/image");
+
+    assertEquals(dto1, dto2);
+    assertEquals(dto1.hashCode(), dto2.hashCode());
+  }
+
+  @Test
+  void testNotEquals() {
+    RestaurantSummaryOutDTO dto1 = new RestaurantSummaryOutDTO(1, "Test", "Address", "9876543210", "Desc", true);
+    RestaurantSummaryOutDTO dto2 = new RestaurantSummaryOutDTO(2, "Test", "Address", "9876543210", "Desc", false);
+
+    assertNotEquals(dto1, dto2);
+  }
+
+  @Test
+  void testToString() {
+    RestaurantSummaryOutDTO dto = new RestaurantSummaryOutDTO(1, "Test", "Address", "9876543210", "Desc", true);
+    dto.setImageUrl("/restaurant/1/image");
+
+    String expected = "RestaurantSummaryOutDTO{"
+      + "restaurantId=1"
+      + ", restaurantName='Test'"
+      + ", restaurantAddress='Address'"
+      + ", contactNumber='9876543210'"
+      + ", description='Desc'"
+      + ", isOpen=true"
+      + ", imageUrl='/restaurant/1/image'"
+      + '}';
+    assertEquals(expected, dto.toString());
+  }
+
+  @Test
+  void testSettersAndGetters() {
+    RestaurantSummaryOutDTO dto = new RestaurantSummaryOutDTO();
+    dto.setRestaurantId(1);
+    dto.setRestaurantName("Test");
+    dto.setRestaurantAddress("Address");
+    dto.setContactNumber("9876543210");
+    dto.setDescription("Desc");
+    dto.setOpen(true);
+    dto.setImageUrl("/restaurant/1/image");
+
+    assertEquals(1, dto.getRestaurantId());
+    assertEquals("Test", dto.getRestaurantName());
+    assertEquals("Address", dto.getRestaurantAddress());
+    assertEquals("9876543210", dto.getContactNumber());
+    assertEquals("Desc", dto.getDescription());
+    assertTrue(dto.isOpen());
+    assertEquals("/restaurant/1/image", dto.getImageUrl());
+  }
+}
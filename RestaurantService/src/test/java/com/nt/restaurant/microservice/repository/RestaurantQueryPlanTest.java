@@ -0,0 +1,94 @@
+package com.nt.restaurant.microservice.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Applies the migrations to a real PostgreSQL and checks that the hot restaurant, category and food item queries can use the indexes.
+ * Sequential scans are disabled so the planner picks an index whenever one is usable, regardless of table size.
+ * Skipped when Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class RestaurantQueryPlanTest {
+
+  @Container
+  private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:14-alpine");
+
+  private static Connection connection;
+
+  @BeforeAll
+  static void migrate() throws SQLException {
+    Flyway.configure()
+      .dataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword())
+      .load()
+      .migrate();
+    connection = DriverManager.getConnection(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("SET enable_seqscan = off");
+    }
+  }
+
+  @AfterAll
+  static void close() throws SQLException {
+    if (connection != null) {
+      connection.close();
+    }
+  }
+
+  @Test
+  void duplicateNameCheckUsesUpperNameIndex() throws SQLException {
+    assertPlanUses("SELECT restaurant_id FROM restaurant WHERE upper(restaurant_name) = upper('Spice Hub') LIMIT 1",
+      "idx_restaurant_name_upper");
+  }
+
+  @Test
+  void restaurantsByOwnerUseUserIndex() throws SQLException {
+    assertPlanUses("SELECT * FROM restaurant WHERE user_id = 1", "idx_restaurant_user");
+  }
+
+  @Test
+  void openRestaurantPageUsesOpenIndex() throws SQLException {
+    assertPlanUses("SELECT restaurant_id, restaurant_name FROM restaurant WHERE restaurant_id > 40 AND is_open = true "
+      + "ORDER BY restaurant_id LIMIT 21", "idx_restaurant_open");
+  }
+
+  @Test
+  void menuOfRestaurantUsesRestaurantIndex() throws SQLException {
+    assertPlanUses("SELECT * FROM food_item WHERE restaurant_id = 2", "idx_food_item_restaurant_name");
+  }
+
+  @Test
+  void itemsOfCategoryUseCategoryIndex() throws SQLException {
+    assertPlanUses("SELECT * FROM food_item WHERE category_id = 3", "idx_food_item_category");
+  }
+
+  @Test
+  void categoryByNameUsesRestaurantNameIndex() throws SQLException {
+    assertPlanUses("SELECT * FROM food_category WHERE restaurant_id = 2 AND food_category_name = 'Starters'",
+      "idx_food_category_restaurant_name");
+  }
+
+  private static void assertPlanUses(final String query, final String index) throws SQLException {
+    StringBuilder plan = new StringBuilder();
+    try (Statement statement = connection.createStatement();
+         ResultSet rows = statement.executeQuery("EXPLAIN " + query)) {
+      while (rows.next()) {
+        plan.append(rows.getString(1)).append('\n');
+      }
+    }
+    assertTrue(plan.toString().contains(index), "Expected " + index + " in plan:\n" + plan);
+  }
+}
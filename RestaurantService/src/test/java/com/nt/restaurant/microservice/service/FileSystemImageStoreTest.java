@@ -0,0 +1,94 @@
+package com.nt.restaurant.microservice.service;
+
+import com.nt.restaurant.microservice.dto.StoredImage;
+import com.nt.restaurant.microservice.exception.ResourceNotFoundException;
+import com.nt.restaurant.microservice.serviceimpl.FileSystemImageStore;
+import com.nt.restaurant.microservice.util.Constants;
+import com.nt.restaurant.microservice.util.ImageSize;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FileSystemImageStoreTest {
+
+  @TempDir
+  Path root;
+
+  private FileSystemImageStore imageStore;
+
+  @BeforeEach
+  void setUp() {
+    imageStore = new FileSystemImageStore();
+    ReflectionTestUtils.setField(imageStore, "root", root.toString());
+  }
+
+  @Test
+  void testStore_NamesImageAfterItsHash() throws IOException {
+    String hash = imageStore.store(new ByteArrayInputStream("abc".getBytes()));
+
+    assertEquals("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad", hash);
+    StoredImage image = imageStore.find(hash);
+    assertEquals(3, image.getSize());
+    assertEquals(root.resolve("ba").resolve(hash).toAbsolutePath(), image.getPath());
+    assertArrayEquals("abc".getBytes(), Files.readAllBytes(image.getPath()));
+  }
+
+  @Test
+  void testStore_SameBytesAreStoredOnce() throws IOException {
+    String first = imageStore.store(new ByteArrayInputStream("abc".getBytes()));
+    String second = imageStore.store(new ByteArrayInputStream("abc".getBytes()));
+    String other = imageStore.store(new ByteArrayInputStream("xyz".getBytes()));
+
+    assertEquals(first, second);
+    assertNotEquals(first, other);
+    try (Stream<Path> files = Files.walk(root)) {
+      assertEquals(2, files.filter(Files::isRegularFile).count());
+    }
+  }
+
+  @Test
+  void testFind_UnknownHash() {
+    String hash = "0000000000000000000000000000000000000000000000000000000000000000";
+
+    ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> imageStore.find(hash));
+    assertEquals(Constants.IMAGE_NOT_FOUND, exception.getMessage());
+  }
+
+  @Test
+  void testFind_MalformedHash() {
+    assertThrows(ResourceNotFoundException.class, () -> imageStore.find("../application.properties"));
+    assertThrows(ResourceNotFoundException.class, () -> imageStore.find(null));
+  }
+
+  @Test
+  void testStoreRendition_KeptNextToOriginal() throws IOException {
+    String hash = imageStore.store(new ByteArrayInputStream("abc".getBytes()));
+    assertFalse(imageStore.findRendition(hash, ImageSize.THUMBNAIL).isPresent());
+
+    imageStore.storeRendition(hash, ImageSize.THUMBNAIL, "small".getBytes());
+
+    StoredImage rendition = imageStore.findRendition(hash, ImageSize.THUMBNAIL).get();
+    assertEquals(hash + "-thumbnail", rendition.getHash());
+    assertEquals(imageStore.find(hash).getPath().getParent(), rendition.getPath().getParent());
+    assertArrayEquals("small".getBytes(), Files.readAllBytes(rendition.getPath()));
+    assertFalse(imageStore.findRendition(hash, ImageSize.MEDIUM).isPresent());
+  }
+
+  @Test
+  void testFindRendition_MalformedHash() {
+    assertThrows(ResourceNotFoundException.class, () -> imageStore.findRendition("../x", ImageSize.THUMBNAIL));
+  }
+}
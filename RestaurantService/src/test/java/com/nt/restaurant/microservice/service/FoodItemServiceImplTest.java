@@ -3,7 +3,9 @@ package com.nt.restaurant.microservice.service;
 import com.nt.restaurant.microservice.dto.CommonResponse;
 import com.nt.restaurant.microservice.dto.FoodItemInDTO;
 import com.nt.restaurant.microservice.dto.FoodItemOutDTO;
+import com.nt.restaurant.microservice.dto.FoodItemSummaryOutDTO;
 import com.nt.restaurant.microservice.dto.FoodItemUpdateInDTO;
+import com.nt.restaurant.microservice.dto.StoredImage;
 import com.nt.restaurant.microservice.entities.FoodCategory;
 import com.nt.restaurant.microservice.entities.FoodItem;
 import com.nt.restaurant.microservice.entities.Restaurant;
@@ -13,7 +15,9 @@ import com.nt.restaurant.microservice.repository.FoodCategoryRepository;
 import com.nt.restaurant.microservice.repository.FoodItemRepository;
 import com.nt.restaurant.microservice.repository.RestaurantRepository;
 import com.nt.restaurant.microservice.serviceimpl.FoodItemServiceImpl;
+import com.nt.restaurant.microservice.serviceimpl.OrderFClient;
 import com.nt.restaurant.microservice.util.Constants;
+import com.nt.restaurant.microservice.util.ImageSize;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -22,16 +26,23 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 
-import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -49,6 +60,15 @@ class FoodItemServiceImplTest {
   @Mock
   private FoodItemRepository foodItemRepository;
 
+  @Mock
+  private OrderFClient orderFClient;
+
+  @Mock
+  private ImageStore imageStore;
+
+  @Mock
+  private ImageRenditionService imageRenditionService;
+
   @Mock
   private MultipartFile image;
 
@@ -104,6 +124,7 @@ class FoodItemServiceImplTest {
     Integer restaurantId = 1;
     List<FoodItem> foodItems = new ArrayList<>();
     FoodItem foodItem = new FoodItem();
+    foodItem.setFoodItemId(7);
     foodItem.setFoodItemName("Test FoodItem");
     foodItems.add(foodItem);
 
@@ -116,6 +137,7 @@ class FoodItemServiceImplTest {
     assertFalse(foodItemOutDTOList.isEmpty());
     assertEquals(1, foodItemOutDTOList.size());
     assertEquals("Test FoodItem", foodItemOutDTOList.get(0).getfoodItemName()); // Assuming name is converted to upper case
+    assertEquals("/foodItems/7/image", foodItemOutDTOList.get(0).getFoodItemImage());
   }
 
   @Test
@@ -129,6 +151,75 @@ class FoodItemServiceImplTest {
     assertThrows(ResourceNotFoundException.class, () -> foodItemService.getFoodItemsByRestaurant(restaurantId));
   }
 
+  @Test
+  void testGetFoodItemsByIds_ReturnsSummariesIncludingForeignItems() {
+    FoodItemSummaryOutDTO ownItem = new FoodItemSummaryOutDTO(1, 1, 1, "PIZZA", "Cheese", 100.0, true);
+    FoodItemSummaryOutDTO foreignItem = new FoodItemSummaryOutDTO(2, 1, 2, "PASTA", "Red sauce", 150.0, true);
+    when(foodItemRepository.findSummariesByFoodItemIdIn(new HashSet<>(Arrays.asList(1, 2, 3))))
+      .thenReturn(Arrays.asList(ownItem, foreignItem));
+
+    List<FoodItemSummaryOutDTO> foodItems = foodItemService.getFoodItemsByIds(1, new HashSet<>(Arrays.asList(1, 2, 3)));
+
+    assertEquals(2, foodItems.size());
+    assertEquals(Integer.valueOf(2), foodItems.get(1).getRestaurantId());
+    assertEquals("/foodItems/1/image", foodItems.get(0).getImageUrl());
+  }
+
+  @Test
+  void testGetFoodItemsByIds_EmptyIdsSkipsQuery() {
+    List<FoodItemSummaryOutDTO> foodItems = foodItemService.getFoodItemsByIds(1, Collections.emptySet());
+
+    assertTrue(foodItems.isEmpty());
+    verify(foodItemRepository, never()).findSummariesByFoodItemIdIn(any());
+  }
+
+  @Test
+  void testGetFoodItemSummariesByRestaurant_Success() {
+    FoodItemSummaryOutDTO foodItem = new FoodItemSummaryOutDTO(5, 1, 1, "PIZZA", "Cheese", 100.0, true);
+    when(foodItemRepository.findSummariesByRestaurantId(1)).thenReturn(Collections.singletonList(foodItem));
+
+    List<FoodItemSummaryOutDTO> foodItems = foodItemService.getFoodItemSummariesByRestaurant(1);
+
+    assertEquals(1, foodItems.size());
+    assertEquals("/foodItems/5/image", foodItems.get(0).getImageUrl());
+    verify(foodItemRepository, never()).findByRestaurantId(any());
+  }
+
+  @Test
+  void testGetFoodItemSummariesByRestaurant_NotFound() {
+    when(foodItemRepository.findSummariesByRestaurantId(1)).thenReturn(new ArrayList<>());
+
+    assertThrows(ResourceNotFoundException.class, () -> foodItemService.getFoodItemSummariesByRestaurant(1));
+  }
+
+  @Test
+  void testGetFoodItemSummariesByCategory_Success() {
+    FoodItemSummaryOutDTO foodItem = new FoodItemSummaryOutDTO(5, 2, 1, "PIZZA", "Cheese", 100.0, true);
+    when(foodItemRepository.findSummariesByCategoryId(2)).thenReturn(Collections.singletonList(foodItem));
+
+    List<FoodItemSummaryOutDTO> foodItems = foodItemService.getFoodItemSummariesByCategory(2);
+
+    assertEquals("/foodItems/5/image", foodItems.get(0).getImageUrl());
+  }
+
+  @Test
+  void testGetFoodItemSummaryById_Success() {
+    FoodItemSummaryOutDTO foodItem = new FoodItemSummaryOutDTO(5, 2, 1, "PIZZA", "Cheese", 100.0, true);
+    when(foodItemRepository.findSummaryByFoodItemId(5)).thenReturn(Optional.of(foodItem));
+
+    FoodItemSummaryOutDTO result = foodItemService.getFoodItemSummaryById(5);
+
+    assertEquals(100.0, result.getPrice());
+    assertEquals("/foodItems/5/image", result.getImageUrl());
+  }
+
+  @Test
+  void testGetFoodItemSummaryById_NotFound() {
+    when(foodItemRepository.findSummaryByFoodItemId(5)).thenReturn(Optional.empty());
+
+    assertThrows(ResourceNotFoundException.class, () -> foodItemService.getFoodItemSummaryById(5));
+  }
+
   @Test
   void testUpdateFoodItemByFoodItemId_Success() throws IOException {
     FoodItemUpdateInDTO foodItemUpdateInDTO = new FoodItemUpdateInDTO();
@@ -146,6 +237,45 @@ class FoodItemServiceImplTest {
     verify(foodItemRepository).save(any(FoodItem.class));
   }
 
+  @Test
+  void testUpdateFoodItemByFoodItemId_InvalidatesOrderServiceMenu() {
+    FoodItemUpdateInDTO foodItemUpdateInDTO = new FoodItemUpdateInDTO();
+    foodItemUpdateInDTO.setFoodItemName("Updated FoodItem");
+
+    FoodItem existingFoodItem = new FoodItem();
+    existingFoodItem.setFoodItemName("Test FoodItem");
+    existingFoodItem.setRestaurantId(4);
+
+    when(foodItemRepository.findById(any(Integer.class))).thenReturn(Optional.of(existingFoodItem));
+    when(foodItemRepository.save(any(FoodItem.class))).thenReturn(existingFoodItem);
+    doThrow(new RuntimeException("Order service unavailable")).when(orderFClient).invalidateMenu(4);
+
+    CommonResponse response = foodItemService.updateFoodItemByFoodItemId(1, foodItemUpdateInDTO);
+
+    assertEquals(Constants.FOOD_ITEM_UPDATED_SUCCESS, response.getMessage());
+    verify(orderFClient).invalidateMenu(4);
+  }
+
+  @Test
+  void testUpdateFoodItemByFoodItemId_StoresImageAndSchedulesRenditions() throws IOException {
+    FoodItemUpdateInDTO foodItemUpdateInDTO = new FoodItemUpdateInDTO();
+    foodItemUpdateInDTO.setFoodItemName("Updated FoodItem");
+    foodItemUpdateInDTO.setFoodItemImage(image);
+
+    FoodItem existingFoodItem = new FoodItem();
+    existingFoodItem.setFoodItemImage(new byte[] {1, 2, 3});
+
+    when(foodItemRepository.findById(any(Integer.class))).thenReturn(Optional.of(existingFoodItem));
+    when(foodItemRepository.save(any(FoodItem.class))).thenReturn(existingFoodItem);
+    when(imageStore.store(any())).thenReturn("hash");
+
+    foodItemService.updateFoodItemByFoodItemId(1, foodItemUpdateInDTO);
+
+    assertEquals("hash", existingFoodItem.getFoodItemImageHash());
+    assertNull(existingFoodItem.getFoodItemImage());
+    verify(imageRenditionService).generateRenditions("hash");
+  }
+
   @Test
   void testUpdateFoodItemByFoodItemId_ImageProcessingError() throws IOException {
     FoodItemUpdateInDTO foodItemUpdateInDTO = new FoodItemUpdateInDTO();
@@ -156,21 +286,56 @@ class FoodItemServiceImplTest {
     existingFoodItem.setFoodItemName("Test FoodItem");
 
     when(foodItemRepository.findById(any(Integer.class))).thenReturn(Optional.of(existingFoodItem));
-    doThrow(new IOException("Image processing failed")).when(image).getBytes();
+    doThrow(new IOException("Image processing failed")).when(image).getInputStream();
 
     assertThrows(RuntimeException.class, () -> foodItemService.updateFoodItemByFoodItemId(1, foodItemUpdateInDTO));
   }
 
   @Test
   void testGetFoodItemImage_Success() {
+    FoodItem foodItem = new FoodItem();
+    foodItem.setFoodItemImageHash("hash");
+    StoredImage storedImage = new StoredImage("hash", Paths.get("hash"), 3);
+    when(foodItemRepository.findById(1)).thenReturn(Optional.of(foodItem));
+    when(imageRenditionService.findImage("hash", ImageSize.ORIGINAL)).thenReturn(storedImage);
+
+    StoredImage result = foodItemService.getFoodItemImage(1, ImageSize.ORIGINAL);
+
+    assertEquals(storedImage, result);
+    verify(foodItemRepository, never()).save(any(FoodItem.class));
+  }
+
+  @Test
+  void testGetFoodItemImage_MovesLegacyImageToStore() throws IOException {
     FoodItem foodItem = new FoodItem();
     foodItem.setFoodItemImage(new byte[] {1, 2, 3});
+    StoredImage storedImage = new StoredImage("hash", Paths.get("hash"), 3);
+    when(foodItemRepository.findById(1)).thenReturn(Optional.of(foodItem));
+    when(imageStore.store(any(InputStream.class))).thenReturn("hash");
+    when(imageRenditionService.findImage("hash", ImageSize.ORIGINAL)).thenReturn(storedImage);
 
-    when(foodItemRepository.findById(any(Integer.class))).thenReturn(Optional.of(foodItem));
+    StoredImage result = foodItemService.getFoodItemImage(1, ImageSize.ORIGINAL);
 
-    byte[] image = foodItemService.getFoodItemImage(1);
+    assertEquals(storedImage, result);
+    assertEquals("hash", foodItem.getFoodItemImageHash());
+    assertNull(foodItem.getFoodItemImage());
+    verify(foodItemRepository).save(foodItem);
+  }
+
+  @Test
+  void testGetFoodItemImage_NoImage() {
+    when(foodItemRepository.findById(1)).thenReturn(Optional.of(new FoodItem()));
+
+    ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+      () -> foodItemService.getFoodItemImage(1, ImageSize.ORIGINAL));
+    assertEquals(Constants.IMAGE_NOT_FOUND, exception.getMessage());
+  }
+
+  @Test
+  void testGetFoodItemImage_NotFound() {
+    when(foodItemRepository.findById(1)).thenReturn(Optional.empty());
 
-    assertArrayEquals(new byte[] {1, 2, 3}, image);
+    assertThrows(ResourceNotFoundException.class, () -> foodItemService.getFoodItemImage(1, ImageSize.ORIGINAL));
   }
 
   @Test
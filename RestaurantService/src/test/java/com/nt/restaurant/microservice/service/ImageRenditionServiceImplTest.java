@@ -0,0 +1,157 @@
+package com.nt.restaurant.microservice.service;
+
+import com.nt.restaurant.microservice.dto.StoredImage;
+import com.nt.restaurant.microservice.serviceimpl.FileSystemImageStore;
+import com.nt.restaurant.microservice.serviceimpl.ImageRenditionServiceImpl;
+import com.nt.restaurant.microservice.util.ImageSize;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ImageRenditionServiceImplTest {
+
+  @TempDir
+  Path root;
+
+  private FileSystemImageStore imageStore;
+  private ImageRenditionServiceImpl imageRenditionService;
+  private List<Runnable> scheduled;
+
+  @BeforeEach
+  void setUp() {
+    imageStore = new FileSystemImageStore();
+    ReflectionTestUtils.setField(imageStore, "root", root.toString());
+    scheduled = new ArrayList<>();
+    imageRenditionService = new ImageRenditionServiceImpl();
+    ReflectionTestUtils.setField(imageRenditionService, "imageStore", imageStore);
+    ReflectionTestUtils.setField(imageRenditionService, "renditionExecutor", (Executor) scheduled::add);
+    ReflectionTestUtils.setField(imageRenditionService, "maxPixels", 50_000_000L);
+    ReflectionTestUtils.setField(imageRenditionService, "maxFailed", 100);
+  }
+
+  @Test
+  void testGenerateRenditions_ScalesImageToEverySize() throws IOException {
+    String hash = storeImage(1200, 800, BufferedImage.TYPE_INT_RGB, "jpg");
+
+    imageRenditionService.generateRenditions(hash);
+    runScheduled();
+
+    BufferedImage thumbnail = readRendition(hash, ImageSize.THUMBNAIL);
+    assertEquals(160, thumbnail.getWidth());
+    assertEquals(107, thumbnail.getHeight());
+    BufferedImage medium = readRendition(hash, ImageSize.MEDIUM);
+    assertEquals(640, medium.getWidth());
+    assertEquals(427, medium.getHeight());
+  }
+
+  @Test
+  void testGenerateRenditions_KeepsTransparencyAndDoesNotUpscale() throws IOException {
+    String hash = storeImage(100, 50, BufferedImage.TYPE_INT_ARGB, "png");
+
+    imageRenditionService.generateRenditions(hash);
+    runScheduled();
+
+    BufferedImage thumbnail = readRendition(hash, ImageSize.THUMBNAIL);
+    assertEquals(100, thumbnail.getWidth());
+    assertEquals(50, thumbnail.getHeight());
+    assertTrue(thumbnail.getColorModel().hasAlpha());
+  }
+
+  @Test
+  void testGenerateRenditions_SchedulesEachImageOnce() throws IOException {
+    String hash = storeImage(10, 10, BufferedImage.TYPE_INT_RGB, "jpg");
+
+    imageRenditionService.generateRenditions(hash);
+    imageRenditionService.generateRenditions(hash);
+    assertEquals(1, scheduled.size());
+
+    runScheduled();
+    imageRenditionService.generateRenditions(hash);
+    assertEquals(1, scheduled.size());
+  }
+
+  @Test
+  void testGenerateRenditions_RejectedWorkCanBeScheduledAgain() throws IOException {
+    String hash = storeImage(10, 10, BufferedImage.TYPE_INT_RGB, "jpg");
+    ReflectionTestUtils.setField(imageRenditionService, "renditionExecutor", (Executor) task -> {
+      throw new RejectedExecutionException("full");
+    });
+
+    imageRenditionService.generateRenditions(hash);
+
+    ReflectionTestUtils.setField(imageRenditionService, "renditionExecutor", (Executor) scheduled::add);
+    imageRenditionService.generateRenditions(hash);
+    assertEquals(1, scheduled.size());
+  }
+
+  @Test
+  void testGenerateRenditions_SkipsImagesAboveThePixelLimit() throws IOException {
+    String hash = storeImage(100, 100, BufferedImage.TYPE_INT_RGB, "jpg");
+    ReflectionTestUtils.setField(imageRenditionService, "maxPixels", 9_999L);
+
+    imageRenditionService.generateRenditions(hash);
+    runScheduled();
+
+    assertFalse(imageStore.findRendition(hash, ImageSize.THUMBNAIL).isPresent());
+  }
+
+  @Test
+  void testGenerateRenditions_ImageWithoutRenditionsIsNotScheduledAgain() throws IOException {
+    String hash = imageStore.store(new ByteArrayInputStream("not an image".getBytes()));
+
+    imageRenditionService.generateRenditions(hash);
+    runScheduled();
+    StoredImage image = imageRenditionService.findImage(hash, ImageSize.THUMBNAIL);
+
+    assertTrue(image.isSubstitute());
+    assertTrue(scheduled.isEmpty());
+  }
+
+  @Test
+  void testFindImage_FallsBackToOriginalAndSchedulesRendition() throws IOException {
+    String hash = storeImage(400, 400, BufferedImage.TYPE_INT_RGB, "jpg");
+
+    StoredImage image = imageRenditionService.findImage(hash, ImageSize.THUMBNAIL);
+
+    assertEquals(hash, image.getHash());
+    assertTrue(image.isSubstitute());
+    assertEquals(1, scheduled.size());
+    runScheduled();
+    StoredImage thumbnail = imageRenditionService.findImage(hash, ImageSize.THUMBNAIL);
+    assertEquals(hash + "-thumbnail", thumbnail.getHash());
+    assertFalse(thumbnail.isSubstitute());
+    assertFalse(imageRenditionService.findImage(hash, ImageSize.ORIGINAL).isSubstitute());
+  }
+
+  private String storeImage(final int width, final int height, final int type, final String format) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ImageIO.write(new BufferedImage(width, height, type), format, out);
+    return imageStore.store(new ByteArrayInputStream(out.toByteArray()));
+  }
+
+  private BufferedImage readRendition(final String hash, final ImageSize size) throws IOException {
+    return ImageIO.read(imageStore.findRendition(hash, size).get().getPath().toFile());
+  }
+
+  private void runScheduled() {
+    List<Runnable> tasks = new ArrayList<>(scheduled);
+    scheduled.clear();
+    tasks.forEach(Runnable::run);
+  }
+}
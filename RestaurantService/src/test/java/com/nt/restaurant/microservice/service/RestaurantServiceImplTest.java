@@ -2,6 +2,9 @@ package com.nt.restaurant.microservice.service;
 
 import com.nt.restaurant.microservice.dto.RestaurantInDTO;
 import com.nt.restaurant.microservice.dto.RestaurantOutDTO;
+import com.nt.restaurant.microservice.dto.RestaurantPageOutDTO;
+import com.nt.restaurant.microservice.dto.RestaurantSummaryOutDTO;
+import com.nt.restaurant.microservice.dto.StoredImage;
 import com.nt.restaurant.microservice.dto.UserOutDTO;
 import com.nt.restaurant.microservice.entities.Restaurant;
 import com.nt.restaurant.microservice.exception.InvalidRequestException;
@@ -10,25 +13,36 @@ import com.nt.restaurant.microservice.exception.UnauthorizedException;
 import com.nt.restaurant.microservice.repository.RestaurantRepository;
 import com.nt.restaurant.microservice.serviceimpl.RestaurantServiceImpl;
 import com.nt.restaurant.microservice.serviceimpl.UserFClient;
+import com.nt.restaurant.microservice.serviceimpl.UserProfileCache;
 import com.nt.restaurant.microservice.util.Constants;
+import com.nt.restaurant.microservice.util.ImageSize;
 import com.nt.restaurant.microservice.util.Role;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
-import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class RestaurantServiceImplTest {
@@ -39,6 +53,12 @@ class RestaurantServiceImplTest {
   @Mock
   private UserFClient userFClient;
 
+  @Mock
+  private ImageStore imageStore;
+
+  @Mock
+  private ImageRenditionService imageRenditionService;
+
   @InjectMocks
   private RestaurantServiceImpl restaurantService;
 
@@ -49,6 +69,13 @@ class RestaurantServiceImplTest {
   @BeforeEach
   void setUp() {
     MockitoAnnotations.openMocks(this);
+    UserProfileCache userProfileCache = new UserProfileCache();
+    ReflectionTestUtils.setField(userProfileCache, "userFClient", userFClient);
+    ReflectionTestUtils.setField(userProfileCache, "maxUsers", 100);
+    ReflectionTestUtils.setField(userProfileCache, "ttlSeconds", 0L);
+    ReflectionTestUtils.setField(userProfileCache, "meterRegistry", new SimpleMeterRegistry());
+    userProfileCache.registerMeters();
+    ReflectionTestUtils.setField(restaurantService, "userProfileCache", userProfileCache);
 
     // Setup mock RestaurantInDTO object
     restaurantInDTO = new RestaurantInDTO();
@@ -136,6 +163,7 @@ class RestaurantServiceImplTest {
     RestaurantOutDTO result = restaurantService.getRestaurantById(1);
 
     assertEquals(restaurant.getRestaurantName(), result.getRestaurantName());
+    assertEquals("/restaurant/" + restaurant.getRestaurantId() + "/image", result.getRestaurantImage());
   }
 
   @Test
@@ -177,13 +205,72 @@ class RestaurantServiceImplTest {
 
   @Test
   void testGetRestaurantImage_Success() {
-    byte[] imageBytes = "test-image".getBytes();
-    restaurant.setRestaurantImage(imageBytes); // Ensure this method expects byte[]
+    StoredImage storedImage = new StoredImage("hash", Paths.get("hash"), 10);
+    restaurant.setRestaurantImageHash("hash");
     when(restaurantRepository.findById(anyInt())).thenReturn(Optional.of(restaurant));
-    byte[] result = restaurantService.getRestaurantImage(1);
+    when(imageRenditionService.findImage("hash", ImageSize.ORIGINAL)).thenReturn(storedImage);
+    StoredImage result = restaurantService.getRestaurantImage(1, ImageSize.ORIGINAL);
     assertNotNull(result);
-    assertArrayEquals(imageBytes, result);
+    assertEquals(storedImage, result);
   }
 
+  @Test
+  void testGetRestaurantImage_MovesLegacyImageToStore() throws IOException {
+    StoredImage storedImage = new StoredImage("hash", Paths.get("hash"), 10);
+    restaurant.setRestaurantImage("test-image".getBytes());
+    when(restaurantRepository.findById(anyInt())).thenReturn(Optional.of(restaurant));
+    when(imageStore.store(any(InputStream.class))).thenReturn("hash");
+    when(imageRenditionService.findImage("hash", ImageSize.ORIGINAL)).thenReturn(storedImage);
+
+    StoredImage result = restaurantService.getRestaurantImage(1, ImageSize.ORIGINAL);
 
+    assertEquals(storedImage, result);
+    assertEquals("hash", restaurant.getRestaurantImageHash());
+    assertNull(restaurant.getRestaurantImage());
+    verify(restaurantRepository).save(restaurant);
+  }
+
+  @Test
+  void testGetRestaurantImage_NoImage() {
+    when(restaurantRepository.findById(anyInt())).thenReturn(Optional.of(restaurant));
+
+    ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+      () -> restaurantService.getRestaurantImage(1, ImageSize.ORIGINAL));
+    assertEquals(Constants.IMAGE_NOT_FOUND, exception.getMessage());
+  }
+
+  @Test
+  void testGetRestaurantPage_ReturnsCursorWhenMoreRestaurantsFollow() {
+    List<RestaurantSummaryOutDTO> rows = Arrays.asList(
+      new RestaurantSummaryOutDTO(11, "a", "addr", "9876543210", "desc", true),
+      new RestaurantSummaryOutDTO(12, "b", "addr", "9876543210", "desc", false),
+      new RestaurantSummaryOutDTO(15, "c", "addr", "9876543210", "desc", true));
+    when(restaurantRepository.findSummariesAfter(10, PageRequest.of(0, 3))).thenReturn(rows);
+
+    RestaurantPageOutDTO page = restaurantService.getRestaurantPage(10, 2, null);
+
+    assertEquals(2, page.getRestaurants().size());
+    assertEquals(12, page.getNextAfterId());
+    assertEquals("/restaurant/11/image", page.getRestaurants().get(0).getImageUrl());
+  }
+
+  @Test
+  void testGetRestaurantPage_LastPageFilteredByOpen() {
+    List<RestaurantSummaryOutDTO> rows = Collections.singletonList(
+      new RestaurantSummaryOutDTO(3, "a", "addr", "9876543210", "desc", true));
+    when(restaurantRepository.findSummariesAfterByIsOpen(0, true, PageRequest.of(0, 21))).thenReturn(rows);
+
+    RestaurantPageOutDTO page = restaurantService.getRestaurantPage(null, 20, true);
+
+    assertEquals(1, page.getRestaurants().size());
+    assertNull(page.getNextAfterId());
+    verify(restaurantRepository, never()).findSummariesAfter(any(), any());
+  }
+
+  @Test
+  void testGetRestaurantPage_InvalidPageSize() {
+    assertThrows(InvalidRequestException.class, () -> restaurantService.getRestaurantPage(null, 0, null));
+    assertThrows(InvalidRequestException.class,
+      () -> restaurantService.getRestaurantPage(null, Constants.MAX_RESTAURANT_PAGE_SIZE + 1, null));
+  }
 }
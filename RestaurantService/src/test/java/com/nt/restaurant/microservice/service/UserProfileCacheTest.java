@@ -0,0 +1,105 @@
+package com.nt.restaurant.microservice.service;
+
+import com.nt.restaurant.microservice.dto.UserOutDTO;
+import com.nt.restaurant.microservice.serviceimpl.UserFClient;
+import com.nt.restaurant.microservice.serviceimpl.UserProfileCache;
+import feign.FeignException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserProfileCacheTest {
+
+  @Mock
+  private UserFClient userFClient;
+
+  @InjectMocks
+  private UserProfileCache userProfileCache;
+
+  private UserOutDTO user;
+
+  private SimpleMeterRegistry meterRegistry;
+
+  @BeforeEach
+  void setUp() {
+    MockitoAnnotations.openMocks(this);
+    ReflectionTestUtils.setField(userProfileCache, "maxUsers", 2);
+    ReflectionTestUtils.setField(userProfileCache, "ttlSeconds", 30L);
+    meterRegistry = new SimpleMeterRegistry();
+    ReflectionTestUtils.setField(userProfileCache, "meterRegistry", meterRegistry);
+    userProfileCache.registerMeters();
+    user = new UserOutDTO(1, "Asha", "Rao", "asha@example.com", "9876543210", "RESTAURANT_OWNER", 500.0);
+  }
+
+  private double requests(final String result) {
+    return meterRegistry.get("user.profile.cache.requests").tag("result", result).counter().count();
+  }
+
+  @Test
+  void testGetUser_LoadsOnceWithoutBalance() {
+    when(userFClient.getUserProfile(1)).thenReturn(user);
+
+    userProfileCache.getUser(1);
+    UserOutDTO cached = userProfileCache.getUser(1);
+
+    assertEquals("RESTAURANT_OWNER", cached.getRole());
+    assertNull(cached.getWalletBalance());
+    verify(userFClient, times(1)).getUserProfile(1);
+    assertEquals(1.0, requests("hit"));
+    assertEquals(1.0, requests("miss"));
+    assertEquals(1.0, meterRegistry.get("user.profile.cache.size").gauge().value());
+  }
+
+  @Test
+  void testGetUser_UnknownUserIsNotCached() {
+    when(userFClient.getUserProfile(1)).thenThrow(FeignException.NotFound.class).thenReturn(user);
+
+    assertThrows(FeignException.NotFound.class, () -> userProfileCache.getUser(1));
+
+    assertEquals(1, userProfileCache.getUser(1).getId());
+    verify(userFClient, times(2)).getUserProfile(1);
+  }
+
+  @Test
+  void testGetUser_ConcurrentLookupsShareOneCall() throws Exception {
+    CountDownLatch called = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    when(userFClient.getUserProfile(1)).thenAnswer(invocation -> {
+      called.countDown();
+      release.await(5, TimeUnit.SECONDS);
+      return user;
+    });
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      CompletableFuture<UserOutDTO> first = CompletableFuture.supplyAsync(() -> userProfileCache.getUser(1), executor);
+      assertTrue(called.await(5, TimeUnit.SECONDS));
+      CompletableFuture<UserOutDTO> second = CompletableFuture.supplyAsync(() -> userProfileCache.getUser(1), executor);
+      Thread.sleep(100);
+      release.countDown();
+
+      assertEquals(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+      verify(userFClient, times(1)).getUserProfile(1);
+      assertEquals(1.0, requests("coalesced"));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
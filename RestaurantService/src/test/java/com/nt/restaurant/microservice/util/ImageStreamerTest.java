@@ -0,0 +1,155 @@
+package com.nt.restaurant.microservice.util;
+
+import com.nt.restaurant.microservice.dto.StoredImage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ImageStreamerTest {
+
+  private static final byte[] JPEG = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, 0, 1, 2, 3, 4, 5, 6};
+
+  @TempDir
+  Path tempDir;
+
+  private StoredImage image;
+  private MockHttpServletRequest request;
+  private MockHttpServletResponse response;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    image = new StoredImage("abc", Files.write(tempDir.resolve("image"), JPEG), JPEG.length);
+    request = new MockHttpServletRequest("GET", "/foodItems/1/image");
+    response = new MockHttpServletResponse();
+  }
+
+  @Test
+  void testStream_WritesFileWhenSendfileIsUnsupported() throws IOException {
+    ImageStreamer.stream(image, request, response);
+
+    assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+    assertEquals("image/jpeg", response.getContentType());
+    assertEquals(JPEG.length, response.getContentLengthLong());
+    assertEquals("\"abc\"", response.getHeader(HttpHeaders.ETAG));
+    assertEquals(Constants.IMAGE_CACHE_CONTROL, response.getHeader(HttpHeaders.CACHE_CONTROL));
+    assertEquals("bytes", response.getHeader(HttpHeaders.ACCEPT_RANGES));
+    assertArrayEquals(JPEG, response.getContentAsByteArray());
+  }
+
+  @Test
+  void testStream_SubstituteIsNotCached() throws IOException {
+    request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"abc\"");
+
+    ImageStreamer.stream(image.asSubstitute(), request, response);
+
+    assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+    assertNull(response.getHeader(HttpHeaders.ETAG));
+    assertEquals(Constants.IMAGE_SUBSTITUTE_CACHE_CONTROL, response.getHeader(HttpHeaders.CACHE_CONTROL));
+    assertArrayEquals(JPEG, response.getContentAsByteArray());
+  }
+
+  @Test
+  void testStream_HandsFileToContainerWhenSendfileIsSupported() throws IOException {
+    request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+
+    ImageStreamer.stream(image, request, response);
+
+    assertEquals(image.getPath().toString(), request.getAttribute("org.apache.tomcat.sendfile.filename"));
+    assertEquals(0L, request.getAttribute("org.apache.tomcat.sendfile.start"));
+    assertEquals((long) JPEG.length, request.getAttribute("org.apache.tomcat.sendfile.end"));
+    assertEquals(JPEG.length, response.getContentLengthLong());
+    assertEquals(0, response.getContentAsByteArray().length);
+  }
+
+  @Test
+  void testStream_MatchingIfNoneMatchIsNotModified() throws IOException {
+    Files.delete(image.getPath());
+    request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"other\", \"abc\"");
+
+    ImageStreamer.stream(image, request, response);
+
+    assertEquals(HttpServletResponse.SC_NOT_MODIFIED, response.getStatus());
+    assertEquals("\"abc\"", response.getHeader(HttpHeaders.ETAG));
+    assertEquals(0, response.getContentAsByteArray().length);
+  }
+
+  @Test
+  void testStream_StaleIfNoneMatchSendsImage() throws IOException {
+    request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"other\"");
+
+    ImageStreamer.stream(image, request, response);
+
+    assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+    assertArrayEquals(JPEG, response.getContentAsByteArray());
+  }
+
+  @Test
+  void testStream_RangeSendsPartialContent() throws IOException {
+    request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+
+    ImageStreamer.stream(image, request, response);
+
+    assertEquals(HttpServletResponse.SC_PARTIAL_CONTENT, response.getStatus());
+    assertEquals("bytes 2-5/10", response.getHeader(HttpHeaders.CONTENT_RANGE));
+    assertEquals(4, response.getContentLengthLong());
+    assertArrayEquals(new byte[] {(byte) 0xFF, 0, 1, 2}, response.getContentAsByteArray());
+  }
+
+  @Test
+  void testStream_SuffixRangeWithSendfile() throws IOException {
+    request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+    request.addHeader(HttpHeaders.RANGE, "bytes=-3");
+
+    ImageStreamer.stream(image, request, response);
+
+    assertEquals(HttpServletResponse.SC_PARTIAL_CONTENT, response.getStatus());
+    assertEquals("bytes 7-9/10", response.getHeader(HttpHeaders.CONTENT_RANGE));
+    assertEquals(7L, request.getAttribute("org.apache.tomcat.sendfile.start"));
+    assertEquals(10L, request.getAttribute("org.apache.tomcat.sendfile.end"));
+  }
+
+  @Test
+  void testStream_UnsatisfiableRange() throws IOException {
+    request.addHeader(HttpHeaders.RANGE, "bytes=20-30");
+
+    ImageStreamer.stream(image, request, response);
+
+    assertEquals(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE, response.getStatus());
+    assertEquals("bytes */10", response.getHeader(HttpHeaders.CONTENT_RANGE));
+    assertEquals(0, response.getContentAsByteArray().length);
+  }
+
+  @Test
+  void testStream_IfRangeMismatchSendsWholeImage() throws IOException {
+    request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+    request.addHeader(HttpHeaders.IF_RANGE, "\"other\"");
+
+    ImageStreamer.stream(image, request, response);
+
+    assertEquals(HttpServletResponse.SC_OK, response.getStatus());
+    assertNull(response.getHeader(HttpHeaders.CONTENT_RANGE));
+    assertArrayEquals(JPEG, response.getContentAsByteArray());
+  }
+
+  @Test
+  void testContentTypeOf_DetectsFormatFromLeadingBytes() throws IOException {
+    Path png = Files.write(tempDir.resolve("png"), new byte[] {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 0});
+    Path text = Files.write(tempDir.resolve("text"), "GIF".getBytes());
+
+    assertEquals("image/png", ImageStreamer.contentTypeOf(png));
+    assertEquals("image/jpeg", ImageStreamer.contentTypeOf(image.getPath()));
+    assertEquals("application/octet-stream", ImageStreamer.contentTypeOf(text));
+  }
+}
@@ -2,6 +2,7 @@ package com.nt.user.microservice;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * The main class for the User Service microservice application.
@@ -9,9 +10,11 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
  * This class serves as the entry point for the Spring Boot application.
  * It configures the component scanning for the application, ensuring that
  * all components within the `com.nt.user.microservice` package are detected and registered.
+ * Scheduling is enabled for the periodic wallet ledger compaction.
  * </p>
  */
 @SpringBootApplication
+@EnableScheduling
 public class UserServiceApplication {
 
   /**
@@ -138,13 +138,15 @@ public class UserController {
    * Adds money to the user's wallet.
    *
    * @param userId the ID of the user whose wallet will be updated.
-   * @param amountInDto the amount to be added to the user's wallet, encapsulated in an {@link AmountInDTO} object.
+   * @param amountInDto the amount to be added to the user's wallet, encapsulated in an {@link AmountInDTO} object;
+   *                    an order ID marks the credit as a refund of that order.
    * @return a response entity containing the updated user information after adding the money.
    */
   @PutMapping("/addMoney/{userId}")
   public ResponseEntity<UserOutDTO> addMoney(@PathVariable final Integer userId, @RequestBody final AmountInDTO amountInDto) {
     LOGGER.info("Adding {} to wallet for user ID: {}", amountInDto.getBalance(), userId);
-    UserOutDTO userResponse = walletBalanceService.addMoney(userId, amountInDto.getBalance());
+    UserOutDTO userResponse = walletBalanceService.addMoney(userId, amountInDto.getBalance(),
+      amountInDto.getOrderId());
     return new ResponseEntity<UserOutDTO>(userResponse, HttpStatus.OK);
   }
   /**
@@ -161,7 +163,8 @@ public class UserController {
   @PutMapping("/walletBalance/{id}")
   public ResponseEntity<UserOutDTO> updateWalletBalance(@PathVariable final Integer id,
                                                         @RequestBody final AmountInDTO amountInDTO) {
-    UserOutDTO userResponse = walletBalanceService.updateWalletBalance(id, amountInDTO.getBalance());
+    UserOutDTO userResponse = walletBalanceService.updateWalletBalance(id, amountInDTO.getBalance(),
+      amountInDTO.getOrderId());
     return new ResponseEntity<UserOutDTO>(userResponse, HttpStatus.OK);
   }
 
@@ -17,6 +17,12 @@ public class AmountInDTO {
   @NotNull(message = "Balance cannot be null")
   private Double balance;
 
+  /**
+   * The ID of the order the amount belongs to, or null for a change not tied to an order.
+   * Only one payment and one refund are recorded per order, so a repeated request for the same order is ignored.
+   */
+  private Integer orderId;
+
   /**
    * Default constructor for {@link AmountInDTO}.
    * Initializes the object without setting any balance.
@@ -51,10 +57,28 @@ public class AmountInDTO {
     this.balance = balance;
   }
 
+  /**
+   * Retrieves the ID of the order the amount belongs to.
+   *
+   * @return the order ID, or null.
+   */
+  public Integer getOrderId() {
+    return orderId;
+  }
+
+  /**
+   * Sets the ID of the order the amount belongs to.
+   *
+   * @param orderId the order ID to set.
+   */
+  public void setOrderId(final Integer orderId) {
+    this.orderId = orderId;
+  }
+
   /**
    * Compares this AmountInDTO object to the specified object for equality.
-   * Two AmountInDTO objects are considered equal if they have the same value
-   * for the balance field.
+   * Two AmountInDTO objects are considered equal if they have the same values
+   * for the balance and orderId fields.
    *
    * @param o the object to compare this AmountInDTO against
    * @return true if the specified object is equal to this AmountInDTO; false otherwise
@@ -68,23 +92,23 @@ public class AmountInDTO {
       return false;
     }
     AmountInDTO that = (AmountInDTO) o;
-    return Objects.equals(balance, that.balance);
+    return Objects.equals(balance, that.balance) && Objects.equals(orderId, that.orderId);
   }
 
   /**
    * Returns a hash code value for this AmountInDTO object.
-   * The hash code is computed based on the value of the balance field.
+   * The hash code is computed based on the values of the balance and orderId fields.
    *
    * @return a hash code value for this AmountInDTO object
    */
   @Override
   public int hashCode() {
-    return Objects.hashCode(balance);
+    return Objects.hash(balance, orderId);
   }
 
   /**
    * Returns a string representation of this AmountInDTO object.
-   * The string includes the class name and the value of the balance field.
+   * The string includes the class name and the values of the balance and orderId fields.
    *
    * @return a string representation of this AmountInDTO object
    */
@@ -92,6 +116,7 @@ public class AmountInDTO {
   public String toString() {
     return "AmountInDTO{"
       + "balance=" + balance
+      + ", orderId=" + orderId
       + '}';
   }
 }
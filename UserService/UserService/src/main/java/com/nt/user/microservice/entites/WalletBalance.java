@@ -1,5 +1,6 @@
 package com.nt.user.microservice.entites;
 
+import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
@@ -26,10 +27,16 @@ public class WalletBalance {
   private Integer userId;
 
   /**
-   * The current balance of the user's wallet.
+   * The snapshot balance of the user's wallet, which includes every ledger entry up to {@link #snapshotEntryId}.
    */
   private Double balance;
 
+  /**
+   * The ID of the last wallet ledger entry folded into the snapshot balance.
+   */
+  @Column(nullable = false)
+  private Long snapshotEntryId = 0L;
+
   /**
    * Gets the unique identifier for the wallet balance.
    *
@@ -67,9 +74,9 @@ public class WalletBalance {
   }
 
   /**
-   * Gets the current balance of the user's wallet.
+   * Gets the snapshot balance of the user's wallet; ledger entries after the snapshot are not included.
    *
-   * @return the current wallet balance.
+   * @return the snapshot wallet balance.
    */
   public double getBalance() {
     return balance;
@@ -84,6 +91,24 @@ public class WalletBalance {
     this.balance = balance;
   }
 
+  /**
+   * Gets the ID of the last wallet ledger entry folded into the snapshot balance.
+   *
+   * @return the snapshot entry ID.
+   */
+  public Long getSnapshotEntryId() {
+    return snapshotEntryId;
+  }
+
+  /**
+   * Sets the ID of the last wallet ledger entry folded into the snapshot balance.
+   *
+   * @param snapshotEntryId the snapshot entry ID to set.
+   */
+  public void setSnapshotEntryId(final Long snapshotEntryId) {
+    this.snapshotEntryId = snapshotEntryId;
+  }
+
   /**
    * Compares this wallet balance to the specified object. The result is true if and only if
    * the argument is not null and is a WalletBalance object that has the same values for all fields.
@@ -102,7 +127,8 @@ public class WalletBalance {
     WalletBalance that = (WalletBalance) o;
     return Double.compare(that.balance, balance) == 0
       && Objects.equals(id, that.id)
-      && Objects.equals(userId, that.userId);
+      && Objects.equals(userId, that.userId)
+      && Objects.equals(snapshotEntryId, that.snapshotEntryId);
   }
 
   /**
@@ -113,7 +139,7 @@ public class WalletBalance {
    */
   @Override
   public int hashCode() {
-    return Objects.hash(id, userId, balance);
+    return Objects.hash(id, userId, balance, snapshotEntryId);
   }
 
   /**
@@ -127,6 +153,7 @@ public class WalletBalance {
       + "id=" + id
       + ", userId=" + userId
       + ", balance=" + balance
+      + ", snapshotEntryId=" + snapshotEntryId
       + '}';
   }
 }
@@ -0,0 +1,186 @@
+package com.nt.user.microservice.entites;
+
+import com.nt.user.microservice.util.LedgerReason;
+import org.hibernate.annotations.Immutable;
+
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Represents one immutable change to a user's wallet.
+ * This entity is mapped to the append-only "wallet_ledger" table; entries are never updated or deleted.
+ */
+@Entity
+@Immutable
+@Table(name = "wallet_ledger")
+public class WalletLedgerEntry {
+
+  /**
+   * The unique identifier of the entry, increasing in the order entries are written.
+   */
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  /**
+   * The unique identifier of the user whose wallet changed.
+   */
+  private Integer userId;
+
+  /**
+   * The signed amount of the change: positive for credits, negative for debits.
+   */
+  private Double amount;
+
+  /**
+   * The unique identifier of the order the change belongs to, or null if it is not tied to an order.
+   */
+  private Integer orderId;
+
+  /**
+   * The reason for the change.
+   */
+  @Enumerated(EnumType.STRING)
+  private LedgerReason reason;
+
+  /**
+   * The time the change was requested.
+   */
+  private LocalDateTime createdAt;
+
+  /**
+   * Default constructor required by JPA.
+   */
+  protected WalletLedgerEntry() {
+  }
+
+  /**
+   * Creates a ledger entry that has not been written yet.
+   *
+   * @param userId    the unique identifier of the user whose wallet changes.
+   * @param amount    the signed amount of the change.
+   * @param orderId   the unique identifier of the order, or null.
+   * @param reason    the reason for the change.
+   * @param createdAt the time the change was requested.
+   */
+  public WalletLedgerEntry(final Integer userId, final Double amount, final Integer orderId, final LedgerReason reason,
+                           final LocalDateTime createdAt) {
+    this.userId = userId;
+    this.amount = amount;
+    this.orderId = orderId;
+    this.reason = reason;
+    this.createdAt = createdAt;
+  }
+
+  /**
+   * Gets the unique identifier of the entry.
+   *
+   * @return the entry ID, or null if the entry has not been written yet.
+   */
+  public Long getId() {
+    return id;
+  }
+
+  /**
+   * Gets the unique identifier of the user whose wallet changed.
+   *
+   * @return the user ID.
+   */
+  public Integer getUserId() {
+    return userId;
+  }
+
+  /**
+   * Gets the signed amount of the change.
+   *
+   * @return the amount, negative for debits.
+   */
+  public Double getAmount() {
+    return amount;
+  }
+
+  /**
+   * Gets the unique identifier of the order the change belongs to.
+   *
+   * @return the order ID, or null.
+   */
+  public Integer getOrderId() {
+    return orderId;
+  }
+
+  /**
+   * Gets the reason for the change.
+   *
+   * @return the reason.
+   */
+  public LedgerReason getReason() {
+    return reason;
+  }
+
+  /**
+   * Gets the time the change was requested.
+   *
+   * @return the creation time.
+   */
+  public LocalDateTime getCreatedAt() {
+    return createdAt;
+  }
+
+  /**
+   * Compares this ledger entry to the specified object. The result is true if and only if
+   * the argument is not null and is a WalletLedgerEntry object that has the same values for all fields.
+   *
+   * @param o the object to compare this ledger entry against.
+   * @return true if the given object represents an equivalent ledger entry, false otherwise.
+   */
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    WalletLedgerEntry that = (WalletLedgerEntry) o;
+    return Objects.equals(id, that.id)
+      && Objects.equals(userId, that.userId)
+      && Objects.equals(amount, that.amount)
+      && Objects.equals(orderId, that.orderId)
+      && reason == that.reason
+      && Objects.equals(createdAt, that.createdAt);
+  }
+
+  /**
+   * Returns a hash code value for the ledger entry.
+   *
+   * @return a hash code value for this ledger entry.
+   */
+  @Override
+  public int hashCode() {
+    return Objects.hash(id, userId, amount, orderId, reason, createdAt);
+  }
+
+  /**
+   * Returns a string representation of the ledger entry, including the values of all fields.
+   *
+   * @return a string representation of the ledger entry.
+   */
+  @Override
+  public String toString() {
+    return "WalletLedgerEntry{"
+      + "id=" + id
+      + ", userId=" + userId
+      + ", amount=" + amount
+      + ", orderId=" + orderId
+      + ", reason=" + reason
+      + ", createdAt=" + createdAt
+      + '}';
+  }
+}
@@ -8,7 +8,7 @@ package com.nt.user.microservice.exceptions;
  * indicate that there are insufficient funds to complete the requested operation.
  * </p>
  */
-public class InsufficientBalanceException extends RuntimeException {
+public class InsufficientBalanceException extends BusinessException {
 
   /**
    * Constructs a new {@code InsufficientBalanceException} with the specified detail message.
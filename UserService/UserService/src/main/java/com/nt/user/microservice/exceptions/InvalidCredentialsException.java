@@ -2,10 +2,10 @@ package com.nt.user.microservice.exceptions;
 
 /**
  * Custom exception to be thrown when invalid credentials are provided.
- * Extends {@link RuntimeException} to indicate an exceptional condition
- * that a method should handle.
+ * Extends {@link BusinessException} to indicate an expected condition
+ * that the global exception handler turns into an error response.
  */
-public class InvalidCredentialsException extends RuntimeException {
+public class InvalidCredentialsException extends BusinessException {
 
   /**
    * Constructs a new InvalidCredentialsException with the specified detail message.
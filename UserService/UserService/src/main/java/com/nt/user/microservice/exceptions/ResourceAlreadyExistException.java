@@ -6,7 +6,7 @@ package com.nt.user.microservice.exceptions;
  * This exception is typically used in scenarios where a unique constraint
  * (like a restaurant or user already existing) is violated during creation or update operations.
  */
-public class ResourceAlreadyExistException extends RuntimeException {
+public class ResourceAlreadyExistException extends BusinessException {
 
   /**
    * Constructs a new AlreadyExistException with the specified detail message.
@@ -2,10 +2,10 @@ package com.nt.user.microservice.exceptions;
 /**
  * Custom exception class to handle "Not Found" scenarios in the application.
  * <p>
- * This class extends {@link RuntimeException}, allowing it to be thrown
+ * This class extends {@link BusinessException}, allowing it to be thrown
  * when a specific resource or entity is not found in the application.
  */
-public class ResourceNotFoundException extends RuntimeException {
+public class ResourceNotFoundException extends BusinessException {
 
   /**
    * Constructs a new {@code NotFoundException} with the specified detail message.
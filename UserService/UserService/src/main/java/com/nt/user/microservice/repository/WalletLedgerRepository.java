@@ -0,0 +1,168 @@
+package com.nt.user.microservice.repository;
+
+import com.nt.user.microservice.entites.WalletLedgerEntry;
+import com.nt.user.microservice.util.LedgerReason;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Repository for the append-only wallet ledger and the balance snapshots kept in the wallet_balance table.
+ * <p>
+ * The current balance of a wallet is its snapshot balance plus the ledger entries written after
+ * {@code snapshot_entry_id}. Entries are inserted with JDBC batching, which Hibernate cannot do for identity keys.
+ * Every write takes the wallet row lock first, so entries of a wallet are committed one writer at a time and a
+ * compaction never skips an entry that is still being written.
+ * </p>
+ */
+@Repository
+public class WalletLedgerRepository {
+
+  /**
+   * Locks wallet rows in user ID order, so concurrent batches cannot deadlock each other.
+   */
+  private static final String LOCK_WALLETS =
+    "SELECT user_id FROM wallet_balance WHERE user_id IN (:userIds) ORDER BY user_id FOR UPDATE";
+
+  /**
+   * Reads the current balance of wallets as the snapshot plus the ledger tail.
+   */
+  private static final String CURRENT_BALANCES = "SELECT w.user_id, w.balance + COALESCE(SUM(e.amount), 0) AS balance "
+    + "FROM wallet_balance w LEFT JOIN wallet_ledger e ON e.user_id = w.user_id AND e.id > w.snapshot_entry_id "
+    + "WHERE w.user_id IN (:userIds) GROUP BY w.user_id, w.balance";
+
+  /**
+   * Finds the entries already recorded for orders.
+   */
+  private static final String ORDER_ENTRIES = "SELECT id, user_id, amount, order_id, reason, created_at "
+    + "FROM wallet_ledger WHERE order_id IN (:orderIds)";
+
+  /**
+   * Appends one entry to the ledger.
+   */
+  private static final String INSERT_ENTRY = "INSERT INTO wallet_ledger (user_id, amount, order_id, reason, created_at) "
+    + "VALUES (:userId, :amount, :orderId, :reason, :createdAt)";
+
+  /**
+   * Finds wallets whose ledger tail has grown long enough to be worth compacting.
+   */
+  private static final String WALLETS_TO_COMPACT = "SELECT w.user_id FROM wallet_balance w "
+    + "JOIN wallet_ledger e ON e.user_id = w.user_id AND e.id > w.snapshot_entry_id "
+    + "GROUP BY w.user_id HAVING COUNT(*) >= :minEntries";
+
+  /**
+   * Folds the ledger tail of a locked wallet into its snapshot.
+   */
+  private static final String COMPACT_WALLET = "UPDATE wallet_balance w SET balance = w.balance + t.total, "
+    + "snapshot_entry_id = t.last_id FROM (SELECT SUM(e.amount) AS total, MAX(e.id) AS last_id FROM wallet_ledger e "
+    + "JOIN wallet_balance b ON b.user_id = e.user_id WHERE e.user_id = :userId AND e.id > b.snapshot_entry_id) t "
+    + "WHERE w.user_id = :userId AND t.last_id IS NOT NULL";
+
+  /**
+   * JDBC template used for all ledger statements.
+   */
+  @Autowired
+  private NamedParameterJdbcTemplate jdbcTemplate;
+
+  /**
+   * Locks the wallets of the given users for the rest of the current transaction and returns their balances.
+   *
+   * @param userIds the IDs of the users whose wallets are locked.
+   * @return the current balance of each wallet keyed by user ID; users without a wallet are absent.
+   */
+  public Map<Integer, Double> lockAndGetBalances(final Collection<Integer> userIds) {
+    MapSqlParameterSource params = new MapSqlParameterSource("userIds", userIds);
+    jdbcTemplate.queryForList(LOCK_WALLETS, params, Integer.class);
+    return getBalances(params);
+  }
+
+  /**
+   * Returns the current balance of a user's wallet.
+   *
+   * @param userId the ID of the user.
+   * @return the current balance, or null if the user has no wallet.
+   */
+  public Double getBalance(final Integer userId) {
+    return getBalances(new MapSqlParameterSource("userIds", Collections.singleton(userId))).get(userId);
+  }
+
+  /**
+   * Finds the entries already recorded for the given orders.
+   *
+   * @param orderIds the IDs of the orders.
+   * @return the ledger entries of those orders.
+   */
+  public List<WalletLedgerEntry> findByOrderIds(final Collection<Integer> orderIds) {
+    return jdbcTemplate.query(ORDER_ENTRIES, new MapSqlParameterSource("orderIds", orderIds),
+      (rs, rowNum) -> new WalletLedgerEntry(rs.getInt("user_id"), rs.getDouble("amount"), rs.getInt("order_id"),
+        LedgerReason.valueOf(rs.getString("reason")), rs.getTimestamp("created_at").toLocalDateTime()));
+  }
+
+  /**
+   * Appends entries to the ledger in a single JDBC batch.
+   *
+   * @param entries the entries to append.
+   */
+  public void insertAll(final List<WalletLedgerEntry> entries) {
+    if (entries.isEmpty()) {
+      return;
+    }
+    SqlParameterSource[] batch = entries.stream()
+      .map(entry -> new MapSqlParameterSource()
+        .addValue("userId", entry.getUserId())
+        .addValue("amount", entry.getAmount())
+        .addValue("orderId", entry.getOrderId())
+        .addValue("reason", entry.getReason().name())
+        .addValue("createdAt", Timestamp.valueOf(entry.getCreatedAt())))
+      .toArray(SqlParameterSource[]::new);
+    jdbcTemplate.batchUpdate(INSERT_ENTRY, batch);
+  }
+
+  /**
+   * Finds wallets with at least the given number of ledger entries after their snapshot.
+   *
+   * @param minEntries the minimum length of the ledger tail.
+   * @return the IDs of the users whose wallets should be compacted.
+   */
+  public List<Integer> findWalletsToCompact(final int minEntries) {
+    return jdbcTemplate.queryForList(WALLETS_TO_COMPACT, new MapSqlParameterSource("minEntries", minEntries),
+      Integer.class);
+  }
+
+  /**
+   * Folds the ledger tail of a wallet into its snapshot. Must run inside a transaction.
+   *
+   * @param userId the ID of the user whose wallet is compacted.
+   * @return true if the snapshot was advanced, false if there was nothing to fold.
+   */
+  public boolean compact(final Integer userId) {
+    MapSqlParameterSource params = new MapSqlParameterSource("userIds", Collections.singleton(userId))
+      .addValue("userId", userId);
+    jdbcTemplate.queryForList(LOCK_WALLETS, params, Integer.class);
+    return jdbcTemplate.update(COMPACT_WALLET, params) > 0;
+  }
+
+  /**
+   * Reads the current balance of wallets.
+   *
+   * @param params parameters holding the user IDs under {@code userIds}.
+   * @return the current balance of each wallet keyed by user ID.
+   */
+  private Map<Integer, Double> getBalances(final MapSqlParameterSource params) {
+    Map<Integer, Double> balances = new HashMap<>();
+    jdbcTemplate.query(CURRENT_BALANCES, params,
+      rs -> {
+        balances.put(rs.getInt("user_id"), rs.getDouble("balance"));
+      });
+    return balances;
+  }
+}
@@ -15,17 +15,19 @@ public interface WalletBalanceService {
    *
    * @param userId the ID of the user whose wallet balance is to be updated
    * @param amount the amount to deduct from the user's wallet balance
+   * @param orderId the ID of the order being paid for, or null; an order is only charged once
    * @return {@link UserOutDTO} containing the updated user information and new wallet balance
    */
-  UserOutDTO updateWalletBalance(Integer userId,  Double amount);
+  UserOutDTO updateWalletBalance(Integer userId, Double amount, Integer orderId);
 
   /**
    * Adds a specified amount to a user's wallet balance.
    *
    * @param userId the ID of the user
    * @param amount the amount to add
+   * @param orderId the ID of the order being refunded, or null for a top-up; an order is only refunded once
    * @return updated user information with new wallet balance
    */
-  UserOutDTO addMoney(Integer userId,  Double amount);
+  UserOutDTO addMoney(Integer userId, Double amount, Integer orderId);
 
 }
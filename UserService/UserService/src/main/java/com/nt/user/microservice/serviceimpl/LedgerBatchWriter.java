@@ -0,0 +1,328 @@
+package com.nt.user.microservice.serviceimpl;
+
+import com.nt.user.microservice.entites.WalletLedgerEntry;
+import com.nt.user.microservice.exceptions.InsufficientBalanceException;
+import com.nt.user.microservice.exceptions.ResourceNotFoundException;
+import com.nt.user.microservice.repository.WalletLedgerRepository;
+import com.nt.user.microservice.util.Constants;
+import com.nt.user.microservice.util.LedgerReason;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * Appends wallet ledger entries in batches.
+ * <p>
+ * Callers queue their entry and wait for it; a single writer thread drains up to a batch of entries and writes
+ * them in one transaction, so a burst of wallet changes costs one lock round, one balance read and one batched
+ * insert instead of a transaction each. Each entry is checked against the running balance of its wallet: a debit
+ * that would overdraw the wallet is refused, and an entry whose order already has an entry with the same reason
+ * is not written again, which makes refunds and payments safe to retry.
+ * </p>
+ */
+@Component
+public class LedgerBatchWriter {
+
+  /**
+   * LOGGER for logging failed batches.
+   */
+  private static final Logger LOGGER = LoggerFactory.getLogger(LedgerBatchWriter.class);
+
+  /**
+   * How long the writer thread waits for an entry before checking whether it should stop.
+   */
+  private static final long POLL_INTERVAL_MS = 100;
+
+  /**
+   * Repository used to lock wallets and write the entries.
+   */
+  @Autowired
+  private WalletLedgerRepository walletLedgerRepository;
+
+  /**
+   * Transaction manager used to write each batch in its own transaction.
+   */
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  /**
+   * The maximum number of entries written in one transaction.
+   */
+  @Value("${wallet.ledger.batch-size:100}")
+  private int batchSize;
+
+  /**
+   * The maximum number of entries waiting to be written before appends are refused.
+   */
+  @Value("${wallet.ledger.queue-capacity:10000}")
+  private int queueCapacity;
+
+  /**
+   * How long a caller waits for its entry to be written, in milliseconds.
+   */
+  @Value("${wallet.ledger.append-timeout-ms:5000}")
+  private long appendTimeoutMs;
+
+  /**
+   * Entries waiting to be written.
+   */
+  private BlockingQueue<PendingEntry> queue;
+
+  /**
+   * The thread writing the batches.
+   */
+  private Thread writerThread;
+
+  /**
+   * Whether the writer thread should keep running.
+   */
+  private volatile boolean running;
+
+  /**
+   * Starts the writer thread.
+   */
+  @PostConstruct
+  public void start() {
+    queue = new ArrayBlockingQueue<>(queueCapacity);
+    running = true;
+    writerThread = new Thread(this::drain, "wallet-ledger-writer");
+    writerThread.setDaemon(true);
+    writerThread.start();
+  }
+
+  /**
+   * Stops the writer thread after it has written the entries already queued.
+   *
+   * @throws InterruptedException if interrupted while waiting for the writer thread.
+   */
+  @PreDestroy
+  public void stop() throws InterruptedException {
+    running = false;
+    writerThread.join(appendTimeoutMs);
+    PendingEntry pending;
+    while ((pending = queue.poll()) != null) {
+      pending.result.completeExceptionally(new IllegalStateException(Constants.LEDGER_UNAVAILABLE));
+    }
+  }
+
+  /**
+   * Appends an entry to a user's wallet ledger and waits until it is written.
+   * <p>
+   * If the order already has an entry with the same reason, nothing is written and the current balance is returned.
+   * </p>
+   *
+   * @param userId  the ID of the user whose wallet changes.
+   * @param amount  the signed amount of the change: positive for credits, negative for debits.
+   * @param orderId the ID of the order the change belongs to, or null.
+   * @param reason  the reason for the change.
+   * @return the balance of the wallet after the entry.
+   * @throws ResourceNotFoundException    if the user has no wallet.
+   * @throws InsufficientBalanceException if a debit exceeds the balance.
+   * @throws IllegalStateException        if the ledger cannot take the entry in time; the entry may still be written.
+   */
+  public double append(final Integer userId, final double amount, final Integer orderId, final LedgerReason reason) {
+    PendingEntry pending = new PendingEntry(new WalletLedgerEntry(userId, amount, orderId, reason, LocalDateTime.now()));
+    if (!running || !queue.offer(pending)) {
+      throw new IllegalStateException(Constants.LEDGER_UNAVAILABLE);
+    }
+    try {
+      return pending.result.get(appendTimeoutMs, TimeUnit.MILLISECONDS);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new IllegalStateException(Constants.LEDGER_UNAVAILABLE, e.getCause());
+    } catch (TimeoutException e) {
+      throw new IllegalStateException(Constants.LEDGER_UNAVAILABLE, e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(Constants.LEDGER_UNAVAILABLE, e);
+    }
+  }
+
+  /**
+   * Takes batches off the queue and writes them until the writer is stopped and the queue is empty.
+   */
+  private void drain() {
+    List<PendingEntry> batch = new ArrayList<>(batchSize);
+    while (running || !queue.isEmpty()) {
+      try {
+        PendingEntry first = queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        if (first == null) {
+          continue;
+        }
+        batch.add(first);
+        queue.drainTo(batch, batchSize - 1);
+        writeBatch(batch);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } finally {
+        batch.clear();
+      }
+    }
+  }
+
+  /**
+   * Writes a batch in one transaction and completes its entries once the transaction has committed.
+   * If the transaction fails, every entry of the batch fails with the same error.
+   *
+   * @param batch the entries to write.
+   */
+  private void writeBatch(final List<PendingEntry> batch) {
+    try {
+      new TransactionTemplate(transactionManager).executeWithoutResult(status -> apply(batch));
+    } catch (RuntimeException e) {
+      LOGGER.error("Failed to write {} wallet ledger entries", batch.size(), e);
+      batch.forEach(pending -> pending.result.completeExceptionally(e));
+      return;
+    }
+    batch.forEach(PendingEntry::complete);
+  }
+
+  /**
+   * Checks each entry of a batch against the running balance of its wallet and inserts the accepted ones.
+   *
+   * @param batch the entries to write.
+   */
+  private void apply(final List<PendingEntry> batch) {
+    Set<Integer> userIds = batch.stream().map(pending -> pending.entry.getUserId())
+      .collect(Collectors.toCollection(TreeSet::new));
+    Map<Integer, Double> balances = walletLedgerRepository.lockAndGetBalances(userIds);
+    Set<String> recorded = findRecordedOrders(batch);
+
+    List<WalletLedgerEntry> accepted = new ArrayList<>();
+    for (PendingEntry pending : batch) {
+      WalletLedgerEntry entry = pending.entry;
+      Double balance = balances.get(entry.getUserId());
+      if (balance == null) {
+        pending.reject(new ResourceNotFoundException(Constants.WALLET_NOT_FOUND));
+      } else if (entry.getOrderId() != null && recorded.contains(orderKey(entry))) {
+        pending.accept(balance);
+      } else if (balance + entry.getAmount() < 0) {
+        pending.reject(new InsufficientBalanceException(Constants.INSUFFICIENT_BALANCE));
+      } else {
+        balances.put(entry.getUserId(), balance + entry.getAmount());
+        pending.accept(balance + entry.getAmount());
+        accepted.add(entry);
+        if (entry.getOrderId() != null) {
+          recorded.add(orderKey(entry));
+        }
+      }
+    }
+    walletLedgerRepository.insertAll(accepted);
+  }
+
+  /**
+   * Finds the orders of a batch that already have ledger entries.
+   *
+   * @param batch the entries to write.
+   * @return the keys of the entries already recorded, as built by {@link #orderKey(WalletLedgerEntry)}.
+   */
+  private Set<String> findRecordedOrders(final List<PendingEntry> batch) {
+    Set<Integer> orderIds = batch.stream().map(pending -> pending.entry.getOrderId()).filter(id -> id != null)
+      .collect(Collectors.toSet());
+    if (orderIds.isEmpty()) {
+      return new HashSet<>();
+    }
+    return walletLedgerRepository.findByOrderIds(orderIds).stream().map(LedgerBatchWriter::orderKey)
+      .collect(Collectors.toCollection(HashSet::new));
+  }
+
+  /**
+   * Builds the key under which an order's entry is unique: one entry per user, order and reason.
+   *
+   * @param entry the ledger entry.
+   * @return the key of the entry.
+   */
+  private static String orderKey(final WalletLedgerEntry entry) {
+    return entry.getUserId() + ":" + entry.getOrderId() + ":" + entry.getReason();
+  }
+
+  /**
+   * An entry waiting to be written, together with the outcome handed back to its caller.
+   */
+  private static final class PendingEntry {
+
+    /**
+     * The entry to write.
+     */
+    private final WalletLedgerEntry entry;
+
+    /**
+     * Completed with the new balance, or with the error refusing the entry, once the batch has committed.
+     */
+    private final CompletableFuture<Double> result = new CompletableFuture<>();
+
+    /**
+     * The balance after the entry, set when the entry is accepted.
+     */
+    private Double balance;
+
+    /**
+     * The error refusing the entry, set when the entry is rejected.
+     */
+    private RuntimeException error;
+
+    /**
+     * Creates a pending entry.
+     *
+     * @param entry the entry to write.
+     */
+    PendingEntry(final WalletLedgerEntry entry) {
+      this.entry = entry;
+    }
+
+    /**
+     * Records that the entry was accepted.
+     *
+     * @param newBalance the balance after the entry.
+     */
+    private void accept(final double newBalance) {
+      this.balance = newBalance;
+      this.error = null;
+    }
+
+    /**
+     * Records that the entry was refused.
+     *
+     * @param reason the error handed back to the caller.
+     */
+    private void reject(final RuntimeException reason) {
+      this.balance = null;
+      this.error = reason;
+    }
+
+    /**
+     * Hands the recorded outcome back to the caller.
+     */
+    private void complete() {
+      if (error != null) {
+        result.completeExceptionally(error);
+      } else {
+        result.complete(balance);
+      }
+    }
+  }
+}
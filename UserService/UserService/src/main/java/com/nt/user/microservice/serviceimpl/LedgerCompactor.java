@@ -0,0 +1,72 @@
+package com.nt.user.microservice.serviceimpl;
+
+import com.nt.user.microservice.repository.WalletLedgerRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Periodically folds the ledger tail of busy wallets into their snapshot balance.
+ * <p>
+ * Reading a balance sums the entries written after the snapshot, so compacting keeps those reads short. Each wallet
+ * is compacted in its own short transaction, so a wallet is only locked for as long as its own tail takes to fold.
+ * </p>
+ */
+@Component
+public class LedgerCompactor {
+
+  /**
+   * LOGGER for logging compaction runs and failures.
+   */
+  private static final Logger LOGGER = LoggerFactory.getLogger(LedgerCompactor.class);
+
+  /**
+   * Repository used to find and compact wallets.
+   */
+  @Autowired
+  private WalletLedgerRepository walletLedgerRepository;
+
+  /**
+   * Transaction manager used to compact each wallet in its own transaction.
+   */
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  /**
+   * The minimum number of entries after the snapshot before a wallet is compacted.
+   */
+  @Value("${wallet.ledger.compaction-min-entries:50}")
+  private int minEntries;
+
+  /**
+   * Compacts every wallet whose ledger tail has reached the configured length.
+   *
+   * @return the number of wallets compacted.
+   */
+  @Scheduled(fixedDelayString = "${wallet.ledger.compaction-interval-ms:60000}")
+  public int compactWallets() {
+    List<Integer> userIds = walletLedgerRepository.findWalletsToCompact(minEntries);
+    TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+    int compacted = 0;
+    for (Integer userId : userIds) {
+      try {
+        if (Boolean.TRUE.equals(transactionTemplate.execute(status -> walletLedgerRepository.compact(userId)))) {
+          compacted++;
+        }
+      } catch (RuntimeException e) {
+        LOGGER.error("Failed to compact the wallet ledger of user ID: {}", userId, e);
+      }
+    }
+    if (compacted > 0) {
+      LOGGER.info("Compacted the wallet ledger of {} users", compacted);
+    }
+    return compacted;
+  }
+}
@@ -12,6 +12,7 @@ import com.nt.user.microservice.exceptions.ResourceAlreadyExistException;
 import com.nt.user.microservice.exceptions.ResourceNotFoundException;
 import com.nt.user.microservice.repository.UserRepository;
 import com.nt.user.microservice.repository.WalletBalanceRepository;
+import com.nt.user.microservice.repository.WalletLedgerRepository;
 import com.nt.user.microservice.service.EmailService;
 import com.nt.user.microservice.service.UserService;
 import com.nt.user.microservice.util.Base64Util;
@@ -72,6 +73,15 @@ public class UserServiceImpl implements UserService {
   @Autowired
   private  WalletBalanceRepository walletBalanceRepository;
 
+  /**
+   * Repository for reading wallet balances from the wallet ledger.
+   * <p>
+   * The balance of a wallet is its compacted snapshot plus the ledger entries written since.
+   * </p>
+   */
+  @Autowired
+  private WalletLedgerRepository walletLedgerRepository;
+
   /**
    * Registers a new user.
    *
@@ -163,7 +173,7 @@ public class UserServiceImpl implements UserService {
     Optional<User> userOptional = userRepository.findById(id);
     if (userOptional.isPresent()) {
       User user = userOptional.get();
-      WalletBalance walletBalance = walletBalanceRepository.findByUserId(user.getId());
+      Double walletBalance = walletLedgerRepository.getBalance(user.getId());
 
       UserOutDTO userOutDTO = new UserOutDTO();
       userOutDTO.setId(user.getId());
@@ -172,7 +182,7 @@ public class UserServiceImpl implements UserService {
       userOutDTO.setEmail(user.getEmail());
       userOutDTO.setPhoneNo(user.getPhoneNo());
       userOutDTO.setRole(user.getRole().name());
-      userOutDTO.setWalletBalance(walletBalance != null ? walletBalance.getBalance() : null);
+      userOutDTO.setWalletBalance(walletBalance);
 
       LOGGER.info("User profile fetched successfully for ID: {}", id);
       return userOutDTO;
@@ -2,13 +2,13 @@ package com.nt.user.microservice.serviceimpl;
 
 import com.nt.user.microservice.dto.UserOutDTO;
 import com.nt.user.microservice.entites.User;
-import com.nt.user.microservice.entites.WalletBalance;
 import com.nt.user.microservice.exceptions.InsufficientBalanceException;
+import com.nt.user.microservice.exceptions.InvalidRequestException;
 import com.nt.user.microservice.exceptions.ResourceNotFoundException;
 import com.nt.user.microservice.repository.UserRepository;
-import com.nt.user.microservice.repository.WalletBalanceRepository;
 import com.nt.user.microservice.service.WalletBalanceService;
 import com.nt.user.microservice.util.Constants;
+import com.nt.user.microservice.util.LedgerReason;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,6 +18,7 @@ import org.springframework.stereotype.Service;
  * Service implementation for managing wallet balance operations.
  * <p>
  * This service provides functionality to update the wallet balance of a user.
+ * Each change is appended to the wallet ledger; the balance is the compacted snapshot plus the newer entries.
  * It handles exceptions for cases such as user or wallet not found and insufficient balance.
  * </p>
  */
@@ -33,14 +34,13 @@ public class WalletBalanceServiceImpl implements WalletBalanceService {
   private static final Logger LOGGER = LoggerFactory.getLogger(WalletBalanceServiceImpl.class);
 
   /**
-   * Repository for performing CRUD operations on the WalletBalance entity.
+   * Writer appending wallet changes to the ledger.
    * <p>
-   * This repository is used to interact with the database to fetch, save, and update wallet balance records.
-   * It is injected into this service to perform operations related to wallet balances.
+   * Every debit and credit is recorded as an immutable ledger entry instead of updating the balance in place.
    * </p>
    */
   @Autowired
-  private WalletBalanceRepository walletBalanceRepository;
+  private LedgerBatchWriter ledgerBatchWriter;
 
   /**
    * Repository for performing CRUD operations on the User entity.
@@ -56,94 +56,93 @@ public class WalletBalanceServiceImpl implements WalletBalanceService {
   /**
    * Updates the wallet balance for a given user.
    * <p>
-   * This method retrieves the user and their wallet balance, checks if the current balance
-   * is sufficient for the requested amount, and updates the wallet balance accordingly.
-   * If the user or wallet is not found or if there is insufficient balance, appropriate exceptions are thrown.
+   * The debit is appended to the wallet ledger, which checks it against the balance while holding the wallet lock,
+   * so concurrent debits of the same wallet cannot overdraw it. A repeated debit for the same order is not charged
+   * again.
    * </p>
    *
    * @param userId the ID of the user whose wallet balance is to be updated
    * @param amount the amount to be deducted from the wallet balance
+   * @param orderId the ID of the order being paid for, or null
    * @return a {@link UserOutDTO} object containing updated user information and wallet balance
+   * @throws InvalidRequestException if the amount is not positive
    * @throws ResourceNotFoundException if the user or wallet is not found
    * @throws InsufficientBalanceException if the wallet balance is insufficient for the requested amount
    */
   @Override
-  public UserOutDTO updateWalletBalance(final Integer userId, final Double amount) {
+  public UserOutDTO updateWalletBalance(final Integer userId, final Double amount, final Integer orderId) {
     LOGGER.info("Updating wallet balance for user ID: {}", userId);
+    validateAmount(amount);
 
     User user = userRepository.findById(userId)
       .orElseThrow(() -> new ResourceNotFoundException(Constants.USER_NOT_FOUND));
-    WalletBalance walletBalance = walletBalanceRepository.findByUserId(userId);
-    if (walletBalance == null) {
-      throw new ResourceNotFoundException(Constants.WALLET_NOT_FOUND);
-    }
-
-    Double currentBalance = walletBalance.getBalance();
-    if (currentBalance < amount) {
+    double newBalance;
+    try {
+      newBalance = ledgerBatchWriter.append(userId, -amount, orderId, LedgerReason.PAYMENT);
+    } catch (InsufficientBalanceException e) {
       LOGGER.error("Insufficient funds for user ID: {}", userId);
-      throw new InsufficientBalanceException(Constants.INSUFFICIENT_BALANCE);
+      throw e;
     }
-    walletBalance.setBalance(currentBalance - amount);
-    walletBalanceRepository.save(walletBalance);
 
     LOGGER.info("Wallet balance updated successfully for user ID: {}", userId);
-
-    UserOutDTO userOutDTO = new UserOutDTO();
-    userOutDTO.setId(user.getId());
-    userOutDTO.setFirstName(user.getFirstName());
-    userOutDTO.setLastName(user.getLastName());
-    userOutDTO.setEmail(user.getEmail());
-    userOutDTO.setPhoneNo(user.getPhoneNo());
-    userOutDTO.setWalletBalance(walletBalance.getBalance());
-    userOutDTO.setRole(user.getRole().name());
-    return userOutDTO;
+    return mapToUserOutDTO(user, newBalance);
   }
 
   /**
    * Adds money to the wallet balance for a given user.
    * <p>
-   * This method retrieves the user and their wallet balance, adds the specified amount
-   * to the current balance, and saves the updated wallet balance.
+   * The credit is appended to the wallet ledger. A credit with an order ID is a refund of that order and is
+   * recorded only once, so a retried cancellation does not refund the order twice.
    * If the user or wallet is not found, an appropriate exception is thrown.
    * </p>
    *
    * @param userId the ID of the user whose wallet balance is to be updated
    * @param amount the amount to be added to the wallet balance
+   * @param orderId the ID of the order being refunded, or null for a top-up
    * @return a {@link UserOutDTO} object containing updated user information and wallet balance
+   * @throws InvalidRequestException if the amount is not positive
    * @throws ResourceNotFoundException if the user or wallet is not found
    */
   @Override
-  public UserOutDTO addMoney(final Integer userId, final Double amount) {
+  public UserOutDTO addMoney(final Integer userId, final Double amount, final Integer orderId) {
+    validateAmount(amount);
     User user = userRepository.findById(userId)
       .orElseThrow(() -> new ResourceNotFoundException(Constants.USER_NOT_FOUND));
 
-    WalletBalance walletBalance = walletBalanceRepository.findByUserId(userId);
-    if (walletBalance == null) {
-      throw new ResourceNotFoundException(Constants.WALLET_NOT_FOUND);
-    }
+    LedgerReason reason = orderId != null ? LedgerReason.REFUND : LedgerReason.TOP_UP;
+    double newBalance = ledgerBatchWriter.append(userId, amount, orderId, reason);
 
-    Double currentBalance = walletBalance.getBalance();
-    walletBalance.setBalance(currentBalance + amount);
-    walletBalanceRepository.save(walletBalance);
+    return mapToUserOutDTO(user, newBalance);
+  }
 
-    return mapToUserOutDTO(user, walletBalance);
+  /**
+   * Rejects amounts that are missing, zero or negative, which would otherwise reverse a debit or credit.
+   *
+   * @param amount the amount to check
+   * @throws InvalidRequestException if the amount is not positive
+   */
+  private void validateAmount(final Double amount) {
+    if (amount == null || amount <= 0) {
+      LOGGER.error("Invalid wallet amount: {}", amount);
+      throw new InvalidRequestException(Constants.INVALID_AMOUNT);
+    }
   }
 
   /**
-   * Maps a User and WalletBalance to a UserOutDTO.
+   * Maps a User and their wallet balance to a UserOutDTO.
    *
    * @param user the user to be mapped
    * @param walletBalance the wallet balance to be included in the DTO
    * @return a {@link UserOutDTO} object containing user information and wallet balance
    */
-  private UserOutDTO mapToUserOutDTO(final User user, final WalletBalance walletBalance) {
+  private UserOutDTO mapToUserOutDTO(final User user, final Double walletBalance) {
     UserOutDTO userOutDTO = new UserOutDTO();
     userOutDTO.setId(user.getId());
     userOutDTO.setFirstName(user.getFirstName());
     userOutDTO.setLastName(user.getLastName());
     userOutDTO.setEmail(user.getEmail());
     userOutDTO.setPhoneNo(user.getPhoneNo());
-    userOutDTO.setWalletBalance(walletBalance.getBalance());
+    userOutDTO.setWalletBalance(walletBalance);
     userOutDTO.setRole(user.getRole().name());
     return userOutDTO;
   }
@@ -212,5 +212,20 @@ public class Constants {
    */
   public static final String WALLET_NOT_FOUND = "Wallet not found for this user";
 
-}
+  /**
+   * Error message indicating that a wallet amount is missing, zero or negative.
+   * <p>
+   * This constant is used when debiting or crediting a wallet, since a negative amount would reverse the operation.
+   * </p>
+   */
+  public static final String INVALID_AMOUNT = "Amount must be greater than zero";
 
+  /**
+   * Error message indicating that the wallet ledger could not record a change in time.
+   * <p>
+   * This constant is used when the ledger writer is stopped, its queue is full or the write times out.
+   * </p>
+   */
+  public static final String LEDGER_UNAVAILABLE = "Wallet ledger is temporarily unavailable";
+
+}
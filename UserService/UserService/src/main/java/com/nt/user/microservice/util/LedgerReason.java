@@ -0,0 +1,22 @@
+package com.nt.user.microservice.util;
+
+/**
+ * Enum representing why an entry was appended to the wallet ledger.
+ */
+public enum LedgerReason {
+
+  /**
+   * Money added to the wallet by the user.
+   */
+  TOP_UP,
+
+  /**
+   * Money deducted from the wallet to pay for an order.
+   */
+  PAYMENT,
+
+  /**
+   * Money returned to the wallet for a cancelled order.
+   */
+  REFUND
+}
@@ -0,0 +1,28 @@
+-- Baseline of the schema Hibernate created while the service ran with ddl-auto=update.
+-- IF NOT EXISTS makes this a no-op on databases that already have the tables.
+
+CREATE TABLE IF NOT EXISTS users (
+    id         SERIAL PRIMARY KEY,
+    first_name VARCHAR(255),
+    last_name  VARCHAR(255),
+    email      VARCHAR(255),
+    password   VARCHAR(255),
+    phone_no   VARCHAR(255),
+    role       VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS address (
+    id       SERIAL PRIMARY KEY,
+    street   VARCHAR(255),
+    city     VARCHAR(255),
+    country  VARCHAR(255),
+    state    VARCHAR(255),
+    pin_code VARCHAR(255),
+    user_id  INTEGER
+);
+
+CREATE TABLE IF NOT EXISTS wallet_balance (
+    id      SERIAL PRIMARY KEY,
+    user_id INTEGER,
+    balance DOUBLE PRECISION
+);
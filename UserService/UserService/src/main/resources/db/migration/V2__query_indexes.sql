@@ -0,0 +1,38 @@
+-- Login and registration: findByEmail. Emails are stored lower-cased and compared as-is,
+-- so a plain index on the column is what the query can use.
+CREATE INDEX IF NOT EXISTS idx_users_email ON users (email);
+
+-- A user may have been given a second wallet by concurrent registrations or top-ups. The wallet with the
+-- lowest id is kept; the others are moved to wallet_balance_duplicate, with a warning, so their balances
+-- can be reconciled by hand instead of being merged or lost silently.
+CREATE TABLE IF NOT EXISTS wallet_balance_duplicate (
+    id        INTEGER PRIMARY KEY,
+    user_id   INTEGER,
+    balance   DOUBLE PRECISION,
+    moved_at  TIMESTAMP NOT NULL DEFAULT now()
+);
+
+DO $$
+DECLARE
+    moved INTEGER;
+BEGIN
+    WITH duplicates AS (
+        DELETE FROM wallet_balance
+        USING wallet_balance kept
+        WHERE wallet_balance.user_id = kept.user_id
+          AND wallet_balance.id > kept.id
+        RETURNING wallet_balance.id, wallet_balance.user_id, wallet_balance.balance
+    )
+    INSERT INTO wallet_balance_duplicate (id, user_id, balance)
+    SELECT id, user_id, balance FROM duplicates;
+    GET DIAGNOSTICS moved = ROW_COUNT;
+    IF moved > 0 THEN
+        RAISE WARNING 'Moved % duplicate wallets to wallet_balance_duplicate for reconciliation', moved;
+    END IF;
+END $$;
+
+-- One wallet per user: findByUserId and deleteByUserId.
+CREATE UNIQUE INDEX IF NOT EXISTS ux_wallet_balance_user ON wallet_balance (user_id);
+
+-- Addresses of a user: findByUserId and findAllByUserId.
+CREATE INDEX IF NOT EXISTS idx_address_user ON address (user_id);
@@ -0,0 +1,19 @@
+-- Append-only ledger of wallet changes. wallet_balance now holds a snapshot of the balance that includes
+-- every ledger entry up to snapshot_entry_id; the current balance is the snapshot plus the entries after it.
+ALTER TABLE wallet_balance ADD COLUMN IF NOT EXISTS snapshot_entry_id BIGINT NOT NULL DEFAULT 0;
+
+CREATE TABLE IF NOT EXISTS wallet_ledger (
+    id         BIGSERIAL PRIMARY KEY,
+    user_id    INTEGER NOT NULL,
+    amount     DOUBLE PRECISION NOT NULL,
+    order_id   INTEGER,
+    reason     VARCHAR(32) NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+
+-- Tail of a wallet's ledger after its snapshot.
+CREATE INDEX IF NOT EXISTS idx_wallet_ledger_user ON wallet_ledger (user_id, id);
+
+-- An order is paid for and refunded at most once.
+CREATE UNIQUE INDEX IF NOT EXISTS ux_wallet_ledger_order ON wallet_ledger (user_id, order_id, reason)
+    WHERE order_id IS NOT NULL;
@@ -135,7 +135,7 @@ class UserControllerTests {
     userOutDTO.setId(1);
     userOutDTO.setWalletBalance(1500.0);
 
-    when(walletBalanceService.addMoney(1, 500.0)).thenReturn(userOutDTO);
+    when(walletBalanceService.addMoney(1, 500.0, null)).thenReturn(userOutDTO);
 
     mockMvc.perform(put("/users/addMoney/1")
         .contentType(MediaType.APPLICATION_JSON)
@@ -153,7 +153,7 @@ class UserControllerTests {
     userOutDTO.setId(1);
     userOutDTO.setWalletBalance(900.0);
 
-    when(walletBalanceService.updateWalletBalance(1, 100.0)).thenReturn(userOutDTO);
+    when(walletBalanceService.updateWalletBalance(1, 100.0, null)).thenReturn(userOutDTO);
 
     mockMvc.perform(put("/users/walletBalance/1")
         .contentType(MediaType.APPLICATION_JSON)
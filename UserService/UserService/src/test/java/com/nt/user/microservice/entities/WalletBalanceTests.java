@@ -99,13 +99,20 @@ class WalletBalanceTests {
     assertNotEquals(walletBalance1.hashCode(), walletBalance2.hashCode());
   }
 
+  @Test
+  void testSnapshotEntryId() {
+    assertEquals(0L, walletBalance1.getSnapshotEntryId());
+    walletBalance1.setSnapshotEntryId(42L);
+    assertEquals(42L, walletBalance1.getSnapshotEntryId());
+  }
+
   @Test
   void testToString() {
     walletBalance1.setId(1);
     walletBalance1.setUserId(101);
     walletBalance1.setBalance(500.0);
 
-    String expected = "WalletBalance{id=1, userId=101, balance=500.0}";
+    String expected = "WalletBalance{id=1, userId=101, balance=500.0, snapshotEntryId=0}";
     assertEquals(expected, walletBalance1.toString());
   }
 }
\ No newline at end of file
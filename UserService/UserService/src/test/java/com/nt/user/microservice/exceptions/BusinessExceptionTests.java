@@ -0,0 +1,26 @@
+package com.nt.user.microservice.exceptions;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BusinessExceptionTests {
+
+  @Test
+  void testBusinessExceptionsCaptureNoStackTrace() {
+    List<BusinessException> exceptions = Arrays.asList(
+      new ResourceNotFoundException("User not found"),
+      new InvalidRequestException("Invalid request"),
+      new InvalidCredentialsException("Invalid credentials"),
+      new ResourceAlreadyExistException("User already exists"),
+      new InsufficientBalanceException("Insufficient balance"));
+
+    for (BusinessException exception : exceptions) {
+      assertEquals(0, exception.getStackTrace().length, "Stack trace should not be captured");
+      assertEquals(0, exception.getSuppressed().length, "Suppression should be disabled");
+    }
+  }
+}
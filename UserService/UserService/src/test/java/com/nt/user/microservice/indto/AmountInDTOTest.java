@@ -34,6 +34,14 @@ class AmountInDTOTests {
     assertEquals(newBalance, amountInDTO.getBalance(), "setBalance() should update the balance.");
   }
 
+  @Test
+  void testSetOrderId() {
+    AmountInDTO amountInDTO = new AmountInDTO(100.0);
+    assertNull(amountInDTO.getOrderId(), "Order ID should be null by default.");
+    amountInDTO.setOrderId(7);
+    assertEquals(7, amountInDTO.getOrderId(), "setOrderId() should update the order ID.");
+  }
+
   @Test
   void testEquals() {
     AmountInDTO amountInDTO1 = new AmountInDTO(150.0);
@@ -42,6 +50,8 @@ class AmountInDTOTests {
 
     assertEquals(amountInDTO1, amountInDTO2, "Equal amounts should be considered equal.");
     assertNotEquals(amountInDTO1, amountInDTO3, "Different amounts should not be considered equal.");
+    amountInDTO2.setOrderId(7);
+    assertNotEquals(amountInDTO1, amountInDTO2, "Different order IDs should not be considered equal.");
     assertNotEquals(amountInDTO1, null, "Object should not be equal to null.");
     assertNotEquals(amountInDTO1, new Object(), "Object should not be equal to a different class.");
   }
@@ -59,7 +69,7 @@ class AmountInDTOTests {
   @Test
   void testToString() {
     AmountInDTO amountInDTO = new AmountInDTO(500.0);
-    String expectedString = "AmountInDTO{balance=500.0}";
+    String expectedString = "AmountInDTO{balance=500.0, orderId=null}";
 
     assertEquals(expectedString, amountInDTO.toString(), "toString() should return the correct string representation.");
   }
@@ -0,0 +1,114 @@
+package com.nt.user.microservice.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Applies the migrations to a real PostgreSQL and checks that the user, wallet and address lookups can use the indexes,
+ * and that duplicate wallets are set aside before the unique wallet index is built.
+ * Sequential scans are disabled so the planner picks an index whenever one is usable, regardless of table size.
+ * Skipped when Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class UserQueryPlanTest {
+
+  @Container
+  private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:14-alpine");
+
+  private static Connection connection;
+
+  @BeforeAll
+  static void migrate() throws SQLException {
+    Flyway.configure()
+      .dataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword())
+      .load()
+      .migrate();
+    connection = DriverManager.getConnection(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("SET enable_seqscan = off");
+    }
+  }
+
+  @AfterAll
+  static void close() throws SQLException {
+    if (connection != null) {
+      connection.close();
+    }
+  }
+
+  @Test
+  void duplicateWalletsAreSetAsideBeforeTheUniqueIndex() throws SQLException {
+    Flyway.configure()
+      .dataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword())
+      .schemas("legacy_wallet")
+      .target("1")
+      .load()
+      .migrate();
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("INSERT INTO legacy_wallet.wallet_balance (id, user_id, balance) "
+        + "VALUES (3, 1, 50.0), (8, 1, 20.0), (4, 2, 10.0)");
+    }
+
+    Flyway.configure()
+      .dataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword())
+      .schemas("legacy_wallet")
+      .load()
+      .migrate();
+
+    try (Statement statement = connection.createStatement();
+         ResultSet kept = statement.executeQuery("SELECT string_agg(id::text, ',' ORDER BY id) "
+           + "FROM legacy_wallet.wallet_balance")) {
+      assertTrue(kept.next());
+      assertEquals("3,4", kept.getString(1));
+    }
+    try (Statement statement = connection.createStatement();
+         ResultSet moved = statement.executeQuery("SELECT id, user_id, balance "
+           + "FROM legacy_wallet.wallet_balance_duplicate")) {
+      assertTrue(moved.next());
+      assertEquals(8, moved.getInt(1));
+      assertEquals(20.0, moved.getDouble(3));
+      assertFalse(moved.next());
+    }
+  }
+
+  @Test
+  void userByEmailUsesEmailIndex() throws SQLException {
+    assertPlanUses("SELECT * FROM users WHERE email = 'jane@example.com'", "idx_users_email");
+  }
+
+  @Test
+  void walletByUserUsesUniqueIndex() throws SQLException {
+    assertPlanUses("SELECT * FROM wallet_balance WHERE user_id = 1", "ux_wallet_balance_user");
+  }
+
+  @Test
+  void addressesByUserUseUserIndex() throws SQLException {
+    assertPlanUses("SELECT * FROM address WHERE user_id = 1", "idx_address_user");
+  }
+
+  private static void assertPlanUses(final String query, final String index) throws SQLException {
+    StringBuilder plan = new StringBuilder();
+    try (Statement statement = connection.createStatement();
+         ResultSet rows = statement.executeQuery("EXPLAIN " + query)) {
+      while (rows.next()) {
+        plan.append(rows.getString(1)).append('\n');
+      }
+    }
+    assertTrue(plan.toString().contains(index), "Expected " + index + " in plan:\n" + plan);
+  }
+}
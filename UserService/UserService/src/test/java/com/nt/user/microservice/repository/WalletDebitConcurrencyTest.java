@@ -0,0 +1,129 @@
+package com.nt.user.microservice.repository;
+
+import com.nt.user.microservice.entites.WalletBalance;
+import com.nt.user.microservice.exceptions.InsufficientBalanceException;
+import com.nt.user.microservice.serviceimpl.LedgerBatchWriter;
+import com.nt.user.microservice.util.LedgerReason;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Hammers a single wallet with concurrent debits against a real PostgreSQL and reports the throughput.
+ * Every debit goes through the batched ledger writer, so exactly as many debits succeed as the balance covers and
+ * the wallet never goes negative. Skipped when Docker is not available.
+ */
+@DataJpaTest
+@Import({LedgerBatchWriter.class, WalletLedgerRepository.class})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class WalletDebitConcurrencyTest {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(WalletDebitConcurrencyTest.class);
+
+  private static final int THREADS = 16;
+
+  private static final int DEBITS_PER_THREAD = 250;
+
+  private static final double INITIAL_BALANCE = 2000.0;
+
+  @Container
+  private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:14-alpine");
+
+  @DynamicPropertySource
+  static void datasource(final DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+    registry.add("spring.datasource.username", POSTGRES::getUsername);
+    registry.add("spring.datasource.password", POSTGRES::getPassword);
+  }
+
+  @Autowired
+  private WalletBalanceRepository walletBalanceRepository;
+
+  @Autowired
+  private WalletLedgerRepository walletLedgerRepository;
+
+  @Autowired
+  private LedgerBatchWriter ledgerBatchWriter;
+
+  @Test
+  void concurrentDebitsNeverOverdrawTheWallet() throws Exception {
+    WalletBalance wallet = new WalletBalance();
+    wallet.setUserId(42);
+    wallet.setBalance(INITIAL_BALANCE);
+    walletBalanceRepository.save(wallet);
+
+    ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+    List<Callable<Integer>> workers = new ArrayList<>();
+    for (int i = 0; i < THREADS; i++) {
+      workers.add(() -> {
+        int succeeded = 0;
+        for (int j = 0; j < DEBITS_PER_THREAD; j++) {
+          try {
+            ledgerBatchWriter.append(42, -1.0, null, LedgerReason.PAYMENT);
+            succeeded++;
+          } catch (InsufficientBalanceException e) {
+            // the wallet is empty
+          }
+        }
+        return succeeded;
+      });
+    }
+
+    long start = System.nanoTime();
+    int succeeded = 0;
+    for (Future<Integer> result : pool.invokeAll(workers)) {
+      succeeded += result.get();
+    }
+    long elapsedNanos = System.nanoTime() - start;
+    pool.shutdown();
+
+    int attempted = THREADS * DEBITS_PER_THREAD;
+    LOGGER.info("{} debits from {} threads against one wallet in {} ms ({} debits/s)", attempted, THREADS,
+      TimeUnit.NANOSECONDS.toMillis(elapsedNanos), attempted * 1_000_000_000L / elapsedNanos);
+    assertEquals((int) INITIAL_BALANCE, succeeded);
+    assertEquals(0.0, walletLedgerRepository.getBalance(42));
+  }
+
+  @Test
+  void repeatedRefundsOfAnOrderAreCreditedOnce() throws Exception {
+    WalletBalance wallet = new WalletBalance();
+    wallet.setUserId(43);
+    wallet.setBalance(100.0);
+    walletBalanceRepository.save(wallet);
+
+    ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+    List<Callable<Double>> refunds = new ArrayList<>();
+    for (int i = 0; i < THREADS; i++) {
+      refunds.add(() -> ledgerBatchWriter.append(43, 25.0, 99, LedgerReason.REFUND));
+    }
+    for (Future<Double> result : pool.invokeAll(refunds)) {
+      assertEquals(125.0, result.get());
+    }
+    pool.shutdown();
+
+    assertEquals(125.0, walletLedgerRepository.getBalance(43));
+  }
+}
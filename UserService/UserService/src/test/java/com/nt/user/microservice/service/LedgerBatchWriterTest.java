@@ -0,0 +1,153 @@
+package com.nt.user.microservice.service;
+
+import com.nt.user.microservice.entites.WalletLedgerEntry;
+import com.nt.user.microservice.exceptions.InsufficientBalanceException;
+import com.nt.user.microservice.exceptions.ResourceNotFoundException;
+import com.nt.user.microservice.repository.WalletLedgerRepository;
+import com.nt.user.microservice.serviceimpl.LedgerBatchWriter;
+import com.nt.user.microservice.util.Constants;
+import com.nt.user.microservice.util.LedgerReason;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class LedgerBatchWriterTest {
+
+  @InjectMocks
+  private LedgerBatchWriter ledgerBatchWriter;
+
+  @Mock
+  private WalletLedgerRepository walletLedgerRepository;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  @BeforeEach
+  public void setUp() {
+    MockitoAnnotations.openMocks(this);
+    ReflectionTestUtils.setField(ledgerBatchWriter, "batchSize", 10);
+    ReflectionTestUtils.setField(ledgerBatchWriter, "queueCapacity", 10);
+    ReflectionTestUtils.setField(ledgerBatchWriter, "appendTimeoutMs", 5000L);
+    when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    ledgerBatchWriter.start();
+  }
+
+  @AfterEach
+  public void tearDown() throws InterruptedException {
+    ledgerBatchWriter.stop();
+  }
+
+  private void givenBalance(final Integer userId, final double balance) {
+    Map<Integer, Double> balances = new HashMap<>();
+    balances.put(userId, balance);
+    when(walletLedgerRepository.lockAndGetBalances(any())).thenReturn(balances);
+  }
+
+  @SuppressWarnings("unchecked")
+  private List<WalletLedgerEntry> insertedEntries() {
+    ArgumentCaptor<List<WalletLedgerEntry>> captor = ArgumentCaptor.forClass(List.class);
+    verify(walletLedgerRepository).insertAll(captor.capture());
+    return captor.getValue();
+  }
+
+  @Test
+  public void testAppend_DebitWithinBalance() {
+    givenBalance(1, 500.0);
+
+    double newBalance = ledgerBatchWriter.append(1, -100.0, 7, LedgerReason.PAYMENT);
+
+    assertEquals(400.0, newBalance);
+    List<WalletLedgerEntry> inserted = insertedEntries();
+    assertEquals(1, inserted.size());
+    assertEquals(-100.0, inserted.get(0).getAmount());
+    assertEquals(7, inserted.get(0).getOrderId());
+    assertEquals(LedgerReason.PAYMENT, inserted.get(0).getReason());
+    verify(transactionManager, times(1)).commit(any());
+  }
+
+  @Test
+  public void testAppend_DebitExceedingBalance() {
+    givenBalance(1, 50.0);
+
+    InsufficientBalanceException exception = assertThrows(InsufficientBalanceException.class,
+      () -> ledgerBatchWriter.append(1, -100.0, null, LedgerReason.PAYMENT));
+
+    assertEquals(Constants.INSUFFICIENT_BALANCE, exception.getMessage());
+    assertTrue(insertedEntries().isEmpty());
+  }
+
+  @Test
+  public void testAppend_WalletNotFound() {
+    when(walletLedgerRepository.lockAndGetBalances(any())).thenReturn(Collections.emptyMap());
+
+    ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+      () -> ledgerBatchWriter.append(1, 100.0, null, LedgerReason.TOP_UP));
+
+    assertEquals(Constants.WALLET_NOT_FOUND, exception.getMessage());
+    assertTrue(insertedEntries().isEmpty());
+  }
+
+  @Test
+  public void testAppend_RepeatedRefundIsNotWrittenAgain() {
+    givenBalance(1, 600.0);
+    WalletLedgerEntry refund = new WalletLedgerEntry(1, 200.0, 7, LedgerReason.REFUND, LocalDateTime.now());
+    when(walletLedgerRepository.findByOrderIds(Collections.singleton(7)))
+      .thenReturn(Collections.singletonList(refund));
+
+    double newBalance = ledgerBatchWriter.append(1, 200.0, 7, LedgerReason.REFUND);
+
+    assertEquals(600.0, newBalance);
+    assertTrue(insertedEntries().isEmpty());
+  }
+
+  @Test
+  public void testAppend_RefundAfterPaymentOfSameOrder() {
+    givenBalance(1, 400.0);
+    WalletLedgerEntry payment = new WalletLedgerEntry(1, -200.0, 7, LedgerReason.PAYMENT, LocalDateTime.now());
+    when(walletLedgerRepository.findByOrderIds(Collections.singleton(7)))
+      .thenReturn(Collections.singletonList(payment));
+
+    double newBalance = ledgerBatchWriter.append(1, 200.0, 7, LedgerReason.REFUND);
+
+    assertEquals(600.0, newBalance);
+    assertEquals(1, insertedEntries().size());
+  }
+
+  @Test
+  public void testAppend_FailedTransactionFailsTheCaller() {
+    givenBalance(1, 500.0);
+    doThrow(new DataAccessResourceFailureException("connection lost")).when(walletLedgerRepository).insertAll(any());
+
+    assertThrows(DataAccessResourceFailureException.class,
+      () -> ledgerBatchWriter.append(1, 100.0, null, LedgerReason.TOP_UP));
+    verify(transactionManager, times(1)).rollback(any());
+  }
+
+  @Test
+  public void testAppend_AfterStop() throws InterruptedException {
+    ledgerBatchWriter.stop();
+
+    IllegalStateException exception = assertThrows(IllegalStateException.class,
+      () -> ledgerBatchWriter.append(1, 100.0, null, LedgerReason.TOP_UP));
+
+    assertEquals(Constants.LEDGER_UNAVAILABLE, exception.getMessage());
+    verifyNoInteractions(walletLedgerRepository);
+  }
+}
@@ -0,0 +1,67 @@
+package com.nt.user.microservice.service;
+
+import com.nt.user.microservice.repository.WalletLedgerRepository;
+import com.nt.user.microservice.serviceimpl.LedgerCompactor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class LedgerCompactorTest {
+
+  @InjectMocks
+  private LedgerCompactor ledgerCompactor;
+
+  @Mock
+  private WalletLedgerRepository walletLedgerRepository;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  @BeforeEach
+  public void setUp() {
+    MockitoAnnotations.openMocks(this);
+    ReflectionTestUtils.setField(ledgerCompactor, "minEntries", 50);
+    when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+  }
+
+  @Test
+  public void testCompactWallets_EachWalletInItsOwnTransaction() {
+    when(walletLedgerRepository.findWalletsToCompact(50)).thenReturn(Arrays.asList(1, 2));
+    when(walletLedgerRepository.compact(1)).thenReturn(true);
+    when(walletLedgerRepository.compact(2)).thenReturn(true);
+
+    assertEquals(2, ledgerCompactor.compactWallets());
+    verify(transactionManager, times(2)).commit(any());
+  }
+
+  @Test
+  public void testCompactWallets_FailureDoesNotStopOtherWallets() {
+    when(walletLedgerRepository.findWalletsToCompact(50)).thenReturn(Arrays.asList(1, 2));
+    when(walletLedgerRepository.compact(1)).thenThrow(new CannotAcquireLockException("lock timeout"));
+    when(walletLedgerRepository.compact(2)).thenReturn(true);
+
+    assertEquals(1, ledgerCompactor.compactWallets());
+    verify(transactionManager, times(1)).rollback(any());
+    verify(walletLedgerRepository, times(1)).compact(2);
+  }
+
+  @Test
+  public void testCompactWallets_NothingToCompact() {
+    when(walletLedgerRepository.findWalletsToCompact(50)).thenReturn(Collections.emptyList());
+
+    assertEquals(0, ledgerCompactor.compactWallets());
+    verifyNoInteractions(transactionManager);
+  }
+}
@@ -6,12 +6,12 @@ import com.nt.user.microservice.dto.UserInDTO;
 import com.nt.user.microservice.dto.UserOutDTO;
 import com.nt.user.microservice.dto.UserResponse;
 import com.nt.user.microservice.entites.User;
-import com.nt.user.microservice.entites.WalletBalance;
 import com.nt.user.microservice.exceptions.InvalidCredentialsException;
 import com.nt.user.microservice.exceptions.ResourceAlreadyExistException;
 import com.nt.user.microservice.exceptions.ResourceNotFoundException;
 import com.nt.user.microservice.repository.UserRepository;
 import com.nt.user.microservice.repository.WalletBalanceRepository;
+import com.nt.user.microservice.repository.WalletLedgerRepository;
 import com.nt.user.microservice.serviceimpl.UserServiceImpl;
 import com.nt.user.microservice.util.Base64Util;
 import com.nt.user.microservice.util.Constants;
@@ -41,6 +41,9 @@ public class UserServiceImplTests {
   @Mock
   private WalletBalanceRepository walletBalanceRepository;
 
+  @Mock
+  private WalletLedgerRepository walletLedgerRepository;
+
   @BeforeEach
   public void setUp() {
     MockitoAnnotations.openMocks(this);
@@ -150,18 +153,14 @@ public class UserServiceImplTests {
     user.setPhoneNo("1234567890");
     user.setRole(Role.USER);
 
-    WalletBalance walletBalance = new WalletBalance();
-    walletBalance.setUserId(userId);
-    walletBalance.setBalance(1000.0);
-
     when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-    when(walletBalanceRepository.findByUserId(userId)).thenReturn(walletBalance);
+    when(walletLedgerRepository.getBalance(userId)).thenReturn(1000.0);
 
     UserOutDTO userOutDTO = userService.getUserProfile(userId);
 
     assertEquals(user.getId(), userOutDTO.getId());
     assertEquals(user.getFirstName(), userOutDTO.getFirstName());
-    assertEquals(walletBalance.getBalance(), userOutDTO.getWalletBalance());
+    assertEquals(1000.0, userOutDTO.getWalletBalance());
   }
 
   @Test
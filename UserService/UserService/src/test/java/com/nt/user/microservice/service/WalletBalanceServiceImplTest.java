@@ -2,13 +2,14 @@ package com.nt.user.microservice.service;
 
 import com.nt.user.microservice.dto.UserOutDTO;
 import com.nt.user.microservice.entites.User;
-import com.nt.user.microservice.entites.WalletBalance;
 import com.nt.user.microservice.exceptions.InsufficientBalanceException;
+import com.nt.user.microservice.exceptions.InvalidRequestException;
 import com.nt.user.microservice.exceptions.ResourceNotFoundException;
 import com.nt.user.microservice.repository.UserRepository;
-import com.nt.user.microservice.repository.WalletBalanceRepository;
+import com.nt.user.microservice.serviceimpl.LedgerBatchWriter;
 import com.nt.user.microservice.serviceimpl.WalletBalanceServiceImpl;
 import com.nt.user.microservice.util.Constants;
+import com.nt.user.microservice.util.LedgerReason;
 import com.nt.user.microservice.util.Role;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -27,7 +28,7 @@ public class WalletBalanceServiceImplTest {
   private WalletBalanceServiceImpl walletBalanceService;
 
   @Mock
-  private WalletBalanceRepository walletBalanceRepository;
+  private LedgerBatchWriter ledgerBatchWriter;
 
   @Mock
   private UserRepository userRepository;
@@ -49,17 +50,14 @@ public class WalletBalanceServiceImplTest {
     user.setEmail("test@example.com");
     user.setRole(Role.USER);
 
-    WalletBalance walletBalance = new WalletBalance();
-    walletBalance.setUserId(userId);
-    walletBalance.setBalance(500.0);
-
     when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-    when(walletBalanceRepository.findByUserId(userId)).thenReturn(walletBalance);
+    when(ledgerBatchWriter.append(userId, -amountToDeduct, 7, LedgerReason.PAYMENT)).thenReturn(400.0);
 
-    UserOutDTO result = walletBalanceService.updateWalletBalance(userId, amountToDeduct);
+    UserOutDTO result = walletBalanceService.updateWalletBalance(userId, amountToDeduct, 7);
 
     assertNotNull(result);
-    assertEquals(400.0, walletBalance.getBalance());
+    assertEquals(400.0, result.getWalletBalance());
+    verify(ledgerBatchWriter, times(1)).append(userId, -amountToDeduct, 7, LedgerReason.PAYMENT);
   }
 
 
@@ -71,9 +69,10 @@ public class WalletBalanceServiceImplTest {
     when(userRepository.findById(userId)).thenReturn(Optional.empty());
 
     ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
-      () -> walletBalanceService.updateWalletBalance(userId, amountToDeduct));
+      () -> walletBalanceService.updateWalletBalance(userId, amountToDeduct, null));
 
     assertEquals(Constants.USER_NOT_FOUND, exception.getMessage());
+    verifyNoInteractions(ledgerBatchWriter);
   }
 
   @Test
@@ -85,10 +84,11 @@ public class WalletBalanceServiceImplTest {
     user.setId(userId);
 
     when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-    when(walletBalanceRepository.findByUserId(userId)).thenReturn(null);
+    when(ledgerBatchWriter.append(userId, -amountToDeduct, null, LedgerReason.PAYMENT))
+      .thenThrow(new ResourceNotFoundException(Constants.WALLET_NOT_FOUND));
 
     ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
-      () -> walletBalanceService.updateWalletBalance(userId, amountToDeduct));
+      () -> walletBalanceService.updateWalletBalance(userId, amountToDeduct, null));
 
     assertEquals(Constants.WALLET_NOT_FOUND, exception.getMessage());
   }
@@ -101,18 +101,14 @@ public class WalletBalanceServiceImplTest {
     User user = new User();
     user.setId(userId);
 
-    WalletBalance walletBalance = new WalletBalance();
-    walletBalance.setUserId(userId);
-    walletBalance.setBalance(500.0);
-
     when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-    when(walletBalanceRepository.findByUserId(userId)).thenReturn(walletBalance);
+    when(ledgerBatchWriter.append(userId, -amountToDeduct, null, LedgerReason.PAYMENT))
+      .thenThrow(new InsufficientBalanceException(Constants.INSUFFICIENT_BALANCE));
 
     InsufficientBalanceException exception = assertThrows(InsufficientBalanceException.class,
-      () -> walletBalanceService.updateWalletBalance(userId, amountToDeduct));
+      () -> walletBalanceService.updateWalletBalance(userId, amountToDeduct, null));
 
     assertEquals(Constants.INSUFFICIENT_BALANCE, exception.getMessage());
-    verify(walletBalanceRepository, never()).save(any(WalletBalance.class));
   }
 
   @Test
@@ -127,18 +123,32 @@ public class WalletBalanceServiceImplTest {
     user.setEmail("test@example.com");
     user.setRole(Role.USER);
 
-    WalletBalance walletBalance = new WalletBalance();
-    walletBalance.setUserId(userId);
-    walletBalance.setBalance(500.0);
-
     when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-    when(walletBalanceRepository.findByUserId(userId)).thenReturn(walletBalance);
+    when(ledgerBatchWriter.append(userId, amountToAdd, null, LedgerReason.TOP_UP)).thenReturn(700.0);
 
-    UserOutDTO result = walletBalanceService.addMoney(userId, amountToAdd);
+    UserOutDTO result = walletBalanceService.addMoney(userId, amountToAdd, null);
 
     assertNotNull(result);
-    assertEquals(700.0, walletBalance.getBalance());
-    verify(walletBalanceRepository, times(1)).save(walletBalance);
+    assertEquals(700.0, result.getWalletBalance());
+    verify(ledgerBatchWriter, times(1)).append(userId, amountToAdd, null, LedgerReason.TOP_UP);
+  }
+
+  @Test
+  public void testAddMoney_RefundOfOrder() {
+    Integer userId = 1;
+    Double amountToAdd = 200.0;
+
+    User user = new User();
+    user.setId(userId);
+    user.setRole(Role.USER);
+
+    when(userRepository.findById(userId)).thenReturn(Optional.of(user));
+    when(ledgerBatchWriter.append(userId, amountToAdd, 7, LedgerReason.REFUND)).thenReturn(700.0);
+
+    UserOutDTO result = walletBalanceService.addMoney(userId, amountToAdd, 7);
+
+    assertEquals(700.0, result.getWalletBalance());
+    verify(ledgerBatchWriter, times(1)).append(userId, amountToAdd, 7, LedgerReason.REFUND);
   }
 
 
@@ -150,10 +160,10 @@ public class WalletBalanceServiceImplTest {
     when(userRepository.findById(userId)).thenReturn(Optional.empty());
 
     ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
-      () -> walletBalanceService.addMoney(userId, amountToAdd));
+      () -> walletBalanceService.addMoney(userId, amountToAdd, null));
 
     assertEquals(Constants.USER_NOT_FOUND, exception.getMessage());
-    verify(walletBalanceRepository, never()).save(any(WalletBalance.class));
+    verifyNoInteractions(ledgerBatchWriter);
   }
 
   @Test
@@ -165,11 +175,30 @@ public class WalletBalanceServiceImplTest {
     user.setId(userId);
 
     when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-    when(walletBalanceRepository.findByUserId(userId)).thenReturn(null);
+    when(ledgerBatchWriter.append(userId, amountToAdd, null, LedgerReason.TOP_UP))
+      .thenThrow(new ResourceNotFoundException(Constants.WALLET_NOT_FOUND));
 
     ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
-      () -> walletBalanceService.addMoney(userId, amountToAdd));
+      () -> walletBalanceService.addMoney(userId, amountToAdd, null));
 
     assertEquals(Constants.WALLET_NOT_FOUND, exception.getMessage());
   }
+
+  @Test
+  public void testUpdateWalletBalance_NonPositiveAmount() {
+    InvalidRequestException exception = assertThrows(InvalidRequestException.class,
+      () -> walletBalanceService.updateWalletBalance(1, -50.0, null));
+
+    assertEquals(Constants.INVALID_AMOUNT, exception.getMessage());
+    verifyNoInteractions(ledgerBatchWriter);
+  }
+
+  @Test
+  public void testAddMoney_NullAmount() {
+    InvalidRequestException exception = assertThrows(InvalidRequestException.class,
+      () -> walletBalanceService.addMoney(1, null, null));
+
+    assertEquals(Constants.INVALID_AMOUNT, exception.getMessage());
+    verifyNoInteractions(ledgerBatchWriter);
+  }
 }